@@ -6,6 +6,15 @@ RETURN NEW;
 END;
 $$ LANGUAGE plpgsql;
 
+-- Every update bumps the row version, so raw SQL writes invalidate ETags just like entity saves.
+CREATE OR REPLACE FUNCTION bump_version()
+RETURNS TRIGGER AS $$
+BEGIN
+  NEW.version = OLD.version + 1;
+RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
 CREATE TABLE franchise (
                            id BIGSERIAL PRIMARY KEY,
                            name VARCHAR(120) NOT NULL UNIQUE,
@@ -35,6 +44,7 @@ CREATE TRIGGER trg_branch_updated_at
 CREATE TABLE product (
                          id BIGSERIAL PRIMARY KEY,
                          name VARCHAR(120) NOT NULL UNIQUE,
+                         reorder_threshold INT CHECK (reorder_threshold >= 0),
                          created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
                          updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
 );
@@ -43,13 +53,30 @@ CREATE TRIGGER trg_product_updated_at
     BEFORE UPDATE ON product
     FOR EACH ROW EXECUTE FUNCTION set_updated_at();
 
+-- Instances keep an in-memory product catalog and refresh the ids they are notified about.
+CREATE OR REPLACE FUNCTION notify_product_changed()
+RETURNS TRIGGER AS $$
+BEGIN
+  PERFORM pg_notify('product_changed', COALESCE(NEW.id, OLD.id)::text);
+RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_product_changed
+    AFTER INSERT OR UPDATE OR DELETE ON product
+    FOR EACH ROW EXECUTE FUNCTION notify_product_changed();
+
 CREATE TABLE branch_product (
                                 id BIGSERIAL PRIMARY KEY,
                                 branch_id BIGINT NOT NULL REFERENCES branch(id) ON DELETE CASCADE,
                                 product_id BIGINT NOT NULL REFERENCES product(id) ON DELETE RESTRICT,
                                 stock INT NOT NULL CHECK (stock >= 0),
+                                reorder_threshold INT CHECK (reorder_threshold >= 0),
                                 created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
                                 updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+                                version BIGINT NOT NULL DEFAULT 0,
+                                stock_slots INT NOT NULL DEFAULT 0 CHECK (stock_slots >= 0),
+                                reservation_counter BOOLEAN NOT NULL DEFAULT FALSE,
                                 CONSTRAINT uk_bp_branch_product UNIQUE (branch_id, product_id)
 );
 
@@ -60,3 +87,470 @@ CREATE TRIGGER trg_branch_product_updated_at
     BEFORE UPDATE ON branch_product
     FOR EACH ROW EXECUTE FUNCTION set_updated_at();
 
+CREATE TRIGGER trg_branch_product_version
+    BEFORE UPDATE ON branch_product
+    FOR EACH ROW EXECUTE FUNCTION bump_version();
+
+-- Feeds the in-memory inventory matrix: each record is op:branch_id:product_id:stock:version and a payload
+-- carries up to 100 records joined by ';' (about 7.3 kB at most, under the 8000-byte limit). Firing once per
+-- statement keeps bulk writes to one notification per 100 rows; removals go first so a key freed and reused
+-- in the same statement ends up present. The version keeps payloads unique, since Postgres drops repeated
+-- payloads within a transaction.
+CREATE OR REPLACE FUNCTION notify_branch_product_changed()
+RETURNS TRIGGER AS $$
+BEGIN
+  IF TG_OP = 'INSERT' THEN
+    PERFORM pg_notify('branch_product_changed', c.payload)
+    FROM (SELECT string_agg(r.payload, ';' ORDER BY r.seq) AS payload
+          FROM (SELECT 'U:' || n.branch_id || ':' || n.product_id || ':' || n.stock || ':' || n.version AS payload,
+                       row_number() OVER (ORDER BY n.id) - 1 AS seq
+                FROM new_rows n) r
+          GROUP BY r.seq / 100) c;
+  ELSIF TG_OP = 'DELETE' THEN
+    PERFORM pg_notify('branch_product_changed', c.payload)
+    FROM (SELECT string_agg(r.payload, ';' ORDER BY r.seq) AS payload
+          FROM (SELECT 'D:' || o.branch_id || ':' || o.product_id || ':' || o.stock || ':' || o.version AS payload,
+                       row_number() OVER (ORDER BY o.id) - 1 AS seq
+                FROM old_rows o) r
+          GROUP BY r.seq / 100) c;
+  ELSE
+    PERFORM pg_notify('branch_product_changed', c.payload)
+    FROM (SELECT string_agg(r.payload, ';' ORDER BY r.seq) AS payload
+          FROM (SELECT x.payload, row_number() OVER (ORDER BY x.removal DESC, x.id) - 1 AS seq
+                FROM (SELECT o.id, true AS removal,
+                             'D:' || o.branch_id || ':' || o.product_id || ':' || o.stock || ':' || o.version AS payload
+                      FROM old_rows o JOIN new_rows n ON n.id = o.id
+                      WHERE n.branch_id <> o.branch_id OR n.product_id <> o.product_id
+                      UNION ALL
+                      SELECT n.id, false,
+                             'U:' || n.branch_id || ':' || n.product_id || ':' || n.stock || ':' || n.version
+                      FROM old_rows o JOIN new_rows n ON n.id = o.id
+                      WHERE n.stock <> o.stock OR n.branch_id <> o.branch_id OR n.product_id <> o.product_id) x) r
+          GROUP BY r.seq / 100) c;
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Transition tables allow only one event per trigger.
+CREATE TRIGGER trg_branch_product_changed_insert
+    AFTER INSERT ON branch_product
+    REFERENCING NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_branch_product_changed();
+
+CREATE TRIGGER trg_branch_product_changed_update
+    AFTER UPDATE ON branch_product
+    REFERENCING OLD TABLE AS old_rows NEW TABLE AS new_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_branch_product_changed();
+
+CREATE TRIGGER trg_branch_product_changed_delete
+    AFTER DELETE ON branch_product
+    REFERENCING OLD TABLE AS old_rows
+    FOR EACH STATEMENT EXECUTE FUNCTION notify_branch_product_changed();
+
+CREATE TABLE stock_alert (
+                             id BIGSERIAL PRIMARY KEY,
+                             branch_product_id BIGINT NOT NULL REFERENCES branch_product(id) ON DELETE CASCADE,
+                             branch_id BIGINT NOT NULL,
+                             product_id BIGINT NOT NULL,
+                             stock INT NOT NULL,
+                             threshold INT NOT NULL,
+                             triggered_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+                             resolved_at TIMESTAMPTZ
+);
+
+CREATE UNIQUE INDEX uk_stock_alert_open ON stock_alert(branch_product_id) WHERE resolved_at IS NULL;
+CREATE INDEX idx_stock_alert_branch ON stock_alert(branch_id, triggered_at DESC);
+
+CREATE TABLE franchise_product_stock (
+                                         franchise_id BIGINT NOT NULL REFERENCES franchise(id) ON DELETE CASCADE,
+                                         product_id BIGINT NOT NULL REFERENCES product(id) ON DELETE CASCADE,
+                                         total_stock BIGINT NOT NULL DEFAULT 0,
+                                         branch_count INT NOT NULL DEFAULT 0,
+                                         updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+                                         PRIMARY KEY (franchise_id, product_id)
+);
+
+CREATE OR REPLACE FUNCTION apply_franchise_product_stock_delta()
+RETURNS TRIGGER AS $$
+DECLARE
+  v_franchise_id BIGINT;
+BEGIN
+  IF TG_OP IN ('UPDATE', 'DELETE') THEN
+    IF TG_OP = 'UPDATE'
+       AND NEW.branch_id = OLD.branch_id
+       AND NEW.product_id = OLD.product_id THEN
+      IF NEW.stock <> OLD.stock THEN
+        UPDATE franchise_product_stock s
+        SET total_stock = s.total_stock + (NEW.stock - OLD.stock),
+            updated_at = NOW()
+        FROM branch b
+        WHERE b.id = NEW.branch_id
+          AND s.franchise_id = b.franchise_id
+          AND s.product_id = NEW.product_id;
+      END IF;
+      RETURN NEW;
+    END IF;
+
+    UPDATE franchise_product_stock s
+    SET total_stock = s.total_stock - OLD.stock,
+        branch_count = s.branch_count - 1,
+        updated_at = NOW()
+    FROM branch b
+    WHERE b.id = OLD.branch_id
+      AND s.franchise_id = b.franchise_id
+      AND s.product_id = OLD.product_id;
+  END IF;
+
+  IF TG_OP IN ('INSERT', 'UPDATE') THEN
+    SELECT franchise_id INTO v_franchise_id FROM branch WHERE id = NEW.branch_id;
+
+    INSERT INTO franchise_product_stock (franchise_id, product_id, total_stock, branch_count)
+    VALUES (v_franchise_id, NEW.product_id, NEW.stock, 1)
+    ON CONFLICT (franchise_id, product_id) DO UPDATE
+    SET total_stock = franchise_product_stock.total_stock + EXCLUDED.total_stock,
+        branch_count = franchise_product_stock.branch_count + 1,
+        updated_at = NOW();
+    RETURN NEW;
+  END IF;
+
+  RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_branch_product_franchise_stock
+    AFTER INSERT OR UPDATE OR DELETE ON branch_product
+    FOR EACH ROW EXECUTE FUNCTION apply_franchise_product_stock_delta();
+
+-- Cascaded branch_product deletes no longer see their branch, so subtract them while it still exists.
+CREATE OR REPLACE FUNCTION remove_branch_from_franchise_product_stock()
+RETURNS TRIGGER AS $$
+BEGIN
+  UPDATE franchise_product_stock s
+  SET total_stock = s.total_stock - bp.stock,
+      branch_count = s.branch_count - 1,
+      updated_at = NOW()
+  FROM branch_product bp
+  WHERE bp.branch_id = OLD.id
+    AND s.franchise_id = OLD.franchise_id
+    AND s.product_id = bp.product_id;
+  RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_branch_franchise_stock
+    BEFORE DELETE ON branch
+    FOR EACH ROW EXECUTE FUNCTION remove_branch_from_franchise_product_stock();
+
+INSERT INTO franchise_product_stock (franchise_id, product_id, total_stock, branch_count)
+SELECT b.franchise_id, bp.product_id, SUM(bp.stock), COUNT(*)
+FROM branch_product bp
+JOIN branch b ON b.id = bp.branch_id
+GROUP BY b.franchise_id, bp.product_id
+ON CONFLICT (franchise_id, product_id) DO NOTHING;
+
+CREATE TABLE stock_outbox (
+                              id BIGSERIAL PRIMARY KEY,
+                              event_type VARCHAR(10) NOT NULL,
+                              branch_product_id BIGINT NOT NULL,
+                              branch_id BIGINT NOT NULL,
+                              product_id BIGINT NOT NULL,
+                              stock INT,
+                              previous_stock INT,
+                              reorder_threshold INT,
+                              created_at TIMESTAMPTZ NOT NULL DEFAULT NOW(),
+                              published_at TIMESTAMPTZ
+);
+
+CREATE INDEX idx_stock_outbox_pending ON stock_outbox(id) WHERE published_at IS NULL;
+
+-- Written by the same statement that changes branch_product, so an event exists if and only if the change committed.
+CREATE OR REPLACE FUNCTION enqueue_branch_product_outbox()
+RETURNS TRIGGER AS $$
+BEGIN
+  IF TG_OP = 'INSERT' THEN
+    INSERT INTO stock_outbox (event_type, branch_product_id, branch_id, product_id, stock, previous_stock, reorder_threshold)
+    VALUES ('INSERT', NEW.id, NEW.branch_id, NEW.product_id, NEW.stock, NULL, NEW.reorder_threshold);
+    RETURN NEW;
+  ELSIF TG_OP = 'UPDATE' THEN
+    IF NEW.stock IS NOT DISTINCT FROM OLD.stock
+       AND NEW.reorder_threshold IS NOT DISTINCT FROM OLD.reorder_threshold THEN
+      RETURN NEW;
+    END IF;
+    INSERT INTO stock_outbox (event_type, branch_product_id, branch_id, product_id, stock, previous_stock, reorder_threshold)
+    VALUES ('UPDATE', NEW.id, NEW.branch_id, NEW.product_id, NEW.stock, OLD.stock, NEW.reorder_threshold);
+    RETURN NEW;
+  ELSE
+    INSERT INTO stock_outbox (event_type, branch_product_id, branch_id, product_id, stock, previous_stock, reorder_threshold)
+    VALUES ('DELETE', OLD.id, OLD.branch_id, OLD.product_id, NULL, OLD.stock, OLD.reorder_threshold);
+    RETURN OLD;
+  END IF;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_branch_product_outbox
+    AFTER INSERT OR UPDATE OR DELETE ON branch_product
+    FOR EACH ROW EXECUTE FUNCTION enqueue_branch_product_outbox();
+
+-- Hot rows can opt into slots: stock is split across stock_slots sub-rows so concurrent decrements
+-- lock different rows. branch_product.stock then holds the total as of the last write or rebalance.
+CREATE TABLE branch_product_stock_slot (
+                                           branch_product_id BIGINT NOT NULL REFERENCES branch_product(id) ON DELETE CASCADE,
+                                           slot INT NOT NULL,
+                                           stock INT NOT NULL CHECK (stock >= 0),
+                                           PRIMARY KEY (branch_product_id, slot)
+);
+
+CREATE VIEW branch_product_live AS
+SELECT bp.id,
+       bp.branch_id,
+       bp.product_id,
+       CASE WHEN bp.stock_slots > 0
+            THEN (SELECT COALESCE(SUM(s.stock), 0)::int
+                  FROM branch_product_stock_slot s
+                  WHERE s.branch_product_id = bp.id)
+            ELSE bp.stock
+       END AS stock,
+       bp.reorder_threshold,
+       bp.created_at,
+       bp.updated_at,
+       bp.version,
+       bp.stock_slots
+FROM branch_product bp;
+
+-- Any write that sets stock on a slotted row spreads the new total evenly across its slots.
+CREATE OR REPLACE FUNCTION spread_branch_product_slots()
+RETURNS TRIGGER AS $$
+BEGIN
+  IF NEW.stock_slots > 0 THEN
+    PERFORM 1 FROM branch_product_stock_slot
+    WHERE branch_product_id = NEW.id
+    ORDER BY slot
+    FOR UPDATE;
+
+    UPDATE branch_product_stock_slot s
+    SET stock = NEW.stock / NEW.stock_slots
+              + CASE WHEN s.slot < NEW.stock % NEW.stock_slots THEN 1 ELSE 0 END
+    WHERE s.branch_product_id = NEW.id;
+  END IF;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_branch_product_spread_slots
+    AFTER UPDATE OF stock ON branch_product
+    FOR EACH ROW EXECUTE FUNCTION spread_branch_product_slots();
+
+-- Locks are always taken branch_product first, then slots in slot order.
+CREATE OR REPLACE FUNCTION set_branch_product_slots(p_id BIGINT, p_slots INT)
+RETURNS INT AS $$
+DECLARE
+  v_total INT;
+BEGIN
+  PERFORM 1 FROM branch_product WHERE id = p_id FOR NO KEY UPDATE;
+  IF NOT FOUND THEN
+    RETURN NULL;
+  END IF;
+
+  PERFORM 1 FROM branch_product_stock_slot
+  WHERE branch_product_id = p_id
+  ORDER BY slot
+  FOR UPDATE;
+
+  SELECT stock INTO v_total FROM branch_product_live WHERE id = p_id;
+
+  DELETE FROM branch_product_stock_slot WHERE branch_product_id = p_id;
+  INSERT INTO branch_product_stock_slot (branch_product_id, slot, stock)
+  SELECT p_id, g, 0 FROM generate_series(0, p_slots - 1) g;
+
+  UPDATE branch_product SET stock_slots = p_slots, stock = v_total WHERE id = p_id;
+  RETURN v_total;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Folds the slot total back into branch_product.stock (firing the aggregate and outbox triggers) and evens out the slots.
+CREATE OR REPLACE FUNCTION rebalance_branch_product_slots(p_id BIGINT)
+RETURNS INT AS $$
+DECLARE
+  v_total INT;
+BEGIN
+  PERFORM 1 FROM branch_product WHERE id = p_id AND stock_slots > 0 FOR NO KEY UPDATE;
+  IF NOT FOUND THEN
+    RETURN NULL;
+  END IF;
+
+  SELECT COALESCE(SUM(stock), 0) INTO v_total
+  FROM (SELECT stock FROM branch_product_stock_slot
+        WHERE branch_product_id = p_id
+        ORDER BY slot
+        FOR UPDATE) locked;
+
+  UPDATE branch_product SET stock = v_total WHERE id = p_id;
+  RETURN v_total;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Takes p_qty units. Slotted rows try a random unlocked slot that can cover the whole quantity and only
+-- fall back to locking every slot when none can; plain rows use a guarded single-row update.
+CREATE OR REPLACE FUNCTION take_branch_product_stock(p_id BIGINT, p_qty INT)
+RETURNS BOOLEAN AS $$
+DECLARE
+  v_slots INT;
+  v_slot INT;
+  v_total INT;
+  v_remaining INT := p_qty;
+  r RECORD;
+BEGIN
+  SELECT stock_slots INTO v_slots FROM branch_product WHERE id = p_id;
+  IF NOT FOUND THEN
+    RETURN NULL;
+  END IF;
+
+  IF v_slots = 0 THEN
+    UPDATE branch_product SET stock = stock - p_qty WHERE id = p_id AND stock >= p_qty;
+    RETURN FOUND;
+  END IF;
+
+  SELECT slot INTO v_slot
+  FROM branch_product_stock_slot
+  WHERE branch_product_id = p_id AND stock >= p_qty
+  ORDER BY random()
+  LIMIT 1
+  FOR UPDATE SKIP LOCKED;
+
+  IF FOUND THEN
+    UPDATE branch_product_stock_slot SET stock = stock - p_qty
+    WHERE branch_product_id = p_id AND slot = v_slot;
+    RETURN TRUE;
+  END IF;
+
+  SELECT COALESCE(SUM(stock), 0) INTO v_total
+  FROM (SELECT stock FROM branch_product_stock_slot
+        WHERE branch_product_id = p_id
+        ORDER BY slot
+        FOR UPDATE) locked;
+
+  IF v_total < p_qty THEN
+    RETURN FALSE;
+  END IF;
+
+  FOR r IN SELECT slot, stock FROM branch_product_stock_slot
+           WHERE branch_product_id = p_id AND stock > 0
+           ORDER BY stock DESC, slot LOOP
+    EXIT WHEN v_remaining = 0;
+    UPDATE branch_product_stock_slot SET stock = stock - LEAST(r.stock, v_remaining)
+    WHERE branch_product_id = p_id AND slot = r.slot;
+    v_remaining := v_remaining - LEAST(r.stock, v_remaining);
+  END LOOP;
+  RETURN TRUE;
+END;
+$$ LANGUAGE plpgsql;
+
+-- While reservation_counter is set, Redis owns the available stock and only journal reconciliation may
+-- change branch_product.stock; any other write would be overwritten by (or double count) the counter.
+CREATE OR REPLACE FUNCTION guard_reservation_counter_stock()
+RETURNS TRIGGER AS $$
+BEGIN
+  IF OLD.reservation_counter AND NEW.reservation_counter
+     AND (NEW.stock IS DISTINCT FROM OLD.stock OR NEW.stock_slots IS DISTINCT FROM OLD.stock_slots)
+     AND COALESCE(current_setting('app.stock_reconcile', true), '') <> 'on' THEN
+    -- Own state in class 23: callers can tell it from the stock >= 0 check, and it still counts as an integrity violation.
+    RAISE EXCEPTION 'stock of branch_product % is managed by reservations', OLD.id
+      USING ERRCODE = '23R01';
+  END IF;
+  RETURN NEW;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_branch_product_guard_reservation_counter
+    BEFORE UPDATE OF stock, stock_slots ON branch_product
+    FOR EACH ROW EXECUTE FUNCTION guard_reservation_counter_stock();
+
+-- Last reservation journal entry applied to branch_product.stock, advanced in the same transaction.
+CREATE TABLE stock_reconcile_checkpoint (
+                                            journal VARCHAR(120) PRIMARY KEY,
+                                            last_entry_id VARCHAR(64) NOT NULL,
+                                            updated_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+-- Applies confirmed reservations (p_from, p_to] only if the checkpoint still points at p_from, so a replay
+-- after a crash or a concurrent reconciler returns -1 instead of decrementing twice.
+CREATE OR REPLACE FUNCTION apply_reservation_journal(p_journal VARCHAR, p_from VARCHAR, p_to VARCHAR,
+                                                     p_ids BIGINT[], p_quantities INT[])
+RETURNS INT AS $$
+DECLARE
+  v_rows INT;
+BEGIN
+  INSERT INTO stock_reconcile_checkpoint (journal, last_entry_id)
+  VALUES (p_journal, '0-0')
+  ON CONFLICT (journal) DO NOTHING;
+
+  UPDATE stock_reconcile_checkpoint
+  SET last_entry_id = p_to, updated_at = NOW()
+  WHERE journal = p_journal AND last_entry_id = p_from;
+  IF NOT FOUND THEN
+    RETURN -1;
+  END IF;
+
+  PERFORM set_config('app.stock_reconcile', 'on', true);
+
+  UPDATE branch_product bp
+  SET stock = bp.stock - d.quantity
+  FROM (SELECT id, SUM(quantity) AS quantity
+        FROM unnest(p_ids, p_quantities) AS u(id, quantity)
+        GROUP BY id) d
+  WHERE bp.id = d.id;
+  GET DIAGNOSTICS v_rows = ROW_COUNT;
+
+  PERFORM set_config('app.stock_reconcile', 'off', true);
+  RETURN v_rows;
+END;
+$$ LANGUAGE plpgsql;
+
+-- Delta sync: devices fetch rows changed after a watermark on (updated_at, id) and learn about deletes from
+-- tombstones, which are kept for app.sync.tombstone-retention.
+CREATE INDEX idx_bp_branch_updated ON branch_product(branch_id, updated_at, id);
+
+CREATE TABLE branch_product_tombstone (
+                                          id BIGSERIAL PRIMARY KEY,
+                                          branch_product_id BIGINT NOT NULL,
+                                          branch_id BIGINT NOT NULL,
+                                          franchise_id BIGINT NOT NULL,
+                                          product_id BIGINT NOT NULL,
+                                          deleted_at TIMESTAMPTZ NOT NULL DEFAULT NOW()
+);
+
+CREATE INDEX idx_bp_tombstone_branch ON branch_product_tombstone(branch_id, deleted_at, id);
+CREATE INDEX idx_bp_tombstone_franchise ON branch_product_tombstone(franchise_id, deleted_at, id);
+CREATE INDEX idx_bp_tombstone_deleted_at ON branch_product_tombstone(deleted_at);
+
+-- Rows removed by a branch delete cascade no longer see their branch, so the branch records them up front.
+CREATE OR REPLACE FUNCTION record_branch_product_tombstone()
+RETURNS TRIGGER AS $$
+BEGIN
+  INSERT INTO branch_product_tombstone (branch_product_id, branch_id, franchise_id, product_id)
+  SELECT OLD.id, OLD.branch_id, b.franchise_id, OLD.product_id
+  FROM branch b
+  WHERE b.id = OLD.branch_id;
+  RETURN NULL;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_branch_product_tombstone
+    AFTER DELETE ON branch_product
+    FOR EACH ROW EXECUTE FUNCTION record_branch_product_tombstone();
+
+CREATE OR REPLACE FUNCTION record_branch_tombstones()
+RETURNS TRIGGER AS $$
+BEGIN
+  INSERT INTO branch_product_tombstone (branch_product_id, branch_id, franchise_id, product_id)
+  SELECT bp.id, bp.branch_id, OLD.franchise_id, bp.product_id
+  FROM branch_product bp
+  WHERE bp.branch_id = OLD.id;
+  RETURN OLD;
+END;
+$$ LANGUAGE plpgsql;
+
+CREATE TRIGGER trg_branch_tombstones
+    BEFORE DELETE ON branch
+    FOR EACH ROW EXECUTE FUNCTION record_branch_tombstones();
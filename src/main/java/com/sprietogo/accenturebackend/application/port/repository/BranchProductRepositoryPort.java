@@ -9,6 +9,8 @@ public interface BranchProductRepositoryPort {
 
     Mono<BranchProductEntity> getBranchProductById(Long id);
 
+    Mono<Long> getBranchProductVersion(Long id);
+
     Mono<BranchProductEntity> saveBranchProduct(BranchProductEntity branchProductEntity);
 
     Mono<BranchProductEntity> updateBranchProduct(BranchProductEntity branchProductEntity);
@@ -22,4 +24,14 @@ public interface BranchProductRepositoryPort {
     Mono<BranchProductEntity> getByBranchIdAndProductId(Long branchId, Long productId);
 
     Mono<BranchProductEntity> updateBranchProductStock(Long branchId, Long productId, Integer stock);
+
+    Mono<BranchProductEntity> updateBranchProductStockIfVersion(Long branchId, Long productId, Integer stock, Long expectedVersion);
+
+    Mono<Boolean> takeBranchProductStock(Long branchId, Long productId, Integer quantity);
+
+    Mono<Integer> setBranchProductStockSlots(Long branchId, Long productId, Integer slots);
+
+    Flux<Long> getBranchProductIdsNeedingRebalance(int limit);
+
+    Mono<Integer> rebalanceBranchProductStockSlots(Long id);
 }
\ No newline at end of file
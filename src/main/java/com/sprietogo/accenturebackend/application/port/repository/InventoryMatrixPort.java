@@ -0,0 +1,21 @@
+package com.sprietogo.accenturebackend.application.port.repository;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchStockResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.FranchiseStockDistributionResponseDTO;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface InventoryMatrixPort {
+
+    boolean isLoaded();
+
+    Mono<List<BranchStockResponseDTO>> findBranchesBelow(long productId, int threshold, Long franchiseId);
+
+    Mono<List<FranchiseStockDistributionResponseDTO>> getStockDistribution(long productId);
+
+    /**
+     * Sorted product ids stocked by the branch, or empty when the branch has no rows.
+     */
+    Mono<long[]> getBranchProductIds(long branchId);
+}
@@ -0,0 +1,12 @@
+package com.sprietogo.accenturebackend.application.port.repository;
+
+import com.sprietogo.accenturebackend.domain.model.ProductEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface ProductCatalogPort {
+
+    Mono<ProductEntity> getProductById(Long id);
+
+    Flux<ProductEntity> getAllProducts();
+}
@@ -1,8 +1,11 @@
 package com.sprietogo.accenturebackend.application.port.repository;
 
 import com.sprietogo.accenturebackend.domain.model.ProductEntity;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 public interface ProductRepositoryPort {
 
     Mono<ProductEntity> saveProduct(ProductEntity productEntity);
@@ -13,4 +16,8 @@ public interface ProductRepositoryPort {
 
     Mono<ProductEntity> getProductById(Long id);
 
+    Flux<ProductEntity> getAllProducts();
+
+    Flux<ProductEntity> getProductsByIds(Collection<Long> ids);
+
 }
\ No newline at end of file
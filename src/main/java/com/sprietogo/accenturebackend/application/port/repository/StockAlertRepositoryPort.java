@@ -0,0 +1,18 @@
+package com.sprietogo.accenturebackend.application.port.repository;
+
+import com.sprietogo.accenturebackend.domain.model.StockAlertEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface StockAlertRepositoryPort {
+
+    Flux<StockAlertEntity> evaluateBranchProduct(Long branchProductId);
+
+    Flux<StockAlertEntity> evaluateProduct(Long productId);
+
+    Flux<StockAlertEntity> getAlertsByBranchId(Long branchId, boolean openOnly);
+
+    Mono<Boolean> updateProductThreshold(Long productId, Integer threshold);
+
+    Mono<Long> updateBranchProductThreshold(Long branchId, Long productId, Integer threshold);
+}
@@ -0,0 +1,15 @@
+package com.sprietogo.accenturebackend.application.port.repository;
+
+import com.sprietogo.accenturebackend.domain.model.StockOutboxEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+public interface StockEventSinkPort {
+
+    /**
+     * Publishes the events in order. Completing means every event was accepted by the sink;
+     * on error the relay keeps the whole batch and retries it.
+     */
+    Mono<Void> publish(List<StockOutboxEntity> events);
+}
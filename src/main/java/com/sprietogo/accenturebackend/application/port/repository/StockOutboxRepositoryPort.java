@@ -0,0 +1,19 @@
+package com.sprietogo.accenturebackend.application.port.repository;
+
+import com.sprietogo.accenturebackend.domain.model.StockOutboxEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+
+public interface StockOutboxRepositoryPort {
+
+    Flux<StockOutboxEntity> claimPending(int limit);
+
+    Mono<Long> deleteByIds(Collection<Long> ids);
+
+    Mono<Long> markPublished(Collection<Long> ids);
+
+    Mono<OffsetDateTime> getOldestPendingCreatedAt();
+}
@@ -0,0 +1,46 @@
+package com.sprietogo.accenturebackend.application.port.repository;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+public interface StockReservationStorePort {
+
+    /**
+     * Seeds the counter with stock. With replace the existing counter and its holds are discarded (a fresh
+     * enable); without it an existing counter is kept as is.
+     */
+    Mono<Long> initCounter(Long branchProductId, long stock, boolean replace);
+
+    Mono<CounterState> getCounter(Long branchProductId);
+
+    /**
+     * Drops the counter unless reservations are still held; returns how many are outstanding (0 = dropped).
+     */
+    Mono<Long> dropCounter(Long branchProductId);
+
+    Mono<ReserveResult> reserve(Long branchProductId, String reservationId, int quantity, Duration ttl);
+
+    /**
+     * Settles a held reservation and appends it to the journal; empty when unknown, expired or already settled.
+     */
+    Mono<Integer> confirm(Long branchProductId, String reservationId);
+
+    /**
+     * Returns a held reservation to the counter; empty when unknown, expired or already settled.
+     */
+    Mono<Integer> release(Long branchProductId, String reservationId);
+
+    Flux<JournalEntry> readJournal(String afterEntryId, int count);
+
+    Mono<Void> trimJournal(String upToEntryId);
+
+    enum ReserveStatus { RESERVED, INSUFFICIENT_STOCK, COUNTER_DISABLED, DUPLICATE }
+
+    record ReserveResult(ReserveStatus status, long available) {}
+
+    record CounterState(long available, long outstandingReservations) {}
+
+    record JournalEntry(String id, Long branchProductId, int quantity) {}
+}
@@ -0,0 +1,16 @@
+package com.sprietogo.accenturebackend.application.port.repository;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.TopStockProductByBranchResponseDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Supplier;
+
+public interface TopStockReportCachePort {
+
+    Mono<byte[]> getTopStockReport(Long franchiseId, Supplier<Flux<TopStockProductByBranchResponseDTO>> loader);
+
+    Mono<Void> evictFranchise(Long franchiseId);
+
+    Mono<Void> evictAll();
+}
@@ -2,18 +2,25 @@ package com.sprietogo.accenturebackend.application.port.service;
 
 
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.BranchProductRequestDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.StockTransferRequestDTO;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchProductResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.FranchiseProductStockResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.StockTransferResponseDTO;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.TopStockProductByBranchResponseDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 public interface BranchProductServicePort {
 
     Mono<BranchProductResponseDTO> getBranchProductById(Long id);
 
+    Mono<Long> getBranchProductVersion(Long id);
+
     Mono<BranchProductResponseDTO> createBranchProduct(BranchProductRequestDTO request);
 
-    Mono<BranchProductResponseDTO> updateBranchProduct(BranchProductRequestDTO request, Long id);
+    Mono<BranchProductResponseDTO> updateBranchProduct(BranchProductRequestDTO request, Long id, Long expectedVersion);
 
     Mono<Boolean> existsByBranchIdAndProductId(Long branchId, Long productId);
 
@@ -23,7 +30,19 @@ public interface BranchProductServicePort {
 
     Mono<BranchProductResponseDTO> getByBranchIdAndProductId(Long branchId, Long productId);
 
-    Mono<BranchProductResponseDTO> updateBranchProductStock(Long branchId, Long productId, Integer stock);
+    Mono<BranchProductResponseDTO> updateBranchProductStock(Long branchId, Long productId, Integer stock, Long expectedVersion);
+
+    Mono<BranchProductResponseDTO> decrementBranchProductStock(Long branchId, Long productId, Integer quantity);
+
+    Mono<BranchProductResponseDTO> setBranchProductStockSlots(Long branchId, Long productId, Integer slots);
+
+    Flux<StockTransferResponseDTO> transferBranchProductStock(Long fromBranchId, Long toBranchId, Long productId, Integer quantity);
+
+    Flux<StockTransferResponseDTO> transferBranchProductStock(List<StockTransferRequestDTO> transfers);
 
     Flux<TopStockProductByBranchResponseDTO> getTopStockProductsByBranch(Long franchiseId);
+
+    Mono<byte[]> getTopStockReport(Long franchiseId);
+
+    Mono<FranchiseProductStockResponseDTO> getFranchiseProductStock(Long franchiseId, Long productId, boolean live);
 }
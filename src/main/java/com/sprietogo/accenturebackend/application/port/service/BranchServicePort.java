@@ -1,6 +1,7 @@
 package com.sprietogo.accenturebackend.application.port.service;
 
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.BranchRequestDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BatchCreateItemResponseDTO;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchResponseDTO;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -11,4 +12,5 @@ public interface BranchServicePort {
     Mono<BranchResponseDTO> updateBranch(String name, Long id);
     Flux<BranchResponseDTO> getAllByFranchiseId(Long franchiseId);
     Mono<BranchResponseDTO> getBranch(Long franchiseId, String name);
+    Flux<BatchCreateItemResponseDTO> createBranches(Flux<BranchRequestDTO> requests);
 }
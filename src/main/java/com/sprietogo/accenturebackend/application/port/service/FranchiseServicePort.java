@@ -2,7 +2,9 @@ package com.sprietogo.accenturebackend.application.port.service;
 
 
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.RequestDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BatchCreateItemResponseDTO;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.ResponseDTO;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface FranchiseServicePort {
@@ -10,5 +12,6 @@ public interface FranchiseServicePort {
     Mono<ResponseDTO> createFranchise(RequestDTO requestDTO);
     Mono<ResponseDTO> updateFranchise(String name, Long id);
     Mono<ResponseDTO> getFranchise(String name);
+    Flux<BatchCreateItemResponseDTO> createFranchises(Flux<RequestDTO> requests);
 
 }
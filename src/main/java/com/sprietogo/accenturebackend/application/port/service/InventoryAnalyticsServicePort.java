@@ -0,0 +1,15 @@
+package com.sprietogo.accenturebackend.application.port.service;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchStockResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.FranchiseStockDistributionResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.ResponseDTO;
+import reactor.core.publisher.Flux;
+
+public interface InventoryAnalyticsServicePort {
+
+    Flux<BranchStockResponseDTO> getBranchesBelow(Long productId, Integer threshold, Long franchiseId);
+
+    Flux<FranchiseStockDistributionResponseDTO> getStockDistribution(Long productId);
+
+    Flux<ResponseDTO> getProductsMissingInBranch(Long branchId);
+}
@@ -0,0 +1,9 @@
+package com.sprietogo.accenturebackend.application.port.service;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.InventoryExportResponseDTO;
+import reactor.core.publisher.Mono;
+
+public interface InventoryExportServicePort {
+
+    Mono<InventoryExportResponseDTO> export(String table, String format, Long afterId, Long untilId);
+}
@@ -0,0 +1,11 @@
+package com.sprietogo.accenturebackend.application.port.service;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.InventoryCountRequestDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.InventoryReconciliationResponseDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface InventoryReconciliationServicePort {
+
+    Mono<InventoryReconciliationResponseDTO> reconcileBranchInventory(Long branchId, Flux<InventoryCountRequestDTO> counts);
+}
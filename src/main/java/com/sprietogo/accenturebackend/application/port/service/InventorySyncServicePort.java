@@ -0,0 +1,11 @@
+package com.sprietogo.accenturebackend.application.port.service;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.InventoryChangesResponseDTO;
+import reactor.core.publisher.Mono;
+
+public interface InventorySyncServicePort {
+
+    Mono<InventoryChangesResponseDTO> getBranchChanges(Long branchId, String since, Integer limit);
+
+    Mono<InventoryChangesResponseDTO> getFranchiseChanges(Long franchiseId, String since, Integer limit);
+}
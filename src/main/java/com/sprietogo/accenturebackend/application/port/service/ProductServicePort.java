@@ -1,7 +1,9 @@
 package com.sprietogo.accenturebackend.application.port.service;
 
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.RequestDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BatchCreateItemResponseDTO;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.ResponseDTO;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 public interface ProductServicePort {
@@ -9,4 +11,5 @@ public interface ProductServicePort {
     Mono<ResponseDTO> saveProduct(RequestDTO requestDTO);
     Mono<ResponseDTO> updateProduct(String name, Long id);
     Mono<ResponseDTO> getProductByName(String name);
+    Flux<BatchCreateItemResponseDTO> createProducts(Flux<RequestDTO> requests);
 }
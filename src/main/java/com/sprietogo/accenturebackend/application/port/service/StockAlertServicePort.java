@@ -0,0 +1,20 @@
+package com.sprietogo.accenturebackend.application.port.service;
+
+import com.sprietogo.accenturebackend.domain.model.BranchProductEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.StockAlertResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.StockThresholdResponseDTO;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+public interface StockAlertServicePort {
+
+    Mono<Void> evaluate(BranchProductEntity branchProduct);
+
+    Flux<StockAlertResponseDTO> getAlertsByBranchId(Long branchId, boolean openOnly);
+
+    Flux<StockAlertResponseDTO> streamAlerts();
+
+    Mono<StockThresholdResponseDTO> updateProductThreshold(Long productId, Integer threshold);
+
+    Mono<StockThresholdResponseDTO> updateBranchProductThreshold(Long branchId, Long productId, Integer threshold);
+}
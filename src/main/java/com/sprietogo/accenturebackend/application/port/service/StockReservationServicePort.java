@@ -0,0 +1,25 @@
+package com.sprietogo.accenturebackend.application.port.service;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.ReservationCounterResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.StockReservationResponseDTO;
+import reactor.core.publisher.Mono;
+
+public interface StockReservationServicePort {
+
+    Mono<ReservationCounterResponseDTO> enableCounter(Long branchProductId);
+
+    Mono<ReservationCounterResponseDTO> getCounter(Long branchProductId);
+
+    Mono<Void> disableCounter(Long branchProductId);
+
+    Mono<StockReservationResponseDTO> reserve(Long branchProductId, Integer quantity, Long ttlSeconds);
+
+    Mono<StockReservationResponseDTO> confirm(Long branchProductId, String reservationId);
+
+    Mono<StockReservationResponseDTO> release(Long branchProductId, String reservationId);
+
+    /**
+     * Folds confirmed reservations into branch_product.stock; returns how many journal entries were applied.
+     */
+    Mono<Integer> reconcile();
+}
@@ -0,0 +1,81 @@
+package com.sprietogo.accenturebackend.application.service;
+
+import com.sprietogo.accenturebackend.domain.exception.ApiException;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.CatalogBatchQueryRepository.BatchInsertRow;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BatchCreateItemResponseDTO;
+import reactor.core.publisher.Flux;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Function;
+
+import static com.sprietogo.accenturebackend.utils.Constants.BATCH_CREATE_CHUNK_SIZE;
+import static com.sprietogo.accenturebackend.utils.Constants.MAX_NAME_LENGTH;
+
+/**
+ * Shared flow of the batch create endpoints: validate each item, insert the valid ones one chunk per
+ * statement, and stream one result per input item back in input order. Chunks run one after another, so
+ * a large NDJSON upload is read only as fast as it is written.
+ */
+final class BatchCreates {
+
+    private BatchCreates() {}
+
+    static <T> Flux<BatchCreateItemResponseDTO> inChunks(Flux<T> requests,
+                                                         Function<T, String> nameOf,
+                                                         Function<T, ApiException> validate,
+                                                         Function<List<T>, Flux<BatchInsertRow>> insert) {
+        return requests
+                .index((index, request) -> new Item<>(index, request, validate.apply(request)))
+                .buffer(BATCH_CREATE_CHUNK_SIZE)
+                .concatMap(chunk -> {
+                    List<Item<T>> valid = chunk.stream().filter(item -> item.error() == null).toList();
+                    if (valid.isEmpty()) {
+                        return Flux.fromIterable(chunk).map(item -> rejected(item, nameOf));
+                    }
+
+                    return insert.apply(valid.stream().map(Item::request).toList())
+                            .collectList()
+                            .flatMapIterable(rows -> merge(chunk, valid, rows, nameOf));
+                });
+    }
+
+    static String trimmedName(String name) {
+        return name == null ? null : name.trim();
+    }
+
+    static ApiException nameError(String name, String codePrefix, String label) {
+        if (name == null || name.isBlank()) {
+            return ApiException.badRequest(codePrefix + "_NAME_REQUIRED", label + " name is required");
+        }
+        if (name.length() > MAX_NAME_LENGTH) {
+            return ApiException.badRequest(codePrefix + "_NAME_TOO_LONG", label + " name cannot exceed " + MAX_NAME_LENGTH + " characters");
+        }
+        return null;
+    }
+
+    private static <T> List<BatchCreateItemResponseDTO> merge(List<Item<T>> chunk, List<Item<T>> valid,
+                                                              List<BatchInsertRow> rows, Function<T, String> nameOf) {
+        BatchInsertRow[] byOrdinal = new BatchInsertRow[valid.size()];
+        rows.forEach(row -> byOrdinal[row.ordinal() - 1] = row);
+
+        List<BatchCreateItemResponseDTO> results = new ArrayList<>(chunk.size());
+        int next = 0;
+        for (Item<T> item : chunk) {
+            if (item.error() != null) {
+                results.add(rejected(item, nameOf));
+                continue;
+            }
+            BatchInsertRow row = byOrdinal[next++];
+            results.add(new BatchCreateItemResponseDTO(item.index(), row.id(), nameOf.apply(item.request()), row.status(), null));
+        }
+        return results;
+    }
+
+    private static <T> BatchCreateItemResponseDTO rejected(Item<T> item, Function<T, String> nameOf) {
+        return new BatchCreateItemResponseDTO(item.index(), null, nameOf.apply(item.request()),
+                item.error().getCode(), item.error().getMessage());
+    }
+
+    private record Item<T>(long index, T request, ApiException error) {}
+}
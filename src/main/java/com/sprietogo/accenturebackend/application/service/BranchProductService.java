@@ -2,24 +2,37 @@ package com.sprietogo.accenturebackend.application.service;
 
 import com.sprietogo.accenturebackend.application.port.repository.BranchProductRepositoryPort;
 import com.sprietogo.accenturebackend.application.port.repository.BranchRepositoryPort;
-import com.sprietogo.accenturebackend.application.port.repository.ProductRepositoryPort;
+import com.sprietogo.accenturebackend.application.port.repository.ProductCatalogPort;
+import com.sprietogo.accenturebackend.application.port.repository.TopStockReportCachePort;
 import com.sprietogo.accenturebackend.application.port.service.BranchProductServicePort;
+import com.sprietogo.accenturebackend.application.port.service.StockAlertServicePort;
 import com.sprietogo.accenturebackend.domain.exception.ApiException;
 import com.sprietogo.accenturebackend.domain.model.BranchEntity;
 import com.sprietogo.accenturebackend.domain.model.BranchProductEntity;
 import com.sprietogo.accenturebackend.domain.model.ProductEntity;
 import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.mapper.BranchProductMapper;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.BranchProductViewQueryRepository;
 import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.ReportingQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.StockTransferQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.StockTransferQueryRepository.TransferRow;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.BranchProductRequestDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.StockTransferRequestDTO;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchProductResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.FranchiseProductStockResponseDTO;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.ResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.StockTransferResponseDTO;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.TopStockProductByBranchResponseDTO;
+import com.sprietogo.accenturebackend.utils.SqlErrors;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.util.function.Tuple2;
+
+import java.util.List;
 
 import static com.sprietogo.accenturebackend.utils.Constants.*;
 
@@ -30,9 +43,15 @@ public class BranchProductService implements BranchProductServicePort {
 
     private final BranchProductRepositoryPort branchProductRepositoryPort;
     private final BranchRepositoryPort branchRepositoryPort;
-    private final ProductRepositoryPort productRepositoryPort;
+    private final ProductCatalogPort productCatalogPort;
 
     private final ReportingQueryRepository reportingQueryRepository;
+    private final BranchProductViewQueryRepository branchProductViewQueryRepository;
+    private final StockTransferQueryRepository stockTransferQueryRepository;
+
+    private final StockAlertServicePort stockAlertServicePort;
+
+    private final TopStockReportCachePort topStockReportCachePort;
 
     @Override
     public Mono<BranchProductResponseDTO> getBranchProductById(Long id) {
@@ -40,12 +59,22 @@ public class BranchProductService implements BranchProductServicePort {
             return Mono.error(ApiException.badRequest("BRANCH_PRODUCT_ID_REQUIRED", "BranchProduct id is required"));
         }
 
-        return branchProductRepositoryPort.getBranchProductById(id)
+        return branchProductViewQueryRepository.findById(id)
                 .switchIfEmpty(Mono.error(ApiException.notFound(
                         BRANCH_PRODUCT_NOT_FOUND,
                         "BranchProduct not found: " + id
                 )))
-                .flatMap(this::enrichAndMapToResponse);
+                .map(BranchProductMapper::toResponseDto);
+    }
+
+    @Override
+    public Mono<Long> getBranchProductVersion(Long id) {
+        if (id == null || id <= 0) {
+            return Mono.error(ApiException.badRequest("BRANCH_PRODUCT_ID_REQUIRED", "BranchProduct id is required"));
+        }
+
+        // Empty when the row is missing or slotted; callers fall back to a full read.
+        return branchProductRepositoryPort.getBranchProductVersion(id);
     }
 
     @Override
@@ -73,7 +102,7 @@ public class BranchProductService implements BranchProductServicePort {
                                     BRANCH_MSG_REQUIRED + branchId
                             )));
 
-                    Mono<ProductEntity> productMono = productRepositoryPort.getProductById(productId)
+                    Mono<ProductEntity> productMono = productCatalogPort.getProductById(productId)
                             .switchIfEmpty(Mono.error(ApiException.notFound(
                                     PRODUCT_NOT_FOUND,
                                     PRODUCT_NOT_FOUND_MSG + productId
@@ -93,6 +122,8 @@ public class BranchProductService implements BranchProductServicePort {
                                                 BranchProductEntity entity = BranchProductMapper.toEntity(req);
 
                                                 return branchProductRepositoryPort.saveBranchProduct(entity)
+                                                        .flatMap(saved -> stockAlertServicePort.evaluate(saved).thenReturn(saved))
+                                                        .flatMap(saved -> topStockReportCachePort.evictFranchise(tuple.getT1().getFranchiseId()).thenReturn(saved))
                                                         .map(saved -> BranchProductMapper.toResponseDto(saved, tuple.getT1(), tuple.getT2()))
                                                         .onErrorMap(DataIntegrityViolationException.class, ex ->
                                                                 ApiException.conflict(
@@ -106,7 +137,7 @@ public class BranchProductService implements BranchProductServicePort {
     }
 
     @Override
-    public Mono<BranchProductResponseDTO> updateBranchProduct(BranchProductRequestDTO request, Long id) {
+    public Mono<BranchProductResponseDTO> updateBranchProduct(BranchProductRequestDTO request, Long id, Long expectedVersion) {
         return Mono.justOrEmpty(request)
                 .switchIfEmpty(Mono.error(ApiException.badRequest("BRANCH_PRODUCT_BODY_REQUIRED", "Request body is required")))
                 .flatMap(req -> {
@@ -141,10 +172,23 @@ public class BranchProductService implements BranchProductServicePort {
                                     ));
                                 }
 
+                                // A slotted row's version does not move on slot takes, so no If-Match can be trusted against it.
+                                if (expectedVersion != null
+                                        && (BranchProductMapper.isSlotted(existing) || !expectedVersion.equals(existing.getVersion()))) {
+                                    return Mono.error(ApiException.preconditionFailed(
+                                            VERSION_MISMATCH,
+                                            VERSION_MISMATCH_MSG + expectedVersion
+                                    ));
+                                }
+
                                 existing.setStock(stock);
 
-                                return branchProductRepositoryPort.updateBranchProduct(existing)
-                                        .flatMap(this::enrichAndMapToResponse);
+                                return guardReservationCounter(branchProductRepositoryPort.updateBranchProduct(existing), "id=" + id)
+                                        .onErrorMap(OptimisticLockingFailureException.class, ex -> expectedVersion != null
+                                                ? ApiException.preconditionFailed(VERSION_MISMATCH, VERSION_MISMATCH_MSG + expectedVersion)
+                                                : ApiException.conflict(CONCURRENT_UPDATE, CONCURRENT_UPDATE_MSG + id))
+                                        .flatMap(updated -> stockAlertServicePort.evaluate(updated).thenReturn(updated))
+                                        .flatMap(this::evictReportAndMapToResponse);
                             });
                 });
     }
@@ -177,7 +221,9 @@ public class BranchProductService implements BranchProductServicePort {
                                 "Branch-Product not found for branchId =" + branchId + " and product-Id=" + productId
                         ));
                     }
-                    return branchProductRepositoryPort.deleteByBranchIdAndProductId(branchId, productId);
+                    return branchProductRepositoryPort.deleteByBranchIdAndProductId(branchId, productId)
+                            .then(branchRepositoryPort.getBranchById(branchId))
+                            .flatMap(branch -> topStockReportCachePort.evictFranchise(branch.getFranchiseId()));
                 });
     }
 
@@ -187,24 +233,13 @@ public class BranchProductService implements BranchProductServicePort {
             return Flux.error(ApiException.badRequest(BRANCH_REQUIRED, BRANCH_ID_MSG_REQUIRED));
         }
 
-        Mono<BranchEntity> branchMono = branchRepositoryPort.getBranchById(branchId)
+        return branchProductViewQueryRepository.findAllByBranchId(branchId)
                 .switchIfEmpty(Mono.error(ApiException.notFound(
                         BRANCH_NOT_FOUND,
                         BRANCH_MSG_REQUIRED + branchId
                 )))
-                .cache();
-
-        return branchMono.flatMapMany(branch ->
-                branchProductRepositoryPort.getAllByBranchId(branchId)
-                        .flatMap(bp ->
-                                productRepositoryPort.getProductById(bp.getProductId())
-                                        .switchIfEmpty(Mono.error(ApiException.notFound(
-                                                PRODUCT_NOT_FOUND,
-                                                PRODUCT_NOT_FOUND_MSG + bp.getProductId()
-                                        )))
-                                        .map(product -> BranchProductMapper.toResponseDto(bp, branch, product))
-                        )
-        );
+                .filter(row -> row.id() != null)
+                .map(BranchProductMapper::toResponseDto);
     }
 
     @Override
@@ -216,16 +251,16 @@ public class BranchProductService implements BranchProductServicePort {
             return Mono.error(ApiException.badRequest(PRODUCT_REQUIRED, PRODUCT_MSG_REQUIRED));
         }
 
-        return branchProductRepositoryPort.getByBranchIdAndProductId(branchId, productId)
+        return branchProductViewQueryRepository.findByBranchIdAndProductId(branchId, productId)
                 .switchIfEmpty(Mono.error(ApiException.notFound(
                         BRANCH_PRODUCT_NOT_FOUND,
                         "BranchProduct not found for branchId=" + branchId + " and productId=" + productId
                 )))
-                .flatMap(this::enrichAndMapToResponse);
+                .map(BranchProductMapper::toResponseDto);
     }
 
     @Override
-    public Mono<BranchProductResponseDTO> updateBranchProductStock(Long branchId, Long productId, Integer stock) {
+    public Mono<BranchProductResponseDTO> updateBranchProductStock(Long branchId, Long productId, Integer stock, Long expectedVersion) {
         if (branchId == null || branchId <= 0) {
             return Mono.error(ApiException.badRequest(BRANCH_REQUIRED, BRANCH_ID_MSG_REQUIRED));
         }
@@ -244,11 +279,114 @@ public class BranchProductService implements BranchProductServicePort {
                                 "BranchProduct not found for branchId=" + branchId + " and productId=" + productId
                         ));
                     }
-                    return branchProductRepositoryPort.updateBranchProductStock(branchId, productId, stock)
-                            .flatMap(this::enrichAndMapToResponse);
+                    Mono<BranchProductEntity> update = expectedVersion == null
+                            ? branchProductRepositoryPort.updateBranchProductStock(branchId, productId, stock)
+                            : branchProductRepositoryPort.updateBranchProductStockIfVersion(branchId, productId, stock, expectedVersion)
+                                    .switchIfEmpty(Mono.error(ApiException.preconditionFailed(
+                                            VERSION_MISMATCH,
+                                            VERSION_MISMATCH_MSG + expectedVersion
+                                    )));
+
+                    return guardReservationCounter(update, "branchId=" + branchId + ", productId=" + productId)
+                            .flatMap(updated -> stockAlertServicePort.evaluate(updated).thenReturn(updated))
+                            .flatMap(this::evictReportAndMapToResponse);
                 });
     }
 
+    @Override
+    public Mono<BranchProductResponseDTO> decrementBranchProductStock(Long branchId, Long productId, Integer quantity) {
+        if (branchId == null || branchId <= 0) {
+            return Mono.error(ApiException.badRequest(BRANCH_REQUIRED, BRANCH_ID_MSG_REQUIRED));
+        }
+        if (productId == null || productId <= 0) {
+            return Mono.error(ApiException.badRequest(PRODUCT_REQUIRED, PRODUCT_MSG_REQUIRED));
+        }
+        if (quantity == null || quantity <= 0) {
+            return Mono.error(ApiException.badRequest(QUANTITY_INVALID, QUANTITY_MSG_INVALID));
+        }
+
+        return guardReservationCounter(
+                        branchProductRepositoryPort.takeBranchProductStock(branchId, productId, quantity),
+                        "branchId=" + branchId + ", productId=" + productId)
+                .switchIfEmpty(Mono.error(ApiException.notFound(
+                        BRANCH_PRODUCT_NOT_FOUND,
+                        "BranchProduct not found for branchId=" + branchId + " and productId=" + productId
+                )))
+                .flatMap(taken -> {
+                    if (!taken) {
+                        return Mono.error(ApiException.conflict(
+                                INSUFFICIENT_STOCK,
+                                INSUFFICIENT_STOCK_MSG + branchId + ", productId=" + productId + ", quantity=" + quantity
+                        ));
+                    }
+                    return branchProductRepositoryPort.getByBranchIdAndProductId(branchId, productId);
+                })
+                .flatMap(updated -> stockAlertServicePort.evaluate(updated).thenReturn(updated))
+                .flatMap(this::evictReportAndMapToResponse);
+    }
+
+    @Override
+    public Mono<BranchProductResponseDTO> setBranchProductStockSlots(Long branchId, Long productId, Integer slots) {
+        if (branchId == null || branchId <= 0) {
+            return Mono.error(ApiException.badRequest(BRANCH_REQUIRED, BRANCH_ID_MSG_REQUIRED));
+        }
+        if (productId == null || productId <= 0) {
+            return Mono.error(ApiException.badRequest(PRODUCT_REQUIRED, PRODUCT_MSG_REQUIRED));
+        }
+        if (slots == null || slots < 0 || slots > MAX_STOCK_SLOTS) {
+            return Mono.error(ApiException.badRequest(STOCK_SLOTS_INVALID, STOCK_SLOTS_MSG_INVALID));
+        }
+
+        return guardReservationCounter(
+                        branchProductRepositoryPort.setBranchProductStockSlots(branchId, productId, slots),
+                        "branchId=" + branchId + ", productId=" + productId)
+                .switchIfEmpty(Mono.error(ApiException.notFound(
+                        BRANCH_PRODUCT_NOT_FOUND,
+                        "BranchProduct not found for branchId=" + branchId + " and productId=" + productId
+                )))
+                .then(branchProductRepositoryPort.getByBranchIdAndProductId(branchId, productId))
+                .flatMap(this::enrichAndMapToResponse);
+    }
+
+    @Override
+    public Flux<StockTransferResponseDTO> transferBranchProductStock(Long fromBranchId, Long toBranchId, Long productId, Integer quantity) {
+        return transferBranchProductStock(List.of(new StockTransferRequestDTO(fromBranchId, toBranchId, productId, quantity)));
+    }
+
+    @Override
+    public Flux<StockTransferResponseDTO> transferBranchProductStock(List<StockTransferRequestDTO> transfers) {
+        if (transfers == null || transfers.isEmpty()) {
+            return Flux.error(ApiException.badRequest(TRANSFER_INVALID, TRANSFER_MSG_REQUIRED));
+        }
+        if (transfers.size() > MAX_TRANSFER_BATCH_SIZE) {
+            return Flux.error(ApiException.badRequest(TRANSFER_INVALID, TRANSFER_MSG_TOO_MANY));
+        }
+        for (StockTransferRequestDTO transfer : transfers) {
+            ApiException invalid = validateTransfer(transfer);
+            if (invalid != null) {
+                return Flux.error(invalid);
+            }
+        }
+
+        return guardReservationCounter(stockTransferQueryRepository.transfer(transfers).collectList(), "the transferred rows")
+                .flatMapMany(rows -> {
+                    ApiException rejected = transferRejection(rows);
+                    if (rejected != null) {
+                        return Flux.error(rejected);
+                    }
+                    return Flux.fromIterable(rows)
+                            .concatMap(row -> stockAlertServicePort.evaluate(transferredEntity(row)).thenReturn(row))
+                            .collectList()
+                            .flatMapMany(applied -> Flux.fromIterable(applied)
+                                    .map(TransferRow::franchiseId)
+                                    .distinct()
+                                    .concatMap(topStockReportCachePort::evictFranchise)
+                                    .thenMany(Flux.fromIterable(applied)));
+                })
+                .map(row -> new StockTransferResponseDTO(
+                        row.branchProductId(), row.branchId(), row.productId(), row.newStock(), row.version()));
+    }
+
     @Override
     public Flux<TopStockProductByBranchResponseDTO> getTopStockProductsByBranch(Long franchiseId) {
         if (franchiseId == null || franchiseId <= 0) {
@@ -264,21 +402,129 @@ public class BranchProductService implements BranchProductServicePort {
                 ));
     }
 
+    @Override
+    public Mono<byte[]> getTopStockReport(Long franchiseId) {
+        if (franchiseId == null || franchiseId <= 0) {
+            return Mono.error(ApiException.badRequest("FRANCHISE_ID_REQUIRED", "franchiseId is required"));
+        }
+
+        return topStockReportCachePort.getTopStockReport(franchiseId, () -> getTopStockProductsByBranch(franchiseId));
+    }
+
+    @Override
+    public Mono<FranchiseProductStockResponseDTO> getFranchiseProductStock(Long franchiseId, Long productId, boolean live) {
+        if (franchiseId == null || franchiseId <= 0) {
+            return Mono.error(ApiException.badRequest("FRANCHISE_ID_REQUIRED", "franchiseId is required"));
+        }
+        if (productId == null || productId <= 0) {
+            return Mono.error(ApiException.badRequest(PRODUCT_REQUIRED, PRODUCT_MSG_REQUIRED));
+        }
+
+        return reportingQueryRepository.findFranchiseProductStock(franchiseId, productId)
+                .switchIfEmpty(Mono.error(ApiException.notFound(
+                        "FRANCHISE_PRODUCT_NOT_FOUND",
+                        "Franchise or product not found. franchiseId=" + franchiseId + ", productId=" + productId
+                )))
+                .flatMap(row -> {
+                    ResponseDTO franchise = new ResponseDTO(row.franchiseId(), row.franchiseName());
+                    ResponseDTO product = new ResponseDTO(row.productId(), row.productName());
+
+                    if (!live && row.totalStock() != null) {
+                        return Mono.just(new FranchiseProductStockResponseDTO(
+                                franchise, product, row.totalStock(), row.branchCount()));
+                    }
+
+                    return reportingQueryRepository.aggregateFranchiseProductStock(franchiseId, productId)
+                            .map(totals -> new FranchiseProductStockResponseDTO(
+                                    franchise, product, totals.totalStock(), totals.branchCount()));
+                });
+    }
+
+    private static ApiException validateTransfer(StockTransferRequestDTO transfer) {
+        if (transfer == null) {
+            return ApiException.badRequest(TRANSFER_INVALID, TRANSFER_MSG_REQUIRED);
+        }
+        if (transfer.getFromBranchId() == null || transfer.getFromBranchId() <= 0
+                || transfer.getToBranchId() == null || transfer.getToBranchId() <= 0) {
+            return ApiException.badRequest(BRANCH_REQUIRED, BRANCH_ID_MSG_REQUIRED);
+        }
+        if (transfer.getFromBranchId().equals(transfer.getToBranchId())) {
+            return ApiException.badRequest(TRANSFER_INVALID, TRANSFER_MSG_SAME_BRANCH);
+        }
+        if (transfer.getProductId() == null || transfer.getProductId() <= 0) {
+            return ApiException.badRequest(PRODUCT_REQUIRED, PRODUCT_MSG_REQUIRED);
+        }
+        if (transfer.getQuantity() == null || transfer.getQuantity() <= 0) {
+            return ApiException.badRequest(QUANTITY_INVALID, QUANTITY_MSG_INVALID);
+        }
+        return null;
+    }
+
+    // The statement only writes when nothing here applies; missing rows are reported before stock shortfalls.
+    private static ApiException transferRejection(List<TransferRow> rows) {
+        for (TransferRow row : rows) {
+            if (row.branchProductId() == null) {
+                return ApiException.notFound(
+                        BRANCH_PRODUCT_NOT_FOUND,
+                        "BranchProduct not found for branchId=" + row.branchId() + " and productId=" + row.productId());
+            }
+        }
+        for (TransferRow row : rows) {
+            if (row.stockSlots() > 0) {
+                return ApiException.conflict(TRANSFER_SLOTTED, TRANSFER_SLOTTED_MSG + row.branchId() + ", productId=" + row.productId());
+            }
+            if (row.newStock() < 0) {
+                return ApiException.conflict(
+                        INSUFFICIENT_STOCK,
+                        INSUFFICIENT_STOCK_MSG + row.branchId() + ", productId=" + row.productId() + ", missing=" + -row.newStock());
+            }
+        }
+        return null;
+    }
+
+    private static BranchProductEntity transferredEntity(TransferRow row) {
+        BranchProductEntity entity = new BranchProductEntity();
+        entity.setId(row.branchProductId());
+        entity.setBranchId(row.branchId());
+        entity.setProductId(row.productId());
+        entity.setStock(row.newStock());
+        entity.setVersion(row.version());
+        return entity;
+    }
+
+    // Rows with an enabled reservation counter reject direct stock writes in a trigger; other integrity errors pass through.
+    private <T> Mono<T> guardReservationCounter(Mono<T> write, String target) {
+        return write.onErrorMap(SqlErrors::isStockManagedByReservations, ex -> ApiException.conflict(
+                STOCK_MANAGED_BY_RESERVATIONS,
+                STOCK_MANAGED_BY_RESERVATIONS_MSG + target
+        ));
+    }
+
     private Mono<BranchProductResponseDTO> enrichAndMapToResponse(BranchProductEntity bp) {
+        return loadBranchAndProduct(bp)
+                .map(tuple -> BranchProductMapper.toResponseDto(bp, tuple.getT1(), tuple.getT2()));
+    }
+
+    private Mono<BranchProductResponseDTO> evictReportAndMapToResponse(BranchProductEntity bp) {
+        return loadBranchAndProduct(bp)
+                .flatMap(tuple -> topStockReportCachePort.evictFranchise(tuple.getT1().getFranchiseId())
+                        .thenReturn(BranchProductMapper.toResponseDto(bp, tuple.getT1(), tuple.getT2())));
+    }
+
+    private Mono<Tuple2<BranchEntity, ProductEntity>> loadBranchAndProduct(BranchProductEntity bp) {
         Mono<BranchEntity> branchMono = branchRepositoryPort.getBranchById(bp.getBranchId())
                 .switchIfEmpty(Mono.error(ApiException.notFound(
                         BRANCH_NOT_FOUND,
                         BRANCH_MSG_REQUIRED + bp.getBranchId()
                 )));
 
-        Mono<ProductEntity> productMono = productRepositoryPort.getProductById(bp.getProductId())
+        Mono<ProductEntity> productMono = productCatalogPort.getProductById(bp.getProductId())
                 .switchIfEmpty(Mono.error(ApiException.notFound(
                         PRODUCT_NOT_FOUND,
                         PRODUCT_NOT_FOUND_MSG + bp.getProductId()
                 )));
 
-        return Mono.zip(branchMono, productMono)
-                .map(tuple -> BranchProductMapper.toResponseDto(bp, tuple.getT1(), tuple.getT2()));
+        return Mono.zip(branchMono, productMono);
     }
 
 
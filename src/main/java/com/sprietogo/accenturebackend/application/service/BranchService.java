@@ -2,12 +2,16 @@ package com.sprietogo.accenturebackend.application.service;
 
 import com.sprietogo.accenturebackend.application.port.repository.BranchRepositoryPort;
 import com.sprietogo.accenturebackend.application.port.repository.FranchiseRepositoryPort;
+import com.sprietogo.accenturebackend.application.port.repository.TopStockReportCachePort;
 import com.sprietogo.accenturebackend.application.port.service.BranchServicePort;
 import com.sprietogo.accenturebackend.domain.exception.ApiException;
 import com.sprietogo.accenturebackend.domain.model.BranchEntity;
 import com.sprietogo.accenturebackend.domain.model.FranchiseEntity;
 import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.mapper.BranchMapper;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.BranchViewQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.CatalogBatchQueryRepository;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.BranchRequestDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BatchCreateItemResponseDTO;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchResponseDTO;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -23,6 +27,9 @@ public class BranchService implements BranchServicePort {
 
     private final BranchRepositoryPort branchRepositoryPort;
     private final FranchiseRepositoryPort franchiseRepositoryPort;
+    private final TopStockReportCachePort topStockReportCachePort;
+    private final CatalogBatchQueryRepository catalogBatchQueryRepository;
+    private final BranchViewQueryRepository branchViewQueryRepository;
 
     @Override
     public Mono<BranchResponseDTO> createBranch(BranchRequestDTO requestDTO) {
@@ -131,6 +138,7 @@ public class BranchService implements BranchServicePort {
                                             toUpdate.setUpdatedAt(existingBranch.getUpdatedAt());
 
                                             return branchRepositoryPort.saveBranch(toUpdate)
+                                                    .flatMap(saved -> topStockReportCachePort.evictFranchise(franchiseId).thenReturn(saved))
                                                     .map(saved -> BranchMapper.toResponseDto(saved, franchise))
                                                     .onErrorMap(DataIntegrityViolationException.class, ex ->
                                                             ApiException.conflict(
@@ -149,17 +157,13 @@ public class BranchService implements BranchServicePort {
             return Flux.error(ApiException.badRequest("BRANCH_FRANCHISE_ID_REQUIRED", "franchiseId is required"));
         }
 
-        Mono<FranchiseEntity> franchiseMono = franchiseRepositoryPort.getFranchiseById(franchiseId)
+        return branchViewQueryRepository.findAllByFranchiseId(franchiseId)
                 .switchIfEmpty(Mono.error(ApiException.notFound(
                         "FRANCHISE_NOT_FOUND",
                         "Franchise not found: " + franchiseId
                 )))
-                .cache();
-
-        return franchiseMono.flatMapMany(franchise ->
-                branchRepositoryPort.getAllByFranchiseId(franchiseId)
-                        .map(branch -> BranchMapper.toResponseDto(branch, franchise))
-        );
+                .filter(row -> row.id() != null)
+                .map(BranchMapper::toResponseDto);
     }
 
     @Override
@@ -173,19 +177,30 @@ public class BranchService implements BranchServicePort {
             return Mono.error(ApiException.badRequest("BRANCH_NAME_REQUIRED", "Branch name is required"));
         }
 
-        Mono<FranchiseEntity> franchiseMono = franchiseRepositoryPort.getFranchiseById(franchiseId)
+        return branchViewQueryRepository.findByFranchiseIdAndName(franchiseId, cleanName)
                 .switchIfEmpty(Mono.error(ApiException.notFound(
                         "FRANCHISE_NOT_FOUND",
                         "Franchise not found: " + franchiseId
-                )));
-
-        Mono<BranchEntity> branchMono = branchRepositoryPort.getBranchByFranchiseIdAndName(franchiseId, cleanName)
+                )))
+                .filter(row -> row.id() != null)
                 .switchIfEmpty(Mono.error(ApiException.notFound(
                         "BRANCH_NOT_FOUND",
                         "Branch not found in franchiseId=" + franchiseId + ": " + cleanName
-                )));
+                )))
+                .map(BranchMapper::toResponseDto);
+    }
 
-        return Mono.zip(franchiseMono, branchMono)
-                .map(tuple -> BranchMapper.toResponseDto(tuple.getT2(), tuple.getT1()));
+    @Override
+    public Flux<BatchCreateItemResponseDTO> createBranches(Flux<BranchRequestDTO> requests) {
+        return BatchCreates.inChunks(
+                requests.doOnNext(req -> req.setName(BatchCreates.trimmedName(req.getName()))),
+                BranchRequestDTO::getName,
+                req -> req.getFranchiseId() == null || req.getFranchiseId() <= 0
+                        ? ApiException.badRequest("BRANCH_FRANCHISE_ID_REQUIRED", "franchiseId is required")
+                        : BatchCreates.nameError(req.getName(), "BRANCH", "Branch"),
+                chunk -> catalogBatchQueryRepository.insertBranches(
+                        chunk.stream().map(BranchRequestDTO::getFranchiseId).toList(),
+                        chunk.stream().map(BranchRequestDTO::getName).toList())
+        );
     }
 }
@@ -5,12 +5,15 @@ import com.sprietogo.accenturebackend.application.port.service.FranchiseServiceP
 import com.sprietogo.accenturebackend.domain.exception.ApiException;
 import com.sprietogo.accenturebackend.domain.model.FranchiseEntity;
 import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.mapper.FranchiseMapper;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.CatalogBatchQueryRepository;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.RequestDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BatchCreateItemResponseDTO;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.ResponseDTO;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Service
@@ -19,6 +22,7 @@ import reactor.core.publisher.Mono;
 public class FranchiseService implements FranchiseServicePort {
 
     private final FranchiseRepositoryPort franchiseRepositoryPort;
+    private final CatalogBatchQueryRepository catalogBatchQueryRepository;
 
     @Override
     public Mono<ResponseDTO> createFranchise(RequestDTO requestDTO) {
@@ -128,4 +132,14 @@ public class FranchiseService implements FranchiseServicePort {
                             .map(FranchiseMapper::toResponseDto);
                 });
     }
+
+    @Override
+    public Flux<BatchCreateItemResponseDTO> createFranchises(Flux<RequestDTO> requests) {
+        return BatchCreates.inChunks(
+                requests.doOnNext(req -> req.setName(BatchCreates.trimmedName(req.getName()))),
+                RequestDTO::getName,
+                req -> BatchCreates.nameError(req.getName(), "FRANCHISE", "Franchise"),
+                chunk -> catalogBatchQueryRepository.insertFranchises(chunk.stream().map(RequestDTO::getName).toList())
+        );
+    }
 }
@@ -0,0 +1,77 @@
+package com.sprietogo.accenturebackend.application.service;
+
+import com.sprietogo.accenturebackend.application.port.repository.BranchRepositoryPort;
+import com.sprietogo.accenturebackend.application.port.repository.InventoryMatrixPort;
+import com.sprietogo.accenturebackend.application.port.repository.ProductCatalogPort;
+import com.sprietogo.accenturebackend.application.port.service.InventoryAnalyticsServicePort;
+import com.sprietogo.accenturebackend.domain.exception.ApiException;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchStockResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.FranchiseStockDistributionResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.ResponseDTO;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+
+import static com.sprietogo.accenturebackend.utils.Constants.*;
+
+@Service
+@AllArgsConstructor
+public class InventoryAnalyticsService implements InventoryAnalyticsServicePort {
+
+    private final InventoryMatrixPort inventoryMatrixPort;
+    private final ProductCatalogPort productCatalogPort;
+    private final BranchRepositoryPort branchRepositoryPort;
+
+    @Override
+    public Flux<BranchStockResponseDTO> getBranchesBelow(Long productId, Integer threshold, Long franchiseId) {
+        if (productId == null || productId <= 0) {
+            return Flux.error(ApiException.badRequest(PRODUCT_REQUIRED, PRODUCT_MSG_REQUIRED));
+        }
+        if (threshold == null || threshold < 0) {
+            return Flux.error(ApiException.badRequest(THRESHOLD_INVALID, THRESHOLD_MSG_INVALID));
+        }
+        return requireLoaded()
+                .then(inventoryMatrixPort.findBranchesBelow(productId, threshold, franchiseId))
+                .flatMapIterable(branches -> branches);
+    }
+
+    @Override
+    public Flux<FranchiseStockDistributionResponseDTO> getStockDistribution(Long productId) {
+        if (productId == null || productId <= 0) {
+            return Flux.error(ApiException.badRequest(PRODUCT_REQUIRED, PRODUCT_MSG_REQUIRED));
+        }
+        return requireLoaded()
+                .then(inventoryMatrixPort.getStockDistribution(productId))
+                .flatMapIterable(distribution -> distribution);
+    }
+
+    /**
+     * Products in the catalog that the branch has no row for. A branch without any rows is not in the
+     * matrix, so only then is the database asked whether it exists.
+     */
+    @Override
+    public Flux<ResponseDTO> getProductsMissingInBranch(Long branchId) {
+        if (branchId == null || branchId <= 0) {
+            return Flux.error(ApiException.badRequest(BRANCH_REQUIRED, BRANCH_ID_MSG_REQUIRED));
+        }
+        Mono<long[]> stocked = inventoryMatrixPort.getBranchProductIds(branchId)
+                .switchIfEmpty(Mono.defer(() -> branchRepositoryPort.getBranchById(branchId)
+                        .map(branch -> new long[0])
+                        .switchIfEmpty(Mono.error(ApiException.notFound(BRANCH_NOT_FOUND, BRANCH_MSG_REQUIRED + branchId)))));
+
+        return requireLoaded()
+                .then(stocked)
+                .flatMapMany(productIds -> productCatalogPort.getAllProducts()
+                        .filter(product -> Arrays.binarySearch(productIds, product.getId()) < 0))
+                .map(product -> new ResponseDTO(product.getId(), product.getName()));
+    }
+
+    private Mono<Void> requireLoaded() {
+        return Mono.defer(() -> inventoryMatrixPort.isLoaded()
+                ? Mono.empty()
+                : Mono.error(ApiException.serviceUnavailable(INVENTORY_MATRIX_UNAVAILABLE, INVENTORY_MATRIX_UNAVAILABLE_MSG)));
+    }
+}
@@ -0,0 +1,149 @@
+package com.sprietogo.accenturebackend.application.service;
+
+import com.sprietogo.accenturebackend.application.port.service.InventoryExportServicePort;
+import com.sprietogo.accenturebackend.domain.exception.ApiException;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.ExportTable;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.InventoryExportQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.InventoryExportResponseDTO;
+import com.sprietogo.accenturebackend.utils.GzipChunkWriter;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.temporal.Temporal;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+@Slf4j
+@AllArgsConstructor
+public class InventoryExportService implements InventoryExportServicePort {
+
+    static final int FETCH_SIZE = 500;
+    static final int ROWS_PER_CHUNK = 256;
+
+    private final InventoryExportQueryRepository inventoryExportQueryRepository;
+    private final JsonMapper jsonMapper;
+    private final DataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+
+    @Override
+    public Mono<InventoryExportResponseDTO> export(String table, String format, Long afterId, Long untilId) {
+        ExportTable exportTable = ExportTable.fromName(table).orElse(null);
+        if (exportTable == null) {
+            return Mono.error(ApiException.badRequest(
+                    "EXPORT_TABLE_INVALID",
+                    "table must be one of franchise, branch, product, branch_product"
+            ));
+        }
+
+        ExportFormat exportFormat = ExportFormat.fromName(format);
+        if (exportFormat == null) {
+            return Mono.error(ApiException.badRequest("EXPORT_FORMAT_INVALID", "format must be ndjson or csv"));
+        }
+
+        long from = afterId == null ? 0L : afterId;
+        if (from < 0 || (untilId != null && untilId < from)) {
+            return Mono.error(ApiException.badRequest("EXPORT_RANGE_INVALID", "afterId must be >= 0 and <= untilId"));
+        }
+
+        Mono<Long> untilMono = untilId != null
+                ? Mono.just(untilId)
+                : inventoryExportQueryRepository.findMaxId(exportTable);
+
+        return untilMono.map(until -> new InventoryExportResponseDTO(
+                exportTable.tableName() + "-" + from + "-" + until + "." + exportFormat.extension,
+                exportFormat.contentType,
+                from,
+                until,
+                stream(exportTable, exportFormat, from, until)
+        ));
+    }
+
+    private Flux<DataBuffer> stream(ExportTable table, ExportFormat format, long afterId, long untilId) {
+        Flux<byte[]> rows = inventoryExportQueryRepository.streamRows(table, afterId, untilId, FETCH_SIZE)
+                .map(values -> format == ExportFormat.CSV ? toCsvLine(values) : toJsonLine(table, values));
+
+        Flux<byte[]> lines = format == ExportFormat.CSV
+                ? Flux.concat(Mono.fromCallable(() -> toCsvLine(List.copyOf(table.columns()))), rows)
+                : rows;
+
+        return Flux.using(
+                        GzipChunkWriter::new,
+                        writer -> lines.buffer(ROWS_PER_CHUNK)
+                                .map(writer::write)
+                                .concatWith(Mono.fromCallable(writer::finish)),
+                        GzipChunkWriter::close)
+                .filter(chunk -> chunk.length > 0)
+                .map(bufferFactory::wrap);
+    }
+
+    private byte[] toJsonLine(ExportTable table, List<Object> values) {
+        Map<String, Object> record = new LinkedHashMap<>();
+        for (int i = 0; i < values.size(); i++) {
+            record.put(table.columns().get(i), normalize(values.get(i)));
+        }
+        byte[] json = jsonMapper.writeValueAsBytes(record);
+        byte[] line = new byte[json.length + 1];
+        System.arraycopy(json, 0, line, 0, json.length);
+        line[json.length] = '\n';
+        return line;
+    }
+
+    private static byte[] toCsvLine(List<?> values) {
+        StringBuilder line = new StringBuilder();
+        for (int i = 0; i < values.size(); i++) {
+            if (i > 0) {
+                line.append(',');
+            }
+            Object value = normalize(values.get(i));
+            if (value != null) {
+                line.append(escapeCsv(value.toString()));
+            }
+        }
+        return line.append('\n').toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String escapeCsv(String value) {
+        if (value.indexOf(',') < 0 && value.indexOf('"') < 0 && value.indexOf('\n') < 0 && value.indexOf('\r') < 0) {
+            return value;
+        }
+        return '"' + value.replace("\"", "\"\"") + '"';
+    }
+
+    private static Object normalize(Object value) {
+        return value instanceof Temporal ? value.toString() : value;
+    }
+
+    private enum ExportFormat {
+        NDJSON("application/x-ndjson", "ndjson"),
+        CSV("text/csv", "csv");
+
+        private final String contentType;
+        private final String extension;
+
+        ExportFormat(String contentType, String extension) {
+            this.contentType = contentType;
+            this.extension = extension;
+        }
+
+        static ExportFormat fromName(String name) {
+            if (name == null) {
+                return NDJSON;
+            }
+            for (ExportFormat format : values()) {
+                if (format.extension.equalsIgnoreCase(name)) {
+                    return format;
+                }
+            }
+            return null;
+        }
+    }
+}
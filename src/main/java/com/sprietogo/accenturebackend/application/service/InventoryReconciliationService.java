@@ -0,0 +1,130 @@
+package com.sprietogo.accenturebackend.application.service;
+
+import com.sprietogo.accenturebackend.application.port.repository.TopStockReportCachePort;
+import com.sprietogo.accenturebackend.application.port.service.InventoryReconciliationServicePort;
+import com.sprietogo.accenturebackend.application.port.service.StockAlertServicePort;
+import com.sprietogo.accenturebackend.domain.exception.ApiException;
+import com.sprietogo.accenturebackend.domain.model.BranchProductEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.InventoryReconciliationQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.InventoryReconciliationQueryRepository.ChangedRow;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.InventoryReconciliationQueryRepository.ReconcileResult;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.InventoryCountRequestDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.InventoryReconciliationResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.config.InventoryReconciliationProperties;
+import com.sprietogo.accenturebackend.utils.SqlErrors;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.HashSet;
+import java.util.Set;
+
+import static com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.InventoryReconciliationQueryRepository.*;
+import static com.sprietogo.accenturebackend.utils.Constants.*;
+
+/**
+ * Applies a store's full counted inventory to one branch: listed products get the counted stock (created
+ * when missing) and products that are not listed are removed. The upload is read and validated in full
+ * before the transaction opens, so a slow client or a bad item never holds a connection or row locks;
+ * {@code app.inventory-reconciliation.max-items} bounds how much of it is held in memory.
+ */
+@Service
+@AllArgsConstructor
+public class InventoryReconciliationService implements InventoryReconciliationServicePort {
+
+    private final InventoryReconciliationQueryRepository inventoryReconciliationQueryRepository;
+    private final StockAlertServicePort stockAlertServicePort;
+    private final TopStockReportCachePort topStockReportCachePort;
+    private final InventoryReconciliationProperties properties;
+
+    @Override
+    public Mono<InventoryReconciliationResponseDTO> reconcileBranchInventory(Long branchId, Flux<InventoryCountRequestDTO> counts) {
+        if (branchId == null || branchId <= 0) {
+            return Mono.error(ApiException.badRequest(BRANCH_REQUIRED, BRANCH_ID_MSG_REQUIRED));
+        }
+
+        Flux<InventoryCountRequestDTO> validated = Flux.defer(() -> {
+            Set<Long> seen = new HashSet<>();
+            return (counts == null ? Flux.<InventoryCountRequestDTO>empty() : counts).map(count -> {
+                ApiException invalid = validateCount(count, seen, properties.maxItems());
+                if (invalid != null) {
+                    throw invalid;
+                }
+                return count;
+            });
+        });
+
+        return validated.collectList()
+                .flatMap(list -> inventoryReconciliationQueryRepository.reconcile(branchId, list))
+                .onErrorMap(SqlErrors::isStockManagedByReservations, ex -> ApiException.conflict(
+                        STOCK_MANAGED_BY_RESERVATIONS,
+                        STOCK_MANAGED_BY_RESERVATIONS_MSG + "a product of branchId=" + branchId
+                ))
+                .flatMap(result -> {
+                    ApiException rejected = rejection(branchId, result);
+                    if (rejected != null) {
+                        return Mono.error(rejected);
+                    }
+                    return applySideEffects(branchId, result).thenReturn(summary(branchId, result));
+                });
+    }
+
+    // Rejecting past the cap cancels the upload, so the rest of the body is never read.
+    private static ApiException validateCount(InventoryCountRequestDTO count, Set<Long> seen, int maxItems) {
+        if (seen.size() >= maxItems) {
+            return ApiException.contentTooLarge(INVENTORY_TOO_LARGE, INVENTORY_TOO_LARGE_MSG + maxItems);
+        }
+        if (count.getProductId() == null || count.getProductId() <= 0) {
+            return ApiException.badRequest(PRODUCT_REQUIRED, PRODUCT_MSG_REQUIRED);
+        }
+        if (count.getStock() == null || count.getStock() < 0) {
+            return ApiException.badRequest(STOCK_REQUIRED, STOCK_MSG_REQUIRED);
+        }
+        if (!seen.add(count.getProductId())) {
+            return ApiException.badRequest(INVENTORY_DUPLICATE_PRODUCT, INVENTORY_DUPLICATE_PRODUCT_MSG + count.getProductId());
+        }
+        return null;
+    }
+
+    private static ApiException rejection(Long branchId, ReconcileResult result) {
+        if (result.franchiseId() == null) {
+            return ApiException.notFound(BRANCH_NOT_FOUND, BRANCH_MSG_REQUIRED + branchId);
+        }
+        if (result.staged() == 0) {
+            return ApiException.badRequest(INVENTORY_EMPTY, INVENTORY_EMPTY_MSG);
+        }
+        if (result.unknownProductId() != null) {
+            return ApiException.notFound(PRODUCT_NOT_FOUND, PRODUCT_NOT_FOUND_MSG + result.unknownProductId());
+        }
+        return null;
+    }
+
+    private Mono<Void> applySideEffects(Long branchId, ReconcileResult result) {
+        if (result.changes().isEmpty()) {
+            return Mono.empty();
+        }
+        return Flux.fromIterable(result.changes())
+                .filter(row -> !DELETED.equals(row.op()))
+                .concatMap(row -> {
+                    BranchProductEntity entity = new BranchProductEntity();
+                    entity.setId(row.branchProductId());
+                    entity.setBranchId(branchId);
+                    entity.setProductId(row.productId());
+                    entity.setStock(row.stock());
+                    return stockAlertServicePort.evaluate(entity);
+                })
+                .then(topStockReportCachePort.evictFranchise(result.franchiseId()));
+    }
+
+    private static InventoryReconciliationResponseDTO summary(Long branchId, ReconcileResult result) {
+        long inserted = count(result, INSERTED);
+        long updated = count(result, UPDATED);
+        return new InventoryReconciliationResponseDTO(branchId, inserted, updated, count(result, DELETED),
+                result.staged() - inserted - updated);
+    }
+
+    private static long count(ReconcileResult result, String op) {
+        return result.changes().stream().map(ChangedRow::op).filter(op::equals).count();
+    }
+}
@@ -0,0 +1,127 @@
+package com.sprietogo.accenturebackend.application.service;
+
+import com.sprietogo.accenturebackend.application.port.repository.BranchRepositoryPort;
+import com.sprietogo.accenturebackend.application.port.repository.FranchiseRepositoryPort;
+import com.sprietogo.accenturebackend.application.port.service.InventorySyncServicePort;
+import com.sprietogo.accenturebackend.domain.exception.ApiException;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.InventorySyncQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.InventorySyncQueryRepository.SyncChangeRow;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchProductChangeDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchProductTombstoneDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.InventoryChangesResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.config.SyncProperties;
+import com.sprietogo.accenturebackend.utils.SyncWatermark;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.sprietogo.accenturebackend.utils.Constants.*;
+
+/**
+ * Delta sync for offline devices. Without {@code since} the feed starts from the beginning and carries no
+ * tombstones; afterwards devices pass back the returned watermark and apply upserts and deletes by
+ * branchProductId. A watermark older than the tombstone retention may have missed deletes, so it is
+ * refused with 410 and the device has to start over.
+ */
+@Service
+@AllArgsConstructor
+public class InventorySyncService implements InventorySyncServicePort {
+
+    private final InventorySyncQueryRepository inventorySyncQueryRepository;
+    private final BranchRepositoryPort branchRepositoryPort;
+    private final FranchiseRepositoryPort franchiseRepositoryPort;
+    private final SyncProperties properties;
+
+    @Override
+    public Mono<InventoryChangesResponseDTO> getBranchChanges(Long branchId, String since, Integer limit) {
+        if (branchId == null || branchId <= 0) {
+            return Mono.error(ApiException.badRequest(BRANCH_REQUIRED, BRANCH_ID_MSG_REQUIRED));
+        }
+        return Mono.fromCallable(() -> new SyncRequest(parseSince(since), pageSize(limit)))
+                .flatMap(request -> branchRepositoryPort.getBranchById(branchId)
+                        .switchIfEmpty(Mono.error(ApiException.notFound(BRANCH_NOT_FOUND, BRANCH_MSG_REQUIRED + branchId)))
+                        .flatMap(branch -> inventorySyncQueryRepository.findBranchChanges(branchId, request.from(),
+                                        request.withTombstones(), properties.commitLag(), request.limit() + 1)
+                                .collectList())
+                        .map(rows -> toResponse(request, rows)));
+    }
+
+    @Override
+    public Mono<InventoryChangesResponseDTO> getFranchiseChanges(Long franchiseId, String since, Integer limit) {
+        if (franchiseId == null || franchiseId <= 0) {
+            return Mono.error(ApiException.badRequest("FRANCHISE_ID_REQUIRED", "franchiseId is required"));
+        }
+        return Mono.fromCallable(() -> new SyncRequest(parseSince(since), pageSize(limit)))
+                .flatMap(request -> franchiseRepositoryPort.getFranchiseById(franchiseId)
+                        .switchIfEmpty(Mono.error(ApiException.notFound(FRANCHISE_NOT_FOUND, FRANCHISE_NOT_FOUND_MSG + franchiseId)))
+                        .flatMap(franchise -> inventorySyncQueryRepository.findFranchiseChanges(franchiseId, request.from(),
+                                        request.withTombstones(), properties.commitLag(), request.limit() + 1)
+                                .collectList())
+                        .map(rows -> toResponse(request, rows)));
+    }
+
+    private SyncWatermark parseSince(String since) {
+        if (since == null || since.isBlank()) {
+            return null;
+        }
+        SyncWatermark watermark = SyncWatermark.parse(since.trim());
+        if (watermark.changedAt().isBefore(OffsetDateTime.now().minus(properties.tombstoneRetention()))) {
+            throw ApiException.gone(SYNC_WATERMARK_EXPIRED, SYNC_WATERMARK_EXPIRED_MSG);
+        }
+        return watermark;
+    }
+
+    private static int pageSize(Integer limit) {
+        if (limit == null) {
+            return SYNC_DEFAULT_PAGE_SIZE;
+        }
+        if (limit < 1 || limit > SYNC_MAX_PAGE_SIZE) {
+            throw ApiException.badRequest(SYNC_LIMIT_INVALID, SYNC_LIMIT_MSG_INVALID);
+        }
+        return limit;
+    }
+
+    /**
+     * A full page ends at its last change; otherwise the feed is complete up to the query's upper bound.
+     * The watermark never moves backwards, even if the device is ahead of that bound.
+     */
+    private static InventoryChangesResponseDTO toResponse(SyncRequest request, List<SyncChangeRow> rows) {
+        List<SyncChangeRow> changes = rows.stream().filter(SyncChangeRow::isChange).toList();
+        boolean hasMore = changes.size() > request.limit();
+        List<SyncChangeRow> page = hasMore ? changes.subList(0, request.limit()) : changes;
+
+        SyncWatermark next = hasMore
+                ? page.getLast().watermark()
+                : SyncWatermark.after(rows.getFirst().upper());
+        if (next.compareTo(request.from()) < 0) {
+            next = request.from();
+        }
+
+        List<BranchProductChangeDTO> upserts = new ArrayList<>();
+        List<BranchProductTombstoneDTO> deletes = new ArrayList<>();
+        for (SyncChangeRow row : page) {
+            if (row.kind() == SyncWatermark.TOMBSTONE) {
+                deletes.add(new BranchProductTombstoneDTO(row.branchProductId(), row.branchId(), row.productId(), row.changedAt()));
+            } else {
+                upserts.add(new BranchProductChangeDTO(row.branchProductId(), row.branchId(), row.productId(),
+                        row.stock(), row.version(), row.changedAt()));
+            }
+        }
+        return new InventoryChangesResponseDTO(next.token(), hasMore, upserts, deletes);
+    }
+
+    private record SyncRequest(SyncWatermark since, int limit) {
+
+        SyncWatermark from() {
+            return since == null ? SyncWatermark.INITIAL : since;
+        }
+
+        boolean withTombstones() {
+            return since != null;
+        }
+    }
+}
@@ -1,16 +1,21 @@
 package com.sprietogo.accenturebackend.application.service;
 
 import com.sprietogo.accenturebackend.application.port.repository.ProductRepositoryPort;
+import com.sprietogo.accenturebackend.application.port.repository.TopStockReportCachePort;
 import com.sprietogo.accenturebackend.application.port.service.ProductServicePort;
 import com.sprietogo.accenturebackend.domain.exception.ApiException;
 import com.sprietogo.accenturebackend.domain.model.ProductEntity;
 import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.mapper.ProductMapper;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.CatalogBatchQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.ProductViewQueryRepository;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.RequestDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BatchCreateItemResponseDTO;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.ResponseDTO;
 import lombok.AllArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Service
@@ -19,6 +24,9 @@ import reactor.core.publisher.Mono;
 public class ProductService implements ProductServicePort {
 
     private final ProductRepositoryPort productRepositoryPort;
+    private final CatalogBatchQueryRepository catalogBatchQueryRepository;
+    private final TopStockReportCachePort topStockReportCachePort;
+    private final ProductViewQueryRepository productViewQueryRepository;
 
     @Override
     public Mono<ResponseDTO> saveProduct(RequestDTO requestDTO) {
@@ -101,6 +109,7 @@ public class ProductService implements ProductServicePort {
                                             toUpdate.setUpdatedAt(existing.getUpdatedAt());
 
                                             return productRepositoryPort.saveProduct(toUpdate)
+                                                    .flatMap(saved -> topStockReportCachePort.evictAll().thenReturn(saved))
                                                     .map(ProductMapper::toResponseDto)
                                                     .onErrorMap(DataIntegrityViolationException.class, ex ->
                                                             ApiException.conflict(
@@ -123,7 +132,7 @@ public class ProductService implements ProductServicePort {
                         return Mono.error(ApiException.badRequest("PRODUCT_NAME_REQUIRED", "Product name is required"));
                     }
 
-                    return productRepositoryPort.getProductByName(cleanName)
+                    return productViewQueryRepository.findByName(cleanName)
                             .switchIfEmpty(Mono.error(ApiException.notFound(
                                     "PRODUCT_NOT_FOUND",
                                     "Product not found: " + cleanName
@@ -131,4 +140,14 @@ public class ProductService implements ProductServicePort {
                             .map(ProductMapper::toResponseDto);
                 });
     }
+
+    @Override
+    public Flux<BatchCreateItemResponseDTO> createProducts(Flux<RequestDTO> requests) {
+        return BatchCreates.inChunks(
+                requests.doOnNext(req -> req.setName(BatchCreates.trimmedName(req.getName()))),
+                RequestDTO::getName,
+                req -> BatchCreates.nameError(req.getName(), "PRODUCT", "Product"),
+                chunk -> catalogBatchQueryRepository.insertProducts(chunk.stream().map(RequestDTO::getName).toList())
+        );
+    }
 }
@@ -0,0 +1,111 @@
+package com.sprietogo.accenturebackend.application.service;
+
+import com.sprietogo.accenturebackend.application.port.repository.StockAlertRepositoryPort;
+import com.sprietogo.accenturebackend.application.port.service.StockAlertServicePort;
+import com.sprietogo.accenturebackend.domain.exception.ApiException;
+import com.sprietogo.accenturebackend.domain.model.BranchProductEntity;
+import com.sprietogo.accenturebackend.domain.model.StockAlertEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.mapper.StockAlertMapper;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.StockAlertResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.StockThresholdResponseDTO;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+
+import static com.sprietogo.accenturebackend.utils.Constants.*;
+
+@Service
+@Slf4j
+public class StockAlertService implements StockAlertServicePort {
+
+    private final StockAlertRepositoryPort stockAlertRepositoryPort;
+
+    private final Sinks.Many<StockAlertResponseDTO> alertSink = Sinks.many().multicast().directBestEffort();
+
+    public StockAlertService(StockAlertRepositoryPort stockAlertRepositoryPort) {
+        this.stockAlertRepositoryPort = stockAlertRepositoryPort;
+    }
+
+    @Override
+    public Mono<Void> evaluate(BranchProductEntity branchProduct) {
+        if (branchProduct == null || branchProduct.getId() == null) {
+            return Mono.empty();
+        }
+
+        // Alerting must never fail the stock write that triggered it.
+        return stockAlertRepositoryPort.evaluateBranchProduct(branchProduct.getId())
+                .doOnNext(this::publish)
+                .then()
+                .onErrorResume(ex -> {
+                    log.warn("Stock alert evaluation failed for branchProductId={}", branchProduct.getId(), ex);
+                    return Mono.empty();
+                });
+    }
+
+    @Override
+    public Flux<StockAlertResponseDTO> getAlertsByBranchId(Long branchId, boolean openOnly) {
+        if (branchId == null || branchId <= 0) {
+            return Flux.error(ApiException.badRequest(BRANCH_REQUIRED, BRANCH_ID_MSG_REQUIRED));
+        }
+        return stockAlertRepositoryPort.getAlertsByBranchId(branchId, openOnly)
+                .map(StockAlertMapper::toResponseDto);
+    }
+
+    @Override
+    public Flux<StockAlertResponseDTO> streamAlerts() {
+        return alertSink.asFlux();
+    }
+
+    @Override
+    public Mono<StockThresholdResponseDTO> updateProductThreshold(Long productId, Integer threshold) {
+        if (productId == null || productId <= 0) {
+            return Mono.error(ApiException.badRequest(PRODUCT_REQUIRED, PRODUCT_MSG_REQUIRED));
+        }
+        if (threshold != null && threshold < 0) {
+            return Mono.error(ApiException.badRequest(THRESHOLD_INVALID, THRESHOLD_MSG_INVALID));
+        }
+
+        return stockAlertRepositoryPort.updateProductThreshold(productId, threshold)
+                .flatMap(updated -> {
+                    if (!updated) {
+                        return Mono.error(ApiException.notFound(PRODUCT_NOT_FOUND, PRODUCT_NOT_FOUND_MSG + productId));
+                    }
+                    return stockAlertRepositoryPort.evaluateProduct(productId)
+                            .doOnNext(this::publish)
+                            .then(Mono.just(new StockThresholdResponseDTO(null, productId, threshold)));
+                });
+    }
+
+    @Override
+    public Mono<StockThresholdResponseDTO> updateBranchProductThreshold(Long branchId, Long productId, Integer threshold) {
+        if (branchId == null || branchId <= 0) {
+            return Mono.error(ApiException.badRequest(BRANCH_REQUIRED, BRANCH_ID_MSG_REQUIRED));
+        }
+        if (productId == null || productId <= 0) {
+            return Mono.error(ApiException.badRequest(PRODUCT_REQUIRED, PRODUCT_MSG_REQUIRED));
+        }
+        if (threshold != null && threshold < 0) {
+            return Mono.error(ApiException.badRequest(THRESHOLD_INVALID, THRESHOLD_MSG_INVALID));
+        }
+
+        return stockAlertRepositoryPort.updateBranchProductThreshold(branchId, productId, threshold)
+                .switchIfEmpty(Mono.error(ApiException.notFound(
+                        BRANCH_PRODUCT_NOT_FOUND,
+                        "BranchProduct not found for branchId=" + branchId + " and productId=" + productId
+                )))
+                .flatMap(branchProductId -> stockAlertRepositoryPort.evaluateBranchProduct(branchProductId)
+                        .doOnNext(this::publish)
+                        .then(Mono.just(new StockThresholdResponseDTO(branchId, productId, threshold))));
+    }
+
+    private void publish(StockAlertEntity alert) {
+        log.info("Stock alert {} for branchId={} productId={} stock={} threshold={}",
+                alert.getResolvedAt() == null ? "opened" : "resolved",
+                alert.getBranchId(), alert.getProductId(), alert.getStock(), alert.getThreshold());
+        alertSink.emitNext(StockAlertMapper.toResponseDto(alert), Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(50)));
+    }
+}
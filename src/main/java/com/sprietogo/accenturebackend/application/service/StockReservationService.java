@@ -0,0 +1,235 @@
+package com.sprietogo.accenturebackend.application.service;
+
+import com.sprietogo.accenturebackend.application.port.repository.BranchProductRepositoryPort;
+import com.sprietogo.accenturebackend.application.port.repository.BranchRepositoryPort;
+import com.sprietogo.accenturebackend.application.port.repository.StockReservationStorePort;
+import com.sprietogo.accenturebackend.application.port.repository.StockReservationStorePort.JournalEntry;
+import com.sprietogo.accenturebackend.application.port.repository.TopStockReportCachePort;
+import com.sprietogo.accenturebackend.application.port.service.StockAlertServicePort;
+import com.sprietogo.accenturebackend.application.port.service.StockReservationServicePort;
+import com.sprietogo.accenturebackend.domain.exception.ApiException;
+import com.sprietogo.accenturebackend.domain.model.BranchEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.StockReservationQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.StockReservationQueryRepository.CounterSeed;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.ReservationCounterResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.StockReservationResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.config.ReservationProperties;
+import lombok.AllArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+import java.util.function.Supplier;
+
+import static com.sprietogo.accenturebackend.utils.Constants.*;
+
+/**
+ * Reservations are checked, held and confirmed against the Redis counter only; Postgres learns about them
+ * when {@link #reconcile()} folds the confirmed journal into branch_product.stock.
+ */
+@Service
+@Slf4j
+@AllArgsConstructor
+public class StockReservationService implements StockReservationServicePort {
+
+    private static final String RESERVED = "RESERVED";
+    private static final String CONFIRMED = "CONFIRMED";
+    private static final String RELEASED = "RELEASED";
+
+    private final StockReservationStorePort stockReservationStorePort;
+    private final StockReservationQueryRepository stockReservationQueryRepository;
+    private final BranchProductRepositoryPort branchProductRepositoryPort;
+    private final BranchRepositoryPort branchRepositoryPort;
+    private final StockAlertServicePort stockAlertServicePort;
+    private final TopStockReportCachePort topStockReportCachePort;
+    private final ReservationProperties properties;
+
+    @Override
+    public Mono<ReservationCounterResponseDTO> enableCounter(Long branchProductId) {
+        if (branchProductId == null || branchProductId <= 0) {
+            return Mono.error(ApiException.badRequest("BRANCH_PRODUCT_ID_REQUIRED", "BranchProduct id is required"));
+        }
+
+        // Drain first so a counter dropped earlier leaves no confirmed reservations behind the stock it starts from.
+        return reconcile()
+                .then(Mono.defer(() -> stockReservationQueryRepository.enableCounter(branchProductId)))
+                .switchIfEmpty(Mono.defer(() -> branchProductRepositoryPort.getBranchProductById(branchProductId)
+                        .flatMap(bp -> Mono.<CounterSeed>error(ApiException.conflict(
+                                RESERVATION_COUNTER_SLOTTED,
+                                RESERVATION_COUNTER_SLOTTED_MSG + branchProductId
+                        )))
+                        .switchIfEmpty(Mono.error(ApiException.notFound(
+                                BRANCH_PRODUCT_NOT_FOUND,
+                                "BranchProduct not found: " + branchProductId
+                        )))))
+                .flatMap(seed -> store(stockReservationStorePort.initCounter(
+                                branchProductId, seed.stock(), !seed.wasEnabled()))
+                        .onErrorResume(ex -> seed.wasEnabled()
+                                ? Mono.error(ex)
+                                : stockReservationQueryRepository.disableCounter(branchProductId).then(Mono.error(ex))))
+                .then(Mono.defer(() -> getCounter(branchProductId)));
+    }
+
+    @Override
+    public Mono<ReservationCounterResponseDTO> getCounter(Long branchProductId) {
+        if (branchProductId == null || branchProductId <= 0) {
+            return Mono.error(ApiException.badRequest("BRANCH_PRODUCT_ID_REQUIRED", "BranchProduct id is required"));
+        }
+
+        return store(stockReservationStorePort.getCounter(branchProductId))
+                .switchIfEmpty(Mono.error(ApiException.notFound(
+                        RESERVATION_COUNTER_NOT_FOUND,
+                        RESERVATION_COUNTER_NOT_FOUND_MSG + branchProductId
+                )))
+                .map(counter -> new ReservationCounterResponseDTO(
+                        branchProductId, counter.available(), counter.outstandingReservations()));
+    }
+
+    @Override
+    public Mono<Void> disableCounter(Long branchProductId) {
+        if (branchProductId == null || branchProductId <= 0) {
+            return Mono.error(ApiException.badRequest("BRANCH_PRODUCT_ID_REQUIRED", "BranchProduct id is required"));
+        }
+
+        return store(stockReservationStorePort.dropCounter(branchProductId))
+                .flatMap(outstanding -> {
+                    if (outstanding > 0) {
+                        return Mono.error(ApiException.conflict(
+                                RESERVATIONS_OUTSTANDING,
+                                RESERVATIONS_OUTSTANDING_MSG + branchProductId + ", outstanding=" + outstanding
+                        ));
+                    }
+                    return reconcile()
+                            .then(Mono.defer(() -> stockReservationQueryRepository.disableCounter(branchProductId)));
+                })
+                .flatMap(disabled -> disabled
+                        ? Mono.<Void>empty()
+                        : Mono.error(ApiException.notFound(BRANCH_PRODUCT_NOT_FOUND, "BranchProduct not found: " + branchProductId)));
+    }
+
+    @Override
+    public Mono<StockReservationResponseDTO> reserve(Long branchProductId, Integer quantity, Long ttlSeconds) {
+        if (branchProductId == null || branchProductId <= 0) {
+            return Mono.error(ApiException.badRequest("BRANCH_PRODUCT_ID_REQUIRED", "BranchProduct id is required"));
+        }
+        if (quantity == null || quantity <= 0) {
+            return Mono.error(ApiException.badRequest(QUANTITY_INVALID, QUANTITY_MSG_INVALID));
+        }
+        if (ttlSeconds != null && (ttlSeconds <= 0 || ttlSeconds > properties.maxTtl().toSeconds())) {
+            return Mono.error(ApiException.badRequest(
+                    RESERVATION_TTL_INVALID,
+                    RESERVATION_TTL_MSG_INVALID + properties.maxTtl().toSeconds()
+            ));
+        }
+
+        Duration ttl = ttlSeconds == null ? properties.defaultTtl() : Duration.ofSeconds(ttlSeconds);
+        String reservationId = UUID.randomUUID().toString();
+
+        return store(stockReservationStorePort.reserve(branchProductId, reservationId, quantity, ttl))
+                .flatMap(result -> switch (result.status()) {
+                    case RESERVED -> Mono.just(new StockReservationResponseDTO(
+                            reservationId, branchProductId, quantity, RESERVED, result.available(), Instant.now().plus(ttl)));
+                    case INSUFFICIENT_STOCK -> Mono.error(ApiException.conflict(
+                            INSUFFICIENT_STOCK,
+                            "Not enough stock for branchProductId=" + branchProductId + ", quantity=" + quantity
+                    ));
+                    case COUNTER_DISABLED -> Mono.error(ApiException.conflict(
+                            RESERVATION_COUNTER_NOT_FOUND,
+                            RESERVATION_COUNTER_NOT_FOUND_MSG + branchProductId
+                    ));
+                    case DUPLICATE -> Mono.error(ApiException.conflict(
+                            RESERVATION_DUPLICATE,
+                            "Reservation already exists: " + reservationId
+                    ));
+                });
+    }
+
+    @Override
+    public Mono<StockReservationResponseDTO> confirm(Long branchProductId, String reservationId) {
+        return settle(branchProductId, reservationId, CONFIRMED,
+                () -> stockReservationStorePort.confirm(branchProductId, reservationId));
+    }
+
+    @Override
+    public Mono<StockReservationResponseDTO> release(Long branchProductId, String reservationId) {
+        return settle(branchProductId, reservationId, RELEASED,
+                () -> stockReservationStorePort.release(branchProductId, reservationId));
+    }
+
+    @Override
+    public Mono<Integer> reconcile() {
+        int batchSize = properties.reconcileBatchSize();
+        return reconcileBatch()
+                .expand(applied -> applied < 0 || applied >= batchSize ? reconcileBatch() : Mono.empty())
+                .reduce(0, (total, applied) -> total + Math.max(applied, 0));
+    }
+
+    /**
+     * Applies up to one batch of journal entries past the checkpoint; -1 means another reconciler moved the
+     * checkpoint first and the batch should be re-read.
+     */
+    Mono<Integer> reconcileBatch() {
+        String journal = properties.journalKey();
+
+        return stockReservationQueryRepository.findCheckpoint(journal)
+                .flatMap(from -> store(stockReservationStorePort.readJournal(from, properties.reconcileBatchSize()).collectList())
+                        .flatMap(entries -> entries.isEmpty() ? Mono.just(0) : apply(journal, from, entries)));
+    }
+
+    private Mono<Integer> apply(String journal, String from, List<JournalEntry> entries) {
+        String to = entries.getLast().id();
+        Long[] ids = entries.stream().map(JournalEntry::branchProductId).toArray(Long[]::new);
+        Integer[] quantities = entries.stream().map(JournalEntry::quantity).toArray(Integer[]::new);
+
+        return stockReservationQueryRepository.applyJournal(journal, from, to, ids, quantities)
+                .flatMap(applied -> {
+                    if (applied < 0) {
+                        return Mono.just(-1);
+                    }
+                    return stockReservationStorePort.trimJournal(to)
+                            .onErrorResume(ex -> {
+                                log.debug("Reservation journal trim failed, retried next round: {}", ex.getMessage());
+                                return Mono.empty();
+                            })
+                            .thenMany(Flux.fromIterable(entries).map(JournalEntry::branchProductId).distinct())
+                            .concatMap(branchProductRepositoryPort::getBranchProductById)
+                            .concatMap(bp -> stockAlertServicePort.evaluate(bp).thenReturn(bp.getBranchId()))
+                            .distinct()
+                            .concatMap(branchRepositoryPort::getBranchById)
+                            .map(BranchEntity::getFranchiseId)
+                            .distinct()
+                            .concatMap(topStockReportCachePort::evictFranchise)
+                            .then(Mono.just(entries.size()));
+                });
+    }
+
+    private Mono<StockReservationResponseDTO> settle(Long branchProductId, String reservationId, String status,
+                                                     Supplier<Mono<Integer>> operation) {
+        if (branchProductId == null || branchProductId <= 0) {
+            return Mono.error(ApiException.badRequest("BRANCH_PRODUCT_ID_REQUIRED", "BranchProduct id is required"));
+        }
+        if (reservationId == null || reservationId.isBlank()) {
+            return Mono.error(ApiException.badRequest("RESERVATION_ID_REQUIRED", "reservationId is required"));
+        }
+
+        return store(operation.get())
+                .switchIfEmpty(Mono.error(ApiException.notFound(
+                        RESERVATION_NOT_FOUND,
+                        RESERVATION_NOT_FOUND_MSG + reservationId
+                )))
+                .map(quantity -> new StockReservationResponseDTO(
+                        reservationId, branchProductId, quantity, status, null, null));
+    }
+
+    private <T> Mono<T> store(Mono<T> call) {
+        return call.onErrorMap(ex -> !(ex instanceof ApiException), ex -> {
+            log.warn("Reservation store call failed: {}", ex.getMessage());
+            return ApiException.serviceUnavailable(RESERVATION_STORE_UNAVAILABLE, RESERVATION_STORE_UNAVAILABLE_MSG);
+        });
+    }
+}
@@ -32,4 +32,24 @@ public class ApiException extends RuntimeException {
     public static ApiException conflict(String code, String message) {
         return new ApiException(HttpStatus.CONFLICT, code, message);
     }
+
+    public static ApiException gone(String code, String message) {
+        return new ApiException(HttpStatus.GONE, code, message);
+    }
+
+    public static ApiException preconditionFailed(String code, String message) {
+        return new ApiException(HttpStatus.PRECONDITION_FAILED, code, message);
+    }
+
+    public static ApiException contentTooLarge(String code, String message) {
+        return new ApiException(HttpStatus.CONTENT_TOO_LARGE, code, message);
+    }
+
+    public static ApiException serviceUnavailable(String code, String message) {
+        return new ApiException(HttpStatus.SERVICE_UNAVAILABLE, code, message);
+    }
+
+    public static ApiException gatewayTimeout(String code, String message) {
+        return new ApiException(HttpStatus.GATEWAY_TIMEOUT, code, message);
+    }
 }
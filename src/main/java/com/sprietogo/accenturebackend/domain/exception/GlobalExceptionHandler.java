@@ -1,5 +1,6 @@
 package com.sprietogo.accenturebackend.domain.exception;
 
+import org.springframework.dao.QueryTimeoutException;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.FieldError;
@@ -11,6 +12,9 @@ import reactor.core.publisher.Mono;
 import java.time.OffsetDateTime;
 import java.util.List;
 
+import static com.sprietogo.accenturebackend.utils.Constants.DEADLINE_EXCEEDED;
+import static com.sprietogo.accenturebackend.utils.Constants.DEADLINE_EXCEEDED_MSG;
+
 @RestControllerAdvice
 public class GlobalExceptionHandler {
 
@@ -53,6 +57,12 @@ public class GlobalExceptionHandler {
         return Mono.just(ResponseEntity.status(ex.getStatus()).body(body));
     }
 
+    // Raised when Postgres aborts a statement at the statement_timeout derived from the request deadline.
+    @ExceptionHandler(QueryTimeoutException.class)
+    public Mono<ResponseEntity<ApiErrorResponse>> handleQueryTimeout(QueryTimeoutException ex) {
+        return handleApiException(ApiException.gatewayTimeout(DEADLINE_EXCEEDED, DEADLINE_EXCEEDED_MSG));
+    }
+
 
     public record ValidationErrorResponse(
             int status,
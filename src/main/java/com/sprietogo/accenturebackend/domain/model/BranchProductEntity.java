@@ -5,6 +5,8 @@ import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import org.springframework.data.annotation.Id;
+import org.springframework.data.annotation.ReadOnlyProperty;
+import org.springframework.data.annotation.Version;
 import org.springframework.data.relational.core.mapping.Column;
 import org.springframework.data.relational.core.mapping.Table;
 
@@ -35,4 +37,13 @@ public class BranchProductEntity {
     @Column("updated_at")
     private OffsetDateTime updatedAt;
 
+    @Version
+    @Column("version")
+    private Long version;
+
+    // Changed only through set_branch_product_slots; entity saves must not write it back.
+    @ReadOnlyProperty
+    @Column("stock_slots")
+    private Integer stockSlots;
+
 }
\ No newline at end of file
@@ -0,0 +1,44 @@
+package com.sprietogo.accenturebackend.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.OffsetDateTime;
+
+@Table("stock_alert")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockAlertEntity {
+
+    @Id
+    private Long id;
+
+    @Column("branch_product_id")
+    private Long branchProductId;
+
+    @Column("branch_id")
+    private Long branchId;
+
+    @Column("product_id")
+    private Long productId;
+
+    @Column("stock")
+    private Integer stock;
+
+    @Column("threshold")
+    private Integer threshold;
+
+    @Column("triggered_at")
+    private OffsetDateTime triggeredAt;
+
+    @Column("resolved_at")
+    private OffsetDateTime resolvedAt;
+
+}
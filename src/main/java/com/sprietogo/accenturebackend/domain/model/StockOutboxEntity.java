@@ -0,0 +1,50 @@
+package com.sprietogo.accenturebackend.domain.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+import java.time.OffsetDateTime;
+
+@Table("stock_outbox")
+@Getter
+@Setter
+@NoArgsConstructor
+@AllArgsConstructor
+public class StockOutboxEntity {
+
+    @Id
+    private Long id;
+
+    @Column("event_type")
+    private String eventType;
+
+    @Column("branch_product_id")
+    private Long branchProductId;
+
+    @Column("branch_id")
+    private Long branchId;
+
+    @Column("product_id")
+    private Long productId;
+
+    @Column("stock")
+    private Integer stock;
+
+    @Column("previous_stock")
+    private Integer previousStock;
+
+    @Column("reorder_threshold")
+    private Integer reorderThreshold;
+
+    @Column("created_at")
+    private OffsetDateTime createdAt;
+
+    @Column("published_at")
+    private OffsetDateTime publishedAt;
+
+}
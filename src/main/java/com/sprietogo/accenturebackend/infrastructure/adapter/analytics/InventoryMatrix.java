@@ -0,0 +1,481 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.analytics;
+
+import com.sprietogo.accenturebackend.application.port.repository.InventoryMatrixPort;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.notification.PostgresNotifications;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.InventoryMatrixQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.InventoryMatrixQueryRepository.InventoryCellRow;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchStockResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.FranchiseStockDistributionResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.config.InventoryMatrixProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.r2dbc.autoconfigure.R2dbcProperties;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.IntSummaryStatistics;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * Columnar in-memory copy of branch_product for analytics.
+ * <p>
+ * Every branch is one immutable column: its product ids sorted in a {@code long[]} and the matching stock
+ * in an {@code int[]}, about 12 bytes per row. Columns are loaded from branch_product_live on every
+ * (re)connect of the {@value #CHANNEL} listener and then patched from the notification payloads, each
+ * carrying up to 100 rows of one statement; a batch that only changes stock shares the product id array with
+ * the previous column, and only the pages of columns holding changed branches are copied. Scans walk the
+ * columns with a parallel stream once there are enough branches to be worth splitting.
+ */
+@Slf4j
+@Component
+public class InventoryMatrix implements InventoryMatrixPort {
+
+    static final String CHANNEL = "branch_product_changed";
+    private static final List<CellChange> FULL_RELOAD = List.of();
+    private static final long NOT_STALE = Long.MIN_VALUE;
+    private static final int PAGE_SIZE = 256;
+
+    private final InventoryMatrixQueryRepository queryRepository;
+    private final R2dbcProperties r2dbcProperties;
+    private final InventoryMatrixProperties properties;
+
+    private final AtomicReference<Matrix> matrix = new AtomicReference<>(Matrix.EMPTY);
+    private final Counter changeCounter;
+
+    // System.nanoTime() from which notifications may have been missed; NOT_STALE while listening.
+    private volatile long staleSinceNanos = System.nanoTime();
+    private Disposable subscription;
+
+    public InventoryMatrix(InventoryMatrixQueryRepository queryRepository,
+                           R2dbcProperties r2dbcProperties,
+                           InventoryMatrixProperties properties,
+                           MeterRegistry meterRegistry) {
+        this.queryRepository = queryRepository;
+        this.r2dbcProperties = r2dbcProperties;
+        this.properties = properties;
+
+        this.changeCounter = Counter.builder("inventory.matrix.changes")
+                .description("branch_product changes applied to the inventory matrix")
+                .register(meterRegistry);
+        Gauge.builder("inventory.matrix.cells", matrix, ref -> ref.get().cellCount())
+                .description("Branch/product cells held in the inventory matrix")
+                .register(meterRegistry);
+        Gauge.builder("inventory.matrix.branches", matrix, ref -> ref.get().branchCount())
+                .description("Branch columns held in the inventory matrix")
+                .register(meterRegistry);
+        TimeGauge.builder("inventory.matrix.staleness", this, TimeUnit.NANOSECONDS, InventoryMatrix::stalenessNanos)
+                .description("Time since the matrix may have started missing changes; zero while listening")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        subscription = PostgresNotifications.listen(PostgresNotifications.listenerConnectionFactory(r2dbcProperties),
+                        CHANNEL, this::onNotifications)
+                .doOnError(ex -> {
+                    markStale();
+                    log.warn("Inventory matrix listener failed: {}", ex.getMessage());
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(properties.maxBackoff()))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    @Override
+    public boolean isLoaded() {
+        return matrix.get().loaded();
+    }
+
+    @Override
+    public Mono<List<BranchStockResponseDTO>> findBranchesBelow(long productId, int threshold, Long franchiseId) {
+        return scan(columns -> columns
+                .filter(column -> franchiseId == null || column.franchiseId() == franchiseId)
+                .map(column -> {
+                    int index = column.indexOf(productId);
+                    return index >= 0 && column.stocks()[index] < threshold
+                            ? new BranchStockResponseDTO(column.branchId(), column.franchiseId(), column.stocks()[index])
+                            : null;
+                })
+                .filter(Objects::nonNull)
+                .toList());
+    }
+
+    @Override
+    public Mono<List<FranchiseStockDistributionResponseDTO>> getStockDistribution(long productId) {
+        return scan(columns -> columns
+                .filter(column -> column.indexOf(productId) >= 0)
+                .collect(Collectors.groupingBy(BranchColumn::franchiseId, TreeMap::new,
+                        Collectors.summarizingInt(column -> column.stocks()[column.indexOf(productId)])))
+                .entrySet().stream()
+                .map(entry -> toDistribution(entry.getKey(), entry.getValue()))
+                .toList());
+    }
+
+    @Override
+    public Mono<long[]> getBranchProductIds(long branchId) {
+        return Mono.fromSupplier(() -> {
+            BranchColumn column = matrix.get().find(branchId);
+            return column == null ? null : column.productIds().clone();
+        });
+    }
+
+    /**
+     * Subscribes to notifications before the full reload starts, so changes committed while the table is
+     * being read are re-applied afterwards instead of lost. Changes queue up while a reload or batch runs:
+     * the next batch is only cut when the previous one is done.
+     */
+    Flux<Integer> onNotifications(Flux<String> payloads) {
+        return payloads.flatMapIterable(InventoryMatrix::parseChanges)
+                .onBackpressureBuffer()
+                .bufferTimeout(properties.refreshBatchSize(), properties.refreshWindow(), true)
+                .startWith(FULL_RELOAD)
+                .concatMap(changes -> changes.isEmpty() ? reloadAll().doOnNext(cells -> markListening()) : apply(changes));
+    }
+
+    Mono<Integer> reloadAll() {
+        return queryRepository.findAllCells()
+                .collect(MatrixBuilder::new, MatrixBuilder::add)
+                .map(builder -> {
+                    Matrix loaded = builder.build();
+                    matrix.set(loaded);
+                    log.info("Inventory matrix loaded ({} branches, {} cells)", loaded.branchCount(), loaded.cellCount());
+                    return (int) loaded.cellCount();
+                });
+    }
+
+    Mono<Integer> apply(List<CellChange> changes) {
+        Matrix known = matrix.get();
+        Set<Long> unknownBranches = changes.stream()
+                .map(CellChange::branchId)
+                .filter(branchId -> known.find(branchId) == null)
+                .collect(Collectors.toSet());
+        Mono<Map<Long, Long>> franchiseIds = unknownBranches.isEmpty()
+                ? Mono.just(Map.of())
+                : queryRepository.findFranchiseIdsByBranchIds(unknownBranches);
+
+        return franchiseIds.map(franchiseByBranch -> {
+            matrix.set(matrix.get().apply(changes, franchiseByBranch));
+            changeCounter.increment(changes.size());
+            return changes.size();
+        });
+    }
+
+    Matrix snapshot() {
+        return matrix.get();
+    }
+
+    void markListening() {
+        staleSinceNanos = NOT_STALE;
+    }
+
+    void markStale() {
+        if (staleSinceNanos == NOT_STALE) {
+            staleSinceNanos = System.nanoTime();
+        }
+    }
+
+    long stalenessNanos() {
+        long since = staleSinceNanos;
+        return since == NOT_STALE ? 0L : System.nanoTime() - since;
+    }
+
+    // Parallel streams block the calling thread until the fork-join tasks finish, so scans stay off the event loop.
+    private <T> Mono<T> scan(Function<Stream<BranchColumn>, T> query) {
+        return Mono.fromCallable(() -> {
+                    Matrix current = matrix.get();
+                    Stream<BranchColumn> stream = current.columns();
+                    return query.apply(current.branchCount() >= properties.parallelScanMinBranches() ? stream.parallel() : stream);
+                })
+                .subscribeOn(Schedulers.boundedElastic());
+    }
+
+    private static FranchiseStockDistributionResponseDTO toDistribution(Long franchiseId, IntSummaryStatistics stats) {
+        return new FranchiseStockDistributionResponseDTO(franchiseId, stats.getCount(), stats.getSum(),
+                stats.getMin(), stats.getMax(), stats.getAverage());
+    }
+
+    /**
+     * One notification carries the changes of up to 100 rows of a statement, separated by ';'.
+     */
+    static List<CellChange> parseChanges(String payload) {
+        List<CellChange> changes = new ArrayList<>();
+        for (String record : payload.split(";")) {
+            CellChange change = parseChange(record);
+            if (change != null) {
+                changes.add(change);
+            }
+        }
+        return changes;
+    }
+
+    static CellChange parseChange(String payload) {
+        String[] parts = payload.split(":");
+        if (parts.length < 4 || !("U".equals(parts[0]) || "D".equals(parts[0]))) {
+            log.warn("Ignoring inventory change notification with payload '{}'", payload);
+            return null;
+        }
+        try {
+            return new CellChange(Long.parseLong(parts[1]), Long.parseLong(parts[2]),
+                    Integer.parseInt(parts[3]), "D".equals(parts[0]));
+        } catch (NumberFormatException ex) {
+            log.warn("Ignoring inventory change notification with payload '{}'", payload);
+            return null;
+        }
+    }
+
+    record CellChange(long branchId, long productId, int stock, boolean deleted) {}
+
+    record BranchColumn(long branchId, long franchiseId, long[] productIds, int[] stocks) {
+
+        int indexOf(long productId) {
+            return Arrays.binarySearch(productIds, productId);
+        }
+
+        /**
+         * Stock-only changes copy the stock array and keep the product ids; anything that adds or removes
+         * a product rebuilds both arrays in one merge pass.
+         */
+        BranchColumn apply(List<CellChange> changes) {
+            int[] nextStocks = null;
+            for (CellChange change : changes) {
+                int index = indexOf(change.productId());
+                if (index < 0 || change.deleted()) {
+                    return merge(changes);
+                }
+                if (nextStocks == null) {
+                    nextStocks = stocks.clone();
+                }
+                nextStocks[index] = change.stock();
+            }
+            return nextStocks == null ? this : new BranchColumn(branchId, franchiseId, productIds, nextStocks);
+        }
+
+        private BranchColumn merge(List<CellChange> changes) {
+            // Last change per product wins; a null stock marks a removal.
+            TreeMap<Long, Integer> pending = new TreeMap<>();
+            for (CellChange change : changes) {
+                pending.put(change.productId(), change.deleted() ? null : change.stock());
+            }
+
+            long[] ids = new long[productIds.length + pending.size()];
+            int[] values = new int[ids.length];
+            int size = 0;
+            int i = 0;
+            for (Map.Entry<Long, Integer> entry : pending.entrySet()) {
+                long productId = entry.getKey();
+                while (i < productIds.length && productIds[i] < productId) {
+                    ids[size] = productIds[i];
+                    values[size++] = stocks[i++];
+                }
+                if (i < productIds.length && productIds[i] == productId) {
+                    i++;
+                }
+                if (entry.getValue() != null) {
+                    ids[size] = productId;
+                    values[size++] = entry.getValue();
+                }
+            }
+            while (i < productIds.length) {
+                ids[size] = productIds[i];
+                values[size++] = stocks[i++];
+            }
+            return new BranchColumn(branchId, franchiseId, Arrays.copyOf(ids, size), Arrays.copyOf(values, size));
+        }
+    }
+
+    /**
+     * Columns sorted by branch id, cut into pages of about {@value #PAGE_SIZE}. A batch of changes copies
+     * only the pages holding the branches it touches, plus the page index, so unchanged columns and pages
+     * are shared with the previous matrix.
+     */
+    record Matrix(BranchColumn[][] pages, long[] firstBranchIds, int branchCount, long cellCount, boolean loaded) {
+
+        static final Matrix EMPTY = new Matrix(new BranchColumn[0][], new long[0], 0, 0, false);
+
+        static Matrix of(List<BranchColumn> columns) {
+            List<BranchColumn[]> pages = paginate(columns);
+            long cells = 0;
+            for (BranchColumn column : columns) {
+                cells += column.productIds().length;
+            }
+            return of(pages, columns.size(), cells);
+        }
+
+        private static Matrix of(List<BranchColumn[]> pages, int branchCount, long cellCount) {
+            long[] firstBranchIds = new long[pages.size()];
+            for (int i = 0; i < firstBranchIds.length; i++) {
+                firstBranchIds[i] = pages.get(i)[0].branchId();
+            }
+            return new Matrix(pages.toArray(BranchColumn[][]::new), firstBranchIds, branchCount, cellCount, true);
+        }
+
+        Stream<BranchColumn> columns() {
+            return Arrays.stream(pages).flatMap(Arrays::stream);
+        }
+
+        BranchColumn find(long branchId) {
+            int page = pageOf(branchId);
+            if (page >= pages.length) {
+                return null;
+            }
+            int index = indexIn(Arrays.asList(pages[page]), branchId);
+            return index >= 0 ? pages[page][index] : null;
+        }
+
+        /**
+         * Changes for branches that are not in the matrix yet need their franchise; branches missing from
+         * {@code franchiseByBranch} were deleted meanwhile and are skipped.
+         */
+        Matrix apply(List<CellChange> changes, Map<Long, Long> franchiseByBranch) {
+            // Page, then branch, then that branch's changes in arrival order.
+            TreeMap<Integer, TreeMap<Long, List<CellChange>>> byPage = new TreeMap<>(Collections.reverseOrder());
+            for (CellChange change : changes) {
+                byPage.computeIfAbsent(pageOf(change.branchId()), page -> new TreeMap<>())
+                        .computeIfAbsent(change.branchId(), id -> new ArrayList<>())
+                        .add(change);
+            }
+
+            List<BranchColumn[]> nextPages = new ArrayList<>(Arrays.asList(pages));
+            int branches = branchCount;
+            long cells = cellCount;
+            // Highest page first, so splitting or dropping a page leaves the indexes still to visit in place.
+            for (Map.Entry<Integer, TreeMap<Long, List<CellChange>>> entry : byPage.entrySet()) {
+                int page = entry.getKey();
+                List<BranchColumn> columns = new ArrayList<>(page < pages.length ? Arrays.asList(pages[page]) : List.of());
+                for (Map.Entry<Long, List<CellChange>> branch : entry.getValue().entrySet()) {
+                    long branchId = branch.getKey();
+                    int index = indexIn(columns, branchId);
+                    BranchColumn column = index >= 0 ? columns.get(index) : null;
+                    if (column == null) {
+                        Long franchiseId = franchiseByBranch.get(branchId);
+                        if (franchiseId == null) {
+                            continue;
+                        }
+                        column = new BranchColumn(branchId, franchiseId, new long[0], new int[0]);
+                    }
+                    BranchColumn updated = column.apply(branch.getValue());
+                    cells += updated.productIds().length - column.productIds().length;
+                    if (index >= 0 && updated.productIds().length == 0) {
+                        columns.remove(index);
+                        branches--;
+                    } else if (index >= 0) {
+                        columns.set(index, updated);
+                    } else if (updated.productIds().length > 0) {
+                        columns.add(-index - 1, updated);
+                        branches++;
+                    }
+                }
+                if (page < nextPages.size()) {
+                    nextPages.remove(page);
+                }
+                // A page only grows this far through inserts; cutting it back keeps later copies small.
+                List<BranchColumn[]> replacement = columns.size() > 2 * PAGE_SIZE
+                        ? paginate(columns)
+                        : columns.isEmpty() ? List.of() : List.<BranchColumn[]>of(columns.toArray(BranchColumn[]::new));
+                nextPages.addAll(Math.min(page, nextPages.size()), replacement);
+            }
+            return of(nextPages, branches, cells);
+        }
+
+        private int pageOf(long branchId) {
+            int index = Arrays.binarySearch(firstBranchIds, branchId);
+            return Math.max(0, index >= 0 ? index : -index - 2);
+        }
+
+        private static int indexIn(List<BranchColumn> page, long branchId) {
+            int low = 0;
+            int high = page.size() - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                long id = page.get(mid).branchId();
+                if (id < branchId) {
+                    low = mid + 1;
+                } else if (id > branchId) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        private static List<BranchColumn[]> paginate(List<BranchColumn> columns) {
+            List<BranchColumn[]> pages = new ArrayList<>();
+            for (int from = 0; from < columns.size(); from += PAGE_SIZE) {
+                pages.add(columns.subList(from, Math.min(columns.size(), from + PAGE_SIZE)).toArray(BranchColumn[]::new));
+            }
+            return pages;
+        }
+    }
+
+    /**
+     * Collects rows ordered by branch and product into columns without boxing.
+     */
+    static final class MatrixBuilder {
+
+        private final List<BranchColumn> columns = new ArrayList<>();
+        private long branchId = -1;
+        private long franchiseId;
+        private long[] productIds = new long[16];
+        private int[] stocks = new int[16];
+        private int size;
+
+        void add(InventoryCellRow row) {
+            if (row.branchId() != branchId) {
+                flush();
+                branchId = row.branchId();
+                franchiseId = row.franchiseId();
+            }
+            if (size == productIds.length) {
+                productIds = Arrays.copyOf(productIds, size * 2);
+                stocks = Arrays.copyOf(stocks, size * 2);
+            }
+            productIds[size] = row.productId();
+            stocks[size++] = row.stock();
+        }
+
+        Matrix build() {
+            flush();
+            return Matrix.of(columns);
+        }
+
+        private void flush() {
+            if (size > 0) {
+                columns.add(new BranchColumn(branchId, franchiseId,
+                        Arrays.copyOf(productIds, size), Arrays.copyOf(stocks, size)));
+            }
+            size = 0;
+        }
+    }
+}
@@ -0,0 +1,209 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.cache;
+
+import com.sprietogo.accenturebackend.application.port.repository.ProductCatalogPort;
+import com.sprietogo.accenturebackend.application.port.repository.ProductRepositoryPort;
+import com.sprietogo.accenturebackend.domain.model.ProductEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.notification.PostgresNotifications;
+import com.sprietogo.accenturebackend.infrastructure.config.ProductCatalogProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.r2dbc.autoconfigure.R2dbcProperties;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.retry.Retry;
+
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Complete in-memory copy of the product table, indexed by id.
+ * <p>
+ * A dedicated connection LISTENs on {@value #CHANNEL}; every (re)connect reloads the whole table and
+ * notified ids are re-read in small batches. Each change builds a new immutable map that is swapped in
+ * atomically, so readers never lock. While the listener is down the snapshot ages, and once it is older
+ * than {@code max-staleness} lookups go to the database until the listener is back.
+ */
+@Slf4j
+@Component
+public class ProductCatalog implements ProductCatalogPort {
+
+    static final String CHANNEL = "product_changed";
+    private static final List<Long> FULL_RELOAD = List.of();
+    private static final long NOT_STALE = Long.MIN_VALUE;
+
+    private final ProductRepositoryPort productRepositoryPort;
+    private final R2dbcProperties r2dbcProperties;
+    private final ProductCatalogProperties properties;
+
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+    private final Counter missCounter;
+    private final Counter refreshCounter;
+
+    // System.nanoTime() from which notifications may have been missed; NOT_STALE while listening.
+    private volatile long staleSinceNanos = System.nanoTime();
+    private Disposable subscription;
+
+    public ProductCatalog(ProductRepositoryPort productRepositoryPort,
+                          R2dbcProperties r2dbcProperties,
+                          ProductCatalogProperties properties,
+                          MeterRegistry meterRegistry) {
+        this.productRepositoryPort = productRepositoryPort;
+        this.r2dbcProperties = r2dbcProperties;
+        this.properties = properties;
+
+        this.missCounter = Counter.builder("product.catalog.misses")
+                .description("Product lookups answered by the database instead of the catalog")
+                .register(meterRegistry);
+        this.refreshCounter = Counter.builder("product.catalog.refreshes")
+                .description("Products re-read after a change notification")
+                .register(meterRegistry);
+        Gauge.builder("product.catalog.size", snapshot, ref -> ref.get().products().size())
+                .description("Products held in the catalog")
+                .register(meterRegistry);
+        TimeGauge.builder("product.catalog.staleness", this, TimeUnit.NANOSECONDS, ProductCatalog::stalenessNanos)
+                .description("Time since the catalog may have started missing changes; zero while listening")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        subscription = PostgresNotifications.listen(PostgresNotifications.listenerConnectionFactory(r2dbcProperties),
+                        CHANNEL, this::onNotifications)
+                .doOnError(ex -> {
+                    markStale();
+                    log.warn("Product catalog listener failed: {}", ex.getMessage());
+                })
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(properties.maxBackoff()))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    @Override
+    public Mono<ProductEntity> getProductById(Long id) {
+        if (!properties.enabled()) {
+            return productRepositoryPort.getProductById(id);
+        }
+        Snapshot current = snapshot.get();
+        if (isServable(current)) {
+            ProductEntity product = current.products().get(id);
+            if (product != null) {
+                return Mono.just(copy(product));
+            }
+        }
+        missCounter.increment();
+        return productRepositoryPort.getProductById(id);
+    }
+
+    @Override
+    public Flux<ProductEntity> getAllProducts() {
+        Snapshot current = snapshot.get();
+        if (!properties.enabled() || !isServable(current)) {
+            return productRepositoryPort.getAllProducts();
+        }
+        return Flux.fromStream(current.products().values().stream()
+                .sorted(Comparator.comparing(ProductEntity::getId))
+                .map(ProductCatalog::copy));
+    }
+
+    /**
+     * Subscribes to notifications before the full reload starts, so changes committed while the table is
+     * being read are re-applied afterwards instead of lost. Ids queue up while a reload or refresh runs: the
+     * batches are only cut when the previous one is done.
+     */
+    Flux<Integer> onNotifications(Flux<String> payloads) {
+        return payloads.mapNotNull(ProductCatalog::parseId)
+                .onBackpressureBuffer()
+                .bufferTimeout(properties.refreshBatchSize(), properties.refreshWindow(), true)
+                .startWith(FULL_RELOAD)
+                .concatMap(ids -> ids.isEmpty() ? reloadAll().doOnNext(size -> markListening()) : refresh(ids));
+    }
+
+    Mono<Integer> reloadAll() {
+        return productRepositoryPort.getAllProducts()
+                .collectMap(ProductEntity::getId, Function.identity())
+                .map(products -> {
+                    snapshot.set(new Snapshot(Map.copyOf(products), true));
+                    log.info("Product catalog loaded ({} products)", products.size());
+                    return products.size();
+                });
+    }
+
+    Mono<Integer> refresh(List<Long> ids) {
+        Set<Long> changed = new HashSet<>(ids);
+        return productRepositoryPort.getProductsByIds(changed)
+                .collectList()
+                .map(products -> {
+                    Snapshot current = snapshot.get();
+                    Map<Long, ProductEntity> next = new HashMap<>(current.products());
+                    // Ids that no longer come back were deleted.
+                    next.keySet().removeAll(changed);
+                    next.putAll(products.stream().collect(Collectors.toMap(ProductEntity::getId, Function.identity())));
+                    snapshot.set(new Snapshot(Map.copyOf(next), current.loaded()));
+                    refreshCounter.increment(changed.size());
+                    return changed.size();
+                });
+    }
+
+    void markListening() {
+        staleSinceNanos = NOT_STALE;
+    }
+
+    void markStale() {
+        if (staleSinceNanos == NOT_STALE) {
+            staleSinceNanos = System.nanoTime();
+        }
+    }
+
+    long stalenessNanos() {
+        long since = staleSinceNanos;
+        return since == NOT_STALE ? 0L : System.nanoTime() - since;
+    }
+
+    private boolean isServable(Snapshot current) {
+        return current.loaded() && stalenessNanos() <= properties.maxStaleness().toNanos();
+    }
+
+    private static Long parseId(String payload) {
+        try {
+            return payload == null ? null : Long.valueOf(payload);
+        } catch (NumberFormatException ex) {
+            log.warn("Ignoring product change notification with payload '{}'", payload);
+            return null;
+        }
+    }
+
+    // The snapshot is shared by every request, so callers get their own mutable copy.
+    private static ProductEntity copy(ProductEntity product) {
+        return new ProductEntity(product.getId(), product.getName(), product.getCreatedAt(), product.getUpdatedAt());
+    }
+
+    record Snapshot(Map<Long, ProductEntity> products, boolean loaded) {
+
+        static final Snapshot EMPTY = new Snapshot(Map.of(), false);
+    }
+}
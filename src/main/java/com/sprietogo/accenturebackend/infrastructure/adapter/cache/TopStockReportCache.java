@@ -0,0 +1,283 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.cache;
+
+import com.sprietogo.accenturebackend.application.port.repository.TopStockReportCachePort;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.TopStockProductByBranchResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.config.TopStockCacheProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.ReactiveRedisMessageListenerContainer;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.retry.Retry;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Two-level cache (local map + Redis) of the top-stock report as serialized JSON.
+ * <p>
+ * Entries are keyed by a generation that every invalidation increments, so a recompute that
+ * started before a write can only ever fill a generation nobody reads anymore. Other instances
+ * learn about new generations through pub/sub; the local TTL bounds staleness if a message is lost.
+ * Local evictions are also counted in-process, so a load that overlaps one is not kept even when the
+ * generation bump could not reach Redis.
+ */
+@Slf4j
+@Component
+public class TopStockReportCache implements TopStockReportCachePort {
+
+    static final String CHANNEL = "report:top-stock:invalidate";
+    private static final String KEY_PREFIX = "report:top-stock:";
+    private static final String GLOBAL_GENERATION_KEY = KEY_PREFIX + "gen:all";
+    private static final String ALL = "*";
+    private static final Duration PEER_POLL_INTERVAL = Duration.ofMillis(50);
+
+    private final ReactiveStringRedisTemplate redis;
+    private final ReactiveRedisTemplate<String, byte[]> byteArrayRedis;
+    private final ReactiveRedisConnectionFactory connectionFactory;
+    private final JsonMapper jsonMapper;
+    private final TopStockCacheProperties properties;
+    private final String instanceId = UUID.randomUUID().toString();
+
+    private final Map<Long, LocalEntry> entries = new ConcurrentHashMap<>();
+    private final Map<Long, Long> generations = new ConcurrentHashMap<>();
+    private final AtomicLong globalGeneration = new AtomicLong();
+    private final Map<Long, Mono<byte[]>> inFlight = new ConcurrentHashMap<>();
+    private final Map<Long, Long> localEvictions = new ConcurrentHashMap<>();
+    private final AtomicLong localGlobalEvictions = new AtomicLong();
+
+    private Disposable subscription;
+
+    public TopStockReportCache(ReactiveStringRedisTemplate redis,
+                               ReactiveRedisTemplate<String, byte[]> byteArrayRedis,
+                               ReactiveRedisConnectionFactory connectionFactory,
+                               JsonMapper jsonMapper,
+                               TopStockCacheProperties properties) {
+        this.redis = redis;
+        this.byteArrayRedis = byteArrayRedis;
+        this.connectionFactory = connectionFactory;
+        this.jsonMapper = jsonMapper;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.enabled() || !properties.redisEnabled()) {
+            return;
+        }
+        // The container connects (blocking) on construction, so it is built off the event loop and per retry.
+        subscription = Flux.usingWhen(
+                        Mono.fromCallable(() -> new ReactiveRedisMessageListenerContainer(connectionFactory))
+                                .subscribeOn(Schedulers.boundedElastic()),
+                        container -> container.receive(ChannelTopic.of(CHANNEL)),
+                        ReactiveRedisMessageListenerContainer::destroyLater)
+                .doOnNext(message -> onInvalidation(message.getMessage()))
+                .doOnError(ex -> log.warn("Top-stock cache invalidation channel failed: {}", ex.getMessage()))
+                .retryWhen(Retry.backoff(Long.MAX_VALUE, Duration.ofSeconds(1)).maxBackoff(Duration.ofSeconds(30)))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    @Override
+    public Mono<byte[]> getTopStockReport(Long franchiseId, Supplier<Flux<TopStockProductByBranchResponseDTO>> loader) {
+        if (!properties.enabled()) {
+            return serialize(loader);
+        }
+
+        LocalEntry entry = entries.get(franchiseId);
+        if (entry != null && entry.version().equals(knownVersion(franchiseId)) && !entry.isExpired(properties.localTtl())) {
+            return Mono.just(entry.json());
+        }
+
+        Mono<byte[]> loading = inFlight.computeIfAbsent(franchiseId, id -> load(id, loader).cache());
+        return loading.doFinally(signal -> inFlight.remove(franchiseId, loading));
+    }
+
+    @Override
+    public Mono<Void> evictFranchise(Long franchiseId) {
+        localEvictions.merge(franchiseId, 1L, Long::sum);
+        entries.remove(franchiseId);
+        inFlight.remove(franchiseId);
+        if (!properties.enabled() || !properties.redisEnabled()) {
+            generations.merge(franchiseId, 1L, Long::sum);
+            return Mono.empty();
+        }
+        return redisOp(redis.opsForValue().increment(generationKey(franchiseId)))
+                .flatMap(generation -> {
+                    generations.merge(franchiseId, generation, Math::max);
+                    return redisOp(redis.convertAndSend(CHANNEL, franchiseId + ":" + generation));
+                })
+                .onErrorResume(ex -> {
+                    log.warn("Could not invalidate top-stock report for franchiseId={} in Redis: {}", franchiseId, ex.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    @Override
+    public Mono<Void> evictAll() {
+        localGlobalEvictions.incrementAndGet();
+        entries.clear();
+        inFlight.clear();
+        if (!properties.enabled() || !properties.redisEnabled()) {
+            globalGeneration.incrementAndGet();
+            return Mono.empty();
+        }
+        return redisOp(redis.opsForValue().increment(GLOBAL_GENERATION_KEY))
+                .flatMap(generation -> {
+                    globalGeneration.accumulateAndGet(generation, Math::max);
+                    return redisOp(redis.convertAndSend(CHANNEL, ALL + ":" + generation));
+                })
+                .onErrorResume(ex -> {
+                    log.warn("Could not invalidate top-stock reports in Redis: {}", ex.getMessage());
+                    return Mono.empty();
+                })
+                .then();
+    }
+
+    void onInvalidation(String message) {
+        int separator = message.lastIndexOf(':');
+        if (separator <= 0) {
+            return;
+        }
+        String target = message.substring(0, separator);
+        long generation = Long.parseLong(message.substring(separator + 1));
+        if (ALL.equals(target)) {
+            globalGeneration.accumulateAndGet(generation, Math::max);
+            entries.clear();
+        } else {
+            Long franchiseId = Long.valueOf(target);
+            generations.merge(franchiseId, generation, Math::max);
+            entries.remove(franchiseId);
+        }
+    }
+
+    private Mono<byte[]> load(Long franchiseId, Supplier<Flux<TopStockProductByBranchResponseDTO>> loader) {
+        return Mono.defer(() -> {
+            long epoch = localEpoch(franchiseId);
+            return readVersion(franchiseId)
+                    .flatMap(version -> {
+                        String dataKey = dataKey(franchiseId, version);
+                        return readRedis(dataKey)
+                                .switchIfEmpty(Mono.defer(() -> computeOnce(dataKey, loader)))
+                                .doOnNext(json -> {
+                                    if (localEpoch(franchiseId) == epoch) {
+                                        entries.put(franchiseId, new LocalEntry(version, json, System.nanoTime()));
+                                    }
+                                });
+                    });
+        });
+    }
+
+    private Mono<Version> readVersion(Long franchiseId) {
+        if (!properties.redisEnabled()) {
+            return Mono.just(knownVersion(franchiseId));
+        }
+        return redisOp(redis.opsForValue().multiGet(List.of(GLOBAL_GENERATION_KEY, generationKey(franchiseId))))
+                .map(values -> {
+                    long global = parseGeneration(values.get(0));
+                    long franchise = parseGeneration(values.get(1));
+                    globalGeneration.accumulateAndGet(global, Math::max);
+                    generations.merge(franchiseId, franchise, Math::max);
+                    return new Version(global, franchise);
+                })
+                .onErrorResume(ex -> {
+                    log.debug("Redis unavailable reading top-stock generation: {}", ex.getMessage());
+                    return Mono.just(knownVersion(franchiseId));
+                });
+    }
+
+    private Mono<byte[]> readRedis(String dataKey) {
+        if (!properties.redisEnabled()) {
+            return Mono.empty();
+        }
+        return redisOp(byteArrayRedis.opsForValue().get(dataKey))
+                .onErrorResume(ex -> Mono.empty());
+    }
+
+    /**
+     * Only the instance holding the per-generation lock recomputes; the others poll for its result
+     * until the lock would have expired, then fall back to computing themselves.
+     */
+    private Mono<byte[]> computeOnce(String dataKey, Supplier<Flux<TopStockProductByBranchResponseDTO>> loader) {
+        if (!properties.redisEnabled()) {
+            return serialize(loader);
+        }
+        String lockKey = dataKey + ":lock";
+        long pollAttempts = Math.max(1, properties.lockTtl().toMillis() / PEER_POLL_INTERVAL.toMillis());
+
+        return redisOp(redis.opsForValue().setIfAbsent(lockKey, instanceId, properties.lockTtl()))
+                .onErrorReturn(true)
+                .flatMap(acquired -> {
+                    if (!acquired) {
+                        return Mono.defer(() -> readRedis(dataKey))
+                                .repeatWhenEmpty((int) pollAttempts, attempts -> attempts.delayElements(PEER_POLL_INTERVAL))
+                                .onErrorResume(IllegalStateException.class, ex -> serialize(loader));
+                    }
+                    return serialize(loader)
+                            .flatMap(json -> redisOp(byteArrayRedis.opsForValue().set(dataKey, json, properties.ttl()))
+                                    .then(redisOp(redis.delete(lockKey)))
+                                    .onErrorResume(ex -> Mono.empty())
+                                    .thenReturn(json));
+                });
+    }
+
+    private Mono<byte[]> serialize(Supplier<Flux<TopStockProductByBranchResponseDTO>> loader) {
+        return loader.get()
+                .collectList()
+                .map(jsonMapper::writeValueAsBytes);
+    }
+
+    private <T> Mono<T> redisOp(Mono<T> operation) {
+        return operation.timeout(properties.redisTimeout());
+    }
+
+    private long localEpoch(Long franchiseId) {
+        return localGlobalEvictions.get() + localEvictions.getOrDefault(franchiseId, 0L);
+    }
+
+    private Version knownVersion(Long franchiseId) {
+        return new Version(globalGeneration.get(), generations.getOrDefault(franchiseId, 0L));
+    }
+
+    private static long parseGeneration(String value) {
+        return value == null ? 0L : Long.parseLong(value);
+    }
+
+    private static String generationKey(Long franchiseId) {
+        return KEY_PREFIX + "gen:" + franchiseId;
+    }
+
+    private static String dataKey(Long franchiseId, Version version) {
+        return KEY_PREFIX + franchiseId + ":" + version.global() + ":" + version.franchise();
+    }
+
+    record Version(long global, long franchise) {}
+
+    record LocalEntry(Version version, byte[] json, long storedAtNanos) {
+
+        boolean isExpired(Duration ttl) {
+            return System.nanoTime() - storedAtNanos > ttl.toNanos();
+        }
+    }
+}
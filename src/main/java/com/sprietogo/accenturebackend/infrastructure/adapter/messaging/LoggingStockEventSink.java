@@ -0,0 +1,24 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.messaging;
+
+import com.sprietogo.accenturebackend.application.port.repository.StockEventSinkPort;
+import com.sprietogo.accenturebackend.domain.model.StockOutboxEntity;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "sink", havingValue = "log")
+public class LoggingStockEventSink implements StockEventSinkPort {
+
+    @Override
+    public Mono<Void> publish(List<StockOutboxEntity> events) {
+        return Mono.fromRunnable(() -> events.forEach(event -> log.info(
+                "Stock event #{} {} branchProductId={} branchId={} productId={} stock={} previousStock={}",
+                event.getId(), event.getEventType(), event.getBranchProductId(), event.getBranchId(),
+                event.getProductId(), event.getStock(), event.getPreviousStock())));
+    }
+}
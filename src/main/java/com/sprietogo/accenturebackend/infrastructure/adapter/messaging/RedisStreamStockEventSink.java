@@ -0,0 +1,63 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.messaging;
+
+import com.sprietogo.accenturebackend.application.port.repository.StockEventSinkPort;
+import com.sprietogo.accenturebackend.domain.model.StockOutboxEntity;
+import com.sprietogo.accenturebackend.infrastructure.config.OutboxProperties;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.connection.RedisStreamCommands.XAddOptions;
+import org.springframework.data.redis.connection.stream.StreamRecords;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "sink", havingValue = "redis-stream", matchIfMissing = true)
+public class RedisStreamStockEventSink implements StockEventSinkPort {
+
+    // XADDs are issued in order on Lettuce's shared connection, so pipelining keeps stream order.
+    private static final int PIPELINE_DEPTH = 64;
+
+    private final ReactiveStringRedisTemplate redis;
+    private final OutboxProperties properties;
+    private final XAddOptions addOptions;
+
+    public RedisStreamStockEventSink(ReactiveStringRedisTemplate redis, OutboxProperties properties) {
+        this.redis = redis;
+        this.properties = properties;
+        this.addOptions = XAddOptions.maxlen(properties.streamMaxLength()).approximateTrimming(true);
+    }
+
+    @Override
+    public Mono<Void> publish(List<StockOutboxEntity> events) {
+        return Flux.fromIterable(events)
+                .flatMapSequential(event -> redis.opsForStream()
+                        .add(StreamRecords.newRecord().in(properties.streamKey()).ofMap(toFields(event)), addOptions),
+                        PIPELINE_DEPTH)
+                .then();
+    }
+
+    static Map<String, String> toFields(StockOutboxEntity event) {
+        Map<String, String> fields = new LinkedHashMap<>();
+        fields.put("outboxId", String.valueOf(event.getId()));
+        fields.put("type", event.getEventType());
+        fields.put("branchProductId", String.valueOf(event.getBranchProductId()));
+        fields.put("branchId", String.valueOf(event.getBranchId()));
+        fields.put("productId", String.valueOf(event.getProductId()));
+        putIfPresent(fields, "stock", event.getStock());
+        putIfPresent(fields, "previousStock", event.getPreviousStock());
+        putIfPresent(fields, "reorderThreshold", event.getReorderThreshold());
+        putIfPresent(fields, "occurredAt", event.getCreatedAt());
+        return fields;
+    }
+
+    private static void putIfPresent(Map<String, String> fields, String name, Object value) {
+        if (value != null) {
+            fields.put(name, value.toString());
+        }
+    }
+}
@@ -0,0 +1,168 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.messaging;
+
+import com.sprietogo.accenturebackend.application.port.repository.StockEventSinkPort;
+import com.sprietogo.accenturebackend.application.port.repository.StockOutboxRepositoryPort;
+import com.sprietogo.accenturebackend.domain.model.StockOutboxEntity;
+import com.sprietogo.accenturebackend.infrastructure.config.OutboxProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Moves stock_outbox rows to the configured sink. Each batch is claimed with FOR UPDATE SKIP LOCKED,
+ * published and acknowledged (deleted or marked) in one transaction, so a failed publish leaves the
+ * rows in place and several relays can run side by side. Delivery is at-least-once: consumers should
+ * dedupe on outboxId.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.outbox", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class StockOutboxRelay {
+
+    private final StockOutboxRepositoryPort stockOutboxRepositoryPort;
+    private final StockEventSinkPort stockEventSinkPort;
+    private final TransactionalOperator transactionalOperator;
+    private final OutboxProperties properties;
+
+    private final Counter publishedCounter;
+    private final Counter failureCounter;
+    private final Timer batchTimer;
+    private final Timer eventLagTimer;
+    private final AtomicLong oldestPendingAgeMillis = new AtomicLong();
+
+    private int consecutiveFailures;
+    private Disposable subscription;
+
+    public StockOutboxRelay(StockOutboxRepositoryPort stockOutboxRepositoryPort,
+                            StockEventSinkPort stockEventSinkPort,
+                            ReactiveTransactionManager transactionManager,
+                            OutboxProperties properties,
+                            MeterRegistry meterRegistry) {
+        this.stockOutboxRepositoryPort = stockOutboxRepositoryPort;
+        this.stockEventSinkPort = stockEventSinkPort;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+        this.properties = properties;
+
+        this.publishedCounter = Counter.builder("stock.outbox.published")
+                .description("Outbox events delivered to the sink")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("stock.outbox.failures")
+                .description("Relay rounds that failed and were rolled back")
+                .register(meterRegistry);
+        this.batchTimer = Timer.builder("stock.outbox.batch")
+                .description("Time to claim, publish and acknowledge one batch")
+                .register(meterRegistry);
+        this.eventLagTimer = Timer.builder("stock.outbox.event.lag")
+                .description("Time between the stock change and its publication")
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        TimeGauge.builder("stock.outbox.lag", oldestPendingAgeMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .description("Age of the oldest unpublished outbox event")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        subscription = Mono.defer(this::drain)
+                .onErrorResume(ex -> {
+                    failureCounter.increment();
+                    log.warn("Stock outbox relay failed ({} in a row): {}", consecutiveFailures + 1, ex.getMessage());
+                    return Mono.just(-1);
+                })
+                .flatMap(published -> refreshLag()
+                        .onErrorResume(ex -> Mono.empty())
+                        .then(Mono.delay(nextDelay(published))))
+                .repeat()
+                .subscribe();
+        log.info("Stock outbox relay started (batchSize={}, pollInterval={}ms, sink={})",
+                properties.batchSize(), properties.pollInterval().toMillis(), properties.sink());
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    /**
+     * Publishes batches back to back while they come back full.
+     */
+    Mono<Integer> drain() {
+        return publishBatch()
+                .expand(published -> published >= properties.batchSize() ? publishBatch() : Mono.empty())
+                .reduce(0, Integer::sum);
+    }
+
+    Mono<Integer> publishBatch() {
+        Timer.Sample sample = Timer.start();
+
+        Mono<List<StockOutboxEntity>> batch = stockOutboxRepositoryPort.claimPending(properties.batchSize())
+                .collectList()
+                .flatMap(events -> {
+                    if (events.isEmpty()) {
+                        return Mono.just(events);
+                    }
+                    List<Long> ids = events.stream().map(StockOutboxEntity::getId).toList();
+                    Mono<Long> ack = Mono.defer(() -> properties.deletePublished()
+                            ? stockOutboxRepositoryPort.deleteByIds(ids)
+                            : stockOutboxRepositoryPort.markPublished(ids));
+                    return stockEventSinkPort.publish(events)
+                            .then(ack)
+                            .thenReturn(events);
+                });
+
+        return transactionalOperator.transactional(batch)
+                .doOnNext(events -> {
+                    if (!events.isEmpty()) {
+                        sample.stop(batchTimer);
+                        recordPublished(events);
+                    }
+                })
+                .map(List::size);
+    }
+
+    private void recordPublished(List<StockOutboxEntity> events) {
+        publishedCounter.increment(events.size());
+        OffsetDateTime now = OffsetDateTime.now();
+        for (StockOutboxEntity event : events) {
+            if (event.getCreatedAt() != null) {
+                eventLagTimer.record(Duration.between(event.getCreatedAt(), now));
+            }
+        }
+    }
+
+    Mono<Void> refreshLag() {
+        return stockOutboxRepositoryPort.getOldestPendingCreatedAt()
+                .map(createdAt -> Math.max(0, Duration.between(createdAt, OffsetDateTime.now()).toMillis()))
+                .defaultIfEmpty(0L)
+                .doOnNext(oldestPendingAgeMillis::set)
+                .then();
+    }
+
+    Duration nextDelay(int published) {
+        if (published >= 0) {
+            consecutiveFailures = 0;
+            return properties.pollInterval();
+        }
+        long factor = 1L << Math.min(consecutiveFailures++, 16);
+        Duration backoff = properties.pollInterval().multipliedBy(factor);
+        return backoff.compareTo(properties.maxBackoff()) > 0 ? properties.maxBackoff() : backoff;
+    }
+}
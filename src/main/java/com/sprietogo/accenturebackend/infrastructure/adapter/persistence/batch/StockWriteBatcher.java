@@ -0,0 +1,222 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.batch;
+
+import com.sprietogo.accenturebackend.domain.model.BranchProductEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.deadline.RequestDeadline;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.instrumentation.QueryStats;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.StockWriteQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.StockWriteQueryRepository.StockWrite;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.DataSourceRouting;
+import com.sprietogo.accenturebackend.infrastructure.config.StockWriteBatchProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.core.publisher.Sinks;
+import reactor.core.scheduler.Schedulers;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Group commit for single-row stock writes.
+ * <p>
+ * Writes that arrive within {@code max-wait} of each other (up to {@code max-batch-size}) are applied by one
+ * UPDATE, and every caller gets its own row back, or empty when the row does not exist. Within a batch,
+ * writes to the same row keep their arrival order: a repeated key goes to a follow-up statement. When a
+ * trigger rejects the statement (reservation counter rows), the batch is retried row by row so only the
+ * offending caller sees the error.
+ * <p>
+ * The statement runs outside the caller's subscription, so cancelling a caller does not withdraw its write.
+ * What the callers' contexts carry is handed over explicitly: each caller is pinned to the primary, the
+ * statement counts towards every caller's {@link QueryStats}, and it runs under the latest of their
+ * deadlines (none if any caller has none).
+ */
+@Slf4j
+@Component
+public class StockWriteBatcher {
+
+    private final StockWriteQueryRepository stockWriteQueryRepository;
+    private final StockWriteBatchProperties properties;
+
+    private final Queue<PendingWrite> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger queued = new AtomicInteger();
+    private final AtomicBoolean flushScheduled = new AtomicBoolean();
+    private final Sinks.Many<List<PendingWrite>> batches = Sinks.many().unicast().onBackpressureBuffer();
+    private final DistributionSummary batchSize;
+    private final Timer queueWait;
+    private Disposable subscription;
+
+    public StockWriteBatcher(StockWriteQueryRepository stockWriteQueryRepository,
+                             StockWriteBatchProperties properties,
+                             MeterRegistry meterRegistry) {
+        this.stockWriteQueryRepository = stockWriteQueryRepository;
+        this.properties = properties;
+
+        this.batchSize = DistributionSummary.builder("branch_product.stock_write.batch.size")
+                .description("Stock writes applied by one group-commit statement")
+                .register(meterRegistry);
+        this.queueWait = Timer.builder("branch_product.stock_write.batch.wait")
+                .description("Time a stock write waited for its batch to start")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        if (!properties.enabled()) {
+            return;
+        }
+        subscription = batches.asFlux()
+                .flatMap(this::flush, properties.maxConcurrentBatches())
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        drain();
+        batches.emitComplete(Sinks.EmitFailureHandler.busyLooping(Duration.ofSeconds(1)));
+    }
+
+    public boolean isEnabled() {
+        return properties.enabled() && subscription != null && !subscription.isDisposed();
+    }
+
+    public Mono<BranchProductEntity> updateStock(Long branchId, Long productId, Integer stock) {
+        return DataSourceRouting.write(Mono.create(sink ->
+                enqueue(new PendingWrite(new StockWrite(branchId, productId, stock), sink, System.nanoTime()))));
+    }
+
+    // A hand-rolled window rather than bufferTimeout, whose sub-millisecond timer could leave a lone write waiting.
+    private void enqueue(PendingWrite pending) {
+        queue.add(pending);
+        if (queued.incrementAndGet() >= properties.maxBatchSize()) {
+            drain();
+        } else if (flushScheduled.compareAndSet(false, true)) {
+            Schedulers.parallel().schedule(() -> {
+                flushScheduled.set(false);
+                drain();
+            }, properties.maxWait().toNanos(), TimeUnit.NANOSECONDS);
+        }
+    }
+
+    private void drain() {
+        List<PendingWrite> batch = new ArrayList<>();
+        PendingWrite next;
+        while ((next = queue.poll()) != null) {
+            queued.decrementAndGet();
+            batch.add(next);
+            if (batch.size() == properties.maxBatchSize()) {
+                emit(batch);
+                batch = new ArrayList<>();
+            }
+        }
+        if (!batch.isEmpty()) {
+            emit(batch);
+        }
+    }
+
+    private void emit(List<PendingWrite> batch) {
+        batches.emitNext(batch, Sinks.EmitFailureHandler.busyLooping(Duration.ofMillis(100)));
+    }
+
+    Mono<Void> flush(List<PendingWrite> batch) {
+        long started = System.nanoTime();
+        batchSize.record(batch.size());
+        batch.forEach(pending -> queueWait.record(started - pending.enqueuedNanos(), TimeUnit.NANOSECONDS));
+
+        return Flux.fromIterable(rounds(batch))
+                .concatMap(this::apply)
+                .then();
+    }
+
+    private Mono<Void> apply(List<PendingWrite> round) {
+        return stockWriteQueryRepository.updateStocks(round.stream().map(PendingWrite::write).toList())
+                .contextWrite(ctx -> withCallers(ctx, round))
+                .collectList()
+                .doOnNext(rows -> complete(round, rows))
+                .then()
+                .onErrorResume(ex -> {
+                    if (ex instanceof DataIntegrityViolationException && round.size() > 1) {
+                        return Flux.fromIterable(round).concatMap(pending -> apply(List.of(pending))).then();
+                    }
+                    if (round.size() > 1) {
+                        log.warn("Stock write batch of {} failed: {}", round.size(), ex.getMessage());
+                    }
+                    round.forEach(pending -> pending.sink().error(ex));
+                    return Mono.empty();
+                });
+    }
+
+    static Context withCallers(Context ctx, List<PendingWrite> round) {
+        List<QueryStats> stats = new ArrayList<>();
+        Duration budget = Duration.ZERO;
+        boolean unbounded = false;
+        for (PendingWrite pending : round) {
+            ContextView caller = pending.sink().contextView();
+            QueryStats.from(caller).ifPresent(stats::add);
+            Optional<RequestDeadline> deadline = RequestDeadline.from(caller);
+            if (deadline.isEmpty() || !deadline.get().isBounded()) {
+                unbounded = true;
+            } else if (deadline.get().remaining().compareTo(budget) > 0) {
+                budget = deadline.get().remaining();
+            }
+        }
+        Context batch = stats.isEmpty() ? ctx : ctx.put(QueryStats.class, QueryStats.fanOut(stats));
+        return unbounded ? batch : batch.put(RequestDeadline.class, new RequestDeadline(budget));
+    }
+
+    private static void complete(List<PendingWrite> round, List<BranchProductEntity> rows) {
+        Map<StockKey, BranchProductEntity> byKey = new HashMap<>();
+        rows.forEach(row -> byKey.put(new StockKey(row.getBranchId(), row.getProductId()), row));
+        for (PendingWrite pending : round) {
+            BranchProductEntity row = byKey.get(pending.key());
+            if (row == null) {
+                pending.sink().success();
+            } else {
+                pending.sink().success(row);
+            }
+        }
+    }
+
+    // Splits a batch into statements with unique keys, keeping writes to one row in arrival order.
+    static List<List<PendingWrite>> rounds(List<PendingWrite> batch) {
+        List<List<PendingWrite>> rounds = new ArrayList<>();
+        Map<StockKey, Integer> lastRound = new HashMap<>();
+        for (PendingWrite pending : batch) {
+            int round = lastRound.getOrDefault(pending.key(), -1) + 1;
+            if (round == rounds.size()) {
+                rounds.add(new ArrayList<>());
+            }
+            rounds.get(round).add(pending);
+            lastRound.put(pending.key(), round);
+        }
+        return rounds;
+    }
+
+    record PendingWrite(StockWrite write, MonoSink<BranchProductEntity> sink, long enqueuedNanos) {
+
+        StockKey key() {
+            return new StockKey(write.branchId(), write.productId());
+        }
+    }
+
+    record StockKey(Long branchId, Long productId) {}
+}
@@ -0,0 +1,416 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.deadline;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Batch;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.ConnectionMetadata;
+import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import io.r2dbc.spi.TransactionDefinition;
+import io.r2dbc.spi.ValidationDepth;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.Collections;
+import java.util.Map;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Applies the {@link RequestDeadline} in the subscriber's context to the database work of the request.
+ * <p>
+ * On acquire, the remaining budget rounded up to {@code granularity} becomes the session statement_timeout,
+ * so Postgres aborts the statement even if nobody is left to cancel it. The value is remembered per physical
+ * connection and only re-sent when it changes, which keeps requests sharing a default timeout free of the
+ * extra round trip. When the request is cancelled (client gone or deadline reached) while a statement is
+ * still running, a cancel request is sent before the connection goes back to the pool, so the next borrower
+ * does not queue behind an abandoned query.
+ */
+@Slf4j
+public class DeadlineConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, Disposable {
+
+    private static final String CANCELLED_METRIC = "db.statements.cancelled";
+
+    private final ConnectionFactory delegate;
+    private final long granularityNanos;
+    // Absent means the server default (no timeout).
+    private final Map<Connection, Duration> appliedTimeouts = Collections.synchronizedMap(new WeakHashMap<>());
+
+    private final Counter disconnectCounter;
+    private final Counter deadlineCounter;
+    private final Counter statementTimeoutCounter;
+
+    public DeadlineConnectionFactory(ConnectionFactory delegate, Duration granularity, MeterRegistry meterRegistry) {
+        this.delegate = delegate;
+        this.granularityNanos = Math.max(1L, granularity.toNanos());
+
+        this.disconnectCounter = Counter.builder(CANCELLED_METRIC)
+                .description("Statements cancelled because the client went away or the request deadline passed")
+                .tag("reason", "disconnect")
+                .register(meterRegistry);
+        this.deadlineCounter = Counter.builder(CANCELLED_METRIC)
+                .description("Statements cancelled because the client went away or the request deadline passed")
+                .tag("reason", "deadline")
+                .register(meterRegistry);
+        this.statementTimeoutCounter = Counter.builder(CANCELLED_METRIC)
+                .description("Statements cancelled because the client went away or the request deadline passed")
+                .tag("reason", "statement_timeout")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.deferContextual(ctx -> {
+            RequestDeadline deadline = RequestDeadline.from(ctx).orElse(null);
+            // An unbounded deadline still cancels abandoned statements, but runs them without a statement_timeout.
+            Duration timeout = deadline == null || !deadline.isBounded() ? Duration.ZERO : statementTimeout(deadline.remaining());
+
+            return Mono.<Connection>from(delegate.create())
+                    .flatMap(connection -> applyStatementTimeout(connection, timeout)
+                            .thenReturn(deadline == null ? connection : new DeadlineConnection(connection, deadline))
+                            .onErrorResume(ex -> Mono.from(connection.close()).then(Mono.error(ex))));
+        });
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return delegate;
+    }
+
+    @Override
+    public void dispose() {
+        if (delegate instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return delegate instanceof Disposable disposable && disposable.isDisposed();
+    }
+
+    Duration statementTimeout(Duration remaining) {
+        long steps = Math.max(1L, (remaining.toNanos() + granularityNanos - 1) / granularityNanos);
+        return Duration.ofNanos(steps * granularityNanos);
+    }
+
+    private Mono<Void> applyStatementTimeout(Connection connection, Duration timeout) {
+        Connection physical = physical(connection);
+        if (timeout.equals(appliedTimeouts.getOrDefault(physical, Duration.ZERO))) {
+            return Mono.empty();
+        }
+        return Mono.from(connection.setStatementTimeout(timeout))
+                .doOnSuccess(ignored -> {
+                    if (timeout.isZero()) {
+                        appliedTimeouts.remove(physical);
+                    } else {
+                        appliedTimeouts.put(physical, timeout);
+                    }
+                });
+    }
+
+    private static Connection physical(Connection connection) {
+        Connection current = connection;
+        while (current instanceof Wrapped<?> wrapped && wrapped.unwrap() instanceof Connection inner) {
+            current = inner;
+        }
+        return current;
+    }
+
+    /**
+     * The driver completes {@code execute()} once the results are handed out, before their rows have been
+     * read, so a statement only counts as done when its last result has been consumed.
+     */
+    private Flux<Result> execute(Publisher<? extends Result> results, AtomicInteger running) {
+        return Flux.<Result>from(results)
+                .doOnSubscribe(subscription -> running.incrementAndGet())
+                .<Result>map(result -> {
+                    running.incrementAndGet();
+                    return new DeadlineResult(result, running);
+                })
+                .doOnComplete(running::decrementAndGet)
+                .doOnError(ex -> failed(ex, running));
+    }
+
+    private void failed(Throwable ex, AtomicInteger running) {
+        running.decrementAndGet();
+        if (ex instanceof R2dbcTimeoutException) {
+            statementTimeoutCounter.increment();
+        }
+    }
+
+    private final class DeadlineConnection implements Connection, Wrapped<Connection> {
+
+        private final Connection connection;
+        private final RequestDeadline deadline;
+        // Statements and results not yet fully read; above zero when the request is cancelled means abandoned.
+        private final AtomicInteger running = new AtomicInteger();
+        private final AtomicBoolean cancelSent = new AtomicBoolean();
+
+        private DeadlineConnection(Connection connection, RequestDeadline deadline) {
+            this.connection = connection;
+            this.deadline = deadline;
+        }
+
+        /**
+         * Completes once Postgres has received the cancel request. Postgres ignores a cancel that reaches
+         * an idle backend, and the connection is not released before this completes.
+         */
+        private Mono<Void> cancelAbandoned() {
+            if (!deadline.isCancelled() || running.get() <= 0 || !cancelSent.compareAndSet(false, true)) {
+                return Mono.empty();
+            }
+            Connection physical = physical(connection);
+            if (!(physical instanceof PostgresqlConnection postgres)) {
+                return Mono.empty();
+            }
+            (deadline.cancellation() == RequestDeadline.Cancellation.DEADLINE ? deadlineCounter : disconnectCounter).increment();
+            return postgres.cancelRequest()
+                    .onErrorResume(ex -> {
+                        log.debug("Cancel request failed: {}", ex.getMessage());
+                        return Mono.empty();
+                    });
+        }
+
+        @Override
+        public Statement createStatement(String sql) {
+            return new DeadlineStatement(connection.createStatement(sql), running);
+        }
+
+        @Override
+        public Batch createBatch() {
+            return new DeadlineBatch(connection.createBatch(), running);
+        }
+
+        @Override
+        public Connection unwrap() {
+            return connection;
+        }
+
+        @Override
+        public Publisher<Void> beginTransaction() {
+            return connection.beginTransaction();
+        }
+
+        @Override
+        public Publisher<Void> beginTransaction(TransactionDefinition definition) {
+            return connection.beginTransaction(definition);
+        }
+
+        @Override
+        public Publisher<Void> close() {
+            return cancelAbandoned().then(Mono.from(connection.close()));
+        }
+
+        @Override
+        public Publisher<Void> commitTransaction() {
+            return connection.commitTransaction();
+        }
+
+        @Override
+        public Publisher<Void> createSavepoint(String name) {
+            return connection.createSavepoint(name);
+        }
+
+        @Override
+        public boolean isAutoCommit() {
+            return connection.isAutoCommit();
+        }
+
+        @Override
+        public ConnectionMetadata getMetadata() {
+            return connection.getMetadata();
+        }
+
+        @Override
+        public IsolationLevel getTransactionIsolationLevel() {
+            return connection.getTransactionIsolationLevel();
+        }
+
+        @Override
+        public Publisher<Void> releaseSavepoint(String name) {
+            return connection.releaseSavepoint(name);
+        }
+
+        // The rollback would otherwise wait behind the abandoned statement.
+        @Override
+        public Publisher<Void> rollbackTransaction() {
+            return cancelAbandoned().then(Mono.from(connection.rollbackTransaction()));
+        }
+
+        @Override
+        public Publisher<Void> rollbackTransactionToSavepoint(String name) {
+            return connection.rollbackTransactionToSavepoint(name);
+        }
+
+        @Override
+        public Publisher<Void> setAutoCommit(boolean autoCommit) {
+            return connection.setAutoCommit(autoCommit);
+        }
+
+        @Override
+        public Publisher<Void> setLockWaitTimeout(Duration timeout) {
+            return connection.setLockWaitTimeout(timeout);
+        }
+
+        @Override
+        public Publisher<Void> setStatementTimeout(Duration timeout) {
+            return connection.setStatementTimeout(timeout);
+        }
+
+        @Override
+        public Publisher<Void> setTransactionIsolationLevel(IsolationLevel isolationLevel) {
+            return connection.setTransactionIsolationLevel(isolationLevel);
+        }
+
+        @Override
+        public Publisher<Boolean> validate(ValidationDepth depth) {
+            return connection.validate(depth);
+        }
+    }
+
+    private final class DeadlineStatement implements Statement {
+
+        private final Statement statement;
+        private final AtomicInteger running;
+
+        private DeadlineStatement(Statement statement, AtomicInteger running) {
+            this.statement = statement;
+            this.running = running;
+        }
+
+        @Override
+        public Statement add() {
+            statement.add();
+            return this;
+        }
+
+        @Override
+        public Statement bind(int index, Object value) {
+            statement.bind(index, value);
+            return this;
+        }
+
+        @Override
+        public Statement bind(String name, Object value) {
+            statement.bind(name, value);
+            return this;
+        }
+
+        @Override
+        public Statement bindNull(int index, Class<?> type) {
+            statement.bindNull(index, type);
+            return this;
+        }
+
+        @Override
+        public Statement bindNull(String name, Class<?> type) {
+            statement.bindNull(name, type);
+            return this;
+        }
+
+        @Override
+        public Statement returnGeneratedValues(String... columns) {
+            statement.returnGeneratedValues(columns);
+            return this;
+        }
+
+        @Override
+        public Statement fetchSize(int rows) {
+            statement.fetchSize(rows);
+            return this;
+        }
+
+        @Override
+        public Publisher<? extends Result> execute() {
+            return DeadlineConnectionFactory.this.execute(statement.execute(), running);
+        }
+    }
+
+    private final class DeadlineBatch implements Batch {
+
+        private final Batch batch;
+        private final AtomicInteger running;
+
+        private DeadlineBatch(Batch batch, AtomicInteger running) {
+            this.batch = batch;
+            this.running = running;
+        }
+
+        @Override
+        public Batch add(String sql) {
+            batch.add(sql);
+            return this;
+        }
+
+        @Override
+        public Publisher<? extends Result> execute() {
+            return DeadlineConnectionFactory.this.execute(batch.execute(), running);
+        }
+    }
+
+    private final class DeadlineResult implements Result {
+
+        private final Result result;
+        private final AtomicInteger running;
+
+        private DeadlineResult(Result result, AtomicInteger running) {
+            this.result = result;
+            this.running = running;
+        }
+
+        @Override
+        public Publisher<Long> getRowsUpdated() {
+            return track(result.getRowsUpdated());
+        }
+
+        @Override
+        public <T> Publisher<T> map(BiFunction<Row, RowMetadata, ? extends T> mappingFunction) {
+            return track(result.map(mappingFunction));
+        }
+
+        @Override
+        public <T> Publisher<T> map(Function<? super Readable, ? extends T> mappingFunction) {
+            return track(result.map(mappingFunction));
+        }
+
+        @Override
+        public Result filter(Predicate<Segment> filter) {
+            return new DeadlineResult(result.filter(filter), running);
+        }
+
+        @Override
+        public <T> Publisher<T> flatMap(Function<Segment, ? extends Publisher<? extends T>> mappingFunction) {
+            return track(result.flatMap(mappingFunction));
+        }
+
+        private <T> Publisher<T> track(Publisher<T> rows) {
+            return Flux.from(rows)
+                    .doOnComplete(running::decrementAndGet)
+                    .doOnError(ex -> failed(ex, running));
+        }
+    }
+}
@@ -0,0 +1,67 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.deadline;
+
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.Optional;
+
+/**
+ * Time budget of one request, carried in the Reactor context. The web filter marks it cancelled when the
+ * response subscription goes away, whether the client disconnected or the deadline fired first. An
+ * {@link #unbounded()} deadline never expires and only carries the cancellation.
+ */
+public class RequestDeadline {
+
+    public enum Cancellation { NONE, DISCONNECT, DEADLINE }
+
+    private final long deadlineNanos;
+    private final boolean bounded;
+    private volatile Cancellation cancellation = Cancellation.NONE;
+
+    public RequestDeadline(Duration timeout) {
+        this.deadlineNanos = System.nanoTime() + timeout.toNanos();
+        this.bounded = true;
+    }
+
+    private RequestDeadline() {
+        this.deadlineNanos = 0L;
+        this.bounded = false;
+    }
+
+    public static RequestDeadline unbounded() {
+        return new RequestDeadline();
+    }
+
+    public static Optional<RequestDeadline> from(ContextView ctx) {
+        return ctx.getOrEmpty(RequestDeadline.class);
+    }
+
+    public boolean isBounded() {
+        return bounded;
+    }
+
+    /**
+     * Time left before the deadline; only meaningful when {@link #isBounded()}.
+     */
+    public Duration remaining() {
+        return bounded ? Duration.ofNanos(Math.max(0L, deadlineNanos - System.nanoTime())) : Duration.ZERO;
+    }
+
+    public boolean isExpired() {
+        return bounded && deadlineNanos - System.nanoTime() <= 0L;
+    }
+
+    public void cancel() {
+        if (cancellation == Cancellation.NONE) {
+            cancellation = isExpired() ? Cancellation.DEADLINE : Cancellation.DISCONNECT;
+        }
+    }
+
+    public Cancellation cancellation() {
+        return cancellation;
+    }
+
+    public boolean isCancelled() {
+        return cancellation != Cancellation.NONE;
+    }
+}
@@ -0,0 +1,392 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.instrumentation;
+
+import io.r2dbc.spi.Batch;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.ConnectionMetadata;
+import io.r2dbc.spi.IsolationLevel;
+import io.r2dbc.spi.Parameter;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import io.r2dbc.spi.TransactionDefinition;
+import io.r2dbc.spi.ValidationDepth;
+import io.r2dbc.spi.Wrapped;
+import lombok.extern.slf4j.Slf4j;
+import org.reactivestreams.Publisher;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+import java.lang.reflect.Array;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.LinkedHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+import java.util.stream.Collectors;
+
+/**
+ * Decorates a ConnectionFactory so every executed statement is reported to the {@link QueryStats} in the
+ * subscriber's context and to the registered listeners. A statement counts as finished when its first
+ * result has been consumed (rows mapped or update count read), which is when the driver has actually
+ * drained it, or when execution fails or yields no result. It is recorded before the terminal signal
+ * travels downstream, so whoever receives the rows already sees the statement counted.
+ */
+@Slf4j
+public class InstrumentedConnectionFactory implements ConnectionFactory, Wrapped<ConnectionFactory>, Disposable {
+
+    private final ConnectionFactory delegate;
+    private final List<QueryExecutionListener> listeners;
+
+    public InstrumentedConnectionFactory(ConnectionFactory delegate, List<QueryExecutionListener> listeners) {
+        this.delegate = delegate;
+        this.listeners = List.copyOf(listeners);
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.from(delegate.create()).map(InstrumentedConnection::new);
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    @Override
+    public ConnectionFactory unwrap() {
+        return delegate;
+    }
+
+    @Override
+    public void dispose() {
+        if (delegate instanceof Disposable disposable) {
+            disposable.dispose();
+        }
+    }
+
+    @Override
+    public boolean isDisposed() {
+        return delegate instanceof Disposable disposable && disposable.isDisposed();
+    }
+
+    private Flux<Result> execute(String sql, String bindings, Publisher<? extends Result> results) {
+        return Flux.deferContextual(ctx -> {
+            Execution execution = new Execution(sql, bindings, ctx);
+            return Flux.<Result>from(results)
+                    .<Result>map(result -> {
+                        execution.resultSeen = true;
+                        return new InstrumentedResult(result, execution);
+                    })
+                    .doOnError(execution::fail)
+                    .doFinally(signal -> {
+                        if (!execution.resultSeen) {
+                            execution.finish();
+                        }
+                    });
+        });
+    }
+
+    private void publish(QueryExecution execution) {
+        QueryStats.from(execution.context()).ifPresent(stats -> stats.afterQuery(execution));
+        for (QueryExecutionListener listener : listeners) {
+            try {
+                listener.afterQuery(execution);
+            } catch (RuntimeException ex) {
+                log.debug("Query listener {} failed: {}", listener.getClass().getSimpleName(), ex.getMessage());
+            }
+        }
+    }
+
+    // Type and array length only: values may be personal data and must not reach logs.
+    private static String shapeOf(Object value) {
+        if (value == null) {
+            return "null";
+        }
+        if (value instanceof Parameter parameter) {
+            return shapeOf(parameter.getValue());
+        }
+        if (value.getClass().isArray()) {
+            return value.getClass().getComponentType().getSimpleName() + "[" + Array.getLength(value) + "]";
+        }
+        return value.getClass().getSimpleName();
+    }
+
+    private final class Execution {
+
+        private final String sql;
+        private final String bindings;
+        private final ContextView context;
+        private final long startNanos = System.nanoTime();
+        private final AtomicBoolean finished = new AtomicBoolean();
+        private final AtomicLong rows = new AtomicLong();
+        private volatile Throwable error;
+        private volatile boolean resultSeen;
+
+        private Execution(String sql, String bindings, ContextView context) {
+            this.sql = sql;
+            this.bindings = bindings;
+            this.context = context;
+        }
+
+        private void fail(Throwable ex) {
+            error = ex;
+            finish();
+        }
+
+        private void finish() {
+            if (finished.compareAndSet(false, true)) {
+                publish(new QueryExecution(sql, bindings, System.nanoTime() - startNanos, rows.get(), error, context));
+            }
+        }
+    }
+
+    private final class InstrumentedConnection implements Connection, Wrapped<Connection> {
+
+        private final Connection connection;
+
+        private InstrumentedConnection(Connection connection) {
+            this.connection = connection;
+        }
+
+        @Override
+        public Statement createStatement(String sql) {
+            return new InstrumentedStatement(connection.createStatement(sql), sql);
+        }
+
+        @Override
+        public Batch createBatch() {
+            return new InstrumentedBatch(connection.createBatch());
+        }
+
+        @Override
+        public Connection unwrap() {
+            return connection;
+        }
+
+        @Override
+        public Publisher<Void> beginTransaction() {
+            return connection.beginTransaction();
+        }
+
+        @Override
+        public Publisher<Void> beginTransaction(TransactionDefinition definition) {
+            return connection.beginTransaction(definition);
+        }
+
+        @Override
+        public Publisher<Void> close() {
+            return connection.close();
+        }
+
+        @Override
+        public Publisher<Void> commitTransaction() {
+            return connection.commitTransaction();
+        }
+
+        @Override
+        public Publisher<Void> createSavepoint(String name) {
+            return connection.createSavepoint(name);
+        }
+
+        @Override
+        public boolean isAutoCommit() {
+            return connection.isAutoCommit();
+        }
+
+        @Override
+        public ConnectionMetadata getMetadata() {
+            return connection.getMetadata();
+        }
+
+        @Override
+        public IsolationLevel getTransactionIsolationLevel() {
+            return connection.getTransactionIsolationLevel();
+        }
+
+        @Override
+        public Publisher<Void> releaseSavepoint(String name) {
+            return connection.releaseSavepoint(name);
+        }
+
+        @Override
+        public Publisher<Void> rollbackTransaction() {
+            return connection.rollbackTransaction();
+        }
+
+        @Override
+        public Publisher<Void> rollbackTransactionToSavepoint(String name) {
+            return connection.rollbackTransactionToSavepoint(name);
+        }
+
+        @Override
+        public Publisher<Void> setAutoCommit(boolean autoCommit) {
+            return connection.setAutoCommit(autoCommit);
+        }
+
+        @Override
+        public Publisher<Void> setLockWaitTimeout(Duration timeout) {
+            return connection.setLockWaitTimeout(timeout);
+        }
+
+        @Override
+        public Publisher<Void> setStatementTimeout(Duration timeout) {
+            return connection.setStatementTimeout(timeout);
+        }
+
+        @Override
+        public Publisher<Void> setTransactionIsolationLevel(IsolationLevel isolationLevel) {
+            return connection.setTransactionIsolationLevel(isolationLevel);
+        }
+
+        @Override
+        public Publisher<Boolean> validate(ValidationDepth depth) {
+            return connection.validate(depth);
+        }
+    }
+
+    private final class InstrumentedStatement implements Statement {
+
+        private final Statement statement;
+        private final String sql;
+        private final Map<String, String> bindings = new LinkedHashMap<>();
+
+        private InstrumentedStatement(Statement statement, String sql) {
+            this.statement = statement;
+            this.sql = sql;
+        }
+
+        @Override
+        public Statement add() {
+            statement.add();
+            return this;
+        }
+
+        @Override
+        public Statement bind(int index, Object value) {
+            bindings.put("$" + (index + 1), shapeOf(value));
+            statement.bind(index, value);
+            return this;
+        }
+
+        @Override
+        public Statement bind(String name, Object value) {
+            bindings.put(name, shapeOf(value));
+            statement.bind(name, value);
+            return this;
+        }
+
+        @Override
+        public Statement bindNull(int index, Class<?> type) {
+            bindings.put("$" + (index + 1), "null " + type.getSimpleName());
+            statement.bindNull(index, type);
+            return this;
+        }
+
+        @Override
+        public Statement bindNull(String name, Class<?> type) {
+            bindings.put(name, "null " + type.getSimpleName());
+            statement.bindNull(name, type);
+            return this;
+        }
+
+        @Override
+        public Statement returnGeneratedValues(String... columns) {
+            statement.returnGeneratedValues(columns);
+            return this;
+        }
+
+        @Override
+        public Statement fetchSize(int rows) {
+            statement.fetchSize(rows);
+            return this;
+        }
+
+        @Override
+        public Publisher<? extends Result> execute() {
+            String shapes = bindings.entrySet().stream()
+                    .map(entry -> entry.getKey() + " " + entry.getValue())
+                    .collect(Collectors.joining(", "));
+            return InstrumentedConnectionFactory.this.execute(sql, shapes, statement.execute());
+        }
+    }
+
+    private final class InstrumentedBatch implements Batch {
+
+        private final Batch batch;
+        private final StringBuilder sql = new StringBuilder();
+
+        private InstrumentedBatch(Batch batch) {
+            this.batch = batch;
+        }
+
+        @Override
+        public Batch add(String statement) {
+            batch.add(statement);
+            sql.append(sql.isEmpty() ? "" : "; ").append(statement);
+            return this;
+        }
+
+        @Override
+        public Publisher<? extends Result> execute() {
+            return InstrumentedConnectionFactory.this.execute(sql.toString(), "", batch.execute());
+        }
+    }
+
+    private static final class InstrumentedResult implements Result {
+
+        private final Result result;
+        private final Execution execution;
+
+        private InstrumentedResult(Result result, Execution execution) {
+            this.result = result;
+            this.execution = execution;
+        }
+
+        @Override
+        public Publisher<Long> getRowsUpdated() {
+            return Flux.from(result.getRowsUpdated())
+                    .doOnNext(execution.rows::addAndGet)
+                    .doOnError(execution::fail)
+                    .doOnComplete(execution::finish)
+                    .doOnCancel(execution::finish);
+        }
+
+        @Override
+        public <T> Publisher<T> map(BiFunction<Row, RowMetadata, ? extends T> mappingFunction) {
+            return track(result.map(mappingFunction));
+        }
+
+        @Override
+        public <T> Publisher<T> map(Function<? super Readable, ? extends T> mappingFunction) {
+            return track(result.map(mappingFunction));
+        }
+
+        @Override
+        public Result filter(Predicate<Segment> filter) {
+            return new InstrumentedResult(result.filter(filter), execution);
+        }
+
+        @Override
+        public <T> Publisher<T> flatMap(Function<Segment, ? extends Publisher<? extends T>> mappingFunction) {
+            return track(result.flatMap(mappingFunction));
+        }
+
+        private <T> Publisher<T> track(Publisher<T> rows) {
+            return Flux.from(rows)
+                    .doOnNext(row -> execution.rows.incrementAndGet())
+                    .doOnError(execution::fail)
+                    .doOnComplete(execution::finish)
+                    .doOnCancel(execution::finish);
+        }
+    }
+}
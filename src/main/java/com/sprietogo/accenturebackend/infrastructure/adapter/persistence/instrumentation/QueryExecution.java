@@ -0,0 +1,22 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.instrumentation;
+
+import reactor.util.context.ContextView;
+
+/**
+ * One executed statement as seen by {@link InstrumentedConnectionFactory}. bindings describes the bound
+ * parameters by type only (never values); rows counts mapped rows for queries and updated rows for DML;
+ * context is the Reactor context the statement ran in.
+ */
+public record QueryExecution(
+        String sql,
+        String bindings,
+        long elapsedNanos,
+        long rows,
+        Throwable error,
+        ContextView context
+) {
+
+    public boolean failed() {
+        return error != null;
+    }
+}
@@ -0,0 +1,10 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.instrumentation;
+
+@FunctionalInterface
+public interface QueryExecutionListener {
+
+    /**
+     * Called once per statement on the thread that finished it; must not block.
+     */
+    void afterQuery(QueryExecution execution);
+}
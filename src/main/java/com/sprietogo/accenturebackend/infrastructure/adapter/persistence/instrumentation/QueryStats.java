@@ -0,0 +1,62 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.instrumentation;
+
+import reactor.util.context.ContextView;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Statements issued on behalf of one request (or any other unit of work that puts an instance in the
+ * Reactor context). Repetitions are tracked per SQL text, which is what gives an N+1 away.
+ */
+public class QueryStats implements QueryExecutionListener {
+
+    private final AtomicInteger statements = new AtomicInteger();
+    private final AtomicLong elapsedNanos = new AtomicLong();
+    private final Map<String, AtomicInteger> executionsBySql = new ConcurrentHashMap<>();
+
+    public static Optional<QueryStats> from(ContextView ctx) {
+        return ctx.getOrEmpty(QueryStats.class);
+    }
+
+    /**
+     * Stats for a statement run on behalf of several units of work; each execution also counts for every target.
+     */
+    public static QueryStats fanOut(List<QueryStats> targets) {
+        return new QueryStats() {
+            @Override
+            public void afterQuery(QueryExecution execution) {
+                super.afterQuery(execution);
+                targets.forEach(target -> target.afterQuery(execution));
+            }
+        };
+    }
+
+    @Override
+    public void afterQuery(QueryExecution execution) {
+        statements.incrementAndGet();
+        elapsedNanos.addAndGet(execution.elapsedNanos());
+        executionsBySql.computeIfAbsent(execution.sql(), sql -> new AtomicInteger()).incrementAndGet();
+    }
+
+    public int statements() {
+        return statements.get();
+    }
+
+    public long elapsedNanos() {
+        return elapsedNanos.get();
+    }
+
+    /**
+     * The statement text that ran most often, or empty when nothing ran.
+     */
+    public Optional<Map.Entry<String, Integer>> mostRepeated() {
+        return executionsBySql.entrySet().stream()
+                .max(Map.Entry.comparingByValue((a, b) -> Integer.compare(a.get(), b.get())))
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().get()));
+    }
+}
@@ -0,0 +1,29 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.instrumentation;
+
+import java.util.regex.Pattern;
+
+/**
+ * Reduces SQL text to its shape so the same statement groups together whatever its literals, spacing or
+ * IN-list length. Placeholders ($1, :name) are kept as they are.
+ */
+public final class SqlNormalizer {
+
+    private static final Pattern LINE_COMMENT = Pattern.compile("--[^\\n]*");
+    private static final Pattern BLOCK_COMMENT = Pattern.compile("/\\*.*?\\*/", Pattern.DOTALL);
+    private static final Pattern STRING_LITERAL = Pattern.compile("'(?:[^']|'')*'");
+    private static final Pattern NUMBER_LITERAL = Pattern.compile("(?<![\\w$.])-?\\d+(?:\\.\\d+)?\\b");
+    private static final Pattern VALUE_LIST = Pattern.compile("\\(\\s*\\?(?:\\s*,\\s*\\?)+\\s*\\)");
+    private static final Pattern WHITESPACE = Pattern.compile("\\s+");
+
+    private SqlNormalizer() {}
+
+    public static String normalize(String sql, int maxLength) {
+        String normalized = BLOCK_COMMENT.matcher(sql).replaceAll(" ");
+        normalized = LINE_COMMENT.matcher(normalized).replaceAll(" ");
+        normalized = STRING_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = NUMBER_LITERAL.matcher(normalized).replaceAll("?");
+        normalized = VALUE_LIST.matcher(normalized).replaceAll("(?, ...)");
+        normalized = WHITESPACE.matcher(normalized).replaceAll(" ").trim();
+        return normalized.length() <= maxLength ? normalized : normalized.substring(0, maxLength) + "...";
+    }
+}
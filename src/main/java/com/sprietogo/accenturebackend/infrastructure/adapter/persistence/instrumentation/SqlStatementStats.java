@@ -0,0 +1,149 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.instrumentation;
+
+import com.sprietogo.accenturebackend.infrastructure.config.SqlStatsProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and row-count histograms per normalized statement (db.statement / db.statement.rows, tagged
+ * with the statement text), plus a log line for every statement slower than app.sql-stats.slow-threshold.
+ * Only the first max-tracked-statements distinct statements get their own series; the rest share "other"
+ * so ad-hoc SQL cannot blow up the number of meters.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.sql-stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatementStats implements QueryExecutionListener {
+
+    public static final String OTHER_STATEMENTS = "other";
+
+    public enum Order { TOTAL, MEAN, MAX, COUNT, ERRORS }
+
+    private final SqlStatsProperties properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<String, StatementMeters> statements = new ConcurrentHashMap<>();
+
+    public SqlStatementStats(SqlStatsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public void afterQuery(QueryExecution execution) {
+        String sql = SqlNormalizer.normalize(execution.sql(), properties.maxSqlLength());
+
+        StatementMeters meters = statements.get(sql);
+        if (meters == null) {
+            String key = statements.size() < properties.maxTrackedStatements() ? sql : OTHER_STATEMENTS;
+            meters = statements.computeIfAbsent(key, this::register);
+        }
+        meters.record(execution);
+
+        if (execution.elapsedNanos() >= properties.slowThreshold().toNanos()) {
+            log.warn("Slow statement took {} ms (rows={}, binds=[{}]{}): {}",
+                    TimeUnit.NANOSECONDS.toMillis(execution.elapsedNanos()), execution.rows(), execution.bindings(),
+                    execution.failed() ? ", failed: " + execution.error().getMessage() : "", sql);
+        }
+    }
+
+    public List<StatementSnapshot> top(int limit, Order order) {
+        Comparator<StatementSnapshot> comparator = switch (order) {
+            case TOTAL -> Comparator.comparingDouble(StatementSnapshot::totalMillis);
+            case MEAN -> Comparator.comparingDouble(StatementSnapshot::meanMillis);
+            case MAX -> Comparator.comparingDouble(StatementSnapshot::maxMillis);
+            case COUNT -> Comparator.comparingLong(StatementSnapshot::count);
+            case ERRORS -> Comparator.comparingLong(StatementSnapshot::errors);
+        };
+
+        return statements.entrySet().stream()
+                .map(entry -> entry.getValue().snapshot(entry.getKey()))
+                .sorted(comparator.reversed())
+                .limit(limit)
+                .toList();
+    }
+
+    public void reset() {
+        statements.values().forEach(meters -> {
+            meterRegistry.remove(meters.latency);
+            meterRegistry.remove(meters.rows);
+        });
+        statements.clear();
+    }
+
+    private StatementMeters register(String sql) {
+        Timer latency = Timer.builder("db.statement")
+                .description("Execution time per normalized statement")
+                .tag("statement", sql)
+                .publishPercentiles(0.5, 0.95, 0.99)
+                .register(meterRegistry);
+        DistributionSummary rows = DistributionSummary.builder("db.statement.rows")
+                .description("Rows returned or updated per normalized statement")
+                .tag("statement", sql)
+                .register(meterRegistry);
+        return new StatementMeters(latency, rows);
+    }
+
+    public record StatementSnapshot(
+            String statement,
+            long count,
+            long errors,
+            double totalMillis,
+            double meanMillis,
+            double maxMillis,
+            double p95Millis,
+            double meanRows
+    ) {}
+
+    private static final class StatementMeters {
+
+        private final Timer latency;
+        private final DistributionSummary rows;
+        private final LongAdder errors = new LongAdder();
+        private final AtomicLong maxNanos = new AtomicLong();
+
+        private StatementMeters(Timer latency, DistributionSummary rows) {
+            this.latency = latency;
+            this.rows = rows;
+        }
+
+        private void record(QueryExecution execution) {
+            latency.record(execution.elapsedNanos(), TimeUnit.NANOSECONDS);
+            rows.record(execution.rows());
+            maxNanos.accumulateAndGet(execution.elapsedNanos(), Math::max);
+            if (execution.failed()) {
+                errors.increment();
+            }
+        }
+
+        private StatementSnapshot snapshot(String sql) {
+            double p95 = Arrays.stream(latency.takeSnapshot().percentileValues())
+                    .filter(value -> value.percentile() == 0.95)
+                    .mapToDouble(value -> value.value(TimeUnit.MILLISECONDS))
+                    .findFirst()
+                    .orElse(0);
+            return new StatementSnapshot(
+                    sql,
+                    latency.count(),
+                    errors.sum(),
+                    latency.totalTime(TimeUnit.MILLISECONDS),
+                    latency.mean(TimeUnit.MILLISECONDS),
+                    maxNanos.get() / 1_000_000.0,
+                    p95,
+                    rows.mean()
+            );
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.instrumentation;
+
+import org.jspecify.annotations.Nullable;
+import org.springframework.boot.actuate.endpoint.InvalidEndpointRequestException;
+import org.springframework.boot.actuate.endpoint.annotation.DeleteOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * GET /actuator/sqlstats?limit=10&orderBy=total|mean|max|count|errors lists the heaviest statements since
+ * start-up (or the last DELETE /actuator/sqlstats).
+ */
+@Component
+@Endpoint(id = "sqlstats")
+@ConditionalOnProperty(prefix = "app.sql-stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class SqlStatsEndpoint {
+
+    private static final int DEFAULT_LIMIT = 10;
+    private static final int MAX_LIMIT = 100;
+
+    private final SqlStatementStats sqlStatementStats;
+
+    public SqlStatsEndpoint(SqlStatementStats sqlStatementStats) {
+        this.sqlStatementStats = sqlStatementStats;
+    }
+
+    @ReadOperation
+    public List<SqlStatementStats.StatementSnapshot> top(@Nullable Integer limit, @Nullable String orderBy) {
+        int size = limit == null ? DEFAULT_LIMIT : limit;
+        if (size < 1 || size > MAX_LIMIT) {
+            throw new InvalidEndpointRequestException("limit must be between 1 and " + MAX_LIMIT, "Invalid limit");
+        }
+
+        SqlStatementStats.Order order;
+        try {
+            order = orderBy == null ? SqlStatementStats.Order.TOTAL : SqlStatementStats.Order.valueOf(orderBy.toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException ex) {
+            throw new InvalidEndpointRequestException("Unknown orderBy: " + orderBy, "Invalid orderBy");
+        }
+
+        return sqlStatementStats.top(size, order);
+    }
+
+    @DeleteOperation
+    public void reset() {
+        sqlStatementStats.reset();
+    }
+}
@@ -2,6 +2,7 @@ package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.mapper
 
 import com.sprietogo.accenturebackend.domain.model.BranchEntity;
 import com.sprietogo.accenturebackend.domain.model.FranchiseEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.BranchViewQueryRepository.BranchViewRow;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.BranchRequestDTO;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchResponseDTO;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.ResponseDTO;
@@ -43,4 +44,14 @@ public final class BranchMapper {
         return dto;
     }
 
+    public static BranchResponseDTO toResponseDto(BranchViewRow row) {
+        if (row == null) return null;
+
+        BranchResponseDTO dto = new BranchResponseDTO(new ResponseDTO(row.franchiseId(), row.franchiseName()));
+        dto.setName(row.name());
+        dto.setId(row.id());
+
+        return dto;
+    }
+
 }
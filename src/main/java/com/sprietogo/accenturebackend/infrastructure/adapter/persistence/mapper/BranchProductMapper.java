@@ -3,6 +3,7 @@ package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.mapper
 import com.sprietogo.accenturebackend.domain.model.BranchEntity;
 import com.sprietogo.accenturebackend.domain.model.BranchProductEntity;
 import com.sprietogo.accenturebackend.domain.model.ProductEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.BranchProductViewQueryRepository.BranchProductViewRow;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.BranchProductRequestDTO;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchProductResponseDTO;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.ResponseDTO;
@@ -19,6 +20,8 @@ public final class BranchProductMapper {
                 dto.getProductId(),
                 dto.getStock(),
                 null,
+                null,
+                null,
                 null
         );
     }
@@ -35,8 +38,29 @@ public final class BranchProductMapper {
         dto.setBranch(new ResponseDTO(branchEntity.getId(), branchEntity.getName()));
         dto.setProduct(new ResponseDTO(productEntity.getId(), productEntity.getName()));
         dto.setStock(branchProductEntity.getStock());
+        dto.setVersion(isSlotted(branchProductEntity) ? null : branchProductEntity.getVersion());
 
         return dto;
     }
 
+    /**
+     * Slot takes change stock without bumping the row version, so a slotted row is reported without one
+     * and cannot be used as an If-Match precondition.
+     */
+    public static boolean isSlotted(BranchProductEntity branchProductEntity) {
+        return branchProductEntity.getStockSlots() != null && branchProductEntity.getStockSlots() > 0;
+    }
+
+    public static BranchProductResponseDTO toResponseDto(BranchProductViewRow row) {
+        if (row == null) return null;
+
+        return new BranchProductResponseDTO(
+                row.id(),
+                new ResponseDTO(row.branchId(), row.branchName()),
+                new ResponseDTO(row.productId(), row.productName()),
+                row.stock(),
+                row.version()
+        );
+    }
+
 }
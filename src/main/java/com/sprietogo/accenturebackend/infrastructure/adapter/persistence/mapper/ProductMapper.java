@@ -1,6 +1,7 @@
 package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.mapper;
 
 import com.sprietogo.accenturebackend.domain.model.ProductEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.ProductViewQueryRepository.ProductViewRow;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.RequestDTO;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.ResponseDTO;
 
@@ -34,4 +35,9 @@ public final class ProductMapper {
         return new ResponseDTO(entity.getId(), entity.getName());
     }
 
+    public static ResponseDTO toResponseDto(ProductViewRow row) {
+        if (row == null) return null;
+        return new ResponseDTO(row.id(), row.name());
+    }
+
 }
@@ -0,0 +1,24 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.mapper;
+
+import com.sprietogo.accenturebackend.domain.model.StockAlertEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.StockAlertResponseDTO;
+
+public final class StockAlertMapper {
+
+    private StockAlertMapper() {}
+
+    public static StockAlertResponseDTO toResponseDto(StockAlertEntity entity) {
+        if (entity == null) return null;
+        return new StockAlertResponseDTO(
+                entity.getId(),
+                entity.getBranchId(),
+                entity.getProductId(),
+                entity.getStock(),
+                entity.getThreshold(),
+                entity.getResolvedAt() == null ? "OPEN" : "RESOLVED",
+                entity.getTriggeredAt(),
+                entity.getResolvedAt()
+        );
+    }
+
+}
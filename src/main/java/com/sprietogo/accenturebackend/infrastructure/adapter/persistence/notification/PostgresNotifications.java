@@ -0,0 +1,44 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.notification;
+
+import io.r2dbc.postgresql.api.Notification;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.boot.r2dbc.autoconfigure.R2dbcProperties;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.Function;
+
+/**
+ * LISTEN on a dedicated connection to the primary. Notifications are not delivered through pooled or
+ * replica connections, so each listener opens its own and closes it when the subscription ends.
+ */
+public final class PostgresNotifications {
+
+    private PostgresNotifications() {}
+
+    public static ConnectionFactory listenerConnectionFactory(R2dbcProperties properties) {
+        return ConnectionFactoryBuilder.withUrl(properties.getUrl())
+                .username(properties.getUsername())
+                .password(properties.getPassword())
+                .build();
+    }
+
+    /**
+     * Runs {@code handler} over the payloads of {@code channel} once LISTEN is in place. The result never
+     * completes normally: a closed connection surfaces as an error so callers can resync and retry.
+     */
+    public static <T> Flux<T> listen(ConnectionFactory connectionFactory, String channel,
+                                     Function<Flux<String>, Flux<T>> handler) {
+        return Flux.usingWhen(
+                        Mono.from(connectionFactory.create()).cast(PostgresqlConnection.class),
+                        connection -> connection.createStatement("LISTEN " + channel)
+                                .execute()
+                                .flatMap(PostgresqlResult::getRowsUpdated)
+                                .thenMany(handler.apply(connection.getNotifications().mapNotNull(Notification::getParameter))),
+                        PostgresqlConnection::close)
+                .concatWith(Mono.error(() -> new IllegalStateException("LISTEN " + channel + " connection closed")));
+    }
+}
@@ -2,7 +2,9 @@ package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.reposi
 
 import com.sprietogo.accenturebackend.application.port.repository.BranchProductRepositoryPort;
 import com.sprietogo.accenturebackend.domain.model.BranchProductEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.batch.StockWriteBatcher;
 import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.r2dbc.BranchProductR2dbcRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.DataSourceRouting;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
@@ -13,21 +15,28 @@ import reactor.core.publisher.Mono;
 public class BranchProductRepository implements BranchProductRepositoryPort {
 
     private final BranchProductR2dbcRepository repository;
+    private final StockWriteBatcher stockWriteBatcher;
 
 
     @Override
     public Mono<BranchProductEntity> getBranchProductById(Long id) {
-        return repository.findById(id);
+        return repository.findLiveById(id);
+    }
+
+    // Answered from the primary like the full read: a lagging replica would confirm a version that already changed.
+    @Override
+    public Mono<Long> getBranchProductVersion(Long id) {
+        return repository.findVersionById(id);
     }
 
     @Override
     public Mono<BranchProductEntity> saveBranchProduct(BranchProductEntity entity) {
-        return repository.save(entity);
+        return DataSourceRouting.write(repository.save(entity));
     }
 
     @Override
     public Mono<BranchProductEntity> updateBranchProduct(BranchProductEntity entity) {
-        return repository.save(entity);
+        return DataSourceRouting.write(repository.save(entity));
     }
 
     @Override
@@ -37,21 +46,49 @@ public class BranchProductRepository implements BranchProductRepositoryPort {
 
     @Override
     public Mono<Void> deleteByBranchIdAndProductId(Long branchId, Long productId) {
-        return repository.deleteByBranchIdAndProductId(branchId, productId);
+        return DataSourceRouting.write(repository.deleteByBranchIdAndProductId(branchId, productId));
     }
 
     @Override
     public Flux<BranchProductEntity> getAllByBranchId(Long branchId) {
-        return repository.findAllByBranchId(branchId);
+        return DataSourceRouting.readOnly(repository.findAllLiveByBranchId(branchId));
     }
 
     @Override
     public Mono<BranchProductEntity> getByBranchIdAndProductId(Long branchId, Long productId) {
-        return repository.findByBranchIdAndProductId(branchId, productId);
+        return repository.findLiveByBranchIdAndProductId(branchId, productId);
     }
 
     @Override
     public Mono<BranchProductEntity> updateBranchProductStock(Long branchId, Long productId, Integer stock) {
-        return repository.updateStock(branchId, productId, stock);
+        if (stockWriteBatcher.isEnabled()) {
+            return stockWriteBatcher.updateStock(branchId, productId, stock);
+        }
+        return DataSourceRouting.write(repository.updateStock(branchId, productId, stock));
+    }
+
+    @Override
+    public Mono<BranchProductEntity> updateBranchProductStockIfVersion(Long branchId, Long productId, Integer stock, Long expectedVersion) {
+        return DataSourceRouting.write(repository.updateStockIfVersion(branchId, productId, stock, expectedVersion));
+    }
+
+    @Override
+    public Mono<Boolean> takeBranchProductStock(Long branchId, Long productId, Integer quantity) {
+        return DataSourceRouting.write(repository.takeStock(branchId, productId, quantity));
+    }
+
+    @Override
+    public Mono<Integer> setBranchProductStockSlots(Long branchId, Long productId, Integer slots) {
+        return DataSourceRouting.write(repository.setStockSlots(branchId, productId, slots));
+    }
+
+    @Override
+    public Flux<Long> getBranchProductIdsNeedingRebalance(int limit) {
+        return repository.findIdsNeedingRebalance(limit);
+    }
+
+    @Override
+    public Mono<Integer> rebalanceBranchProductStockSlots(Long id) {
+        return DataSourceRouting.write(repository.rebalanceSlots(id));
     }
 }
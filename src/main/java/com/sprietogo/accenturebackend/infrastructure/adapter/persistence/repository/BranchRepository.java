@@ -3,6 +3,7 @@ package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.reposi
 import com.sprietogo.accenturebackend.application.port.repository.BranchRepositoryPort;
 import com.sprietogo.accenturebackend.domain.model.BranchEntity;
 import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.r2dbc.BranchR2dbcRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.DataSourceRouting;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
@@ -16,12 +17,12 @@ public class BranchRepository implements BranchRepositoryPort {
 
     @Override
     public Mono<BranchEntity> saveBranch(BranchEntity entity) {
-        return repository.save(entity);
+        return DataSourceRouting.write(repository.save(entity));
     }
 
     @Override
     public Flux<BranchEntity> getAllByFranchiseId(Long franchiseId) {
-        return repository.findAllByFranchiseId(franchiseId);
+        return DataSourceRouting.readOnly(repository.findAllByFranchiseId(franchiseId));
     }
 
     @Override
@@ -31,11 +32,11 @@ public class BranchRepository implements BranchRepositoryPort {
 
     @Override
     public Mono<BranchEntity> getBranchByFranchiseIdAndName(Long franchiseId, String name) {
-        return repository.findByFranchiseIdAndName(franchiseId, name);
+        return DataSourceRouting.readOnly(repository.findByFranchiseIdAndName(franchiseId, name));
     }
 
     @Override
     public Mono<BranchEntity> getBranchById(Long id) {
-        return repository.findById(id);
+        return DataSourceRouting.readOnly(repository.findById(id));
     }
 }
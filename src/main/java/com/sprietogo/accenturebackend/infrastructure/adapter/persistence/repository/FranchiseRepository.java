@@ -3,6 +3,7 @@ package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.reposi
 import com.sprietogo.accenturebackend.application.port.repository.FranchiseRepositoryPort;
 import com.sprietogo.accenturebackend.domain.model.FranchiseEntity;
 import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.r2dbc.FranchiseR2dbcRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.DataSourceRouting;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Mono;
@@ -15,7 +16,7 @@ public class FranchiseRepository implements FranchiseRepositoryPort {
 
     @Override
     public Mono<FranchiseEntity> saveFranchise(FranchiseEntity franchiseEntity) {
-        return repository.save(franchiseEntity);
+        return DataSourceRouting.write(repository.save(franchiseEntity));
     }
 
     @Override
@@ -25,7 +26,7 @@ public class FranchiseRepository implements FranchiseRepositoryPort {
 
     @Override
     public Mono<FranchiseEntity> getFranchiseByName(String name) {
-        return repository.findByName(name);
+        return DataSourceRouting.readOnly(repository.findByName(name));
     }
 
     @Override
@@ -3,10 +3,14 @@ package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.reposi
 import com.sprietogo.accenturebackend.application.port.repository.ProductRepositoryPort;
 import com.sprietogo.accenturebackend.domain.model.ProductEntity;
 import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.r2dbc.ProductR2dbcRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.DataSourceRouting;
 import lombok.AllArgsConstructor;
 import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.Collection;
+
 @Repository
 @AllArgsConstructor
 public class ProductRepository implements ProductRepositoryPort {
@@ -15,7 +19,7 @@ public class ProductRepository implements ProductRepositoryPort {
 
     @Override
     public Mono<ProductEntity> saveProduct(ProductEntity productEntity) {
-        return repository.save(productEntity);
+        return DataSourceRouting.write(repository.save(productEntity));
     }
 
     @Override
@@ -25,11 +29,21 @@ public class ProductRepository implements ProductRepositoryPort {
 
     @Override
     public Mono<ProductEntity> getProductByName(String name) {
-        return repository.findByName(name);
+        return DataSourceRouting.readOnly(repository.findByName(name));
     }
 
     @Override
     public Mono<ProductEntity> getProductById(Long id) {
         return repository.findById(id);
     }
-}
\ No newline at end of file
+
+    @Override
+    public Flux<ProductEntity> getAllProducts() {
+        return repository.findAll();
+    }
+
+    @Override
+    public Flux<ProductEntity> getProductsByIds(Collection<Long> ids) {
+        return repository.findAllById(ids);
+    }
+}
@@ -0,0 +1,43 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository;
+
+import com.sprietogo.accenturebackend.application.port.repository.StockAlertRepositoryPort;
+import com.sprietogo.accenturebackend.domain.model.StockAlertEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.r2dbc.StockAlertR2dbcRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.DataSourceRouting;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+@AllArgsConstructor
+public class StockAlertRepository implements StockAlertRepositoryPort {
+
+    private final StockAlertR2dbcRepository repository;
+
+    @Override
+    public Flux<StockAlertEntity> evaluateBranchProduct(Long branchProductId) {
+        return DataSourceRouting.write(repository.evaluateBranchProduct(branchProductId));
+    }
+
+    @Override
+    public Flux<StockAlertEntity> evaluateProduct(Long productId) {
+        return DataSourceRouting.write(repository.evaluateProduct(productId));
+    }
+
+    @Override
+    public Flux<StockAlertEntity> getAlertsByBranchId(Long branchId, boolean openOnly) {
+        return DataSourceRouting.readOnly(repository.findAllByBranchId(branchId, openOnly));
+    }
+
+    @Override
+    public Mono<Boolean> updateProductThreshold(Long productId, Integer threshold) {
+        return DataSourceRouting.write(repository.updateProductThreshold(productId, threshold))
+                .map(updated -> updated > 0);
+    }
+
+    @Override
+    public Mono<Long> updateBranchProductThreshold(Long branchId, Long productId, Integer threshold) {
+        return DataSourceRouting.write(repository.updateBranchProductThreshold(branchId, productId, threshold));
+    }
+}
@@ -0,0 +1,40 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository;
+
+import com.sprietogo.accenturebackend.application.port.repository.StockOutboxRepositoryPort;
+import com.sprietogo.accenturebackend.domain.model.StockOutboxEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.r2dbc.StockOutboxR2dbcRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.DataSourceRouting;
+import lombok.AllArgsConstructor;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+
+@Repository
+@AllArgsConstructor
+public class StockOutboxRepository implements StockOutboxRepositoryPort {
+
+    private final StockOutboxR2dbcRepository repository;
+
+    @Override
+    public Flux<StockOutboxEntity> claimPending(int limit) {
+        return DataSourceRouting.write(repository.claimPending(limit));
+    }
+
+    @Override
+    public Mono<Long> deleteByIds(Collection<Long> ids) {
+        return DataSourceRouting.write(repository.deleteByIds(ids));
+    }
+
+    @Override
+    public Mono<Long> markPublished(Collection<Long> ids) {
+        return DataSourceRouting.write(repository.markPublished(ids));
+    }
+
+    @Override
+    public Mono<OffsetDateTime> getOldestPendingCreatedAt() {
+        return repository.findOldestPendingCreatedAt();
+    }
+}
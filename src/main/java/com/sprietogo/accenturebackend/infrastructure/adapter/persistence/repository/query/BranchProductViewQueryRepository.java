@@ -0,0 +1,101 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.DataSourceRouting;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.BiFunction;
+
+/**
+ * Read path for the branch-product endpoints: one statement joins branch and product and selects only the
+ * columns the response carries, mapped by position instead of through the entity metadata.
+ */
+@Repository
+public class BranchProductViewQueryRepository {
+
+    // Slotted rows carry no usable version (slot takes do not bump it), so none is reported for them.
+    private static final String COLUMNS = """
+        SELECT bp.id, b.id, b.name, p.id, p.name, bp.stock,
+               CASE WHEN bp.stock_slots > 0 THEN NULL ELSE bp.version END
+        """;
+
+    // Positions follow COLUMNS.
+    private static final BiFunction<Row, RowMetadata, BranchProductViewRow> MAPPER = (row, meta) -> new BranchProductViewRow(
+            row.get(0, Long.class),
+            row.get(1, Long.class),
+            row.get(2, String.class),
+            row.get(3, Long.class),
+            row.get(4, String.class),
+            row.get(5, Integer.class),
+            row.get(6, Long.class)
+    );
+
+    private final DatabaseClient db;
+
+    public BranchProductViewQueryRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    public Mono<BranchProductViewRow> findById(Long id) {
+        final String sql = COLUMNS + """
+        FROM branch_product_live bp
+        JOIN branch b  ON b.id = bp.branch_id
+        JOIN product p ON p.id = bp.product_id
+        WHERE bp.id = $1
+        """;
+
+        return db.sql(sql)
+                .bind(0, id)
+                .map(MAPPER)
+                .one();
+    }
+
+    public Mono<BranchProductViewRow> findByBranchIdAndProductId(Long branchId, Long productId) {
+        final String sql = COLUMNS + """
+        FROM branch_product_live bp
+        JOIN branch b  ON b.id = bp.branch_id
+        JOIN product p ON p.id = bp.product_id
+        WHERE bp.branch_id = $1
+          AND bp.product_id = $2
+        """;
+
+        return db.sql(sql)
+                .bind(0, branchId)
+                .bind(1, productId)
+                .map(MAPPER)
+                .one();
+    }
+
+    /**
+     * Starts from the branch so an existing branch without products still returns one row, with a null
+     * branch-product id; no rows at all means the branch does not exist.
+     */
+    public Flux<BranchProductViewRow> findAllByBranchId(Long branchId) {
+        final String sql = COLUMNS + """
+        FROM branch b
+        LEFT JOIN branch_product_live bp ON bp.branch_id = b.id
+        LEFT JOIN product p              ON p.id = bp.product_id
+        WHERE b.id = $1
+        """;
+
+        return DataSourceRouting.readOnly(db.sql(sql)
+                .bind(0, branchId)
+                .map(MAPPER)
+                .all());
+    }
+
+    public record BranchProductViewRow(
+            Long id,
+            Long branchId,
+            String branchName,
+            Long productId,
+            String productName,
+            Integer stock,
+            Long version
+    ) {}
+
+}
@@ -0,0 +1,72 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.DataSourceRouting;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.function.BiFunction;
+
+/**
+ * Read path for the branch endpoints: one statement joins the franchise and selects only the columns the
+ * response carries, mapped by position. Both queries start from the franchise, so an existing franchise
+ * always returns a row (with a null branch id when nothing matched) and no rows means it does not exist.
+ */
+@Repository
+public class BranchViewQueryRepository {
+
+    private static final String COLUMNS = """
+        SELECT b.id, b.name, f.id, f.name
+        """;
+
+    // Positions follow COLUMNS.
+    private static final BiFunction<Row, RowMetadata, BranchViewRow> MAPPER = (row, meta) -> new BranchViewRow(
+            row.get(0, Long.class),
+            row.get(1, String.class),
+            row.get(2, Long.class),
+            row.get(3, String.class)
+    );
+
+    private final DatabaseClient db;
+
+    public BranchViewQueryRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    public Flux<BranchViewRow> findAllByFranchiseId(Long franchiseId) {
+        final String sql = COLUMNS + """
+        FROM franchise f
+        LEFT JOIN branch b ON b.franchise_id = f.id
+        WHERE f.id = $1
+        """;
+
+        return DataSourceRouting.readOnly(db.sql(sql)
+                .bind(0, franchiseId)
+                .map(MAPPER)
+                .all());
+    }
+
+    public Mono<BranchViewRow> findByFranchiseIdAndName(Long franchiseId, String name) {
+        final String sql = COLUMNS + """
+        FROM franchise f
+        LEFT JOIN branch b ON b.franchise_id = f.id AND b.name = $2
+        WHERE f.id = $1
+        """;
+
+        return DataSourceRouting.readOnly(db.sql(sql)
+                .bind(0, franchiseId)
+                .bind(1, name)
+                .map(MAPPER)
+                .one());
+    }
+
+    public record BranchViewRow(
+            Long id,
+            String name,
+            Long franchiseId,
+            String franchiseName
+    ) {}
+}
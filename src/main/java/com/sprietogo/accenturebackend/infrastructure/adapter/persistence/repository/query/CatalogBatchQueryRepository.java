@@ -0,0 +1,127 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.DataSourceRouting;
+import io.r2dbc.spi.Row;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+/**
+ * Multi-row inserts for catalog seeding. Each call is one statement: the input arrays are unnested, new
+ * rows are inserted with ON CONFLICT DO NOTHING, and every input position comes back with the id it
+ * resolved to and whether this call created it. A name repeated within one call is created once (at its
+ * first position) and reported as existing afterwards.
+ */
+@Repository
+public class CatalogBatchQueryRepository {
+
+    public static final String CREATED = "CREATED";
+    public static final String ALREADY_EXISTS = "ALREADY_EXISTS";
+    public static final String FRANCHISE_NOT_FOUND = "FRANCHISE_NOT_FOUND";
+
+    private final DatabaseClient db;
+
+    public CatalogBatchQueryRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    public Flux<BatchInsertRow> insertProducts(List<String> names) {
+        final String sql = """
+        WITH input AS (
+          SELECT u.name, u.ord FROM unnest($1::varchar[]) WITH ORDINALITY AS u(name, ord)
+        ), ins AS (
+          INSERT INTO product (name)
+          SELECT DISTINCT name FROM input
+          ON CONFLICT (name) DO NOTHING
+          RETURNING id, name
+        )
+        SELECT i.ord,
+               COALESCE(ins.id, p.id) AS id,
+               ins.id IS NOT NULL AND i.ord = MIN(i.ord) OVER (PARTITION BY i.name) AS created,
+               TRUE AS parent_exists
+        FROM input i
+        LEFT JOIN ins ON ins.name = i.name
+        LEFT JOIN product p ON p.name = i.name
+        ORDER BY i.ord
+        """;
+
+        return DataSourceRouting.write(db.sql(sql)
+                .bind(0, names.toArray(String[]::new))
+                .map((row, meta) -> toRow(row))
+                .all());
+    }
+
+    public Flux<BatchInsertRow> insertFranchises(List<String> names) {
+        final String sql = """
+        WITH input AS (
+          SELECT u.name, u.ord FROM unnest($1::varchar[]) WITH ORDINALITY AS u(name, ord)
+        ), ins AS (
+          INSERT INTO franchise (name)
+          SELECT DISTINCT name FROM input
+          ON CONFLICT (name) DO NOTHING
+          RETURNING id, name
+        )
+        SELECT i.ord,
+               COALESCE(ins.id, f.id) AS id,
+               ins.id IS NOT NULL AND i.ord = MIN(i.ord) OVER (PARTITION BY i.name) AS created,
+               TRUE AS parent_exists
+        FROM input i
+        LEFT JOIN ins ON ins.name = i.name
+        LEFT JOIN franchise f ON f.name = i.name
+        ORDER BY i.ord
+        """;
+
+        return DataSourceRouting.write(db.sql(sql)
+                .bind(0, names.toArray(String[]::new))
+                .map((row, meta) -> toRow(row))
+                .all());
+    }
+
+    /**
+     * Rows whose franchise does not exist are skipped (not inserted) and reported as FRANCHISE_NOT_FOUND.
+     */
+    public Flux<BatchInsertRow> insertBranches(List<Long> franchiseIds, List<String> names) {
+        final String sql = """
+        WITH input AS (
+          SELECT u.franchise_id, u.name, u.ord
+          FROM unnest($1::bigint[], $2::varchar[]) WITH ORDINALITY AS u(franchise_id, name, ord)
+        ), ins AS (
+          INSERT INTO branch (franchise_id, name)
+          SELECT DISTINCT i.franchise_id, i.name
+          FROM input i
+          JOIN franchise f ON f.id = i.franchise_id
+          ON CONFLICT (franchise_id, name) DO NOTHING
+          RETURNING id, franchise_id, name
+        )
+        SELECT i.ord,
+               COALESCE(ins.id, b.id) AS id,
+               ins.id IS NOT NULL AND i.ord = MIN(i.ord) OVER (PARTITION BY i.franchise_id, i.name) AS created,
+               f.id IS NOT NULL AS parent_exists
+        FROM input i
+        LEFT JOIN franchise f ON f.id = i.franchise_id
+        LEFT JOIN ins ON ins.franchise_id = i.franchise_id AND ins.name = i.name
+        LEFT JOIN branch b ON b.franchise_id = i.franchise_id AND b.name = i.name
+        ORDER BY i.ord
+        """;
+
+        return DataSourceRouting.write(db.sql(sql)
+                .bind(0, franchiseIds.toArray(Long[]::new))
+                .bind(1, names.toArray(String[]::new))
+                .map((row, meta) -> toRow(row))
+                .all());
+    }
+
+    private static BatchInsertRow toRow(Row row) {
+        boolean created = Boolean.TRUE.equals(row.get("created", Boolean.class));
+        boolean parentExists = Boolean.TRUE.equals(row.get("parent_exists", Boolean.class));
+        String status = created ? CREATED : parentExists ? ALREADY_EXISTS : FRANCHISE_NOT_FOUND;
+        return new BatchInsertRow(row.get("ord", Long.class).intValue(), row.get("id", Long.class), status);
+    }
+
+    /**
+     * ordinal is the 1-based position in the input lists.
+     */
+    public record BatchInsertRow(int ordinal, Long id, String status) {}
+}
@@ -0,0 +1,48 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
+
+public enum ExportTable {
+
+    FRANCHISE("franchise", List.of("id", "name", "created_at", "updated_at")),
+    BRANCH("branch", List.of("id", "franchise_id", "name", "created_at", "updated_at")),
+    PRODUCT("product", List.of("id", "name", "reorder_threshold", "created_at", "updated_at")),
+    BRANCH_PRODUCT("branch_product", "branch_product_live", List.of("id", "branch_id", "product_id", "stock", "reorder_threshold", "created_at", "updated_at"));
+
+    private final String tableName;
+    private final String source;
+    private final List<String> columns;
+
+    ExportTable(String tableName, List<String> columns) {
+        this(tableName, tableName, columns);
+    }
+
+    ExportTable(String tableName, String source, List<String> columns) {
+        this.tableName = tableName;
+        this.source = source;
+        this.columns = columns;
+    }
+
+    public String tableName() {
+        return tableName;
+    }
+
+    /**
+     * Relation rows are read from; branch_product goes through its live view so slotted stock is summed.
+     */
+    public String source() {
+        return source;
+    }
+
+    public List<String> columns() {
+        return columns;
+    }
+
+    public static Optional<ExportTable> fromName(String name) {
+        return Arrays.stream(values())
+                .filter(table -> table.tableName.equalsIgnoreCase(name))
+                .findFirst();
+    }
+}
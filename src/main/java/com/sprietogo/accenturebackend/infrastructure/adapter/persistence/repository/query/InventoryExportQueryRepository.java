@@ -0,0 +1,52 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.DataSourceRouting;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Arrays;
+import java.util.List;
+
+@Repository
+public class InventoryExportQueryRepository {
+
+    private final DatabaseClient db;
+
+    public InventoryExportQueryRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    public Mono<Long> findMaxId(ExportTable table) {
+        final String sql = "SELECT COALESCE(MAX(id), 0) AS max_id FROM " + table.source();
+
+        return DataSourceRouting.readOnly(db.sql(sql)
+                .map((row, meta) -> row.get("max_id", Long.class))
+                .one());
+    }
+
+    /**
+     * Streams rows in id order through a portal fetched {@code fetchSize} rows at a time, so only
+     * one fetch is ever held in memory regardless of the range size.
+     */
+    public Flux<List<Object>> streamRows(ExportTable table, long afterId, long untilId, int fetchSize) {
+        final String sql = "SELECT " + String.join(", ", table.columns())
+                + " FROM " + table.source()
+                + " WHERE id > $1 AND id <= $2 ORDER BY id";
+        final int columnCount = table.columns().size();
+
+        return DataSourceRouting.readOnly(db.sql(sql)
+                .filter((statement, next) -> next.execute(statement.fetchSize(fetchSize)))
+                .bind(0, afterId)
+                .bind(1, untilId)
+                .map((row, meta) -> {
+                    Object[] values = new Object[columnCount];
+                    for (int i = 0; i < columnCount; i++) {
+                        values[i] = row.get(i);
+                    }
+                    return Arrays.asList(values);
+                })
+                .all());
+    }
+}
@@ -0,0 +1,57 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query;
+
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Collection;
+import java.util.Map;
+
+/**
+ * Reads that feed the in-memory inventory matrix. They stay on the primary so the load lines up with the
+ * change notifications it is combined with.
+ */
+@Repository
+public class InventoryMatrixQueryRepository {
+
+    private final DatabaseClient db;
+
+    public InventoryMatrixQueryRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    public Flux<InventoryCellRow> findAllCells() {
+        final String sql = """
+        SELECT bp.branch_id, b.franchise_id, bp.product_id, bp.stock
+        FROM branch_product_live bp
+        JOIN branch b ON b.id = bp.branch_id
+        ORDER BY bp.branch_id, bp.product_id
+        """;
+
+        return db.sql(sql)
+                .map((row, meta) -> new InventoryCellRow(
+                        row.get("branch_id", Long.class),
+                        row.get("franchise_id", Long.class),
+                        row.get("product_id", Long.class),
+                        row.get("stock", Integer.class)
+                ))
+                .all();
+    }
+
+    public Mono<Map<Long, Long>> findFranchiseIdsByBranchIds(Collection<Long> branchIds) {
+        final String sql = """
+        SELECT id, franchise_id
+        FROM branch
+        WHERE id = ANY($1)
+        """;
+
+        return db.sql(sql)
+                .bind(0, branchIds.toArray(Long[]::new))
+                .map((row, meta) -> Map.entry(row.get("id", Long.class), row.get("franchise_id", Long.class)))
+                .all()
+                .collectMap(Map.Entry::getKey, Map.Entry::getValue);
+    }
+
+    public record InventoryCellRow(long branchId, long franchiseId, long productId, int stock) {}
+}
@@ -0,0 +1,136 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.DataSourceRouting;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.InventoryCountRequestDTO;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.ReactiveTransactionManager;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.List;
+
+@Repository
+public class InventoryReconciliationQueryRepository {
+
+    public static final String INSERTED = "I";
+    public static final String UPDATED = "U";
+    public static final String DELETED = "D";
+
+    private final DatabaseClient db;
+    private final TransactionalOperator transactionalOperator;
+
+    public InventoryReconciliationQueryRepository(DatabaseClient db, ReactiveTransactionManager transactionManager) {
+        this.db = db;
+        this.transactionalOperator = TransactionalOperator.create(transactionManager);
+    }
+
+    /**
+     * Replaces the branch's inventory with {@code counts} in one short transaction: the branch is locked (which
+     * also holds off concurrent inserts for it) and one statement updates, inserts and deletes just the rows
+     * that differ, reading the counts as arrays. Nothing is merged when the branch is missing, the upload is
+     * empty or names an unknown product; the result says which.
+     */
+    public Mono<ReconcileResult> reconcile(Long branchId, List<InventoryCountRequestDTO> counts) {
+        Long[] productIds = counts.stream().map(InventoryCountRequestDTO::getProductId).toArray(Long[]::new);
+        Integer[] stocks = counts.stream().map(InventoryCountRequestDTO::getStock).toArray(Integer[]::new);
+        long staged = counts.size();
+
+        Mono<ReconcileResult> work = lockBranch(branchId)
+                .flatMap(franchiseId -> staged == 0
+                        ? Mono.just(new ReconcileResult(franchiseId, 0, null, List.of()))
+                        : findUnknownProductId(productIds)
+                                .map(productId -> new ReconcileResult(franchiseId, staged, productId, List.of()))
+                                .switchIfEmpty(Mono.defer(() -> merge(branchId, productIds, stocks).collectList()
+                                        .map(changes -> new ReconcileResult(franchiseId, staged, null, changes)))))
+                .defaultIfEmpty(new ReconcileResult(null, staged, null, List.of()));
+
+        return DataSourceRouting.write(transactionalOperator.transactional(work));
+    }
+
+    private Mono<Long> lockBranch(Long branchId) {
+        return db.sql("SELECT franchise_id FROM branch WHERE id = $1 FOR UPDATE")
+                .bind(0, branchId)
+                .map((row, meta) -> row.get("franchise_id", Long.class))
+                .one();
+    }
+
+    private Mono<Long> findUnknownProductId(Long[] productIds) {
+        return db.sql("""
+                SELECT s.product_id
+                FROM unnest($1::bigint[]) AS s(product_id)
+                WHERE NOT EXISTS (SELECT 1 FROM product p WHERE p.id = s.product_id)
+                ORDER BY s.product_id
+                LIMIT 1
+                """)
+                .bind(0, productIds)
+                .map((row, meta) -> row.get("product_id", Long.class))
+                .one();
+    }
+
+    // Stock is compared with the live total, so slotted rows that already match are left alone.
+    private Flux<ChangedRow> merge(Long branchId, Long[] productIds, Integer[] stocks) {
+        final String sql = """
+        WITH staging AS (
+          SELECT * FROM unnest($2::bigint[], $3::int[]) AS s(product_id, stock)
+        ),
+        updated AS (
+          UPDATE branch_product bp
+          SET stock = s.stock
+          FROM staging s, branch_product_live l
+          WHERE bp.branch_id = $1
+            AND bp.product_id = s.product_id
+            AND l.id = bp.id
+            AND l.stock <> s.stock
+          RETURNING bp.id, bp.product_id, bp.stock
+        ),
+        inserted AS (
+          INSERT INTO branch_product (branch_id, product_id, stock)
+          SELECT $1, s.product_id, s.stock
+          FROM staging s
+          WHERE NOT EXISTS (
+            SELECT 1 FROM branch_product bp WHERE bp.branch_id = $1 AND bp.product_id = s.product_id
+          )
+          RETURNING id, product_id, stock
+        ),
+        deleted AS (
+          DELETE FROM branch_product bp
+          WHERE bp.branch_id = $1
+            AND NOT EXISTS (SELECT 1 FROM staging s WHERE s.product_id = bp.product_id)
+          RETURNING bp.id, bp.product_id, bp.stock
+        )
+        SELECT 'U' AS op, id, product_id, stock FROM updated
+        UNION ALL
+        SELECT 'I', id, product_id, stock FROM inserted
+        UNION ALL
+        SELECT 'D', id, product_id, stock FROM deleted
+        """;
+
+        return db.sql(sql)
+                .bind(0, branchId)
+                .bind(1, productIds)
+                .bind(2, stocks)
+                .map((row, meta) -> new ChangedRow(
+                        row.get("op", String.class),
+                        row.get("id", Long.class),
+                        row.get("product_id", Long.class),
+                        row.get("stock", Integer.class)
+                ))
+                .all();
+    }
+
+    public record ReconcileResult(
+            Long franchiseId,
+            long staged,
+            Long unknownProductId,
+            List<ChangedRow> changes
+    ) {}
+
+    public record ChangedRow(
+            String op,
+            Long branchProductId,
+            Long productId,
+            Integer stock
+    ) {}
+}
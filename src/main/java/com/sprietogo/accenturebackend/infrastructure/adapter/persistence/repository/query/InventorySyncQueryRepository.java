@@ -0,0 +1,139 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query;
+
+import com.sprietogo.accenturebackend.utils.SyncWatermark;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+/**
+ * Reads the delta-sync feed from the primary: a replica could still be missing changes the watermark has
+ * already moved past.
+ */
+@Repository
+public class InventorySyncQueryRepository {
+
+    private static final String BRANCH_ROWS = "bp.branch_id = $1";
+    private static final String FRANCHISE_ROWS = "bp.branch_id IN (SELECT id FROM branch WHERE franchise_id = $1)";
+    private static final String BRANCH_TOMBSTONES = "t.branch_id = $1";
+    private static final String FRANCHISE_TOMBSTONES = "t.franchise_id = $1";
+
+    private final DatabaseClient db;
+
+    public InventorySyncQueryRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    public Flux<SyncChangeRow> findBranchChanges(Long branchId, SyncWatermark since, boolean withTombstones,
+                                                 Duration commitLag, int limit) {
+        return findChanges(BRANCH_ROWS, BRANCH_TOMBSTONES, branchId, since, withTombstones, commitLag, limit);
+    }
+
+    public Flux<SyncChangeRow> findFranchiseChanges(Long franchiseId, SyncWatermark since, boolean withTombstones,
+                                                    Duration commitLag, int limit) {
+        return findChanges(FRANCHISE_ROWS, FRANCHISE_TOMBSTONES, franchiseId, since, withTombstones, commitLag, limit);
+    }
+
+    /**
+     * Changes after {@code since}, oldest first, up to {@code limit} rows. updated_at is set when a
+     * transaction starts, so the feed stops short of the oldest transaction that has written and not yet
+     * finished: everything stamped before it is committed (or rolled back) and can no longer appear behind
+     * the watermark. That needs pg_stat_activity to show the other sessions' transactions, which it does for
+     * the same role. Changes newer than now minus {@code commitLag} are held back as well. The first row
+     * always carries the upper bound; when nothing changed it is the only row and its other columns are null.
+     */
+    private Flux<SyncChangeRow> findChanges(String rowScope, String tombstoneScope, Long scopeId, SyncWatermark since,
+                                            boolean withTombstones, Duration commitLag, int limit) {
+        final String sql = """
+        WITH bound AS (
+          SELECT LEAST(
+                   clock_timestamp() - $6::bigint * interval '1 millisecond',
+                   (SELECT min(a.xact_start)
+                    FROM pg_stat_activity a
+                    WHERE a.backend_xid IS NOT NULL
+                      AND a.datname = current_database()) - interval '1 microsecond'
+                 ) AS upper
+        ),
+        changes AS (
+          SELECT bp.updated_at AS changed_at, 0 AS kind, bp.id, bp.id AS branch_product_id,
+                 bp.branch_id, bp.product_id, bp.stock, bp.version
+          FROM branch_product_live bp, bound b
+          WHERE %s
+            AND bp.updated_at >= $2
+            AND bp.updated_at <= b.upper
+            AND (bp.updated_at, 0, bp.id) > ($2, $3, $4)
+          UNION ALL
+          SELECT t.deleted_at, 1, t.id, t.branch_product_id,
+                 t.branch_id, t.product_id, NULL, NULL
+          FROM branch_product_tombstone t, bound b
+          WHERE $5
+            AND %s
+            AND t.deleted_at >= $2
+            AND t.deleted_at <= b.upper
+            AND (t.deleted_at, 1, t.id) > ($2, $3, $4)
+        ),
+        page AS (
+          SELECT *
+          FROM changes
+          ORDER BY changed_at, kind, id
+          LIMIT $7
+        )
+        SELECT b.upper, p.changed_at, p.kind, p.id, p.branch_product_id, p.branch_id, p.product_id, p.stock, p.version
+        FROM bound b
+        LEFT JOIN page p ON TRUE
+        ORDER BY p.changed_at, p.kind, p.id
+        """.formatted(rowScope, tombstoneScope);
+
+        return db.sql(sql)
+                .bind(0, scopeId)
+                .bind(1, since.changedAt())
+                .bind(2, since.kind())
+                .bind(3, since.id())
+                .bind(4, withTombstones)
+                .bind(5, commitLag.toMillis())
+                .bind(6, limit)
+                .map((row, meta) -> new SyncChangeRow(
+                        row.get("upper", OffsetDateTime.class),
+                        row.get("changed_at", OffsetDateTime.class),
+                        row.get("kind", Integer.class),
+                        row.get("id", Long.class),
+                        row.get("branch_product_id", Long.class),
+                        row.get("branch_id", Long.class),
+                        row.get("product_id", Long.class),
+                        row.get("stock", Integer.class),
+                        row.get("version", Long.class)
+                ))
+                .all();
+    }
+
+    public Mono<Long> deleteTombstonesBefore(OffsetDateTime cutoff) {
+        return db.sql("DELETE FROM branch_product_tombstone WHERE deleted_at < $1")
+                .bind(0, cutoff)
+                .fetch()
+                .rowsUpdated();
+    }
+
+    public record SyncChangeRow(
+            OffsetDateTime upper,
+            OffsetDateTime changedAt,
+            Integer kind,
+            Long id,
+            Long branchProductId,
+            Long branchId,
+            Long productId,
+            Integer stock,
+            Long version
+    ) {
+
+        public boolean isChange() {
+            return changedAt != null;
+        }
+
+        public SyncWatermark watermark() {
+            return new SyncWatermark(changedAt, kind, id);
+        }
+    }
+}
@@ -0,0 +1,28 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.DataSourceRouting;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+/**
+ * Read path for the product endpoints: selects only the columns the response carries, mapped by position.
+ */
+@Repository
+public class ProductViewQueryRepository {
+
+    private final DatabaseClient db;
+
+    public ProductViewQueryRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    public Mono<ProductViewRow> findByName(String name) {
+        return DataSourceRouting.readOnly(db.sql("SELECT id, name FROM product WHERE name = $1")
+                .bind(0, name)
+                .map((row, meta) -> new ProductViewRow(row.get(0, Long.class), row.get(1, String.class)))
+                .one());
+    }
+
+    public record ProductViewRow(Long id, String name) {}
+}
@@ -1,8 +1,10 @@
 package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query;
 
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.DataSourceRouting;
 import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
 
 
 @Repository
@@ -32,7 +34,7 @@ public class ReportingQueryRepository {
               PARTITION BY bp.branch_id
               ORDER BY bp.stock DESC, bp.product_id ASC
             ) AS rn
-          FROM branch_product bp
+          FROM branch_product_live bp
         ) x
         JOIN branch b  ON b.id = x.branch_id
         JOIN product p ON p.id = x.product_id
@@ -41,7 +43,7 @@ public class ReportingQueryRepository {
         ORDER BY b.id
         """;
 
-        return db.sql(sql)
+        return DataSourceRouting.readOnly(db.sql(sql)
                 .bind(0, franchiseId)
                 .map((row, meta) -> new TopStockProductByBranchRow(
                         row.get("branch_id", Long.class),
@@ -50,7 +52,7 @@ public class ReportingQueryRepository {
                         row.get("product_name", String.class),
                         row.get("stock", Integer.class)
                 ))
-                .all();
+                .all());
     }
 
     public Flux<TopStockProductByBranchRow> findTopStockProductsByBranchWithTies(Long franchiseId) {
@@ -61,12 +63,12 @@ public class ReportingQueryRepository {
           p.id   AS product_id,
           p.name AS product_name,
           bp.stock AS stock
-        FROM branch_product bp
+        FROM branch_product_live bp
         JOIN branch b  ON b.id = bp.branch_id
         JOIN product p ON p.id = bp.product_id
         JOIN (
           SELECT bp2.branch_id, MAX(bp2.stock) AS max_stock
-          FROM branch_product bp2
+          FROM branch_product_live bp2
           JOIN branch b2 ON b2.id = bp2.branch_id
           WHERE b2.franchise_id = $1
           GROUP BY bp2.branch_id
@@ -75,7 +77,7 @@ public class ReportingQueryRepository {
         ORDER BY b.id, p.id
         """;
 
-        return db.sql(sql)
+        return DataSourceRouting.readOnly(db.sql(sql)
                 .bind(0, franchiseId) // $1
                 .bind(1, franchiseId) // $2
                 .map((row, meta) -> new TopStockProductByBranchRow(
@@ -85,7 +87,59 @@ public class ReportingQueryRepository {
                         row.get("product_name", String.class),
                         row.get("stock", Integer.class)
                 ))
-                .all();
+                .all());
+    }
+
+    public Mono<FranchiseProductStockRow> findFranchiseProductStock(Long franchiseId, Long productId) {
+        final String sql = """
+        SELECT
+          f.id   AS franchise_id,
+          f.name AS franchise_name,
+          p.id   AS product_id,
+          p.name AS product_name,
+          s.total_stock  AS total_stock,
+          s.branch_count AS branch_count
+        FROM franchise f
+        CROSS JOIN product p
+        LEFT JOIN franchise_product_stock s
+          ON s.franchise_id = f.id AND s.product_id = p.id
+        WHERE f.id = $1
+          AND p.id = $2
+        """;
+
+        return DataSourceRouting.readOnly(db.sql(sql)
+                .bind(0, franchiseId)
+                .bind(1, productId)
+                .map((row, meta) -> new FranchiseProductStockRow(
+                        row.get("franchise_id", Long.class),
+                        row.get("franchise_name", String.class),
+                        row.get("product_id", Long.class),
+                        row.get("product_name", String.class),
+                        row.get("total_stock", Long.class),
+                        row.get("branch_count", Integer.class)
+                ))
+                .one());
+    }
+
+    public Mono<FranchiseProductStockTotals> aggregateFranchiseProductStock(Long franchiseId, Long productId) {
+        final String sql = """
+        SELECT
+          COALESCE(SUM(bp.stock), 0) AS total_stock,
+          COUNT(bp.id)::int          AS branch_count
+        FROM branch_product_live bp
+        JOIN branch b ON b.id = bp.branch_id
+        WHERE bp.product_id = $1
+          AND b.franchise_id = $2
+        """;
+
+        return DataSourceRouting.readOnly(db.sql(sql)
+                .bind(0, productId)    // $1 -> idx_bp_product_id
+                .bind(1, franchiseId)  // $2
+                .map((row, meta) -> new FranchiseProductStockTotals(
+                        row.get("total_stock", Long.class),
+                        row.get("branch_count", Integer.class)
+                ))
+                .one());
     }
 
     public record TopStockProductByBranchRow(
@@ -96,4 +150,18 @@ public class ReportingQueryRepository {
             Integer stock
     ) {}
 
+    public record FranchiseProductStockRow(
+            Long franchiseId,
+            String franchiseName,
+            Long productId,
+            String productName,
+            Long totalStock,
+            Integer branchCount
+    ) {}
+
+    public record FranchiseProductStockTotals(
+            Long totalStock,
+            Integer branchCount
+    ) {}
+
 }
\ No newline at end of file
@@ -0,0 +1,108 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.DataSourceRouting;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public class StockReservationQueryRepository {
+
+    private static final String INITIAL_ENTRY_ID = "0-0";
+
+    private final DatabaseClient db;
+
+    public StockReservationQueryRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    /**
+     * Flags the row as counter-managed and returns the stock the counter starts from, plus whether it was
+     * already counter-managed; empty when the row is missing or slotted.
+     */
+    public Mono<CounterSeed> enableCounter(Long branchProductId) {
+        final String sql = """
+        UPDATE branch_product bp
+        SET reservation_counter = TRUE
+        FROM (
+            SELECT id, reservation_counter AS was_enabled
+            FROM branch_product
+            WHERE id = $1
+            FOR UPDATE
+        ) old
+        WHERE bp.id = old.id
+          AND bp.stock_slots = 0
+        RETURNING bp.stock, old.was_enabled
+        """;
+
+        return DataSourceRouting.write(db.sql(sql)
+                .bind(0, branchProductId)
+                .map((row, meta) -> new CounterSeed(
+                        row.get("stock", Integer.class),
+                        Boolean.TRUE.equals(row.get("was_enabled", Boolean.class))))
+                .one());
+    }
+
+    public Mono<Boolean> disableCounter(Long branchProductId) {
+        final String sql = """
+        UPDATE branch_product
+        SET reservation_counter = FALSE
+        WHERE id = $1
+        """;
+
+        return DataSourceRouting.write(db.sql(sql)
+                .bind(0, branchProductId)
+                .fetch()
+                .rowsUpdated()
+                .map(rows -> rows > 0));
+    }
+
+    public Mono<Boolean> isCounterEnabled(Long branchProductId) {
+        final String sql = """
+        SELECT reservation_counter
+        FROM branch_product
+        WHERE id = $1
+        """;
+
+        return DataSourceRouting.write(db.sql(sql)
+                .bind(0, branchProductId)
+                .map((row, meta) -> row.get("reservation_counter", Boolean.class))
+                .one());
+    }
+
+    public Mono<String> findCheckpoint(String journal) {
+        final String sql = """
+        SELECT last_entry_id
+        FROM stock_reconcile_checkpoint
+        WHERE journal = $1
+        """;
+
+        return DataSourceRouting.write(db.sql(sql)
+                .bind(0, journal)
+                .map((row, meta) -> row.get("last_entry_id", String.class))
+                .one()
+                .defaultIfEmpty(INITIAL_ENTRY_ID));
+    }
+
+    /**
+     * Applies journal entries (fromEntryId, toEntryId] and moves the checkpoint in one statement; returns the
+     * number of rows updated, or -1 when the checkpoint has already moved past fromEntryId.
+     */
+    public Mono<Integer> applyJournal(String journal, String fromEntryId, String toEntryId,
+                                      Long[] branchProductIds, Integer[] quantities) {
+        final String sql = """
+        SELECT apply_reservation_journal($1, $2, $3, $4, $5) AS applied
+        """;
+
+        return DataSourceRouting.write(db.sql(sql)
+                .bind(0, journal)
+                .bind(1, fromEntryId)
+                .bind(2, toEntryId)
+                .bind(3, branchProductIds)
+                .bind(4, quantities)
+                .map((row, meta) -> row.get("applied", Integer.class))
+                .one());
+    }
+
+    public record CounterSeed(int stock, boolean wasEnabled) {}
+}
@@ -0,0 +1,102 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.DataSourceRouting;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.StockTransferRequestDTO;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+@Repository
+public class StockTransferQueryRepository {
+
+    private final DatabaseClient db;
+
+    public StockTransferQueryRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    /**
+     * Applies every transfer in one statement, all or nothing. Transfers are netted per branch_product row,
+     * the rows are locked in id order (so concurrent transfers between the same branches cannot deadlock)
+     * and the update only runs when every row exists, is not slotted and stays non-negative. One row comes
+     * back per touched (branch, product); {@code branchProductId} is null for a missing row and
+     * {@code version} is null unless the update ran.
+     */
+    public Flux<TransferRow> transfer(List<StockTransferRequestDTO> transfers) {
+        final String sql = """
+        WITH transfer AS (
+          SELECT *
+          FROM unnest($1::bigint[], $2::bigint[], $3::bigint[], $4::int[])
+               AS t(from_branch_id, to_branch_id, product_id, quantity)
+        ),
+        delta AS (
+          SELECT branch_id, product_id, SUM(quantity)::int AS delta
+          FROM (
+            SELECT from_branch_id AS branch_id, product_id, -quantity AS quantity FROM transfer
+            UNION ALL
+            SELECT to_branch_id, product_id, quantity FROM transfer
+          ) moves
+          GROUP BY branch_id, product_id
+        ),
+        locked AS (
+          SELECT bp.id, bp.branch_id, bp.product_id, bp.stock, bp.stock_slots
+          FROM branch_product bp
+          JOIN delta d ON d.branch_id = bp.branch_id AND d.product_id = bp.product_id
+          ORDER BY bp.id
+          FOR NO KEY UPDATE OF bp
+        ),
+        checked AS (
+          SELECT l.id, l.branch_id, l.product_id, l.stock + d.delta AS new_stock, l.stock_slots
+          FROM locked l
+          JOIN delta d ON d.branch_id = l.branch_id AND d.product_id = l.product_id
+        ),
+        verdict AS (
+          SELECT (SELECT count(*) FROM checked) = (SELECT count(*) FROM delta)
+                 AND NOT EXISTS (SELECT 1 FROM checked WHERE new_stock < 0 OR stock_slots > 0) AS ok
+        ),
+        updated AS (
+          UPDATE branch_product bp
+          SET stock = c.new_stock
+          FROM checked c, verdict v
+          WHERE v.ok
+            AND bp.id = c.id
+          RETURNING bp.id, bp.version
+        )
+        SELECT d.branch_id, b.franchise_id, d.product_id, c.id AS branch_product_id,
+               c.new_stock, c.stock_slots, u.version
+        FROM delta d
+        JOIN branch b ON b.id = d.branch_id
+        LEFT JOIN checked c ON c.branch_id = d.branch_id AND c.product_id = d.product_id
+        LEFT JOIN updated u ON u.id = c.id
+        ORDER BY d.branch_id, d.product_id
+        """;
+
+        return DataSourceRouting.write(db.sql(sql)
+                .bind(0, transfers.stream().map(StockTransferRequestDTO::getFromBranchId).toArray(Long[]::new))
+                .bind(1, transfers.stream().map(StockTransferRequestDTO::getToBranchId).toArray(Long[]::new))
+                .bind(2, transfers.stream().map(StockTransferRequestDTO::getProductId).toArray(Long[]::new))
+                .bind(3, transfers.stream().map(StockTransferRequestDTO::getQuantity).toArray(Integer[]::new))
+                .map((row, meta) -> new TransferRow(
+                        row.get("branch_id", Long.class),
+                        row.get("franchise_id", Long.class),
+                        row.get("product_id", Long.class),
+                        row.get("branch_product_id", Long.class),
+                        row.get("new_stock", Integer.class),
+                        row.get("stock_slots", Integer.class),
+                        row.get("version", Long.class)
+                ))
+                .all());
+    }
+
+    public record TransferRow(
+            Long branchId,
+            Long franchiseId,
+            Long productId,
+            Long branchProductId,
+            Integer newStock,
+            Integer stockSlots,
+            Long version
+    ) {}
+}
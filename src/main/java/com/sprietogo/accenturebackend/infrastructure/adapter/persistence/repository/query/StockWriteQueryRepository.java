@@ -0,0 +1,68 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query;
+
+import com.sprietogo.accenturebackend.domain.model.BranchProductEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.DataSourceRouting;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Repository
+public class StockWriteQueryRepository {
+
+    private final DatabaseClient db;
+
+    public StockWriteQueryRepository(DatabaseClient db) {
+        this.db = db;
+    }
+
+    /**
+     * Sets the stock of every (branch, product) in one statement and returns the rows that exist. Rows are
+     * locked in id order first, so two batches touching the same rows wait for each other instead of
+     * deadlocking. Keys must be unique within a call.
+     */
+    public Flux<BranchProductEntity> updateStocks(List<StockWrite> writes) {
+        final String sql = """
+        WITH input AS (
+          SELECT *
+          FROM unnest($1::bigint[], $2::bigint[], $3::int[]) AS i(branch_id, product_id, stock)
+        ),
+        locked AS (
+          SELECT bp.id, i.stock
+          FROM branch_product bp
+          JOIN input i ON i.branch_id = bp.branch_id AND i.product_id = bp.product_id
+          ORDER BY bp.id
+          FOR NO KEY UPDATE OF bp
+        )
+        UPDATE branch_product bp
+        SET stock = l.stock
+        FROM locked l
+        WHERE bp.id = l.id
+        RETURNING bp.id, bp.branch_id, bp.product_id, bp.stock, bp.created_at, bp.updated_at, bp.version, bp.stock_slots
+        """;
+
+        return DataSourceRouting.write(db.sql(sql)
+                .bind(0, writes.stream().map(StockWrite::branchId).toArray(Long[]::new))
+                .bind(1, writes.stream().map(StockWrite::productId).toArray(Long[]::new))
+                .bind(2, writes.stream().map(StockWrite::stock).toArray(Integer[]::new))
+                .map((row, meta) -> new BranchProductEntity(
+                        row.get("id", Long.class),
+                        row.get("branch_id", Long.class),
+                        row.get("product_id", Long.class),
+                        row.get("stock", Integer.class),
+                        row.get("created_at", OffsetDateTime.class),
+                        row.get("updated_at", OffsetDateTime.class),
+                        row.get("version", Long.class),
+                        row.get("stock_slots", Integer.class)
+                ))
+                .all());
+    }
+
+    public record StockWrite(
+            Long branchId,
+            Long productId,
+            Integer stock
+    ) {}
+}
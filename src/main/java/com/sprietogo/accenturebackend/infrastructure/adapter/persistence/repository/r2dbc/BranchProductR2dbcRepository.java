@@ -18,12 +18,82 @@ public interface BranchProductR2dbcRepository extends R2dbcRepository<BranchProd
 
     Mono<BranchProductEntity> findByBranchIdAndProductId(Long branchId, Long productId);
 
+    @Query("""
+        SELECT id, branch_id, product_id, stock, created_at, updated_at, version, stock_slots
+        FROM branch_product_live
+        WHERE id = :id
+        """)
+    Mono<BranchProductEntity> findLiveById(Long id);
+
+    @Query("""
+        SELECT id, branch_id, product_id, stock, created_at, updated_at, version, stock_slots
+        FROM branch_product_live
+        WHERE branch_id = :branchId
+        """)
+    Flux<BranchProductEntity> findAllLiveByBranchId(Long branchId);
+
+    @Query("""
+        SELECT id, branch_id, product_id, stock, created_at, updated_at, version, stock_slots
+        FROM branch_product_live
+        WHERE branch_id = :branchId
+          AND product_id = :productId
+        """)
+    Mono<BranchProductEntity> findLiveByBranchIdAndProductId(Long branchId, Long productId);
+
+    // Slotted rows change stock without bumping the version, so they never revalidate as unchanged.
+    @Query("SELECT version FROM branch_product WHERE id = :id AND stock_slots = 0")
+    Mono<Long> findVersionById(Long id);
+
+    @Query("""
+        SELECT take_branch_product_stock(id, :quantity)
+        FROM branch_product
+        WHERE branch_id = :branchId
+          AND product_id = :productId
+        """)
+    Mono<Boolean> takeStock(Long branchId, Long productId, Integer quantity);
+
+    @Query("""
+        SELECT set_branch_product_slots(id, :slots)
+        FROM branch_product
+        WHERE branch_id = :branchId
+          AND product_id = :productId
+        """)
+    Mono<Integer> setStockSlots(Long branchId, Long productId, Integer slots);
+
+    @Query("""
+        SELECT bp.id
+        FROM branch_product bp
+        JOIN branch_product_stock_slot s ON s.branch_product_id = bp.id
+        WHERE bp.stock_slots > 0
+        GROUP BY bp.id, bp.stock
+        HAVING SUM(s.stock) <> bp.stock
+            OR MAX(s.stock) - MIN(s.stock) > 1
+        ORDER BY bp.id
+        LIMIT :limit
+        """)
+    Flux<Long> findIdsNeedingRebalance(int limit);
+
+    @Query("SELECT rebalance_branch_product_slots(:id)")
+    Mono<Integer> rebalanceSlots(Long id);
+
     @Query("""
         UPDATE branch_product
         SET stock = :stock
         WHERE branch_id = :branchId
           AND product_id = :productId
-        RETURNING id, branch_id, product_id, stock, created_at, updated_at
+        RETURNING id, branch_id, product_id, stock, created_at, updated_at, version, stock_slots
         """)
     Mono<BranchProductEntity> updateStock(Long branchId, Long productId, Integer stock);
+
+    // Slot takes leave the version alone, so a slotted row has no version a client could have matched.
+    @Query("""
+        UPDATE branch_product
+        SET stock = :stock
+        WHERE branch_id = :branchId
+          AND product_id = :productId
+          AND version = :expectedVersion
+          AND stock_slots = 0
+        RETURNING id, branch_id, product_id, stock, created_at, updated_at, version, stock_slots
+        """)
+    Mono<BranchProductEntity> updateStockIfVersion(Long branchId, Long productId, Integer stock, Long expectedVersion);
 }
\ No newline at end of file
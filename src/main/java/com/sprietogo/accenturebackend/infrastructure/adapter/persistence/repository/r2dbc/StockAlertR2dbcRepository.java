@@ -0,0 +1,92 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.r2dbc;
+
+import com.sprietogo.accenturebackend.domain.model.StockAlertEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface StockAlertR2dbcRepository extends R2dbcRepository<StockAlertEntity, Long> {
+
+    @Query("""
+        WITH t AS (
+          SELECT bp.id, bp.branch_id, bp.product_id, bp.stock,
+                 COALESCE(bp.reorder_threshold, p.reorder_threshold) AS threshold
+          FROM branch_product_live bp
+          JOIN product p ON p.id = bp.product_id
+          WHERE bp.id = :branchProductId
+        ),
+        opened AS (
+          INSERT INTO stock_alert (branch_product_id, branch_id, product_id, stock, threshold)
+          SELECT id, branch_id, product_id, stock, threshold FROM t WHERE stock < threshold
+          ON CONFLICT (branch_product_id) WHERE resolved_at IS NULL DO NOTHING
+          RETURNING *
+        ),
+        resolved AS (
+          UPDATE stock_alert a
+          SET resolved_at = NOW(), stock = t.stock
+          FROM t
+          WHERE a.branch_product_id = t.id
+            AND a.resolved_at IS NULL
+            AND (t.threshold IS NULL OR t.stock >= t.threshold)
+          RETURNING a.*
+        )
+        SELECT * FROM opened
+        UNION ALL
+        SELECT * FROM resolved
+        """)
+    Flux<StockAlertEntity> evaluateBranchProduct(Long branchProductId);
+
+    @Query("""
+        WITH t AS (
+          SELECT bp.id, bp.branch_id, bp.product_id, bp.stock,
+                 COALESCE(bp.reorder_threshold, p.reorder_threshold) AS threshold
+          FROM branch_product_live bp
+          JOIN product p ON p.id = bp.product_id
+          WHERE bp.product_id = :productId
+        ),
+        opened AS (
+          INSERT INTO stock_alert (branch_product_id, branch_id, product_id, stock, threshold)
+          SELECT id, branch_id, product_id, stock, threshold FROM t WHERE stock < threshold
+          ON CONFLICT (branch_product_id) WHERE resolved_at IS NULL DO NOTHING
+          RETURNING *
+        ),
+        resolved AS (
+          UPDATE stock_alert a
+          SET resolved_at = NOW(), stock = t.stock
+          FROM t
+          WHERE a.branch_product_id = t.id
+            AND a.resolved_at IS NULL
+            AND (t.threshold IS NULL OR t.stock >= t.threshold)
+          RETURNING a.*
+        )
+        SELECT * FROM opened
+        UNION ALL
+        SELECT * FROM resolved
+        """)
+    Flux<StockAlertEntity> evaluateProduct(Long productId);
+
+    @Query("""
+        SELECT * FROM stock_alert
+        WHERE branch_id = :branchId
+          AND (:openOnly = FALSE OR resolved_at IS NULL)
+        ORDER BY triggered_at DESC
+        """)
+    Flux<StockAlertEntity> findAllByBranchId(Long branchId, boolean openOnly);
+
+    @Modifying
+    @Query("UPDATE product SET reorder_threshold = :threshold WHERE id = :productId")
+    Mono<Integer> updateProductThreshold(Long productId, Integer threshold);
+
+    @Query("""
+        UPDATE branch_product
+        SET reorder_threshold = :threshold
+        WHERE branch_id = :branchId
+          AND product_id = :productId
+        RETURNING id
+        """)
+    Mono<Long> updateBranchProductThreshold(Long branchId, Long productId, Integer threshold);
+}
@@ -0,0 +1,43 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.r2dbc;
+
+import com.sprietogo.accenturebackend.domain.model.StockOutboxEntity;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.r2dbc.repository.R2dbcRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+
+@Repository
+public interface StockOutboxR2dbcRepository extends R2dbcRepository<StockOutboxEntity, Long> {
+
+    @Query("""
+        SELECT *
+        FROM stock_outbox
+        WHERE published_at IS NULL
+        ORDER BY id
+        LIMIT :limit
+        FOR UPDATE SKIP LOCKED
+        """)
+    Flux<StockOutboxEntity> claimPending(int limit);
+
+    @Modifying
+    @Query("DELETE FROM stock_outbox WHERE id IN (:ids)")
+    Mono<Long> deleteByIds(Collection<Long> ids);
+
+    @Modifying
+    @Query("UPDATE stock_outbox SET published_at = NOW() WHERE id IN (:ids)")
+    Mono<Long> markPublished(Collection<Long> ids);
+
+    @Query("""
+        SELECT created_at
+        FROM stock_outbox
+        WHERE published_at IS NULL
+        ORDER BY id
+        LIMIT 1
+        """)
+    Mono<OffsetDateTime> findOldestPendingCreatedAt();
+}
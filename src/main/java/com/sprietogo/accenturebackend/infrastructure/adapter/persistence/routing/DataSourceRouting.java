@@ -0,0 +1,51 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing;
+
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.util.context.ContextView;
+
+public final class DataSourceRouting {
+
+    public static final String PRIMARY = "primary";
+    public static final String REPLICA = "replica";
+
+    private static final String READ_ONLY_KEY = DataSourceRouting.class.getName() + ".READ_ONLY";
+
+    private DataSourceRouting() {}
+
+    public static <T> Mono<T> readOnly(Mono<T> source) {
+        return source.contextWrite(ctx -> ctx.put(READ_ONLY_KEY, Boolean.TRUE));
+    }
+
+    public static <T> Flux<T> readOnly(Flux<T> source) {
+        return source.contextWrite(ctx -> ctx.put(READ_ONLY_KEY, Boolean.TRUE));
+    }
+
+    public static <T> Mono<T> write(Mono<T> source) {
+        return Mono.deferContextual(ctx -> {
+            pinPrimary(ctx);
+            return source;
+        });
+    }
+
+    public static <T> Flux<T> write(Flux<T> source) {
+        return Flux.deferContextual(ctx -> {
+            pinPrimary(ctx);
+            return source;
+        });
+    }
+
+    public static boolean isReplicaEligible(ContextView ctx) {
+        if (!ctx.getOrDefault(READ_ONLY_KEY, Boolean.FALSE)) {
+            return false;
+        }
+        return ctx.<RequestRoutingState>getOrEmpty(RequestRoutingState.class)
+                .map(state -> !state.isPrimaryPinned())
+                .orElse(true);
+    }
+
+    private static void pinPrimary(ContextView ctx) {
+        ctx.<RequestRoutingState>getOrEmpty(RequestRoutingState.class)
+                .ifPresent(RequestRoutingState::pinPrimary);
+    }
+}
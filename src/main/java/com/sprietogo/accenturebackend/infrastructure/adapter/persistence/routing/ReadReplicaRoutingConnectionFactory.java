@@ -0,0 +1,33 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing;
+
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.r2dbc.connection.lookup.AbstractRoutingConnectionFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+public class ReadReplicaRoutingConnectionFactory extends AbstractRoutingConnectionFactory {
+
+    private final ReplicaLagMonitor lagMonitor;
+
+    public ReadReplicaRoutingConnectionFactory(ConnectionFactory primary,
+                                               ConnectionFactory replica,
+                                               ReplicaLagMonitor lagMonitor) {
+        this.lagMonitor = lagMonitor;
+        setTargetConnectionFactories(Map.of(
+                DataSourceRouting.PRIMARY, primary,
+                DataSourceRouting.REPLICA, replica
+        ));
+        setDefaultTargetConnectionFactory(primary);
+        setLenientFallback(false);
+    }
+
+    @Override
+    protected Mono<Object> determineCurrentLookupKey() {
+        return Mono.deferContextual(ctx -> Mono.just(
+                DataSourceRouting.isReplicaEligible(ctx) && lagMonitor.isReplicaUsable()
+                        ? DataSourceRouting.REPLICA
+                        : DataSourceRouting.PRIMARY
+        ));
+    }
+}
@@ -0,0 +1,88 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing;
+
+import io.r2dbc.spi.ConnectionFactory;
+import lombok.extern.slf4j.Slf4j;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String LAG_SQL = """
+        SELECT CASE
+          WHEN NOT pg_is_in_recovery() THEN 0
+          WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0
+          ELSE COALESCE(EXTRACT(EPOCH FROM now() - pg_last_xact_replay_timestamp()), 0)
+        END::float8 AS lag_seconds
+        """;
+
+    private final ConnectionFactory replica;
+    private final Duration maxLag;
+    private final Duration checkInterval;
+
+    private volatile boolean replicaUsable;
+    private volatile Duration lastLag;
+    private Disposable subscription;
+
+    public ReplicaLagMonitor(ConnectionFactory replica, Duration maxLag, Duration checkInterval) {
+        this.replica = replica;
+        this.maxLag = maxLag;
+        this.checkInterval = checkInterval;
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    public Duration getLastLag() {
+        return lastLag;
+    }
+
+    public void start() {
+        subscription = Flux.interval(Duration.ZERO, checkInterval)
+                .concatMap(tick -> checkLag()
+                        .timeout(checkInterval)
+                        .doOnNext(this::onLag)
+                        .onErrorResume(ex -> {
+                            onFailure(ex);
+                            return Mono.empty();
+                        }))
+                .subscribe();
+    }
+
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    Mono<Duration> checkLag() {
+        return Mono.usingWhen(
+                Mono.from(replica.create()),
+                connection -> Mono.from(connection.createStatement(LAG_SQL).execute())
+                        .flatMap(result -> Mono.from(result.map((row, meta) -> row.get("lag_seconds", Double.class))))
+                        .map(seconds -> Duration.ofMillis((long) (seconds * 1000))),
+                connection -> connection.close()
+        );
+    }
+
+    void onLag(Duration lag) {
+        boolean usable = lag.compareTo(maxLag) <= 0;
+        if (usable != replicaUsable) {
+            log.info("Read replica {} (lag={}ms, maxLag={}ms)",
+                    usable ? "enabled" : "disabled", lag.toMillis(), maxLag.toMillis());
+        }
+        lastLag = lag;
+        replicaUsable = usable;
+    }
+
+    void onFailure(Throwable ex) {
+        if (replicaUsable) {
+            log.warn("Read replica health check failed, routing reads to primary", ex);
+        }
+        replicaUsable = false;
+    }
+}
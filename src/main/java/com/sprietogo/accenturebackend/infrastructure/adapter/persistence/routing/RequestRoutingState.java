@@ -0,0 +1,18 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing;
+
+public class RequestRoutingState {
+
+    private volatile boolean primaryPinned;
+
+    public RequestRoutingState(boolean primaryPinned) {
+        this.primaryPinned = primaryPinned;
+    }
+
+    public boolean isPrimaryPinned() {
+        return primaryPinned;
+    }
+
+    public void pinPrimary() {
+        this.primaryPinned = true;
+    }
+}
@@ -0,0 +1,63 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.slot;
+
+import com.sprietogo.accenturebackend.application.port.repository.BranchProductRepositoryPort;
+import com.sprietogo.accenturebackend.infrastructure.config.StockSlotProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * Periodically folds slotted stock back into branch_product.stock and evens out the slots, so the
+ * franchise aggregate and the outbox catch up with decrements and single-slot takes keep succeeding.
+ * Rows are rebalanced one at a time, each in its own short transaction.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.stock-slots", name = "rebalance-enabled", havingValue = "true", matchIfMissing = true)
+public class StockSlotRebalancer {
+
+    private final BranchProductRepositoryPort branchProductRepositoryPort;
+    private final StockSlotProperties properties;
+
+    private Disposable subscription;
+
+    public StockSlotRebalancer(BranchProductRepositoryPort branchProductRepositoryPort, StockSlotProperties properties) {
+        this.branchProductRepositoryPort = branchProductRepositoryPort;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void start() {
+        subscription = Flux.interval(properties.rebalanceInterval(), properties.rebalanceInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> rebalance()
+                        .onErrorResume(ex -> {
+                            log.warn("Stock slot rebalance failed: {}", ex.getMessage());
+                            return Mono.just(0L);
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    Mono<Long> rebalance() {
+        return branchProductRepositoryPort.getBranchProductIdsNeedingRebalance(properties.rebalanceBatchSize())
+                .concatMap(branchProductRepositoryPort::rebalanceBranchProductStockSlots)
+                .count()
+                .doOnNext(count -> {
+                    if (count > 0) {
+                        log.debug("Rebalanced {} slotted branch products", count);
+                    }
+                });
+    }
+}
@@ -0,0 +1,61 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.sync;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.InventorySyncQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.config.SyncProperties;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.OffsetDateTime;
+
+/**
+ * Drops delta-sync tombstones once they are older than the retention; watermarks that old are refused.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.sync", name = "purge-enabled", havingValue = "true", matchIfMissing = true)
+public class SyncTombstonePurger {
+
+    private final InventorySyncQueryRepository inventorySyncQueryRepository;
+    private final SyncProperties properties;
+
+    private Disposable subscription;
+
+    public SyncTombstonePurger(InventorySyncQueryRepository inventorySyncQueryRepository, SyncProperties properties) {
+        this.inventorySyncQueryRepository = inventorySyncQueryRepository;
+        this.properties = properties;
+    }
+
+    @PostConstruct
+    public void start() {
+        subscription = Flux.interval(properties.purgeInterval(), properties.purgeInterval())
+                .onBackpressureDrop()
+                .concatMap(tick -> purge()
+                        .onErrorResume(ex -> {
+                            log.warn("Sync tombstone purge failed: {}", ex.getMessage());
+                            return Mono.just(0L);
+                        }))
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    Mono<Long> purge() {
+        return inventorySyncQueryRepository.deleteTombstonesBefore(OffsetDateTime.now().minus(properties.tombstoneRetention()))
+                .doOnNext(count -> {
+                    if (count > 0) {
+                        log.info("Purged {} sync tombstones", count);
+                    }
+                });
+    }
+}
@@ -0,0 +1,233 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.reservation;
+
+import com.sprietogo.accenturebackend.application.port.repository.StockReservationStorePort;
+import com.sprietogo.accenturebackend.infrastructure.config.ReservationProperties;
+import org.springframework.data.domain.Range;
+import org.springframework.data.redis.connection.Limit;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Redis counters for reservation-enabled branch products. Per product there is an available counter,
+ * a hash of held reservations (id -> quantity) and a sorted set of their expiry times. Every script runs
+ * atomically, checks and moves stock in one step, and first hands expired holds back to the counter using
+ * the Redis clock, so expiry needs no background job. Confirmed reservations are appended to one journal
+ * stream that reconciliation folds into branch_product.stock.
+ */
+@Component
+public class RedisStockReservationStore implements StockReservationStorePort {
+
+    // KEYS[1] available, KEYS[2] holds, KEYS[3] expiries
+    private static final String SWEEP_EXPIRED = """
+        local clock = redis.call('TIME')
+        local nowMs = tonumber(clock[1]) * 1000 + math.floor(tonumber(clock[2]) / 1000)
+        local expired = redis.call('ZRANGEBYSCORE', KEYS[3], '-inf', nowMs, 'LIMIT', 0, 100)
+        for _, id in ipairs(expired) do
+          local held = redis.call('HGET', KEYS[2], id)
+          if held and redis.call('EXISTS', KEYS[1]) == 1 then
+            redis.call('INCRBY', KEYS[1], held)
+          end
+          redis.call('HDEL', KEYS[2], id)
+          redis.call('ZREM', KEYS[3], id)
+        end
+        """;
+
+    // A counter left behind by an earlier enable no longer matches the stock column, so a fresh enable replaces it.
+    private static final RedisScript<Long> INIT = RedisScript.of("""
+        if ARGV[2] == '1' then
+          redis.call('DEL', KEYS[2], KEYS[3])
+          redis.call('SET', KEYS[1], ARGV[1])
+        else
+          redis.call('SET', KEYS[1], ARGV[1], 'NX')
+        end
+        return tonumber(redis.call('GET', KEYS[1]))
+        """, Long.class);
+
+    @SuppressWarnings("rawtypes")
+    private static final RedisScript<List> COUNTER = RedisScript.of(SWEEP_EXPIRED + """
+        local available = redis.call('GET', KEYS[1])
+        if not available then
+          return {}
+        end
+        return {tonumber(available), redis.call('HLEN', KEYS[2])}
+        """, List.class);
+
+    private static final RedisScript<Long> DROP = RedisScript.of(SWEEP_EXPIRED + """
+        local outstanding = redis.call('HLEN', KEYS[2])
+        if outstanding > 0 then
+          return outstanding
+        end
+        redis.call('DEL', KEYS[1], KEYS[2], KEYS[3])
+        return 0
+        """, Long.class);
+
+    // ARGV[1] reservation id, ARGV[2] quantity, ARGV[3] ttl millis
+    private static final RedisScript<Long> RESERVE = RedisScript.of(SWEEP_EXPIRED + """
+        local available = redis.call('GET', KEYS[1])
+        if not available then
+          return -2
+        end
+        if redis.call('HEXISTS', KEYS[2], ARGV[1]) == 1 then
+          return -3
+        end
+        local quantity = tonumber(ARGV[2])
+        available = tonumber(available)
+        if available < quantity then
+          return -1
+        end
+        redis.call('DECRBY', KEYS[1], quantity)
+        redis.call('HSET', KEYS[2], ARGV[1], quantity)
+        redis.call('ZADD', KEYS[3], nowMs + tonumber(ARGV[3]), ARGV[1])
+        return available - quantity
+        """, Long.class);
+
+    // KEYS[4] journal; ARGV[1] reservation id, ARGV[2] branch product id
+    private static final RedisScript<Long> CONFIRM = RedisScript.of(SWEEP_EXPIRED + """
+        local held = redis.call('HGET', KEYS[2], ARGV[1])
+        if not held then
+          return -1
+        end
+        local expiresAt = redis.call('ZSCORE', KEYS[3], ARGV[1])
+        redis.call('HDEL', KEYS[2], ARGV[1])
+        redis.call('ZREM', KEYS[3], ARGV[1])
+        if expiresAt and tonumber(expiresAt) <= nowMs then
+          if redis.call('EXISTS', KEYS[1]) == 1 then
+            redis.call('INCRBY', KEYS[1], held)
+          end
+          return -1
+        end
+        redis.call('XADD', KEYS[4], '*', 'bp', ARGV[2], 'qty', held, 'rid', ARGV[1])
+        return tonumber(held)
+        """, Long.class);
+
+    // ARGV[1] reservation id
+    private static final RedisScript<Long> RELEASE = RedisScript.of("""
+        local held = redis.call('HGET', KEYS[2], ARGV[1])
+        if not held then
+          return -1
+        end
+        redis.call('HDEL', KEYS[2], ARGV[1])
+        redis.call('ZREM', KEYS[3], ARGV[1])
+        if redis.call('EXISTS', KEYS[1]) == 1 then
+          redis.call('INCRBY', KEYS[1], held)
+        end
+        return tonumber(held)
+        """, Long.class);
+
+    private static final RedisScript<Long> TRIM = RedisScript.of("""
+        return redis.call('XTRIM', KEYS[1], 'MINID', ARGV[1])
+        """, Long.class);
+
+    private final ReactiveStringRedisTemplate redis;
+    private final ReservationProperties properties;
+
+    public RedisStockReservationStore(ReactiveStringRedisTemplate redis, ReservationProperties properties) {
+        this.redis = redis;
+        this.properties = properties;
+    }
+
+    @Override
+    public Mono<Long> initCounter(Long branchProductId, long stock, boolean replace) {
+        return run(INIT, counterKeys(branchProductId), String.valueOf(stock), replace ? "1" : "0");
+    }
+
+    @Override
+    public Mono<CounterState> getCounter(Long branchProductId) {
+        return redis.execute(COUNTER, counterKeys(branchProductId))
+                .next()
+                .timeout(properties.redisTimeout())
+                .filter(values -> values.size() == 2)
+                .map(values -> new CounterState(toLong(values.get(0)), toLong(values.get(1))));
+    }
+
+    @Override
+    public Mono<Long> dropCounter(Long branchProductId) {
+        return run(DROP, counterKeys(branchProductId));
+    }
+
+    @Override
+    public Mono<ReserveResult> reserve(Long branchProductId, String reservationId, int quantity, Duration ttl) {
+        return run(RESERVE, counterKeys(branchProductId), reservationId, String.valueOf(quantity), String.valueOf(ttl.toMillis()))
+                .map(result -> switch (result.intValue()) {
+                    case -1 -> new ReserveResult(ReserveStatus.INSUFFICIENT_STOCK, 0);
+                    case -2 -> new ReserveResult(ReserveStatus.COUNTER_DISABLED, 0);
+                    case -3 -> new ReserveResult(ReserveStatus.DUPLICATE, 0);
+                    default -> new ReserveResult(ReserveStatus.RESERVED, result);
+                });
+    }
+
+    @Override
+    public Mono<Integer> confirm(Long branchProductId, String reservationId) {
+        List<String> keys = List.of(availableKey(branchProductId), holdsKey(branchProductId),
+                expiriesKey(branchProductId), properties.journalKey());
+        return run(CONFIRM, keys, reservationId, String.valueOf(branchProductId))
+                .filter(quantity -> quantity >= 0)
+                .map(Long::intValue);
+    }
+
+    @Override
+    public Mono<Integer> release(Long branchProductId, String reservationId) {
+        return run(RELEASE, counterKeys(branchProductId), reservationId)
+                .filter(quantity -> quantity >= 0)
+                .map(Long::intValue);
+    }
+
+    /**
+     * Reads inclusively from the checkpoint and drops it, which works on servers without exclusive XRANGE bounds.
+     */
+    @Override
+    public Flux<JournalEntry> readJournal(String afterEntryId, int count) {
+        return redis.opsForStream()
+                .range(properties.journalKey(), Range.closed(afterEntryId, "+"), Limit.limit().count(count + 1))
+                .timeout(properties.redisTimeout())
+                .filter(record -> !record.getId().getValue().equals(afterEntryId))
+                .take(count)
+                .map(record -> toEntry(record.getId().getValue(), record.getValue()));
+    }
+
+    @Override
+    public Mono<Void> trimJournal(String upToEntryId) {
+        return run(TRIM, List.of(properties.journalKey()), upToEntryId).then();
+    }
+
+    private Mono<Long> run(RedisScript<Long> script, List<String> keys, String... args) {
+        return redis.execute(script, keys, List.of(args))
+                .next()
+                .timeout(properties.redisTimeout());
+    }
+
+    private static JournalEntry toEntry(String id, Map<Object, Object> fields) {
+        return new JournalEntry(
+                id,
+                Long.valueOf(String.valueOf(fields.get("bp"))),
+                Integer.parseInt(String.valueOf(fields.get("qty")))
+        );
+    }
+
+    private static long toLong(Object value) {
+        return ((Number) value).longValue();
+    }
+
+    private List<String> counterKeys(Long branchProductId) {
+        return List.of(availableKey(branchProductId), holdsKey(branchProductId), expiriesKey(branchProductId));
+    }
+
+    private String availableKey(Long branchProductId) {
+        return properties.keyPrefix() + branchProductId + ":available";
+    }
+
+    private String holdsKey(Long branchProductId) {
+        return properties.keyPrefix() + branchProductId + ":holds";
+    }
+
+    private String expiriesKey(Long branchProductId) {
+        return properties.keyPrefix() + branchProductId + ":expiries";
+    }
+}
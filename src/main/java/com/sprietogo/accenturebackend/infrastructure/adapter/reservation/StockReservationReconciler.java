@@ -0,0 +1,79 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.reservation;
+
+import com.sprietogo.accenturebackend.application.port.service.StockReservationServicePort;
+import com.sprietogo.accenturebackend.infrastructure.config.ReservationProperties;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+
+/**
+ * Keeps branch_product.stock in step with reservations confirmed in Redis. Rounds that fail (Redis or
+ * Postgres unavailable) back off exponentially; nothing is lost because the journal is only trimmed after
+ * the checkpoint has moved.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "app.reservations", name = "reconcile-enabled", havingValue = "true", matchIfMissing = true)
+public class StockReservationReconciler {
+
+    private final StockReservationServicePort stockReservationServicePort;
+    private final ReservationProperties properties;
+
+    private final Counter reconciledCounter;
+    private final Counter failureCounter;
+
+    private int consecutiveFailures;
+    private Disposable subscription;
+
+    public StockReservationReconciler(StockReservationServicePort stockReservationServicePort,
+                                      ReservationProperties properties,
+                                      MeterRegistry meterRegistry) {
+        this.stockReservationServicePort = stockReservationServicePort;
+        this.properties = properties;
+
+        this.reconciledCounter = Counter.builder("stock.reservations.reconciled")
+                .description("Confirmed reservations applied to branch_product.stock")
+                .register(meterRegistry);
+        this.failureCounter = Counter.builder("stock.reservations.reconcile.failures")
+                .description("Reconciliation rounds that failed")
+                .register(meterRegistry);
+    }
+
+    @PostConstruct
+    public void start() {
+        subscription = Mono.defer(stockReservationServicePort::reconcile)
+                .onErrorResume(ex -> {
+                    failureCounter.increment();
+                    log.warn("Stock reservation reconciliation failed ({} in a row): {}", consecutiveFailures + 1, ex.getMessage());
+                    return Mono.just(-1);
+                })
+                .flatMap(applied -> Mono.delay(nextDelay(applied)))
+                .repeat()
+                .subscribe();
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (subscription != null) {
+            subscription.dispose();
+        }
+    }
+
+    Duration nextDelay(int applied) {
+        if (applied >= 0) {
+            reconciledCounter.increment(applied);
+            consecutiveFailures = 0;
+            return properties.reconcileInterval();
+        }
+        Duration backoff = properties.reconcileInterval().multipliedBy(1L << Math.min(consecutiveFailures++, 16));
+        return backoff.compareTo(properties.maxBackoff()) > 0 ? properties.maxBackoff() : backoff;
+    }
+}
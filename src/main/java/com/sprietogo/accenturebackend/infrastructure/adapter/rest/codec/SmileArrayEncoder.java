@@ -0,0 +1,63 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.codec;
+
+import org.reactivestreams.Publisher;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.http.codec.smile.JacksonSmileEncoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.databind.ObjectWriter;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+import java.util.Map;
+
+/**
+ * Writes a non-streaming {@link Flux} as a single Smile array. The stock encoder joins the elements with
+ * JSON brackets and commas, which Smile readers reject; the streaming type is left to it unchanged.
+ * One generator writes the array as elements arrive and hands the bytes on roughly every {@link #CHUNK_BYTES},
+ * so the response is never held in memory as a whole.
+ */
+public class SmileArrayEncoder extends JacksonSmileEncoder {
+
+    static final int CHUNK_BYTES = 8192;
+
+    @Override
+    public Flux<DataBuffer> encode(Publisher<?> inputStream, DataBufferFactory bufferFactory, ResolvableType elementType,
+                                   MimeType mimeType, Map<String, Object> hints) {
+        if (inputStream instanceof Mono || getStreamingMediaTypeSeparator(mimeType) != null) {
+            return super.encode(inputStream, bufferFactory, elementType, mimeType, hints);
+        }
+        return Flux.defer(() -> {
+            SmileMapper mapper = selectMapper(elementType, mimeType);
+            ObjectWriter writer = customizeWriter((mapper != null ? mapper : getMapper()).writer(), mimeType, elementType, hints);
+            ByteArrayOutputStream out = new ByteArrayOutputStream(CHUNK_BYTES);
+            JsonGenerator generator = writer.createGenerator(out);
+            generator.writeStartArray();
+
+            return Flux.from(inputStream)
+                    .<DataBuffer>handle((element, sink) -> {
+                        writer.writeValue(generator, element);
+                        generator.flush();
+                        if (out.size() >= CHUNK_BYTES) {
+                            sink.next(drain(out, bufferFactory));
+                        }
+                    })
+                    .concatWith(Mono.fromCallable(() -> {
+                        generator.writeEndArray();
+                        generator.close();
+                        return drain(out, bufferFactory);
+                    }))
+                    .doFinally(signal -> generator.close());
+        });
+    }
+
+    private static DataBuffer drain(ByteArrayOutputStream out, DataBufferFactory bufferFactory) {
+        DataBuffer buffer = bufferFactory.wrap(out.toByteArray());
+        out.reset();
+        return buffer;
+    }
+}
@@ -2,6 +2,7 @@ package com.sprietogo.accenturebackend.infrastructure.adapter.rest.controller;
 
 import com.sprietogo.accenturebackend.application.port.service.BranchServicePort;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.BranchRequestDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BatchCreateItemResponseDTO;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchResponseDTO;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
@@ -10,6 +11,9 @@ import org.springframework.web.bind.annotation.*;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import static com.sprietogo.accenturebackend.utils.Constants.APPLICATION_SMILE_VALUE;
+import static com.sprietogo.accenturebackend.utils.Constants.APPLICATION_STREAM_SMILE_VALUE;
+
 @RestController
 @AllArgsConstructor
 @RequestMapping(value = "/api/v1/branches", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -22,13 +26,20 @@ public class BranchController {
         return branchServicePort.createBranch(requestDTO);
     }
 
+    @PostMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, APPLICATION_STREAM_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
+    public Flux<BatchCreateItemResponseDTO> createBatch(@RequestBody Flux<BranchRequestDTO> requests) {
+        return branchServicePort.createBranches(requests);
+    }
+
 
     @PutMapping("/id/{id}/name/{name}")
     public Mono<BranchResponseDTO> updateName(@PathVariable Long id, @PathVariable() String name) {
         return branchServicePort.updateBranch(name, id);
     }
 
-    @GetMapping
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
     public Flux<BranchResponseDTO> getAllByFranchise(@RequestParam("franchiseId") Long franchiseId) {
         return branchServicePort.getAllByFranchiseId(franchiseId);
     }
@@ -2,15 +2,27 @@ package com.sprietogo.accenturebackend.infrastructure.adapter.rest.controller;
 
 import com.sprietogo.accenturebackend.application.port.service.BranchProductServicePort;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.BranchProductRequestDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.StockTransferRequestDTO;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchProductResponseDTO;
-import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.TopStockProductByBranchResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.FranchiseProductStockResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.StockTransferResponseDTO;
+import com.sprietogo.accenturebackend.utils.EntityTags;
+import com.sprietogo.accenturebackend.utils.SmileTranscoder;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
+import static com.sprietogo.accenturebackend.utils.Constants.APPLICATION_SMILE_VALUE;
+
 @RestController
 @AllArgsConstructor
 @RequestMapping(value = "/api/v1/branch-products", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -19,8 +31,20 @@ public class BranchProductController {
     private final BranchProductServicePort branchProductServicePort;
 
     @GetMapping("/{id}")
-    public Mono<BranchProductResponseDTO> getById(@PathVariable Long id) {
-        return branchProductServicePort.getBranchProductById(id);
+    public Mono<ResponseEntity<BranchProductResponseDTO>> getById(@PathVariable Long id, ServerWebExchange exchange) {
+        Mono<ResponseEntity<BranchProductResponseDTO>> full = branchProductServicePort.getBranchProductById(id)
+                .map(this::withETag);
+
+        if (exchange.getRequest().getHeaders().getFirst(HttpHeaders.IF_NONE_MATCH) == null) {
+            return full;
+        }
+
+        // Pollers revalidate against the version alone and skip loading branch/product names.
+        return branchProductServicePort.getBranchProductVersion(id)
+                .flatMap(version -> exchange.checkNotModified(EntityTags.of(version))
+                        ? Mono.just(ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(EntityTags.of(version)).<BranchProductResponseDTO>build())
+                        : full)
+                .switchIfEmpty(full);
     }
 
     @PostMapping(consumes = MediaType.APPLICATION_JSON_VALUE)
@@ -29,9 +53,11 @@ public class BranchProductController {
     }
 
     @PutMapping(value = "/{id}", consumes = MediaType.APPLICATION_JSON_VALUE)
-    public Mono<BranchProductResponseDTO> update(@PathVariable Long id,
-                                                @Valid @RequestBody BranchProductRequestDTO requestDTO) {
-        return branchProductServicePort.updateBranchProduct(requestDTO, id);
+    public Mono<ResponseEntity<BranchProductResponseDTO>> update(@PathVariable Long id,
+                                                                 @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch,
+                                                                 @Valid @RequestBody BranchProductRequestDTO requestDTO) {
+        return branchProductServicePort.updateBranchProduct(requestDTO, id, EntityTags.parseIfMatch(ifMatch))
+                .map(this::withETag);
     }
 
     @DeleteMapping
@@ -40,7 +66,7 @@ public class BranchProductController {
         return branchProductServicePort.deleteByBranchIdAndProductId(branchId, productId);
     }
 
-    @GetMapping
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
     public Flux<BranchProductResponseDTO> getAllByBranch(@RequestParam("branchId") Long branchId) {
         return branchProductServicePort.getAllByBranchId(branchId);
     }
@@ -52,15 +78,70 @@ public class BranchProductController {
     }
 
     @PatchMapping("/stock")
-    public Mono<BranchProductResponseDTO> updateStock(@RequestParam("branchId") Long branchId,
-                                                     @RequestParam("productId") Long productId,
-                                                     @RequestParam("stock") Integer stock) {
-        return branchProductServicePort.updateBranchProductStock(branchId, productId, stock);
+    public Mono<ResponseEntity<BranchProductResponseDTO>> updateStock(@RequestParam("branchId") Long branchId,
+                                                                      @RequestParam("productId") Long productId,
+                                                                      @RequestParam("stock") Integer stock,
+                                                                      @RequestHeader(value = HttpHeaders.IF_MATCH, required = false) String ifMatch) {
+        return branchProductServicePort.updateBranchProductStock(branchId, productId, stock, EntityTags.parseIfMatch(ifMatch))
+                .map(this::withETag);
+    }
+
+    @PostMapping("/stock/decrement")
+    public Mono<ResponseEntity<BranchProductResponseDTO>> decrementStock(@RequestParam("branchId") Long branchId,
+                                                                         @RequestParam("productId") Long productId,
+                                                                         @RequestParam("quantity") Integer quantity) {
+        return branchProductServicePort.decrementBranchProductStock(branchId, productId, quantity)
+                .map(this::withETag);
+    }
+
+    @PutMapping("/stock/slots")
+    public Mono<ResponseEntity<BranchProductResponseDTO>> setStockSlots(@RequestParam("branchId") Long branchId,
+                                                                        @RequestParam("productId") Long productId,
+                                                                        @RequestParam("slots") Integer slots) {
+        return branchProductServicePort.setBranchProductStockSlots(branchId, productId, slots)
+                .map(this::withETag);
+    }
+
+    @PostMapping(value = "/stock/transfer", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+    public Flux<StockTransferResponseDTO> transferStock(@RequestParam("fromBranchId") Long fromBranchId,
+                                                        @RequestParam("toBranchId") Long toBranchId,
+                                                        @RequestParam("productId") Long productId,
+                                                        @RequestParam("quantity") Integer quantity) {
+        return branchProductServicePort.transferBranchProductStock(fromBranchId, toBranchId, productId, quantity);
+    }
+
+    @PostMapping(value = "/stock/transfers",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+    public Flux<StockTransferResponseDTO> transferStockBatch(@RequestBody List<@Valid StockTransferRequestDTO> transfers) {
+        return branchProductServicePort.transferBranchProductStock(transfers);
     }
 
     @GetMapping("/report/top-stock")
-    public Flux<TopStockProductByBranchResponseDTO> topStock(@RequestParam("franchiseId") Long franchiseId) {
-        return branchProductServicePort.getTopStockProductsByBranch(franchiseId);
+    public Mono<byte[]> topStock(@RequestParam("franchiseId") Long franchiseId) {
+        return branchProductServicePort.getTopStockReport(franchiseId);
+    }
+
+    // The report is cached as JSON; Smile clients get the cached document re-encoded, not a fresh query.
+    @GetMapping(value = "/report/top-stock", produces = APPLICATION_SMILE_VALUE)
+    public Mono<byte[]> topStockSmile(@RequestParam("franchiseId") Long franchiseId) {
+        return branchProductServicePort.getTopStockReport(franchiseId)
+                .map(SmileTranscoder::fromJson);
+    }
+
+    @GetMapping("/report/franchise-stock")
+    public Mono<FranchiseProductStockResponseDTO> franchiseStock(@RequestParam("franchiseId") Long franchiseId,
+                                                                 @RequestParam("productId") Long productId,
+                                                                 @RequestParam(value = "live", defaultValue = "false") boolean live) {
+        return branchProductServicePort.getFranchiseProductStock(franchiseId, productId, live);
+    }
+
+    // Slotted rows come back without a version and therefore without an ETag.
+    private ResponseEntity<BranchProductResponseDTO> withETag(BranchProductResponseDTO dto) {
+        if (dto.getVersion() == null) {
+            return ResponseEntity.ok(dto);
+        }
+        return ResponseEntity.ok().eTag(EntityTags.of(dto.getVersion())).body(dto);
     }
 
 }
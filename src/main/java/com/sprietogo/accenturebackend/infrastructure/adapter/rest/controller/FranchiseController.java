@@ -2,13 +2,17 @@ package com.sprietogo.accenturebackend.infrastructure.adapter.rest.controller;
 
 import com.sprietogo.accenturebackend.application.port.service.FranchiseServicePort;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.RequestDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BatchCreateItemResponseDTO;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.ResponseDTO;
 import jakarta.validation.Valid;
 import lombok.AllArgsConstructor;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
+import static com.sprietogo.accenturebackend.utils.Constants.APPLICATION_STREAM_SMILE_VALUE;
+
 @RestController
 @AllArgsConstructor
 @RequestMapping(value = "/api/v1/franchises", produces = MediaType.APPLICATION_JSON_VALUE)
@@ -20,6 +24,13 @@ public class FranchiseController {
     public Mono<ResponseDTO> create(@Valid @RequestBody RequestDTO requestDTO) {
         return franchiseServicePort.createFranchise(requestDTO);
     }
+
+    @PostMapping(value = "/batch",
+            consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE, APPLICATION_STREAM_SMILE_VALUE},
+            produces = {MediaType.APPLICATION_NDJSON_VALUE, APPLICATION_STREAM_SMILE_VALUE})
+    public Flux<BatchCreateItemResponseDTO> createBatch(@RequestBody Flux<RequestDTO> requests) {
+        return franchiseServicePort.createFranchises(requests);
+    }
     @GetMapping("/name/{name}")
     public Mono<ResponseDTO> getByName(@PathVariable String name) {
         return franchiseServicePort.getFranchise(name);
@@ -0,0 +1,37 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.controller;
+
+import com.sprietogo.accenturebackend.application.port.service.InventoryAnalyticsServicePort;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchStockResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.FranchiseStockDistributionResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.ResponseDTO;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+
+import static com.sprietogo.accenturebackend.utils.Constants.APPLICATION_SMILE_VALUE;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping(value = "/api/v1/analytics/inventory", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+public class InventoryAnalyticsController {
+
+    private final InventoryAnalyticsServicePort inventoryAnalyticsServicePort;
+
+    @GetMapping("/below-threshold")
+    public Flux<BranchStockResponseDTO> branchesBelow(@RequestParam("productId") Long productId,
+                                                      @RequestParam("threshold") Integer threshold,
+                                                      @RequestParam(value = "franchiseId", required = false) Long franchiseId) {
+        return inventoryAnalyticsServicePort.getBranchesBelow(productId, threshold, franchiseId);
+    }
+
+    @GetMapping("/distribution")
+    public Flux<FranchiseStockDistributionResponseDTO> distribution(@RequestParam("productId") Long productId) {
+        return inventoryAnalyticsServicePort.getStockDistribution(productId);
+    }
+
+    @GetMapping("/missing-products")
+    public Flux<ResponseDTO> missingProducts(@RequestParam("branchId") Long branchId) {
+        return inventoryAnalyticsServicePort.getProductsMissingInBranch(branchId);
+    }
+}
@@ -0,0 +1,35 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.controller;
+
+import com.sprietogo.accenturebackend.application.port.service.InventoryExportServicePort;
+import lombok.AllArgsConstructor;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.ContentDisposition;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping("/api/v1/exports")
+public class InventoryExportController {
+
+    private final InventoryExportServicePort inventoryExportServicePort;
+
+    @GetMapping("/{table}")
+    public Mono<ResponseEntity<Flux<DataBuffer>>> export(@PathVariable String table,
+                                                         @RequestParam(value = "format", defaultValue = "ndjson") String format,
+                                                         @RequestParam(value = "afterId", required = false) Long afterId,
+                                                         @RequestParam(value = "untilId", required = false) Long untilId) {
+        return inventoryExportServicePort.export(table, format, afterId, untilId)
+                .map(export -> ResponseEntity.ok()
+                        .header(HttpHeaders.CONTENT_TYPE, export.contentType())
+                        .header(HttpHeaders.CONTENT_ENCODING, "gzip")
+                        .header(HttpHeaders.CONTENT_DISPOSITION,
+                                ContentDisposition.attachment().filename(export.fileName()).build().toString())
+                        .header("X-Export-After-Id", Long.toString(export.afterId()))
+                        .header("X-Export-Until-Id", Long.toString(export.untilId()))
+                        .body(export.body()));
+    }
+}
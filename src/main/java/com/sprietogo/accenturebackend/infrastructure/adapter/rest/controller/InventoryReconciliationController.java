@@ -0,0 +1,28 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.controller;
+
+import com.sprietogo.accenturebackend.application.port.service.InventoryReconciliationServicePort;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.InventoryCountRequestDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.InventoryReconciliationResponseDTO;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.sprietogo.accenturebackend.utils.Constants.APPLICATION_SMILE_VALUE;
+import static com.sprietogo.accenturebackend.utils.Constants.APPLICATION_STREAM_SMILE_VALUE;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping(value = "/api/v1/branch-products/inventory", produces = MediaType.APPLICATION_JSON_VALUE)
+public class InventoryReconciliationController {
+
+    private final InventoryReconciliationServicePort inventoryReconciliationServicePort;
+
+    @PutMapping(consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE,
+            APPLICATION_SMILE_VALUE, APPLICATION_STREAM_SMILE_VALUE})
+    public Mono<InventoryReconciliationResponseDTO> reconcile(@RequestParam("branchId") Long branchId,
+                                                              @RequestBody(required = false) Flux<InventoryCountRequestDTO> counts) {
+        return inventoryReconciliationServicePort.reconcileBranchInventory(branchId, counts);
+    }
+}
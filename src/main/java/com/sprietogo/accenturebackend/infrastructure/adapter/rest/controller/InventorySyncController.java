@@ -0,0 +1,32 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.controller;
+
+import com.sprietogo.accenturebackend.application.port.service.InventorySyncServicePort;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.InventoryChangesResponseDTO;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+import static com.sprietogo.accenturebackend.utils.Constants.APPLICATION_SMILE_VALUE;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping(value = "/api/v1/sync/branch-products", produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+public class InventorySyncController {
+
+    private final InventorySyncServicePort inventorySyncServicePort;
+
+    @GetMapping("/by-branch")
+    public Mono<InventoryChangesResponseDTO> branchChanges(@RequestParam("branchId") Long branchId,
+                                                           @RequestParam(value = "since", required = false) String since,
+                                                           @RequestParam(value = "limit", required = false) Integer limit) {
+        return inventorySyncServicePort.getBranchChanges(branchId, since, limit);
+    }
+
+    @GetMapping("/by-franchise")
+    public Mono<InventoryChangesResponseDTO> franchiseChanges(@RequestParam("franchiseId") Long franchiseId,
+                                                              @RequestParam(value = "since", required = false) String since,
+                                                              @RequestParam(value = "limit", required = false) Integer limit) {
+        return inventorySyncServicePort.getFranchiseChanges(franchiseId, since, limit);
+    }
+}
@@ -0,0 +1,44 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.controller;
+
+import com.sprietogo.accenturebackend.application.port.service.StockAlertServicePort;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.StockAlertResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.StockThresholdResponseDTO;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import static com.sprietogo.accenturebackend.utils.Constants.APPLICATION_SMILE_VALUE;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping(value = "/api/v1/stock-alerts", produces = MediaType.APPLICATION_JSON_VALUE)
+public class StockAlertController {
+
+    private final StockAlertServicePort stockAlertServicePort;
+
+    @GetMapping(produces = {MediaType.APPLICATION_JSON_VALUE, APPLICATION_SMILE_VALUE})
+    public Flux<StockAlertResponseDTO> getAllByBranch(@RequestParam("branchId") Long branchId,
+                                                      @RequestParam(value = "openOnly", defaultValue = "true") boolean openOnly) {
+        return stockAlertServicePort.getAlertsByBranchId(branchId, openOnly);
+    }
+
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public Flux<StockAlertResponseDTO> stream() {
+        return stockAlertServicePort.streamAlerts();
+    }
+
+    @PatchMapping("/thresholds/products/{productId}")
+    public Mono<StockThresholdResponseDTO> updateProductThreshold(@PathVariable Long productId,
+                                                                  @RequestParam(value = "threshold", required = false) Integer threshold) {
+        return stockAlertServicePort.updateProductThreshold(productId, threshold);
+    }
+
+    @PatchMapping("/thresholds/branch-products")
+    public Mono<StockThresholdResponseDTO> updateBranchProductThreshold(@RequestParam("branchId") Long branchId,
+                                                                        @RequestParam("productId") Long productId,
+                                                                        @RequestParam(value = "threshold", required = false) Integer threshold) {
+        return stockAlertServicePort.updateBranchProductThreshold(branchId, productId, threshold);
+    }
+}
@@ -0,0 +1,51 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.controller;
+
+import com.sprietogo.accenturebackend.application.port.service.StockReservationServicePort;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.ReservationCounterResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.StockReservationResponseDTO;
+import lombok.AllArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
+
+@RestController
+@AllArgsConstructor
+@RequestMapping(value = "/api/v1/branch-products/{branchProductId}/reservations", produces = MediaType.APPLICATION_JSON_VALUE)
+public class StockReservationController {
+
+    private final StockReservationServicePort stockReservationServicePort;
+
+    @PutMapping("/counter")
+    public Mono<ReservationCounterResponseDTO> enableCounter(@PathVariable Long branchProductId) {
+        return stockReservationServicePort.enableCounter(branchProductId);
+    }
+
+    @GetMapping("/counter")
+    public Mono<ReservationCounterResponseDTO> getCounter(@PathVariable Long branchProductId) {
+        return stockReservationServicePort.getCounter(branchProductId);
+    }
+
+    @DeleteMapping("/counter")
+    public Mono<Void> disableCounter(@PathVariable Long branchProductId) {
+        return stockReservationServicePort.disableCounter(branchProductId);
+    }
+
+    @PostMapping
+    public Mono<StockReservationResponseDTO> reserve(@PathVariable Long branchProductId,
+                                                     @RequestParam("quantity") Integer quantity,
+                                                     @RequestParam(value = "ttlSeconds", required = false) Long ttlSeconds) {
+        return stockReservationServicePort.reserve(branchProductId, quantity, ttlSeconds);
+    }
+
+    @PostMapping("/{reservationId}/confirm")
+    public Mono<StockReservationResponseDTO> confirm(@PathVariable Long branchProductId,
+                                                     @PathVariable String reservationId) {
+        return stockReservationServicePort.confirm(branchProductId, reservationId);
+    }
+
+    @DeleteMapping("/{reservationId}")
+    public Mono<StockReservationResponseDTO> release(@PathVariable Long branchProductId,
+                                                     @PathVariable String reservationId) {
+        return stockReservationServicePort.release(branchProductId, reservationId);
+    }
+}
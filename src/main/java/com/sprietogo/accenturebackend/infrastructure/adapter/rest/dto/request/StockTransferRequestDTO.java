@@ -0,0 +1,26 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request;
+
+import com.sprietogo.accenturebackend.utils.Constants;
+import jakarta.validation.constraints.NotNull;
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class StockTransferRequestDTO {
+
+    @NotNull(message = "|fromBranchId| " + Constants.ERROR_NOT_NULL)
+    private Long fromBranchId;
+
+    @NotNull(message = "|toBranchId| " + Constants.ERROR_NOT_NULL)
+    private Long toBranchId;
+
+    @NotNull(message = "|productId| " + Constants.ERROR_NOT_NULL)
+    private Long productId;
+
+    @NotNull(message = "|quantity| " + Constants.ERROR_NOT_NULL)
+    private Integer quantity;
+
+}
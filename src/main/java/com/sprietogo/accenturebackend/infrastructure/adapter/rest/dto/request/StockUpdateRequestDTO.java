@@ -0,0 +1,17 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request;
+
+import lombok.*;
+
+@Getter
+@Setter
+@AllArgsConstructor
+@NoArgsConstructor
+@ToString
+public class StockUpdateRequestDTO {
+
+    private Long branchId;
+    private Long productId;
+    private Integer stock;
+    private Long version;
+
+}
@@ -0,0 +1,13 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response;
+
+/**
+ * Outcome of one item of a batch create, in input order. status is CREATED, ALREADY_EXISTS or the error
+ * code that kept the item out of the insert (message explains it).
+ */
+public record BatchCreateItemResponseDTO(
+        long index,
+        Long id,
+        String name,
+        String status,
+        String message
+) {}
@@ -0,0 +1,12 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response;
+
+import java.time.OffsetDateTime;
+
+public record BranchProductChangeDTO(
+        Long branchProductId,
+        Long branchId,
+        Long productId,
+        Integer stock,
+        Long version,
+        OffsetDateTime updatedAt
+) {}
@@ -14,5 +14,6 @@ public class BranchProductResponseDTO {
     private ResponseDTO branch;
     private ResponseDTO product;
     private Integer stock;
+    private Long version;
 
 }
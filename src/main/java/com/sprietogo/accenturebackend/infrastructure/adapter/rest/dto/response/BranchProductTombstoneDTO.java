@@ -0,0 +1,10 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response;
+
+import java.time.OffsetDateTime;
+
+public record BranchProductTombstoneDTO(
+        Long branchProductId,
+        Long branchId,
+        Long productId,
+        OffsetDateTime deletedAt
+) {}
@@ -0,0 +1,7 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response;
+
+public record BranchStockResponseDTO(
+        Long branchId,
+        Long franchiseId,
+        Integer stock
+) {}
@@ -0,0 +1,8 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response;
+
+public record FranchiseProductStockResponseDTO(
+        ResponseDTO franchise,
+        ResponseDTO product,
+        Long totalStock,
+        Integer branchCount
+) {}
@@ -0,0 +1,10 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response;
+
+public record FranchiseStockDistributionResponseDTO(
+        Long franchiseId,
+        Long branchCount,
+        Long totalStock,
+        Integer minStock,
+        Integer maxStock,
+        Double averageStock
+) {}
@@ -0,0 +1,10 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response;
+
+import java.util.List;
+
+public record InventoryChangesResponseDTO(
+        String watermark,
+        boolean hasMore,
+        List<BranchProductChangeDTO> upserts,
+        List<BranchProductTombstoneDTO> deletes
+) {}
@@ -0,0 +1,12 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response;
+
+import org.springframework.core.io.buffer.DataBuffer;
+import reactor.core.publisher.Flux;
+
+public record InventoryExportResponseDTO(
+        String fileName,
+        String contentType,
+        long afterId,
+        long untilId,
+        Flux<DataBuffer> body
+) {}
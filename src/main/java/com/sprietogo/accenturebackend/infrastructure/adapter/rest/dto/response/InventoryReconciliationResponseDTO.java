@@ -0,0 +1,9 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response;
+
+public record InventoryReconciliationResponseDTO(
+        Long branchId,
+        long inserted,
+        long updated,
+        long deleted,
+        long unchanged
+) {}
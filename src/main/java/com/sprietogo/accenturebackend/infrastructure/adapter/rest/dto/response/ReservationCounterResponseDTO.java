@@ -0,0 +1,7 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response;
+
+public record ReservationCounterResponseDTO(
+        Long branchProductId,
+        Long available,
+        Long outstandingReservations
+) {}
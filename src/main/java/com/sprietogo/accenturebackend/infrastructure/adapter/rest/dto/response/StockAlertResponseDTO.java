@@ -0,0 +1,14 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response;
+
+import java.time.OffsetDateTime;
+
+public record StockAlertResponseDTO(
+        Long id,
+        Long branchId,
+        Long productId,
+        Integer stock,
+        Integer threshold,
+        String status,
+        OffsetDateTime triggeredAt,
+        OffsetDateTime resolvedAt
+) {}
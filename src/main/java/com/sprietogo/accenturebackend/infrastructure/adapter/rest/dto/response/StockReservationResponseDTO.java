@@ -0,0 +1,12 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response;
+
+import java.time.Instant;
+
+public record StockReservationResponseDTO(
+        String reservationId,
+        Long branchProductId,
+        Integer quantity,
+        String status,
+        Long available,
+        Instant expiresAt
+) {}
@@ -0,0 +1,9 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response;
+
+public record StockTransferResponseDTO(
+        Long branchProductId,
+        Long branchId,
+        Long productId,
+        Integer stock,
+        Long version
+) {}
@@ -0,0 +1,15 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response;
+
+/**
+ * Outcome of one update on the stock channel, in input order. status is UPDATED or the error code that
+ * rejected the update (message explains it); stock and version are the row as written.
+ */
+public record StockUpdateItemResponseDTO(
+        long index,
+        Long branchId,
+        Long productId,
+        Integer stock,
+        Long version,
+        String status,
+        String message
+) {}
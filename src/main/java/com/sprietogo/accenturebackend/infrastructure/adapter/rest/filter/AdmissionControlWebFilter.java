@@ -0,0 +1,114 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.filter;
+
+import com.sprietogo.accenturebackend.infrastructure.config.AdmissionProperties;
+import com.sprietogo.accenturebackend.utils.Constants;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Admission control for API requests, keyed by franchise or branch when the request names one and by client
+ * address otherwise. Uploads and exports ({@code bulk-paths}) are admitted under their own per-key cap, since
+ * they hold a slot for as long as the client keeps sending or reading; only the open-ended alert stream
+ * ({@code exempt-paths}) bypasses the limiter.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 10)
+@ConditionalOnProperty(prefix = "app.admission", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class AdmissionControlWebFilter implements WebFilter {
+
+    private static final String API_PREFIX = "/api/";
+    private static final String SHARED_KEY = "shared";
+    private static final Pattern NUMERIC = Pattern.compile("\\d{1,19}");
+    private static final Pattern ID_IN_PATH = Pattern.compile("^/api/v1/(franchises|branches)/id/(\\d{1,19})(/.*)?$");
+
+    private final AdmissionProperties properties;
+    private final AdmissionLimiter limiter;
+
+    public AdmissionControlWebFilter(AdmissionProperties properties) {
+        this.properties = properties;
+        this.limiter = new AdmissionLimiter(properties);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        if (!path.startsWith(API_PREFIX) || properties.exemptPaths().stream().anyMatch(path::startsWith)) {
+            return chain.filter(exchange);
+        }
+
+        String key = resolveKey(exchange.getRequest());
+        boolean bulk = properties.bulkPaths().stream().anyMatch(path::startsWith);
+        AdmissionLimiter.Decision decision = bulk ? limiter.tryAcquireBulk(key) : limiter.tryAcquire(key);
+        if (!decision.admitted()) {
+            log.debug("Rejected {} {} for {} with {} (limit={}, inFlight={})",
+                    exchange.getRequest().getMethod(), path, key, decision.status().value(),
+                    limiter.currentLimit(), limiter.inFlight());
+            return reject(exchange.getResponse(), decision, key);
+        }
+
+        // The latency sample ends at the first byte, so a slow reader or a long body doesn't count as overload.
+        AtomicLong respondedAt = new AtomicLong();
+        exchange.getResponse().beforeCommit(() -> {
+            respondedAt.compareAndSet(0L, limiter.now());
+            return Mono.empty();
+        });
+        return chain.filter(exchange)
+                .doFinally(signal -> limiter.release(decision, respondedAt.get() != 0L ? respondedAt.get() : limiter.now()));
+    }
+
+    static String resolveKey(ServerHttpRequest request) {
+        String franchiseId = request.getQueryParams().getFirst("franchiseId");
+        if (franchiseId != null && NUMERIC.matcher(franchiseId).matches()) {
+            return "franchise:" + franchiseId;
+        }
+        String branchId = request.getQueryParams().getFirst("branchId");
+        if (branchId != null && NUMERIC.matcher(branchId).matches()) {
+            return "branch:" + branchId;
+        }
+        Matcher matcher = ID_IN_PATH.matcher(request.getPath().value());
+        if (matcher.matches()) {
+            return ("franchises".equals(matcher.group(1)) ? "franchise:" : "branch:") + matcher.group(2);
+        }
+        InetSocketAddress remote = request.getRemoteAddress();
+        if (remote != null && remote.getAddress() != null) {
+            return "client:" + remote.getAddress().getHostAddress();
+        }
+        return SHARED_KEY;
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response, AdmissionLimiter.Decision decision, String key) {
+        HttpStatus status = decision.status();
+        boolean rateLimited = status == HttpStatus.TOO_MANY_REQUESTS;
+        String code = rateLimited ? Constants.RATE_LIMITED : Constants.OVERLOADED;
+        String message = rateLimited ? Constants.RATE_LIMITED_MSG + key : Constants.OVERLOADED_MSG;
+        String body = "{\"status\":%d,\"code\":\"%s\",\"message\":\"%s\",\"timestamp\":\"%s\"}"
+                .formatted(status.value(), code, message, OffsetDateTime.now());
+
+        response.setStatusCode(status);
+        response.getHeaders().set(HttpHeaders.RETRY_AFTER, Long.toString(decision.retryAfterSeconds()));
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+}
@@ -0,0 +1,210 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.filter;
+
+import com.sprietogo.accenturebackend.infrastructure.config.AdmissionProperties;
+import org.springframework.http.HttpStatus;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket and concurrency limit per tenant key, under a global concurrency limit that
+ * adapts to observed latency (additive increase, multiplicative decrease). Nothing is queued:
+ * a request is either admitted right away or rejected with a retry hint. Bulk requests (uploads and
+ * exports) spend tokens from the same bucket but hold a separate, fixed per-key slot instead of one
+ * under the adaptive limit, and never feed the latency sample: their duration tracks payload size.
+ */
+public class AdmissionLimiter {
+
+    private static final double DECREASE_FACTOR = 0.9;
+    private static final long IDLE_EVICTION_NANOS = TimeUnit.MINUTES.toNanos(1);
+
+    private final AdmissionProperties properties;
+    private final LongSupplier nanoClock;
+    private final long latencyTargetNanos;
+    private final Map<String, KeyState> keys = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private final AtomicLong nextSweepNanos;
+
+    private volatile double limit;
+    private long lastDecreaseNanos;
+
+    public AdmissionLimiter(AdmissionProperties properties) {
+        this(properties, System::nanoTime);
+    }
+
+    AdmissionLimiter(AdmissionProperties properties, LongSupplier nanoClock) {
+        this.properties = properties;
+        this.nanoClock = nanoClock;
+        this.latencyTargetNanos = properties.latencyTarget().toNanos();
+        this.limit = Math.clamp(properties.initialLimit(), properties.minLimit(), properties.maxLimit());
+        this.lastDecreaseNanos = nanoClock.getAsLong() - latencyTargetNanos;
+        this.nextSweepNanos = new AtomicLong(nanoClock.getAsLong());
+    }
+
+    public Decision tryAcquire(String key) {
+        long now = nanoClock.getAsLong();
+        KeyState state = keys.computeIfAbsent(key, k -> new KeyState(properties.burst(), now));
+        state.lastSeenNanos = now;
+
+        long waitNanos = state.tryConsume(now, properties.ratePerSecond(), properties.burst());
+        if (waitNanos > 0) {
+            return Decision.reject(HttpStatus.TOO_MANY_REQUESTS, toRetryAfterSeconds(waitNanos));
+        }
+
+        int currentLimit = (int) limit;
+        int perKeyLimit = Math.max(properties.minLimit(), (int) (currentLimit * properties.perKeyShare()));
+        if (!incrementBelow(state.inFlight, perKeyLimit)) {
+            return Decision.reject(HttpStatus.TOO_MANY_REQUESTS, 1);
+        }
+        if (!incrementBelow(inFlight, currentLimit)) {
+            state.inFlight.decrementAndGet();
+            return Decision.reject(HttpStatus.SERVICE_UNAVAILABLE, 1);
+        }
+
+        evictIdleKeys(now);
+        return Decision.admit(state, now, false);
+    }
+
+    /**
+     * Admits a bulk request against the key's token bucket and its {@code bulk-per-key-limit}; it takes no
+     * slot under the adaptive limit.
+     */
+    public Decision tryAcquireBulk(String key) {
+        long now = nanoClock.getAsLong();
+        KeyState state = keys.computeIfAbsent(key, k -> new KeyState(properties.burst(), now));
+        state.lastSeenNanos = now;
+
+        long waitNanos = state.tryConsume(now, properties.ratePerSecond(), properties.burst());
+        if (waitNanos > 0) {
+            return Decision.reject(HttpStatus.TOO_MANY_REQUESTS, toRetryAfterSeconds(waitNanos));
+        }
+        if (!incrementBelow(state.bulkInFlight, properties.bulkPerKeyLimit())) {
+            return Decision.reject(HttpStatus.TOO_MANY_REQUESTS, 1);
+        }
+
+        evictIdleKeys(now);
+        return Decision.admit(state, now, true);
+    }
+
+    public void release(Decision decision) {
+        release(decision, nanoClock.getAsLong());
+    }
+
+    /**
+     * Frees the slot, sampling latency up to {@code respondedAtNanos} (from {@link #now()}) rather than now.
+     */
+    public void release(Decision decision, long respondedAtNanos) {
+        if (!decision.admitted()) {
+            return;
+        }
+        if (decision.bulk()) {
+            decision.state().bulkInFlight.decrementAndGet();
+            return;
+        }
+        decision.state().inFlight.decrementAndGet();
+        int inFlightAtRelease = inFlight.getAndDecrement();
+        onLatency(respondedAtNanos - decision.startNanos(), inFlightAtRelease);
+    }
+
+    public long now() {
+        return nanoClock.getAsLong();
+    }
+
+    public int currentLimit() {
+        return (int) limit;
+    }
+
+    public int inFlight() {
+        return inFlight.get();
+    }
+
+    synchronized void onLatency(long latencyNanos, int inFlightAtRelease) {
+        long now = nanoClock.getAsLong();
+        if (latencyNanos > latencyTargetNanos) {
+            // One decrease per target window, so a burst of slow responses doesn't collapse the limit at once.
+            if (now - lastDecreaseNanos >= latencyTargetNanos) {
+                limit = Math.max(properties.minLimit(), limit * DECREASE_FACTOR);
+                lastDecreaseNanos = now;
+            }
+        } else if (inFlightAtRelease * 2 >= limit) {
+            limit = Math.min(properties.maxLimit(), limit + 1.0 / limit);
+        }
+    }
+
+    // At most one sweep per idle interval: when most keys are still busy a sweep frees nothing, and
+    // repeating it on every request would put a scan of the whole map on the hot path.
+    private void evictIdleKeys(long now) {
+        long nextSweep = nextSweepNanos.get();
+        if (keys.size() <= properties.maxTrackedKeys() || now - nextSweep < 0
+                || !nextSweepNanos.compareAndSet(nextSweep, now + IDLE_EVICTION_NANOS)) {
+            return;
+        }
+        keys.values().removeIf(s -> s.inFlight.get() == 0 && s.bulkInFlight.get() == 0
+                && now - s.lastSeenNanos > IDLE_EVICTION_NANOS);
+    }
+
+    int trackedKeys() {
+        return keys.size();
+    }
+
+    private static boolean incrementBelow(AtomicInteger counter, int max) {
+        while (true) {
+            int current = counter.get();
+            if (current >= max) {
+                return false;
+            }
+            if (counter.compareAndSet(current, current + 1)) {
+                return true;
+            }
+        }
+    }
+
+    private static long toRetryAfterSeconds(long waitNanos) {
+        return Math.max(1, (waitNanos + TimeUnit.SECONDS.toNanos(1) - 1) / TimeUnit.SECONDS.toNanos(1));
+    }
+
+    public record Decision(boolean admitted, HttpStatus status, long retryAfterSeconds, KeyState state, long startNanos,
+                           boolean bulk) {
+
+        static Decision admit(KeyState state, long startNanos, boolean bulk) {
+            return new Decision(true, null, 0, state, startNanos, bulk);
+        }
+
+        static Decision reject(HttpStatus status, long retryAfterSeconds) {
+            return new Decision(false, status, retryAfterSeconds, null, 0, false);
+        }
+    }
+
+    public static final class KeyState {
+
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private final AtomicInteger bulkInFlight = new AtomicInteger();
+        private double tokens;
+        private long refilledAtNanos;
+        private volatile long lastSeenNanos;
+
+        KeyState(int burst, long now) {
+            this.tokens = burst;
+            this.refilledAtNanos = now;
+            this.lastSeenNanos = now;
+        }
+
+        /**
+         * Takes one token, returning 0 when granted or the nanos until the next token otherwise.
+         */
+        synchronized long tryConsume(long now, double ratePerSecond, int burst) {
+            double perNano = ratePerSecond / TimeUnit.SECONDS.toNanos(1);
+            tokens = Math.min(burst, tokens + (now - refilledAtNanos) * perNano);
+            refilledAtNanos = now;
+            if (tokens >= 1) {
+                tokens -= 1;
+                return 0;
+            }
+            return (long) Math.ceil((1 - tokens) / perNano);
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.filter;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.deadline.RequestDeadline;
+import com.sprietogo.accenturebackend.infrastructure.config.DeadlineProperties;
+import com.sprietogo.accenturebackend.utils.Constants;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.server.reactive.ServerHttpRequest;
+import org.springframework.http.server.reactive.ServerHttpResponse;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.Comparator;
+import java.util.Map;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Gives every API request a {@link RequestDeadline}. Past it the handler is cancelled and the client gets
+ * 504, unless the response has already started; a client disconnect cancels the handler the same way.
+ * Either cancellation reaches the database through the deadline in the context. Streaming and upload routes
+ * ({@code exempt-paths}) get an unbounded deadline: they run as long as the client keeps sending or reading,
+ * but a disconnect still cancels their statements.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 5)
+@ConditionalOnProperty(prefix = "app.deadline", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineWebFilter implements WebFilter {
+
+    private static final String API_PREFIX = "/api/";
+
+    private final DeadlineProperties properties;
+    private final Counter exceededCounter;
+
+    public DeadlineWebFilter(DeadlineProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.exceededCounter = Counter.builder("http.server.requests.deadline.exceeded")
+                .description("Requests answered with 504 because they ran past their deadline")
+                .register(meterRegistry);
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        String path = exchange.getRequest().getPath().value();
+        if (!path.startsWith(API_PREFIX)) {
+            return chain.filter(exchange);
+        }
+        if (properties.exemptPaths().stream().anyMatch(path::startsWith)) {
+            RequestDeadline unbounded = RequestDeadline.unbounded();
+            return chain.filter(exchange)
+                    .doOnCancel(unbounded::cancel)
+                    .contextWrite(ctx -> ctx.put(RequestDeadline.class, unbounded));
+        }
+
+        Duration timeout = resolveTimeout(exchange.getRequest());
+        RequestDeadline deadline = new RequestDeadline(timeout);
+
+        // doOnCancel sits below timeout(), so it sees both the client going away and the deadline firing.
+        return chain.filter(exchange)
+                .doOnCancel(deadline::cancel)
+                .contextWrite(ctx -> ctx.put(RequestDeadline.class, deadline))
+                .timeout(untilCommitted(exchange.getResponse(), timeout))
+                .onErrorResume(TimeoutException.class, ex -> {
+                    exceededCounter.increment();
+                    log.debug("{} {} exceeded its {} ms deadline", exchange.getRequest().getMethod(), path, timeout.toMillis());
+                    ServerHttpResponse response = exchange.getResponse();
+                    return response.isCommitted() ? Mono.error(ex) : reject(response);
+                });
+    }
+
+    /**
+     * Fires at the deadline unless the response has started by then: cutting a body mid-write would only
+     * reset the connection. Statements still carry the statement_timeout they were given on acquire.
+     */
+    private static Mono<Long> untilCommitted(ServerHttpResponse response, Duration timeout) {
+        return Mono.delay(timeout).flatMap(tick -> response.isCommitted() ? Mono.never() : Mono.just(tick));
+    }
+
+    Duration resolveTimeout(ServerHttpRequest request) {
+        Duration timeout = routeTimeout(request.getPath().value());
+        String requested = request.getHeaders().getFirst(properties.header());
+        if (requested != null) {
+            try {
+                long millis = Long.parseLong(requested.trim());
+                if (millis > 0) {
+                    timeout = Duration.ofMillis(millis);
+                }
+            } catch (NumberFormatException ex) {
+                log.debug("Ignoring {} header '{}'", properties.header(), requested);
+            }
+        }
+        return timeout.compareTo(properties.maxTimeout()) > 0 ? properties.maxTimeout() : timeout;
+    }
+
+    private Duration routeTimeout(String path) {
+        Map<String, Duration> routes = properties.routes();
+        if (routes == null || routes.isEmpty()) {
+            return properties.defaultTimeout();
+        }
+        return routes.entrySet().stream()
+                .filter(route -> path.startsWith(route.getKey()))
+                .max(Comparator.comparingInt(route -> route.getKey().length()))
+                .map(Map.Entry::getValue)
+                .orElse(properties.defaultTimeout());
+    }
+
+    private Mono<Void> reject(ServerHttpResponse response) {
+        HttpStatus status = HttpStatus.GATEWAY_TIMEOUT;
+        String body = "{\"status\":%d,\"code\":\"%s\",\"message\":\"%s\",\"timestamp\":\"%s\"}"
+                .formatted(status.value(), Constants.DEADLINE_EXCEEDED, Constants.DEADLINE_EXCEEDED_MSG, OffsetDateTime.now());
+
+        response.setStatusCode(status);
+        response.getHeaders().setContentType(MediaType.APPLICATION_JSON);
+        DataBuffer buffer = response.bufferFactory().wrap(body.getBytes(StandardCharsets.UTF_8));
+        return response.writeWith(Mono.just(buffer));
+    }
+}
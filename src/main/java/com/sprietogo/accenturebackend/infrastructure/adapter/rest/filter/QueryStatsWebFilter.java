@@ -0,0 +1,101 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.filter;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.instrumentation.QueryStats;
+import com.sprietogo.accenturebackend.infrastructure.config.QueryStatsProperties;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpHeaders;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.HandlerMapping;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import org.springframework.web.util.pattern.PathPattern;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Counts the statements each request issues and the time spent in them. Both go to metrics per route;
+ * with app.query-stats.expose-headers they are also returned as X-DB-Statements / X-DB-Time-Ms (as of
+ * the moment the response is committed, so streaming responses report only what ran before the first
+ * element). A request that runs the same SQL repeatedly is logged as a likely N+1.
+ */
+@Slf4j
+@Component
+@Order(Ordered.HIGHEST_PRECEDENCE + 20)
+@ConditionalOnProperty(prefix = "app.query-stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryStatsWebFilter implements WebFilter {
+
+    public static final String STATEMENTS_HEADER = "X-DB-Statements";
+    public static final String TIME_HEADER = "X-DB-Time-Ms";
+
+    private static final String UNKNOWN_ROUTE = "UNKNOWN";
+    private static final int MAX_LOGGED_SQL_LENGTH = 200;
+
+    private final QueryStatsProperties properties;
+    private final MeterRegistry meterRegistry;
+
+    public QueryStatsWebFilter(QueryStatsProperties properties, MeterRegistry meterRegistry) {
+        this.properties = properties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        QueryStats stats = new QueryStats();
+
+        if (properties.exposeHeaders()) {
+            exchange.getResponse().beforeCommit(() -> {
+                HttpHeaders headers = exchange.getResponse().getHeaders();
+                headers.set(STATEMENTS_HEADER, String.valueOf(stats.statements()));
+                headers.set(TIME_HEADER, String.valueOf(TimeUnit.NANOSECONDS.toMillis(stats.elapsedNanos())));
+                return Mono.empty();
+            });
+        }
+
+        return chain.filter(exchange)
+                .contextWrite(ctx -> ctx.put(QueryStats.class, stats))
+                .doFinally(signal -> record(exchange, stats));
+    }
+
+    private void record(ServerWebExchange exchange, QueryStats stats) {
+        if (stats.statements() == 0) {
+            return;
+        }
+
+        String method = exchange.getRequest().getMethod().name();
+        String route = route(exchange);
+
+        DistributionSummary.builder("http.server.requests.db.statements")
+                .description("Statements issued per request")
+                .tags("method", method, "uri", route)
+                .register(meterRegistry)
+                .record(stats.statements());
+        Timer.builder("http.server.requests.db.time")
+                .description("Time per request spent executing statements")
+                .tags("method", method, "uri", route)
+                .register(meterRegistry)
+                .record(stats.elapsedNanos(), TimeUnit.NANOSECONDS);
+
+        stats.mostRepeated()
+                .filter(entry -> entry.getValue() >= properties.repeatedStatementThreshold())
+                .ifPresent(entry -> log.warn("{} {} ran the same statement {} times ({} statements in total), likely N+1: {}",
+                        method, route, entry.getValue(), stats.statements(), abbreviate(entry.getKey())));
+    }
+
+    private static String route(ServerWebExchange exchange) {
+        Object pattern = exchange.getAttribute(HandlerMapping.BEST_MATCHING_PATTERN_ATTRIBUTE);
+        return pattern instanceof PathPattern pathPattern ? pathPattern.getPatternString() : UNKNOWN_ROUTE;
+    }
+
+    private static String abbreviate(String sql) {
+        String flat = sql.replaceAll("\\s+", " ").trim();
+        return flat.length() <= MAX_LOGGED_SQL_LENGTH ? flat : flat.substring(0, MAX_LOGGED_SQL_LENGTH) + "...";
+    }
+}
@@ -0,0 +1,25 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.filter;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.RequestRoutingState;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+@Component
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadYourWritesWebFilter implements WebFilter {
+
+    public static final String READ_YOUR_WRITES_HEADER = "X-Read-Your-Writes";
+
+    @Override
+    public Mono<Void> filter(ServerWebExchange exchange, WebFilterChain chain) {
+        boolean pinned = Boolean.parseBoolean(exchange.getRequest().getHeaders().getFirst(READ_YOUR_WRITES_HEADER));
+        RequestRoutingState state = new RequestRoutingState(pinned);
+
+        return chain.filter(exchange)
+                .contextWrite(ctx -> ctx.put(RequestRoutingState.class, state));
+    }
+}
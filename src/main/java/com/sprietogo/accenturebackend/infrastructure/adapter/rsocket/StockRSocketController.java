@@ -0,0 +1,75 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rsocket;
+
+import com.sprietogo.accenturebackend.application.port.service.BranchProductServicePort;
+import com.sprietogo.accenturebackend.domain.exception.ApiException;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.StockUpdateRequestDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchProductResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.StockUpdateItemResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.config.StockChannelProperties;
+import lombok.AllArgsConstructor;
+import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.MessageMapping;
+import org.springframework.stereotype.Controller;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * RSocket routes for scanners that keep a connection open instead of sending one HTTP request per change.
+ * <p>
+ * {@code stock.updates} is a request-channel: each update is applied through the same service call as
+ * PATCH /stock and answered in input order. At most {@code max-in-flight-updates} updates are pending, so
+ * the request-n sent back to the client follows the database; concurrent updates reach the stock write
+ * batcher together and share its statements. Updates to the same row are applied one after another.
+ * <p>
+ * {@code branch.{branchId}.inventory} is a request-stream of the branch rows, read as the client requests them.
+ */
+@Controller
+@AllArgsConstructor
+public class StockRSocketController {
+
+    static final String UPDATED = "UPDATED";
+
+    private final BranchProductServicePort branchProductServicePort;
+    private final StockChannelProperties properties;
+
+    @MessageMapping("stock.updates")
+    public Flux<StockUpdateItemResponseDTO> updates(Flux<StockUpdateRequestDTO> updates) {
+        int maxInFlight = properties.maxInFlightUpdates();
+        return Flux.defer(() -> {
+            Map<RowKey, Mono<StockUpdateItemResponseDTO>> lastByRow = new ConcurrentHashMap<>();
+            return updates
+                    .index()
+                    .flatMapSequential(indexed -> inRowOrder(lastByRow, indexed.getT1(), indexed.getT2()), maxInFlight, maxInFlight);
+        });
+    }
+
+    @MessageMapping("branch.{branchId}.inventory")
+    public Flux<BranchProductResponseDTO> inventory(@DestinationVariable("branchId") Long branchId) {
+        return branchProductServicePort.getAllByBranchId(branchId);
+    }
+
+    private Mono<StockUpdateItemResponseDTO> inRowOrder(Map<RowKey, Mono<StockUpdateItemResponseDTO>> lastByRow,
+                                                        long index, StockUpdateRequestDTO update) {
+        RowKey key = new RowKey(update.getBranchId(), update.getProductId());
+        Mono<StockUpdateItemResponseDTO> write = apply(index, update);
+        // The map holds the chain, not the bare write: a later update must wait for every earlier one.
+        Mono<StockUpdateItemResponseDTO> chained = lastByRow.compute(key,
+                (row, previous) -> (previous == null ? write : previous.then(write)).cache());
+
+        return chained.doFinally(signal -> lastByRow.remove(key, chained));
+    }
+
+    private Mono<StockUpdateItemResponseDTO> apply(long index, StockUpdateRequestDTO update) {
+        return Mono.defer(() -> branchProductServicePort.updateBranchProductStock(
+                        update.getBranchId(), update.getProductId(), update.getStock(), update.getVersion()))
+                .map(updated -> new StockUpdateItemResponseDTO(index, update.getBranchId(), update.getProductId(),
+                        updated.getStock(), updated.getVersion(), UPDATED, null))
+                .onErrorResume(ApiException.class, ex -> Mono.just(new StockUpdateItemResponseDTO(index,
+                        update.getBranchId(), update.getProductId(), update.getStock(), null, ex.getCode(), ex.getMessage())));
+    }
+
+    private record RowKey(Long branchId, Long productId) {}
+}
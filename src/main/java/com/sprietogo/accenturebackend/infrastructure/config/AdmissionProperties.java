@@ -0,0 +1,25 @@
+package com.sprietogo.accenturebackend.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+
+@ConfigurationProperties("app.admission")
+public record AdmissionProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("50") double ratePerSecond,
+        @DefaultValue("100") int burst,
+        @DefaultValue("20") int initialLimit,
+        @DefaultValue("4") int minLimit,
+        @DefaultValue("200") int maxLimit,
+        @DefaultValue("0.5") double perKeyShare,
+        @DefaultValue("250ms") Duration latencyTarget,
+        @DefaultValue("10000") int maxTrackedKeys,
+        @DefaultValue("/api/v1/stock-alerts/stream") List<String> exemptPaths,
+        @DefaultValue({"/api/v1/exports/", "/api/v1/franchises/batch", "/api/v1/branches/batch", "/api/v1/products/batch",
+                "/api/v1/branch-products/inventory", "/api/v1/branch-products/stock/transfers"})
+        List<String> bulkPaths,
+        @DefaultValue("2") int bulkPerKeyLimit
+) {}
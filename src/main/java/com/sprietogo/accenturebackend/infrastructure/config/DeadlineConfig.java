@@ -0,0 +1,32 @@
+package com.sprietogo.accenturebackend.infrastructure.config;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.deadline.DeadlineConnectionFactory;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.deadline", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class DeadlineConfig {
+
+    private static final String CONNECTION_FACTORY_BEAN = "connectionFactory";
+
+    @Bean
+    static BeanPostProcessor deadlineConnectionFactoryPostProcessor(ObjectProvider<DeadlineProperties> properties,
+                                                                    ObjectProvider<MeterRegistry> meterRegistry) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ConnectionFactory connectionFactory && CONNECTION_FACTORY_BEAN.equals(beanName)) {
+                    return new DeadlineConnectionFactory(connectionFactory,
+                            properties.getObject().statementTimeoutGranularity(), meterRegistry.getObject());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,25 @@
+package com.sprietogo.accenturebackend.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Per-request time budget. {@code routes} maps path prefixes to their own default (the longest match wins);
+ * a client may ask for less, or up to {@code max-timeout}, through {@code header} in milliseconds.
+ */
+@ConfigurationProperties("app.deadline")
+public record DeadlineProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("X-Request-Timeout") String header,
+        @DefaultValue("10s") Duration defaultTimeout,
+        @DefaultValue("30s") Duration maxTimeout,
+        @DefaultValue Map<String, Duration> routes,
+        @DefaultValue({"/api/v1/stock-alerts/stream", "/api/v1/exports/", "/api/v1/franchises/batch", "/api/v1/branches/batch",
+                "/api/v1/products/batch", "/api/v1/branch-products/inventory", "/api/v1/branch-products/stock/transfers"})
+        List<String> exemptPaths,
+        @DefaultValue("1s") Duration statementTimeoutGranularity
+) {}
@@ -0,0 +1,15 @@
+package com.sprietogo.accenturebackend.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("app.analytics.inventory-matrix")
+public record InventoryMatrixProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("1024") int refreshBatchSize,
+        @DefaultValue("100ms") Duration refreshWindow,
+        @DefaultValue("30s") Duration maxBackoff,
+        @DefaultValue("64") int parallelScanMinBranches
+) {}
@@ -0,0 +1,9 @@
+package com.sprietogo.accenturebackend.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("app.inventory-reconciliation")
+public record InventoryReconciliationProperties(
+        @DefaultValue("20000") int maxItems
+) {}
@@ -0,0 +1,18 @@
+package com.sprietogo.accenturebackend.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("app.outbox")
+public record OutboxProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("redis-stream") String sink,
+        @DefaultValue("500ms") Duration pollInterval,
+        @DefaultValue("30s") Duration maxBackoff,
+        @DefaultValue("200") int batchSize,
+        @DefaultValue("true") boolean deletePublished,
+        @DefaultValue("stock-events") String streamKey,
+        @DefaultValue("100000") long streamMaxLength
+) {}
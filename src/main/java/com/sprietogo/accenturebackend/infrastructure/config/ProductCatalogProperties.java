@@ -0,0 +1,15 @@
+package com.sprietogo.accenturebackend.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("app.cache.product-catalog")
+public record ProductCatalogProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("30s") Duration maxStaleness,
+        @DefaultValue("256") int refreshBatchSize,
+        @DefaultValue("50ms") Duration refreshWindow,
+        @DefaultValue("30s") Duration maxBackoff
+) {}
@@ -0,0 +1,34 @@
+package com.sprietogo.accenturebackend.infrastructure.config;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.instrumentation.InstrumentedConnectionFactory;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.instrumentation.QueryExecutionListener;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConditionalOnProperty(prefix = "app.query-stats", name = "enabled", havingValue = "true", matchIfMissing = true)
+public class QueryInstrumentationConfig {
+
+    private static final String CONNECTION_FACTORY_BEAN = "connectionFactory";
+
+    /**
+     * Wraps only the application-facing factory (the pool, or the replica router when it is enabled), so
+     * each statement is seen once whichever pool ends up serving it.
+     */
+    @Bean
+    static BeanPostProcessor instrumentedConnectionFactoryPostProcessor(ObjectProvider<QueryExecutionListener> listeners) {
+        return new BeanPostProcessor() {
+            @Override
+            public Object postProcessAfterInitialization(Object bean, String beanName) {
+                if (bean instanceof ConnectionFactory connectionFactory && CONNECTION_FACTORY_BEAN.equals(beanName)) {
+                    return new InstrumentedConnectionFactory(connectionFactory, listeners.orderedStream().toList());
+                }
+                return bean;
+            }
+        };
+    }
+}
@@ -0,0 +1,11 @@
+package com.sprietogo.accenturebackend.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+@ConfigurationProperties("app.query-stats")
+public record QueryStatsProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("false") boolean exposeHeaders,
+        @DefaultValue("10") int repeatedStatementThreshold
+) {}
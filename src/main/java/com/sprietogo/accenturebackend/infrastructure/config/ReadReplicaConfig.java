@@ -0,0 +1,64 @@
+package com.sprietogo.accenturebackend.infrastructure.config;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.ReadReplicaRoutingConnectionFactory;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.ReplicaLagMonitor;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.ConnectionFactory;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.r2dbc.ConnectionFactoryBuilder;
+import org.springframework.boot.r2dbc.autoconfigure.R2dbcProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Primary;
+
+@Configuration
+@EnableConfigurationProperties(R2dbcProperties.class)
+@ConditionalOnProperty(prefix = "app.datasource.replica", name = "enabled", havingValue = "true")
+public class ReadReplicaConfig {
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool primaryConnectionFactory(R2dbcProperties properties) {
+        return pool(properties.getUrl(), properties.getUsername(), properties.getPassword(), properties.getPool());
+    }
+
+    @Bean(destroyMethod = "dispose")
+    public ConnectionPool replicaConnectionFactory(ReplicaDataSourceProperties replica, R2dbcProperties properties) {
+        return pool(replica.url(), replica.username(), replica.password(), properties.getPool());
+    }
+
+    @Bean(initMethod = "start", destroyMethod = "stop")
+    public ReplicaLagMonitor replicaLagMonitor(@Qualifier("replicaConnectionFactory") ConnectionFactory replica,
+                                               ReplicaDataSourceProperties properties) {
+        return new ReplicaLagMonitor(replica, properties.maxLag(), properties.lagCheckInterval());
+    }
+
+    @Bean
+    @Primary
+    public ConnectionFactory connectionFactory(@Qualifier("primaryConnectionFactory") ConnectionFactory primary,
+                                               @Qualifier("replicaConnectionFactory") ConnectionFactory replica,
+                                               ReplicaLagMonitor replicaLagMonitor) {
+        return new ReadReplicaRoutingConnectionFactory(primary, replica, replicaLagMonitor);
+    }
+
+    private static ConnectionPool pool(String url, String username, String password, R2dbcProperties.Pool pool) {
+        ConnectionFactory connectionFactory = ConnectionFactoryBuilder.withUrl(url)
+                .username(username)
+                .password(password)
+                .build();
+
+        ConnectionPoolConfiguration.Builder builder = ConnectionPoolConfiguration.builder(connectionFactory)
+                .initialSize(pool.getInitialSize())
+                .maxSize(pool.getMaxSize())
+                .maxIdleTime(pool.getMaxIdleTime())
+                .maxLifeTime(pool.getMaxLifeTime())
+                .maxAcquireTime(pool.getMaxAcquireTime())
+                .maxCreateConnectionTime(pool.getMaxCreateConnectionTime());
+        if (pool.getValidationQuery() != null) {
+            builder.validationQuery(pool.getValidationQuery());
+        }
+        return new ConnectionPool(builder.build());
+    }
+}
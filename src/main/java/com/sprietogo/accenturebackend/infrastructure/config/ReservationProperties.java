@@ -0,0 +1,19 @@
+package com.sprietogo.accenturebackend.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("app.reservations")
+public record ReservationProperties(
+        @DefaultValue("true") boolean reconcileEnabled,
+        @DefaultValue("stock:rsv:") String keyPrefix,
+        @DefaultValue("stock:rsv:journal") String journalKey,
+        @DefaultValue("10m") Duration defaultTtl,
+        @DefaultValue("1h") Duration maxTtl,
+        @DefaultValue("1s") Duration reconcileInterval,
+        @DefaultValue("30s") Duration maxBackoff,
+        @DefaultValue("500") int reconcileBatchSize,
+        @DefaultValue("250ms") Duration redisTimeout
+) {}
@@ -0,0 +1,13 @@
+package com.sprietogo.accenturebackend.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("app.stock-slots")
+public record StockSlotProperties(
+        @DefaultValue("true") boolean rebalanceEnabled,
+        @DefaultValue("2s") Duration rebalanceInterval,
+        @DefaultValue("100") int rebalanceBatchSize
+) {}
@@ -0,0 +1,14 @@
+package com.sprietogo.accenturebackend.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("app.stock-write-batch")
+public record StockWriteBatchProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("64") int maxBatchSize,
+        @DefaultValue("500us") Duration maxWait,
+        @DefaultValue("4") int maxConcurrentBatches
+) {}
@@ -0,0 +1,14 @@
+package com.sprietogo.accenturebackend.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("app.sync")
+public record SyncProperties(
+        @DefaultValue("2s") Duration commitLag,
+        @DefaultValue("30d") Duration tombstoneRetention,
+        @DefaultValue("true") boolean purgeEnabled,
+        @DefaultValue("1h") Duration purgeInterval
+) {}
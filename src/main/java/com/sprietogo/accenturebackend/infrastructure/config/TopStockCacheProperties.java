@@ -0,0 +1,16 @@
+package com.sprietogo.accenturebackend.infrastructure.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.context.properties.bind.DefaultValue;
+
+import java.time.Duration;
+
+@ConfigurationProperties("app.cache.top-stock")
+public record TopStockCacheProperties(
+        @DefaultValue("true") boolean enabled,
+        @DefaultValue("true") boolean redisEnabled,
+        @DefaultValue("10m") Duration ttl,
+        @DefaultValue("30s") Duration localTtl,
+        @DefaultValue("5s") Duration lockTtl,
+        @DefaultValue("250ms") Duration redisTimeout
+) {}
@@ -0,0 +1,15 @@
+package com.sprietogo.accenturebackend.infrastructure.config;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.codec.SmileArrayEncoder;
+import org.springframework.boot.http.codec.CodecCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+public class WireFormatConfig {
+
+    @Bean
+    public CodecCustomizer smileArrayCodecCustomizer() {
+        return configurer -> configurer.defaultCodecs().jacksonSmileEncoder(new SmileArrayEncoder());
+    }
+}
@@ -23,5 +23,68 @@ public class Constants {
     public static final String BRANCH_MSG_REQUIRED ="Branch not found: ";
     public static final String PRODUCT_NOT_FOUND = "PRODUCT_NOT_FOUND";
     public static final String PRODUCT_NOT_FOUND_MSG = "Product not found: " ;
+    public static final String THRESHOLD_INVALID = "THRESHOLD_INVALID";
+    public static final String THRESHOLD_MSG_INVALID = "threshold must be >= 0";
+    public static final String RATE_LIMITED = "RATE_LIMITED";
+    public static final String RATE_LIMITED_MSG = "Too many requests for ";
+    public static final String OVERLOADED = "SERVICE_OVERLOADED";
+    public static final String OVERLOADED_MSG = "Service is overloaded, retry later";
+    public static final String DEADLINE_EXCEEDED = "DEADLINE_EXCEEDED";
+    public static final String DEADLINE_EXCEEDED_MSG = "Request did not complete within its deadline";
+    public static final String VERSION_MISMATCH = "BRANCH_PRODUCT_VERSION_MISMATCH";
+    public static final String VERSION_MISMATCH_MSG = "BranchProduct no longer matches the expected version: ";
+    public static final String CONCURRENT_UPDATE = "BRANCH_PRODUCT_CONCURRENT_UPDATE";
+    public static final String CONCURRENT_UPDATE_MSG = "BranchProduct was modified concurrently, reload and retry: ";
+    public static final String QUANTITY_INVALID = "QUANTITY_INVALID";
+    public static final String QUANTITY_MSG_INVALID = "quantity must be > 0";
+    public static final String INSUFFICIENT_STOCK = "INSUFFICIENT_STOCK";
+    public static final String INSUFFICIENT_STOCK_MSG = "Not enough stock for branchId=";
+    public static final String STOCK_SLOTS_INVALID = "STOCK_SLOTS_INVALID";
+    public static final int MAX_STOCK_SLOTS = 64;
+    public static final String STOCK_SLOTS_MSG_INVALID = "slots must be between 0 and " + MAX_STOCK_SLOTS;
+    public static final String STOCK_MANAGED_BY_RESERVATIONS = "STOCK_MANAGED_BY_RESERVATIONS";
+    public static final String STOCK_MANAGED_BY_RESERVATIONS_MSG = "Stock is managed by the reservation counter, disable it first for ";
+    public static final String RESERVATION_TTL_INVALID = "RESERVATION_TTL_INVALID";
+    public static final String RESERVATION_TTL_MSG_INVALID = "ttlSeconds must be > 0 and <= ";
+    public static final String RESERVATION_NOT_FOUND = "RESERVATION_NOT_FOUND";
+    public static final String RESERVATION_NOT_FOUND_MSG = "Reservation not found, expired or already settled: ";
+    public static final String RESERVATION_DUPLICATE = "RESERVATION_DUPLICATE";
+    public static final String RESERVATION_COUNTER_NOT_FOUND = "RESERVATION_COUNTER_NOT_FOUND";
+    public static final String RESERVATION_COUNTER_NOT_FOUND_MSG = "Reservation counter is not enabled for branchProductId=";
+    public static final String RESERVATION_COUNTER_SLOTTED = "RESERVATION_COUNTER_SLOTTED";
+    public static final String RESERVATION_COUNTER_SLOTTED_MSG = "Disable stock slots before enabling the reservation counter for branchProductId=";
+    public static final String RESERVATIONS_OUTSTANDING = "RESERVATIONS_OUTSTANDING";
+    public static final String RESERVATIONS_OUTSTANDING_MSG = "Reservations are still held for branchProductId=";
+    public static final String RESERVATION_STORE_UNAVAILABLE = "RESERVATION_STORE_UNAVAILABLE";
+    public static final String RESERVATION_STORE_UNAVAILABLE_MSG = "Reservation store is unavailable, retry later";
+    public static final int BATCH_CREATE_CHUNK_SIZE = 500;
+    public static final int MAX_NAME_LENGTH = 120;
+    public static final int MAX_TRANSFER_BATCH_SIZE = 100;
+    public static final String TRANSFER_INVALID = "TRANSFER_INVALID";
+    public static final String TRANSFER_MSG_REQUIRED = "At least one transfer is required";
+    public static final String TRANSFER_MSG_TOO_MANY = "At most " + MAX_TRANSFER_BATCH_SIZE + " transfers are allowed per request";
+    public static final String TRANSFER_MSG_SAME_BRANCH = "fromBranchId and toBranchId must differ";
+    public static final String TRANSFER_SLOTTED = "TRANSFER_SLOTTED";
+    public static final String TRANSFER_SLOTTED_MSG = "Disable stock slots before transferring stock for branchId=";
+    public static final String FRANCHISE_NOT_FOUND = "FRANCHISE_NOT_FOUND";
+    public static final String FRANCHISE_NOT_FOUND_MSG = "Franchise not found: ";
+    public static final int SYNC_DEFAULT_PAGE_SIZE = 500;
+    public static final int SYNC_MAX_PAGE_SIZE = 5000;
+    public static final String SYNC_LIMIT_INVALID = "LIMIT_INVALID";
+    public static final String SYNC_LIMIT_MSG_INVALID = "limit must be between 1 and " + SYNC_MAX_PAGE_SIZE;
+    public static final String SYNC_WATERMARK_INVALID = "WATERMARK_INVALID";
+    public static final String SYNC_WATERMARK_MSG_INVALID = "Malformed watermark: ";
+    public static final String SYNC_WATERMARK_EXPIRED = "WATERMARK_EXPIRED";
+    public static final String SYNC_WATERMARK_EXPIRED_MSG = "Watermark is older than the tombstone retention, run a full sync";
+    public static final String INVENTORY_EMPTY = "INVENTORY_EMPTY";
+    public static final String INVENTORY_EMPTY_MSG = "The inventory must list at least one product";
+    public static final String INVENTORY_TOO_LARGE = "INVENTORY_TOO_LARGE";
+    public static final String INVENTORY_TOO_LARGE_MSG = "The inventory may list at most this many products: ";
+    public static final String INVENTORY_DUPLICATE_PRODUCT = "INVENTORY_DUPLICATE_PRODUCT";
+    public static final String INVENTORY_DUPLICATE_PRODUCT_MSG = "Product listed more than once: ";
+    public static final String INVENTORY_MATRIX_UNAVAILABLE = "INVENTORY_MATRIX_UNAVAILABLE";
+    public static final String INVENTORY_MATRIX_UNAVAILABLE_MSG = "Inventory analytics are still loading, retry later";
+    public static final String APPLICATION_SMILE_VALUE = "application/x-jackson-smile";
+    public static final String APPLICATION_STREAM_SMILE_VALUE = "application/stream+x-jackson-smile";
 
 }
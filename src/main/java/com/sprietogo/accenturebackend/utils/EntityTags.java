@@ -0,0 +1,38 @@
+package com.sprietogo.accenturebackend.utils;
+
+import com.sprietogo.accenturebackend.domain.exception.ApiException;
+
+import static com.sprietogo.accenturebackend.utils.Constants.VERSION_MISMATCH;
+
+/**
+ * Strong ETags derived from the row version, e.g. {@code "3"}.
+ */
+public final class EntityTags {
+
+    private EntityTags() {}
+
+    public static String of(Long version) {
+        return "\"" + version + "\"";
+    }
+
+    /**
+     * Returns the version an If-Match header asks for, or null when the header is absent or {@code *}.
+     * Weak or malformed tags can never match a strong ETag, so they fail the precondition.
+     */
+    public static Long parseIfMatch(String header) {
+        if (header == null || header.isBlank() || header.trim().equals("*")) {
+            return null;
+        }
+
+        String tag = header.trim();
+        if (tag.length() < 3 || !tag.startsWith("\"") || !tag.endsWith("\"")) {
+            throw ApiException.preconditionFailed(VERSION_MISMATCH, "If-Match must be a single strong ETag: " + tag);
+        }
+
+        try {
+            return Long.parseLong(tag.substring(1, tag.length() - 1));
+        } catch (NumberFormatException ex) {
+            throw ApiException.preconditionFailed(VERSION_MISMATCH, "If-Match must be a single strong ETag: " + tag);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package com.sprietogo.accenturebackend.utils;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Incremental gzip encoder: each {@link #write} sync-flushes and returns only the bytes produced
+ * since the previous call, so a response can be streamed as independent chunks of one gzip member.
+ */
+public final class GzipChunkWriter implements AutoCloseable {
+
+    private static final int BUFFER_SIZE = 8 * 1024;
+
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream(BUFFER_SIZE);
+    private final GZIPOutputStream gzip;
+
+    public GzipChunkWriter() {
+        try {
+            this.gzip = new GZIPOutputStream(out, BUFFER_SIZE, true);
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public byte[] write(List<byte[]> lines) {
+        try {
+            for (byte[] line : lines) {
+                gzip.write(line);
+            }
+            gzip.flush();
+            return drain();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    public byte[] finish() {
+        try {
+            gzip.finish();
+            return drain();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void close() {
+        try {
+            gzip.close();
+        } catch (IOException ignored) {
+            // nothing left to release besides the in-memory buffer
+        }
+    }
+
+    private byte[] drain() {
+        byte[] chunk = out.toByteArray();
+        out.reset();
+        return chunk;
+    }
+}
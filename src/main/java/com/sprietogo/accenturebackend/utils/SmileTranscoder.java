@@ -0,0 +1,29 @@
+package com.sprietogo.accenturebackend.utils;
+
+import tools.jackson.core.JsonGenerator;
+import tools.jackson.core.JsonParser;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.io.ByteArrayOutputStream;
+
+/**
+ * Re-encodes an already serialized JSON document as Smile by copying tokens, without binding it to objects.
+ */
+public final class SmileTranscoder {
+
+    private static final JsonMapper JSON = JsonMapper.builder().build();
+    private static final SmileMapper SMILE = SmileMapper.builder().build();
+
+    private SmileTranscoder() {}
+
+    public static byte[] fromJson(byte[] json) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream(json.length);
+        try (JsonParser parser = JSON.createParser(json);
+             JsonGenerator generator = SMILE.createGenerator(out)) {
+            parser.nextToken();
+            generator.copyCurrentStructure(parser);
+        }
+        return out.toByteArray();
+    }
+}
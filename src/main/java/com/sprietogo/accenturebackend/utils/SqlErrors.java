@@ -0,0 +1,30 @@
+package com.sprietogo.accenturebackend.utils;
+
+import io.r2dbc.spi.R2dbcException;
+import org.springframework.dao.DataIntegrityViolationException;
+
+/**
+ * Tells apart the integrity errors raised by our own triggers from ordinary constraint violations, by the
+ * SQLSTATE Postgres reported. Spring translates every class 23 state into a
+ * {@link DataIntegrityViolationException}; the driver exception carrying the state is in its cause chain.
+ */
+public final class SqlErrors {
+
+    // Raised by guard_reservation_counter_stock() in db/init.sql; class 23, so still an integrity violation.
+    public static final String STOCK_MANAGED_BY_RESERVATIONS_STATE = "23R01";
+
+    private SqlErrors() {}
+
+    public static boolean isStockManagedByReservations(Throwable ex) {
+        return ex instanceof DataIntegrityViolationException && STOCK_MANAGED_BY_RESERVATIONS_STATE.equals(sqlState(ex));
+    }
+
+    public static String sqlState(Throwable ex) {
+        for (Throwable cause = ex; cause != null; cause = cause.getCause()) {
+            if (cause instanceof R2dbcException r2dbc && r2dbc.getSqlState() != null) {
+                return r2dbc.getSqlState();
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,62 @@
+package com.sprietogo.accenturebackend.utils;
+
+import com.sprietogo.accenturebackend.domain.exception.ApiException;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+import static com.sprietogo.accenturebackend.utils.Constants.SYNC_WATERMARK_INVALID;
+import static com.sprietogo.accenturebackend.utils.Constants.SYNC_WATERMARK_MSG_INVALID;
+
+/**
+ * Position in a delta-sync feed ordered by (changedAt, kind, id), sent to clients as an opaque token such as
+ * {@code 1760860800123456.0.42}. Timestamps keep the database's microsecond precision so the position
+ * round-trips exactly.
+ */
+public record SyncWatermark(OffsetDateTime changedAt, int kind, long id) implements Comparable<SyncWatermark> {
+
+    public static final int UPSERT = 0;
+    public static final int TOMBSTONE = 1;
+    private static final int END = 2;
+
+    public static final SyncWatermark INITIAL = new SyncWatermark(Instant.EPOCH.atOffset(ZoneOffset.UTC), -1, 0);
+
+    /**
+     * Past every change at {@code changedAt}, whatever its kind or id.
+     */
+    public static SyncWatermark after(OffsetDateTime changedAt) {
+        return new SyncWatermark(changedAt, END, 0);
+    }
+
+    public static SyncWatermark parse(String token) {
+        String[] parts = token.split("\\.");
+        if (parts.length != 3) {
+            throw ApiException.badRequest(SYNC_WATERMARK_INVALID, SYNC_WATERMARK_MSG_INVALID + token);
+        }
+        try {
+            OffsetDateTime changedAt = Instant.EPOCH.plus(Long.parseLong(parts[0]), ChronoUnit.MICROS).atOffset(ZoneOffset.UTC);
+            int kind = Integer.parseInt(parts[1]);
+            if (kind < UPSERT || kind > END) {
+                throw ApiException.badRequest(SYNC_WATERMARK_INVALID, SYNC_WATERMARK_MSG_INVALID + token);
+            }
+            return new SyncWatermark(changedAt, kind, Long.parseLong(parts[2]));
+        } catch (NumberFormatException | ArithmeticException ex) {
+            throw ApiException.badRequest(SYNC_WATERMARK_INVALID, SYNC_WATERMARK_MSG_INVALID + token);
+        }
+    }
+
+    public String token() {
+        return ChronoUnit.MICROS.between(Instant.EPOCH, changedAt.toInstant()) + "." + kind + "." + id;
+    }
+
+    @Override
+    public int compareTo(SyncWatermark other) {
+        int byTime = changedAt.toInstant().compareTo(other.changedAt.toInstant());
+        if (byTime != 0) {
+            return byTime;
+        }
+        return kind != other.kind ? Integer.compare(kind, other.kind) : Long.compare(id, other.id);
+    }
+}
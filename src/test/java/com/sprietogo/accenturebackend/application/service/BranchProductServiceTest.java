@@ -2,13 +2,22 @@ package com.sprietogo.accenturebackend.application.service;
 
 import com.sprietogo.accenturebackend.application.port.repository.BranchProductRepositoryPort;
 import com.sprietogo.accenturebackend.application.port.repository.BranchRepositoryPort;
-import com.sprietogo.accenturebackend.application.port.repository.ProductRepositoryPort;
+import com.sprietogo.accenturebackend.application.port.repository.ProductCatalogPort;
+import com.sprietogo.accenturebackend.application.port.repository.TopStockReportCachePort;
+import com.sprietogo.accenturebackend.application.port.service.StockAlertServicePort;
 import com.sprietogo.accenturebackend.domain.exception.ApiException;
 import com.sprietogo.accenturebackend.domain.model.BranchEntity;
 import com.sprietogo.accenturebackend.domain.model.BranchProductEntity;
 import com.sprietogo.accenturebackend.domain.model.ProductEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.BranchProductViewQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.BranchProductViewQueryRepository.BranchProductViewRow;
 import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.ReportingQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.StockTransferQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.StockTransferQueryRepository.TransferRow;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.BranchProductRequestDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.StockTransferRequestDTO;
+import com.sprietogo.accenturebackend.utils.SqlErrors;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.ArgumentCaptor;
@@ -16,11 +25,14 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.OptimisticLockingFailureException;
 import org.springframework.http.HttpStatus;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
+import java.util.List;
+
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
 import static org.mockito.Mockito.*;
@@ -30,8 +42,12 @@ class BranchProductServiceTest {
 
     @Mock private BranchProductRepositoryPort branchProductRepositoryPort;
     @Mock private BranchRepositoryPort branchRepositoryPort;
-    @Mock private ProductRepositoryPort productRepositoryPort;
+    @Mock private ProductCatalogPort productCatalogPort;
     @Mock private ReportingQueryRepository reportingQueryRepository;
+    @Mock private BranchProductViewQueryRepository branchProductViewQueryRepository;
+    @Mock private StockAlertServicePort stockAlertServicePort;
+    @Mock private TopStockReportCachePort topStockReportCachePort;
+    @Mock private StockTransferQueryRepository stockTransferQueryRepository;
 
     @InjectMocks
     private BranchProductService branchProductService;
@@ -48,6 +64,7 @@ class BranchProductServiceTest {
         BranchEntity b = new BranchEntity();
         b.setId(id);
         b.setName(name);
+        b.setFranchiseId(100L);
         return b;
     }
 
@@ -67,6 +84,10 @@ class BranchProductServiceTest {
         return e;
     }
 
+    private BranchProductViewRow view(Long id, Long branchId, String branchName, Long productId, String productName, Integer stock) {
+        return new BranchProductViewRow(id, branchId, branchName, productId, productName, stock, 0L);
+    }
+
     // -------------------------
     // getBranchProductById
     // -------------------------
@@ -81,12 +102,12 @@ class BranchProductServiceTest {
                 })
                 .verify();
 
-        verifyNoInteractions(branchProductRepositoryPort, branchRepositoryPort, productRepositoryPort, reportingQueryRepository);
+        verifyNoInteractions(branchProductViewQueryRepository, branchRepositoryPort, productCatalogPort, reportingQueryRepository);
     }
 
     @Test
     void getBranchProductById_whenNotFound_shouldReturn404() {
-        when(branchProductRepositoryPort.getBranchProductById(10L)).thenReturn(Mono.empty());
+        when(branchProductViewQueryRepository.findById(10L)).thenReturn(Mono.empty());
 
         StepVerifier.create(branchProductService.getBranchProductById(10L))
                 .expectErrorSatisfies(err -> {
@@ -96,16 +117,12 @@ class BranchProductServiceTest {
                 })
                 .verify();
 
-        verify(branchProductRepositoryPort).getBranchProductById(10L);
+        verify(branchProductViewQueryRepository).findById(10L);
     }
 
     @Test
     void getBranchProductById_whenOk_shouldReturnEnrichedResponse() {
-        BranchProductEntity bp = bp(1L, 100L, 200L, 50);
-
-        when(branchProductRepositoryPort.getBranchProductById(1L)).thenReturn(Mono.just(bp));
-        when(branchRepositoryPort.getBranchById(100L)).thenReturn(Mono.just(branch(100L, "B1")));
-        when(productRepositoryPort.getProductById(200L)).thenReturn(Mono.just(product(200L, "P1")));
+        when(branchProductViewQueryRepository.findById(1L)).thenReturn(Mono.just(view(1L, 100L, "B1", 200L, "P1", 50)));
 
         StepVerifier.create(branchProductService.getBranchProductById(1L))
                 .assertNext(dto -> {
@@ -119,6 +136,8 @@ class BranchProductServiceTest {
                     assertEquals("P1", dto.getProduct().getName());
                 })
                 .verifyComplete();
+
+        verifyNoInteractions(branchProductRepositoryPort, branchRepositoryPort, productCatalogPort);
     }
 
     // -------------------------
@@ -135,7 +154,7 @@ class BranchProductServiceTest {
                 })
                 .verify();
 
-        verifyNoInteractions(branchProductRepositoryPort, branchRepositoryPort, productRepositoryPort);
+        verifyNoInteractions(branchProductRepositoryPort, branchRepositoryPort, productCatalogPort);
     }
 
     @Test
@@ -174,7 +193,7 @@ class BranchProductServiceTest {
     @Test
     void createBranchProduct_whenProductNotFound_shouldReturn404() {
         when(branchRepositoryPort.getBranchById(1L)).thenReturn(Mono.just(branch(1L, "B1")));
-        when(productRepositoryPort.getProductById(2L)).thenReturn(Mono.empty());
+        when(productCatalogPort.getProductById(2L)).thenReturn(Mono.empty());
 
         StepVerifier.create(branchProductService.createBranchProduct(req(1L, 2L, 10)))
                 .expectErrorSatisfies(err -> {
@@ -184,13 +203,13 @@ class BranchProductServiceTest {
                 })
                 .verify();
 
-        verify(productRepositoryPort).getProductById(2L);
+        verify(productCatalogPort).getProductById(2L);
     }
 
     @Test
     void createBranchProduct_whenAlreadyExists_shouldReturn409() {
         when(branchRepositoryPort.getBranchById(1L)).thenReturn(Mono.just(branch(1L, "B1")));
-        when(productRepositoryPort.getProductById(2L)).thenReturn(Mono.just(product(2L, "P1")));
+        when(productCatalogPort.getProductById(2L)).thenReturn(Mono.just(product(2L, "P1")));
         when(branchProductRepositoryPort.existsByBranchIdAndProductId(1L, 2L)).thenReturn(Mono.just(true));
 
         StepVerifier.create(branchProductService.createBranchProduct(req(1L, 2L, 10)))
@@ -210,11 +229,13 @@ class BranchProductServiceTest {
         ProductEntity p = product(2L, "P1");
 
         when(branchRepositoryPort.getBranchById(1L)).thenReturn(Mono.just(b));
-        when(productRepositoryPort.getProductById(2L)).thenReturn(Mono.just(p));
+        when(productCatalogPort.getProductById(2L)).thenReturn(Mono.just(p));
         when(branchProductRepositoryPort.existsByBranchIdAndProductId(1L, 2L)).thenReturn(Mono.just(false));
 
         BranchProductEntity saved = bp(10L, 1L, 2L, 99);
         when(branchProductRepositoryPort.saveBranchProduct(any())).thenReturn(Mono.just(saved));
+        when(stockAlertServicePort.evaluate(saved)).thenReturn(Mono.empty());
+        when(topStockReportCachePort.evictFranchise(100L)).thenReturn(Mono.empty());
 
         StepVerifier.create(branchProductService.createBranchProduct(req(1L, 2L, 99)))
                 .assertNext(dto -> {
@@ -233,12 +254,14 @@ class BranchProductServiceTest {
         assertEquals(1L, captor.getValue().getBranchId());
         assertEquals(2L, captor.getValue().getProductId());
         assertEquals(99, captor.getValue().getStock());
+        verify(stockAlertServicePort).evaluate(saved);
+        verify(topStockReportCachePort).evictFranchise(100L);
     }
 
     @Test
     void createBranchProduct_whenDbUniqueViolation_shouldReturn409() {
         when(branchRepositoryPort.getBranchById(1L)).thenReturn(Mono.just(branch(1L, "B1")));
-        when(productRepositoryPort.getProductById(2L)).thenReturn(Mono.just(product(2L, "P1")));
+        when(productCatalogPort.getProductById(2L)).thenReturn(Mono.just(product(2L, "P1")));
         when(branchProductRepositoryPort.existsByBranchIdAndProductId(1L, 2L)).thenReturn(Mono.just(false));
 
         when(branchProductRepositoryPort.saveBranchProduct(any()))
@@ -259,7 +282,7 @@ class BranchProductServiceTest {
 
     @Test
     void updateBranchProduct_whenBodyNull_shouldReturn400() {
-        StepVerifier.create(branchProductService.updateBranchProduct(null, 10L))
+        StepVerifier.create(branchProductService.updateBranchProduct(null, 10L, null))
                 .expectErrorSatisfies(err -> {
                     ApiException ex = (ApiException) err;
                     assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
@@ -270,7 +293,7 @@ class BranchProductServiceTest {
 
     @Test
     void updateBranchProduct_whenIdInvalid_shouldReturn400() {
-        StepVerifier.create(branchProductService.updateBranchProduct(req(1L, 2L, 10), 0L))
+        StepVerifier.create(branchProductService.updateBranchProduct(req(1L, 2L, 10), 0L, null))
                 .expectErrorSatisfies(err -> {
                     ApiException ex = (ApiException) err;
                     assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
@@ -283,7 +306,7 @@ class BranchProductServiceTest {
     void updateBranchProduct_whenNotFound_shouldReturn404() {
         when(branchProductRepositoryPort.getBranchProductById(10L)).thenReturn(Mono.empty());
 
-        StepVerifier.create(branchProductService.updateBranchProduct(req(1L, 2L, 10), 10L))
+        StepVerifier.create(branchProductService.updateBranchProduct(req(1L, 2L, 10), 10L, null))
                 .expectErrorSatisfies(err -> {
                     ApiException ex = (ApiException) err;
                     assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
@@ -297,7 +320,7 @@ class BranchProductServiceTest {
         BranchProductEntity existing = bp(10L, 1L, 2L, 10);
         when(branchProductRepositoryPort.getBranchProductById(10L)).thenReturn(Mono.just(existing));
 
-        StepVerifier.create(branchProductService.updateBranchProduct(req(9L, 2L, 10), 10L))
+        StepVerifier.create(branchProductService.updateBranchProduct(req(9L, 2L, 10), 10L, null))
                 .expectErrorSatisfies(err -> {
                     ApiException ex = (ApiException) err;
                     assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
@@ -314,11 +337,13 @@ class BranchProductServiceTest {
 
         when(branchProductRepositoryPort.getBranchProductById(10L)).thenReturn(Mono.just(existing));
         when(branchProductRepositoryPort.updateBranchProduct(any())).thenAnswer(inv -> Mono.just(inv.getArgument(0)));
+        when(stockAlertServicePort.evaluate(existing)).thenReturn(Mono.empty());
+        when(topStockReportCachePort.evictFranchise(100L)).thenReturn(Mono.empty());
 
         when(branchRepositoryPort.getBranchById(1L)).thenReturn(Mono.just(branch(1L, "B1")));
-        when(productRepositoryPort.getProductById(2L)).thenReturn(Mono.just(product(2L, "P1")));
+        when(productCatalogPort.getProductById(2L)).thenReturn(Mono.just(product(2L, "P1")));
 
-        StepVerifier.create(branchProductService.updateBranchProduct(req(1L, 2L, 99), 10L))
+        StepVerifier.create(branchProductService.updateBranchProduct(req(1L, 2L, 99), 10L, null))
                 .assertNext(dto -> {
                     assertEquals(10L, dto.getId());
                     assertEquals(99, dto.getStock());
@@ -332,6 +357,42 @@ class BranchProductServiceTest {
         assertEquals(99, captor.getValue().getStock());
     }
 
+    @Test
+    void updateBranchProduct_whenIfMatchStale_shouldReturn412WithoutWriting() {
+        BranchProductEntity existing = bp(10L, 1L, 2L, 10);
+        existing.setVersion(4L);
+        when(branchProductRepositoryPort.getBranchProductById(10L)).thenReturn(Mono.just(existing));
+
+        StepVerifier.create(branchProductService.updateBranchProduct(req(1L, 2L, 99), 10L, 3L))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.PRECONDITION_FAILED, ex.getStatus());
+                    assertEquals("BRANCH_PRODUCT_VERSION_MISMATCH", ex.getCode());
+                })
+                .verify();
+
+        verify(branchProductRepositoryPort, never()).updateBranchProduct(any());
+    }
+
+    @Test
+    void updateBranchProduct_whenConcurrentSaveWins_shouldReturn409() {
+        BranchProductEntity existing = bp(10L, 1L, 2L, 10);
+        existing.setVersion(4L);
+        when(branchProductRepositoryPort.getBranchProductById(10L)).thenReturn(Mono.just(existing));
+        when(branchProductRepositoryPort.updateBranchProduct(any()))
+                .thenReturn(Mono.error(new OptimisticLockingFailureException("stale")));
+
+        StepVerifier.create(branchProductService.updateBranchProduct(req(1L, 2L, 99), 10L, null))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+                    assertEquals("BRANCH_PRODUCT_CONCURRENT_UPDATE", ex.getCode());
+                })
+                .verify();
+
+        verifyNoInteractions(stockAlertServicePort, topStockReportCachePort);
+    }
+
     // -------------------------
     // existsByBranchIdAndProductId
     // -------------------------
@@ -379,11 +440,14 @@ class BranchProductServiceTest {
     void deleteByBranchIdAndProductId_whenOk_shouldDelete() {
         when(branchProductRepositoryPort.existsByBranchIdAndProductId(1L, 2L)).thenReturn(Mono.just(true));
         when(branchProductRepositoryPort.deleteByBranchIdAndProductId(1L, 2L)).thenReturn(Mono.empty());
+        when(branchRepositoryPort.getBranchById(1L)).thenReturn(Mono.just(branch(1L, "B1")));
+        when(topStockReportCachePort.evictFranchise(100L)).thenReturn(Mono.empty());
 
         StepVerifier.create(branchProductService.deleteByBranchIdAndProductId(1L, 2L))
                 .verifyComplete();
 
         verify(branchProductRepositoryPort).deleteByBranchIdAndProductId(1L, 2L);
+        verify(topStockReportCachePort).evictFranchise(100L);
     }
 
     // -------------------------
@@ -403,7 +467,7 @@ class BranchProductServiceTest {
 
     @Test
     void getAllByBranchId_whenBranchNotFound_shouldReturn404() {
-        when(branchRepositoryPort.getBranchById(1L)).thenReturn(Mono.empty());
+        when(branchProductViewQueryRepository.findAllByBranchId(1L)).thenReturn(Flux.empty());
 
         StepVerifier.create(branchProductService.getAllByBranchId(1L))
                 .expectErrorSatisfies(err -> {
@@ -416,17 +480,9 @@ class BranchProductServiceTest {
 
     @Test
     void getAllByBranchId_whenOk_shouldReturnList() {
-        BranchEntity b = branch(1L, "B1");
-
-        when(branchRepositoryPort.getBranchById(1L)).thenReturn(Mono.just(b));
-
-        BranchProductEntity bp1 = bp(10L, 1L, 2L, 5);
-        BranchProductEntity bp2 = bp(11L, 1L, 3L, 7);
-
-        when(branchProductRepositoryPort.getAllByBranchId(1L)).thenReturn(Flux.just(bp1, bp2));
-
-        when(productRepositoryPort.getProductById(2L)).thenReturn(Mono.just(product(2L, "P2")));
-        when(productRepositoryPort.getProductById(3L)).thenReturn(Mono.just(product(3L, "P3")));
+        when(branchProductViewQueryRepository.findAllByBranchId(1L)).thenReturn(Flux.just(
+                view(10L, 1L, "B1", 2L, "P2", 5),
+                view(11L, 1L, "B1", 3L, "P3", 7)));
 
         StepVerifier.create(branchProductService.getAllByBranchId(1L))
                 .assertNext(dto -> {
@@ -441,13 +497,22 @@ class BranchProductServiceTest {
                 .verifyComplete();
     }
 
+    @Test
+    void getAllByBranchId_whenBranchHasNoProducts_shouldReturnEmpty() {
+        when(branchProductViewQueryRepository.findAllByBranchId(1L))
+                .thenReturn(Flux.just(new BranchProductViewRow(null, 1L, "B1", null, null, null, null)));
+
+        StepVerifier.create(branchProductService.getAllByBranchId(1L))
+                .verifyComplete();
+    }
+
     // -------------------------
     // getByBranchIdAndProductId
     // -------------------------
 
     @Test
     void getByBranchIdAndProductId_whenNotFound_shouldReturn404() {
-        when(branchProductRepositoryPort.getByBranchIdAndProductId(1L, 2L)).thenReturn(Mono.empty());
+        when(branchProductViewQueryRepository.findByBranchIdAndProductId(1L, 2L)).thenReturn(Mono.empty());
 
         StepVerifier.create(branchProductService.getByBranchIdAndProductId(1L, 2L))
                 .expectErrorSatisfies(err -> {
@@ -460,11 +525,8 @@ class BranchProductServiceTest {
 
     @Test
     void getByBranchIdAndProductId_whenOk_shouldReturnEnriched() {
-        BranchProductEntity bp = bp(10L, 1L, 2L, 50);
-
-        when(branchProductRepositoryPort.getByBranchIdAndProductId(1L, 2L)).thenReturn(Mono.just(bp));
-        when(branchRepositoryPort.getBranchById(1L)).thenReturn(Mono.just(branch(1L, "B1")));
-        when(productRepositoryPort.getProductById(2L)).thenReturn(Mono.just(product(2L, "P1")));
+        when(branchProductViewQueryRepository.findByBranchIdAndProductId(1L, 2L))
+                .thenReturn(Mono.just(view(10L, 1L, "B1", 2L, "P1", 50)));
 
         StepVerifier.create(branchProductService.getByBranchIdAndProductId(1L, 2L))
                 .assertNext(dto -> {
@@ -484,7 +546,7 @@ class BranchProductServiceTest {
     void updateBranchProductStock_whenNotExists_shouldReturn404() {
         when(branchProductRepositoryPort.existsByBranchIdAndProductId(1L, 2L)).thenReturn(Mono.just(false));
 
-        StepVerifier.create(branchProductService.updateBranchProductStock(1L, 2L, 99))
+        StepVerifier.create(branchProductService.updateBranchProductStock(1L, 2L, 99, null))
                 .expectErrorSatisfies(err -> {
                     ApiException ex = (ApiException) err;
                     assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
@@ -501,11 +563,13 @@ class BranchProductServiceTest {
 
         BranchProductEntity updated = bp(10L, 1L, 2L, 99);
         when(branchProductRepositoryPort.updateBranchProductStock(1L, 2L, 99)).thenReturn(Mono.just(updated));
+        when(stockAlertServicePort.evaluate(updated)).thenReturn(Mono.empty());
+        when(topStockReportCachePort.evictFranchise(100L)).thenReturn(Mono.empty());
 
         when(branchRepositoryPort.getBranchById(1L)).thenReturn(Mono.just(branch(1L, "B1")));
-        when(productRepositoryPort.getProductById(2L)).thenReturn(Mono.just(product(2L, "P1")));
+        when(productCatalogPort.getProductById(2L)).thenReturn(Mono.just(product(2L, "P1")));
 
-        StepVerifier.create(branchProductService.updateBranchProductStock(1L, 2L, 99))
+        StepVerifier.create(branchProductService.updateBranchProductStock(1L, 2L, 99, null))
                 .assertNext(dto -> {
                     assertEquals(10L, dto.getId());
                     assertEquals(99, dto.getStock());
@@ -513,6 +577,214 @@ class BranchProductServiceTest {
                     assertEquals("P1", dto.getProduct().getName());
                 })
                 .verifyComplete();
+
+        verify(stockAlertServicePort).evaluate(updated);
+        verify(topStockReportCachePort).evictFranchise(100L);
+    }
+
+    @Test
+    void updateBranchProductStock_whenReservationGuardRejects_shouldReturn409() {
+        when(branchProductRepositoryPort.existsByBranchIdAndProductId(1L, 2L)).thenReturn(Mono.just(true));
+        when(branchProductRepositoryPort.updateBranchProductStock(1L, 2L, 99)).thenReturn(Mono.error(
+                integrityViolation(SqlErrors.STOCK_MANAGED_BY_RESERVATIONS_STATE)));
+
+        StepVerifier.create(branchProductService.updateBranchProductStock(1L, 2L, 99, null))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+                    assertEquals("STOCK_MANAGED_BY_RESERVATIONS", ex.getCode());
+                })
+                .verify();
+    }
+
+    @Test
+    void updateBranchProductStock_whenOtherIntegrityViolation_shouldNotBlameReservations() {
+        when(branchProductRepositoryPort.existsByBranchIdAndProductId(1L, 2L)).thenReturn(Mono.just(true));
+        when(branchProductRepositoryPort.updateBranchProductStock(1L, 2L, 99)).thenReturn(Mono.error(
+                integrityViolation("23514")));
+
+        StepVerifier.create(branchProductService.updateBranchProductStock(1L, 2L, 99, null))
+                .expectError(DataIntegrityViolationException.class)
+                .verify();
+    }
+
+    private static DataIntegrityViolationException integrityViolation(String sqlState) {
+        return new DataIntegrityViolationException("rejected", new R2dbcDataIntegrityViolationException("rejected", sqlState));
+    }
+
+    @Test
+    void updateBranchProductStock_whenIfMatchCurrent_shouldUseVersionedUpdate() {
+        when(branchProductRepositoryPort.existsByBranchIdAndProductId(1L, 2L)).thenReturn(Mono.just(true));
+
+        BranchProductEntity updated = bp(10L, 1L, 2L, 99);
+        updated.setVersion(5L);
+        when(branchProductRepositoryPort.updateBranchProductStockIfVersion(1L, 2L, 99, 4L)).thenReturn(Mono.just(updated));
+        when(stockAlertServicePort.evaluate(updated)).thenReturn(Mono.empty());
+        when(topStockReportCachePort.evictFranchise(100L)).thenReturn(Mono.empty());
+
+        when(branchRepositoryPort.getBranchById(1L)).thenReturn(Mono.just(branch(1L, "B1")));
+        when(productCatalogPort.getProductById(2L)).thenReturn(Mono.just(product(2L, "P1")));
+
+        StepVerifier.create(branchProductService.updateBranchProductStock(1L, 2L, 99, 4L))
+                .assertNext(dto -> assertEquals(5L, dto.getVersion()))
+                .verifyComplete();
+
+        verify(branchProductRepositoryPort, never()).updateBranchProductStock(anyLong(), anyLong(), anyInt());
+    }
+
+    @Test
+    void updateBranchProductStock_whenIfMatchStale_shouldReturn412() {
+        when(branchProductRepositoryPort.existsByBranchIdAndProductId(1L, 2L)).thenReturn(Mono.just(true));
+        when(branchProductRepositoryPort.updateBranchProductStockIfVersion(1L, 2L, 99, 3L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(branchProductService.updateBranchProductStock(1L, 2L, 99, 3L))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.PRECONDITION_FAILED, ex.getStatus());
+                    assertEquals("BRANCH_PRODUCT_VERSION_MISMATCH", ex.getCode());
+                })
+                .verify();
+
+        verifyNoInteractions(stockAlertServicePort, topStockReportCachePort);
+    }
+
+    // -------------------------
+    // decrementBranchProductStock / setBranchProductStockSlots
+    // -------------------------
+
+    @Test
+    void decrementBranchProductStock_whenQuantityInvalid_shouldReturn400() {
+        StepVerifier.create(branchProductService.decrementBranchProductStock(1L, 2L, 0))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+                    assertEquals("QUANTITY_INVALID", ex.getCode());
+                })
+                .verify();
+
+        verifyNoInteractions(branchProductRepositoryPort);
+    }
+
+    @Test
+    void decrementBranchProductStock_whenNotExists_shouldReturn404() {
+        when(branchProductRepositoryPort.takeBranchProductStock(1L, 2L, 3)).thenReturn(Mono.empty());
+
+        StepVerifier.create(branchProductService.decrementBranchProductStock(1L, 2L, 3))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
+                    assertEquals("BRANCH_PRODUCT_NOT_FOUND", ex.getCode());
+                })
+                .verify();
+    }
+
+    @Test
+    void decrementBranchProductStock_whenReservationCounterEnabled_shouldReturn409() {
+        when(branchProductRepositoryPort.takeBranchProductStock(1L, 2L, 3))
+                .thenReturn(Mono.error(integrityViolation(SqlErrors.STOCK_MANAGED_BY_RESERVATIONS_STATE)));
+
+        StepVerifier.create(branchProductService.decrementBranchProductStock(1L, 2L, 3))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+                    assertEquals("STOCK_MANAGED_BY_RESERVATIONS", ex.getCode());
+                })
+                .verify();
+
+        verifyNoInteractions(stockAlertServicePort, topStockReportCachePort);
+    }
+
+    @Test
+    void decrementBranchProductStock_whenNotEnoughStock_shouldReturn409() {
+        when(branchProductRepositoryPort.takeBranchProductStock(1L, 2L, 3)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(branchProductService.decrementBranchProductStock(1L, 2L, 3))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+                    assertEquals("INSUFFICIENT_STOCK", ex.getCode());
+                })
+                .verify();
+
+        verify(branchProductRepositoryPort, never()).getByBranchIdAndProductId(anyLong(), anyLong());
+        verifyNoInteractions(stockAlertServicePort, topStockReportCachePort);
+    }
+
+    @Test
+    void decrementBranchProductStock_whenTaken_shouldReturnLiveStock() {
+        BranchProductEntity live = bp(10L, 1L, 2L, 97);
+        when(branchProductRepositoryPort.takeBranchProductStock(1L, 2L, 3)).thenReturn(Mono.just(true));
+        when(branchProductRepositoryPort.getByBranchIdAndProductId(1L, 2L)).thenReturn(Mono.just(live));
+        when(stockAlertServicePort.evaluate(live)).thenReturn(Mono.empty());
+        when(topStockReportCachePort.evictFranchise(100L)).thenReturn(Mono.empty());
+
+        when(branchRepositoryPort.getBranchById(1L)).thenReturn(Mono.just(branch(1L, "B1")));
+        when(productCatalogPort.getProductById(2L)).thenReturn(Mono.just(product(2L, "P1")));
+
+        StepVerifier.create(branchProductService.decrementBranchProductStock(1L, 2L, 3))
+                .assertNext(dto -> assertEquals(97, dto.getStock()))
+                .verifyComplete();
+
+        verify(topStockReportCachePort).evictFranchise(100L);
+    }
+
+    @Test
+    void decrementBranchProductStock_whenSlotted_thenPutWithOldIfMatch_shouldReturn412WithoutWriting() {
+        // Slot takes leave branch_product.version at 5, so the version the client read still "matches".
+        BranchProductEntity live = bp(10L, 1L, 2L, 97);
+        live.setVersion(5L);
+        live.setStockSlots(4);
+        when(branchProductRepositoryPort.takeBranchProductStock(1L, 2L, 3)).thenReturn(Mono.just(true));
+        when(branchProductRepositoryPort.getByBranchIdAndProductId(1L, 2L)).thenReturn(Mono.just(live));
+        when(branchProductRepositoryPort.getBranchProductById(10L)).thenReturn(Mono.just(live));
+        when(stockAlertServicePort.evaluate(live)).thenReturn(Mono.empty());
+        when(topStockReportCachePort.evictFranchise(100L)).thenReturn(Mono.empty());
+        when(branchRepositoryPort.getBranchById(1L)).thenReturn(Mono.just(branch(1L, "B1")));
+        when(productCatalogPort.getProductById(2L)).thenReturn(Mono.just(product(2L, "P1")));
+
+        StepVerifier.create(branchProductService.decrementBranchProductStock(1L, 2L, 3))
+                .assertNext(dto -> {
+                    assertEquals(97, dto.getStock());
+                    assertNull(dto.getVersion());
+                })
+                .verifyComplete();
+
+        StepVerifier.create(branchProductService.updateBranchProduct(req(1L, 2L, 100), 10L, 5L))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.PRECONDITION_FAILED, ex.getStatus());
+                    assertEquals("BRANCH_PRODUCT_VERSION_MISMATCH", ex.getCode());
+                })
+                .verify();
+
+        verify(branchProductRepositoryPort, never()).updateBranchProduct(any());
+    }
+
+    @Test
+    void setBranchProductStockSlots_whenOutOfRange_shouldReturn400() {
+        StepVerifier.create(branchProductService.setBranchProductStockSlots(1L, 2L, 65))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+                    assertEquals("STOCK_SLOTS_INVALID", ex.getCode());
+                })
+                .verify();
+
+        verifyNoInteractions(branchProductRepositoryPort);
+    }
+
+    @Test
+    void setBranchProductStockSlots_whenOk_shouldReturnCurrentStock() {
+        BranchProductEntity live = bp(10L, 1L, 2L, 40);
+        when(branchProductRepositoryPort.setBranchProductStockSlots(1L, 2L, 8)).thenReturn(Mono.just(40));
+        when(branchProductRepositoryPort.getByBranchIdAndProductId(1L, 2L)).thenReturn(Mono.just(live));
+
+        when(branchRepositoryPort.getBranchById(1L)).thenReturn(Mono.just(branch(1L, "B1")));
+        when(productCatalogPort.getProductById(2L)).thenReturn(Mono.just(product(2L, "P1")));
+
+        StepVerifier.create(branchProductService.setBranchProductStockSlots(1L, 2L, 8))
+                .assertNext(dto -> assertEquals(40, dto.getStock()))
+                .verifyComplete();
     }
 
     // -------------------------
@@ -561,4 +833,177 @@ class BranchProductServiceTest {
 
         verify(reportingQueryRepository).findTopStockProductsByBranch(99L);
     }
+
+    // -------------------------
+    // getTopStockReport
+    // -------------------------
+
+    @Test
+    void getTopStockReport_whenFranchiseIdInvalid_shouldReturn400() {
+        StepVerifier.create(branchProductService.getTopStockReport(null))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+                    assertEquals("FRANCHISE_ID_REQUIRED", ex.getCode());
+                })
+                .verify();
+
+        verifyNoInteractions(topStockReportCachePort);
+    }
+
+    @Test
+    void getTopStockReport_whenOk_shouldLoadThroughCache() {
+        byte[] json = "[]".getBytes();
+        when(topStockReportCachePort.getTopStockReport(eq(99L), any())).thenReturn(Mono.just(json));
+
+        StepVerifier.create(branchProductService.getTopStockReport(99L))
+                .expectNext(json)
+                .verifyComplete();
+
+        verify(topStockReportCachePort).getTopStockReport(eq(99L), any());
+        verifyNoInteractions(reportingQueryRepository);
+    }
+
+    // -------------------------
+    // getFranchiseProductStock
+    // -------------------------
+
+    @Test
+    void getFranchiseProductStock_whenFranchiseIdInvalid_shouldReturn400() {
+        StepVerifier.create(branchProductService.getFranchiseProductStock(0L, 1L, false))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+                    assertEquals("FRANCHISE_ID_REQUIRED", ex.getCode());
+                })
+                .verify();
+
+        verifyNoInteractions(reportingQueryRepository);
+    }
+
+    @Test
+    void getFranchiseProductStock_whenFranchiseOrProductMissing_shouldReturn404() {
+        when(reportingQueryRepository.findFranchiseProductStock(1L, 2L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(branchProductService.getFranchiseProductStock(1L, 2L, false))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
+                    assertEquals("FRANCHISE_PRODUCT_NOT_FOUND", ex.getCode());
+                })
+                .verify();
+    }
+
+    @Test
+    void getFranchiseProductStock_whenSummaryPresent_shouldNotAggregate() {
+        when(reportingQueryRepository.findFranchiseProductStock(1L, 2L)).thenReturn(Mono.just(
+                new ReportingQueryRepository.FranchiseProductStockRow(1L, "F1", 2L, "P1", 150L, 3)));
+
+        StepVerifier.create(branchProductService.getFranchiseProductStock(1L, 2L, false))
+                .assertNext(dto -> {
+                    assertEquals(1L, dto.franchise().getId());
+                    assertEquals("F1", dto.franchise().getName());
+                    assertEquals(2L, dto.product().getId());
+                    assertEquals(150L, dto.totalStock());
+                    assertEquals(3, dto.branchCount());
+                })
+                .verifyComplete();
+
+        verify(reportingQueryRepository, never()).aggregateFranchiseProductStock(anyLong(), anyLong());
+    }
+
+    @Test
+    void getFranchiseProductStock_whenSummaryMissing_shouldFallBackToAggregate() {
+        when(reportingQueryRepository.findFranchiseProductStock(1L, 2L)).thenReturn(Mono.just(
+                new ReportingQueryRepository.FranchiseProductStockRow(1L, "F1", 2L, "P1", null, null)));
+        when(reportingQueryRepository.aggregateFranchiseProductStock(1L, 2L)).thenReturn(Mono.just(
+                new ReportingQueryRepository.FranchiseProductStockTotals(0L, 0)));
+
+        StepVerifier.create(branchProductService.getFranchiseProductStock(1L, 2L, false))
+                .assertNext(dto -> {
+                    assertEquals(0L, dto.totalStock());
+                    assertEquals(0, dto.branchCount());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getFranchiseProductStock_whenLive_shouldAggregate() {
+        when(reportingQueryRepository.findFranchiseProductStock(1L, 2L)).thenReturn(Mono.just(
+                new ReportingQueryRepository.FranchiseProductStockRow(1L, "F1", 2L, "P1", 150L, 3)));
+        when(reportingQueryRepository.aggregateFranchiseProductStock(1L, 2L)).thenReturn(Mono.just(
+                new ReportingQueryRepository.FranchiseProductStockTotals(149L, 3)));
+
+        StepVerifier.create(branchProductService.getFranchiseProductStock(1L, 2L, true))
+                .assertNext(dto -> assertEquals(149L, dto.totalStock()))
+                .verifyComplete();
+    }
+
+    @Test
+    void transferStock_whenSameBranch_shouldReturn400() {
+        StepVerifier.create(branchProductService.transferBranchProductStock(1L, 1L, 2L, 5))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+                    assertEquals("TRANSFER_INVALID", ex.getCode());
+                })
+                .verify();
+
+        verifyNoInteractions(stockTransferQueryRepository);
+    }
+
+    @Test
+    void transferStock_whenApplied_shouldEvaluateAlertsAndEvictFranchiseOnce() {
+        when(stockTransferQueryRepository.transfer(anyList())).thenReturn(Flux.just(
+                new TransferRow(1L, 9L, 2L, 11L, 5, 0, 4L),
+                new TransferRow(3L, 9L, 2L, 12L, 15, 0, 7L)));
+        when(stockAlertServicePort.evaluate(any())).thenReturn(Mono.empty());
+        when(topStockReportCachePort.evictFranchise(9L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(branchProductService.transferBranchProductStock(1L, 3L, 2L, 5))
+                .assertNext(dto -> {
+                    assertEquals(11L, dto.branchProductId());
+                    assertEquals(5, dto.stock());
+                    assertEquals(4L, dto.version());
+                })
+                .assertNext(dto -> assertEquals(15, dto.stock()))
+                .verifyComplete();
+
+        verify(stockAlertServicePort, times(2)).evaluate(any());
+        verify(topStockReportCachePort, times(1)).evictFranchise(9L);
+    }
+
+    @Test
+    void transferStock_whenSourceShort_shouldReturn409WithoutSideEffects() {
+        when(stockTransferQueryRepository.transfer(anyList())).thenReturn(Flux.just(
+                new TransferRow(1L, 9L, 2L, 11L, -3, 0, null),
+                new TransferRow(3L, 9L, 2L, 12L, 15, 0, null)));
+
+        StepVerifier.create(branchProductService.transferBranchProductStock(List.of(
+                        new StockTransferRequestDTO(1L, 3L, 2L, 5),
+                        new StockTransferRequestDTO(1L, 3L, 2L, 3))))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+                    assertEquals("INSUFFICIENT_STOCK", ex.getCode());
+                })
+                .verify();
+
+        verifyNoInteractions(stockAlertServicePort, topStockReportCachePort);
+    }
+
+    @Test
+    void transferStock_whenDestinationMissing_shouldReturn404() {
+        when(stockTransferQueryRepository.transfer(anyList())).thenReturn(Flux.just(
+                new TransferRow(1L, 9L, 2L, 11L, 5, 0, null),
+                new TransferRow(3L, 9L, 2L, null, null, null, null)));
+
+        StepVerifier.create(branchProductService.transferBranchProductStock(1L, 3L, 2L, 5))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
+                    assertEquals("BRANCH_PRODUCT_NOT_FOUND", ex.getCode());
+                })
+                .verify();
+    }
 }
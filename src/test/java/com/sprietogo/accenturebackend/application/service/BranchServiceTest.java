@@ -2,9 +2,14 @@ package com.sprietogo.accenturebackend.application.service;
 
 import com.sprietogo.accenturebackend.application.port.repository.BranchRepositoryPort;
 import com.sprietogo.accenturebackend.application.port.repository.FranchiseRepositoryPort;
+import com.sprietogo.accenturebackend.application.port.repository.TopStockReportCachePort;
 import com.sprietogo.accenturebackend.domain.exception.ApiException;
 import com.sprietogo.accenturebackend.domain.model.BranchEntity;
 import com.sprietogo.accenturebackend.domain.model.FranchiseEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.BranchViewQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.BranchViewQueryRepository.BranchViewRow;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.CatalogBatchQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.CatalogBatchQueryRepository.BatchInsertRow;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.BranchRequestDTO;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -19,6 +24,7 @@ import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.*;
@@ -33,6 +39,15 @@ class BranchServiceTest {
     @Mock
     private FranchiseRepositoryPort franchiseRepositoryPort;
 
+    @Mock
+    private TopStockReportCachePort topStockReportCachePort;
+
+    @Mock
+    private CatalogBatchQueryRepository catalogBatchQueryRepository;
+
+    @Mock
+    private BranchViewQueryRepository branchViewQueryRepository;
+
     @InjectMocks
     private BranchService branchService;
 
@@ -268,6 +283,7 @@ class BranchServiceTest {
 
         BranchEntity saved = new BranchEntity(10L, 1L, "New", created, updated);
         when(branchRepositoryPort.saveBranch(any())).thenReturn(Mono.just(saved));
+        when(topStockReportCachePort.evictFranchise(1L)).thenReturn(Mono.empty());
 
         StepVerifier.create(branchService.updateBranch("  New  ", 10L))
                 .assertNext(resp -> {
@@ -287,6 +303,7 @@ class BranchServiceTest {
         assertEquals("New", toSave.getName());
         assertEquals(created, toSave.getCreatedAt());
         assertEquals(updated, toSave.getUpdatedAt());
+        verify(topStockReportCachePort).evictFranchise(1L);
     }
 
     @Test
@@ -328,7 +345,7 @@ class BranchServiceTest {
 
     @Test
     void getAllByFranchiseId_whenFranchiseNotFound_shouldReturn404() {
-        when(franchiseRepositoryPort.getFranchiseById(1L)).thenReturn(Mono.empty());
+        when(branchViewQueryRepository.findAllByFranchiseId(1L)).thenReturn(Flux.empty());
 
         StepVerifier.create(branchService.getAllByFranchiseId(1L))
                 .expectErrorSatisfies(err -> {
@@ -338,25 +355,32 @@ class BranchServiceTest {
                 })
                 .verify();
 
-        verify(franchiseRepositoryPort).getFranchiseById(1L);
-        verify(branchRepositoryPort, never()).getAllByFranchiseId(anyLong());
+        verifyNoInteractions(branchRepositoryPort, franchiseRepositoryPort);
     }
 
     @Test
-    void getAllByFranchiseId_whenOk_shouldReturnList() {
-        FranchiseEntity fr = franchise(1L, "Fr1");
-        when(franchiseRepositoryPort.getFranchiseById(1L)).thenReturn(Mono.just(fr));
+    void getAllByFranchiseId_whenFranchiseHasNoBranches_shouldReturnEmpty() {
+        when(branchViewQueryRepository.findAllByFranchiseId(1L)).thenReturn(Flux.just(new BranchViewRow(null, null, 1L, "Fr1")));
 
-        BranchEntity b1 = new BranchEntity(10L, 1L, "B1", null, null);
-        BranchEntity b2 = new BranchEntity(11L, 1L, "B2", null, null);
-        when(branchRepositoryPort.getAllByFranchiseId(1L)).thenReturn(Flux.just(b1, b2));
+        StepVerifier.create(branchService.getAllByFranchiseId(1L))
+                .verifyComplete();
+    }
+
+    @Test
+    void getAllByFranchiseId_whenOk_shouldReturnList() {
+        when(branchViewQueryRepository.findAllByFranchiseId(1L)).thenReturn(Flux.just(
+                new BranchViewRow(10L, "B1", 1L, "Fr1"),
+                new BranchViewRow(11L, "B2", 1L, "Fr1")));
 
         StepVerifier.create(branchService.getAllByFranchiseId(1L))
-                .assertNext(dto -> assertEquals("B1", dto.getName()))
+                .assertNext(dto -> {
+                    assertEquals("B1", dto.getName());
+                    assertEquals("Fr1", dto.getFranchise().getName());
+                })
                 .assertNext(dto -> assertEquals("B2", dto.getName()))
                 .verifyComplete();
 
-        verify(branchRepositoryPort).getAllByFranchiseId(1L);
+        verify(branchViewQueryRepository).findAllByFranchiseId(1L);
     }
 
     // -------------------------
@@ -390,10 +414,19 @@ class BranchServiceTest {
     }
 
 
+    @Test
+    void getBranch_whenFranchiseNotFound_shouldReturn404() {
+        when(branchViewQueryRepository.findByFranchiseIdAndName(1L, "Main")).thenReturn(Mono.empty());
+
+        StepVerifier.create(branchService.getBranch(1L, "Main"))
+                .expectErrorSatisfies(err -> assertEquals("FRANCHISE_NOT_FOUND", ((ApiException) err).getCode()))
+                .verify();
+    }
+
     @Test
     void getBranch_whenBranchNotFound_shouldReturn404() {
-        when(franchiseRepositoryPort.getFranchiseById(1L)).thenReturn(Mono.just(franchise(1L, "Fr1")));
-        when(branchRepositoryPort.getBranchByFranchiseIdAndName(1L, "Main")).thenReturn(Mono.empty());
+        when(branchViewQueryRepository.findByFranchiseIdAndName(1L, "Main"))
+                .thenReturn(Mono.just(new BranchViewRow(null, null, 1L, "Fr1")));
 
         StepVerifier.create(branchService.getBranch(1L, "Main"))
                 .expectErrorSatisfies(err -> {
@@ -403,16 +436,13 @@ class BranchServiceTest {
                 })
                 .verify();
 
-        verify(branchRepositoryPort).getBranchByFranchiseIdAndName(1L, "Main");
+        verify(branchViewQueryRepository).findByFranchiseIdAndName(1L, "Main");
     }
 
     @Test
     void getBranch_whenOk_shouldReturnDto() {
-        FranchiseEntity fr = franchise(1L, "Fr1");
-        BranchEntity br = new BranchEntity(10L, 1L, "Main", null, null);
-
-        when(franchiseRepositoryPort.getFranchiseById(1L)).thenReturn(Mono.just(fr));
-        when(branchRepositoryPort.getBranchByFranchiseIdAndName(1L, "Main")).thenReturn(Mono.just(br));
+        when(branchViewQueryRepository.findByFranchiseIdAndName(1L, "Main"))
+                .thenReturn(Mono.just(new BranchViewRow(10L, "Main", 1L, "Fr1")));
 
         StepVerifier.create(branchService.getBranch(1L, "  Main  "))
                 .assertNext(dto -> {
@@ -424,4 +454,26 @@ class BranchServiceTest {
                 })
                 .verifyComplete();
     }
+
+    @Test
+    void createBranches_shouldReportMissingFranchisePerItem() {
+        when(catalogBatchQueryRepository.insertBranches(List.of(1L, 99L), List.of("Main", "North")))
+                .thenReturn(Flux.just(
+                        new BatchInsertRow(1, 10L, CatalogBatchQueryRepository.CREATED),
+                        new BatchInsertRow(2, null, CatalogBatchQueryRepository.FRANCHISE_NOT_FOUND)));
+
+        StepVerifier.create(branchService.createBranches(Flux.just(req(null, "Orphan"), req(1L, " Main "), req(99L, "North"))))
+                .assertNext(item -> assertEquals("BRANCH_FRANCHISE_ID_REQUIRED", item.status()))
+                .assertNext(item -> {
+                    assertEquals(1, item.index());
+                    assertEquals(10L, item.id());
+                    assertEquals("Main", item.name());
+                    assertEquals(CatalogBatchQueryRepository.CREATED, item.status());
+                })
+                .assertNext(item -> {
+                    assertNull(item.id());
+                    assertEquals(CatalogBatchQueryRepository.FRANCHISE_NOT_FOUND, item.status());
+                })
+                .verifyComplete();
+    }
 }
@@ -0,0 +1,121 @@
+package com.sprietogo.accenturebackend.application.service;
+
+import com.sprietogo.accenturebackend.application.port.repository.BranchRepositoryPort;
+import com.sprietogo.accenturebackend.application.port.repository.InventoryMatrixPort;
+import com.sprietogo.accenturebackend.application.port.repository.ProductCatalogPort;
+import com.sprietogo.accenturebackend.domain.exception.ApiException;
+import com.sprietogo.accenturebackend.domain.model.BranchEntity;
+import com.sprietogo.accenturebackend.domain.model.ProductEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchStockResponseDTO;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryAnalyticsServiceTest {
+
+    @Mock
+    private InventoryMatrixPort inventoryMatrixPort;
+
+    @Mock
+    private ProductCatalogPort productCatalogPort;
+
+    @Mock
+    private BranchRepositoryPort branchRepositoryPort;
+
+    @InjectMocks
+    private InventoryAnalyticsService inventoryAnalyticsService;
+
+    private ProductEntity product(Long id, String name) {
+        return new ProductEntity(id, name, null, null);
+    }
+
+    @Test
+    void getBranchesBelow_whenThresholdNegative_shouldReturn400() {
+        StepVerifier.create(inventoryAnalyticsService.getBranchesBelow(1L, -1, null))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+                    assertEquals("THRESHOLD_INVALID", ex.getCode());
+                })
+                .verify();
+
+        verifyNoInteractions(inventoryMatrixPort);
+    }
+
+    @Test
+    void getBranchesBelow_whenMatrixLoading_shouldReturn503() {
+        when(inventoryMatrixPort.isLoaded()).thenReturn(false);
+        when(inventoryMatrixPort.findBranchesBelow(1L, 5, null)).thenReturn(Mono.just(List.of()));
+
+        StepVerifier.create(inventoryAnalyticsService.getBranchesBelow(1L, 5, null))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+                    assertEquals("INVENTORY_MATRIX_UNAVAILABLE", ex.getCode());
+                })
+                .verify();
+    }
+
+    @Test
+    void getBranchesBelow_whenLoaded_shouldStreamMatrixResult() {
+        when(inventoryMatrixPort.isLoaded()).thenReturn(true);
+        when(inventoryMatrixPort.findBranchesBelow(1L, 5, 10L))
+                .thenReturn(Mono.just(List.of(new BranchStockResponseDTO(1L, 10L, 2))));
+
+        StepVerifier.create(inventoryAnalyticsService.getBranchesBelow(1L, 5, 10L))
+                .expectNext(new BranchStockResponseDTO(1L, 10L, 2))
+                .verifyComplete();
+    }
+
+    @Test
+    void getProductsMissingInBranch_shouldFilterCatalogByStockedIds() {
+        when(inventoryMatrixPort.isLoaded()).thenReturn(true);
+        when(inventoryMatrixPort.getBranchProductIds(1L)).thenReturn(Mono.just(new long[]{1L, 3L}));
+        when(productCatalogPort.getAllProducts())
+                .thenReturn(Flux.just(product(1L, "P1"), product(2L, "P2"), product(3L, "P3"), product(4L, "P4")));
+
+        StepVerifier.create(inventoryAnalyticsService.getProductsMissingInBranch(1L))
+                .assertNext(dto -> assertEquals("P2", dto.getName()))
+                .assertNext(dto -> assertEquals("P4", dto.getName()))
+                .verifyComplete();
+
+        verifyNoInteractions(branchRepositoryPort);
+    }
+
+    @Test
+    void getProductsMissingInBranch_whenBranchHasNoRows_shouldCheckItExists() {
+        when(inventoryMatrixPort.isLoaded()).thenReturn(true);
+        when(inventoryMatrixPort.getBranchProductIds(7L)).thenReturn(Mono.empty());
+        when(branchRepositoryPort.getBranchById(7L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(inventoryAnalyticsService.getProductsMissingInBranch(7L))
+                .expectErrorSatisfies(err -> assertEquals("BRANCH_NOT_FOUND", ((ApiException) err).getCode()))
+                .verify();
+
+        verifyNoInteractions(productCatalogPort);
+    }
+
+    @Test
+    void getProductsMissingInBranch_whenBranchEmpty_shouldReturnWholeCatalog() {
+        when(inventoryMatrixPort.isLoaded()).thenReturn(true);
+        when(inventoryMatrixPort.getBranchProductIds(7L)).thenReturn(Mono.empty());
+        when(branchRepositoryPort.getBranchById(7L)).thenReturn(Mono.just(new BranchEntity(7L, 1L, "B7", null, null)));
+        when(productCatalogPort.getAllProducts()).thenReturn(Flux.just(product(1L, "P1")));
+
+        StepVerifier.create(inventoryAnalyticsService.getProductsMissingInBranch(7L))
+                .assertNext(dto -> assertEquals(1L, dto.getId()))
+                .verifyComplete();
+    }
+}
@@ -0,0 +1,151 @@
+package com.sprietogo.accenturebackend.application.service;
+
+import com.sprietogo.accenturebackend.domain.exception.ApiException;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.ExportTable;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.InventoryExportQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.InventoryExportResponseDTO;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.zip.GZIPInputStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryExportServiceTest {
+
+    @Mock
+    private InventoryExportQueryRepository inventoryExportQueryRepository;
+
+    private InventoryExportService inventoryExportService;
+
+    private static final OffsetDateTime TS = OffsetDateTime.of(2025, 1, 2, 3, 4, 5, 0, ZoneOffset.UTC);
+
+    @BeforeEach
+    void setUp() {
+        inventoryExportService = new InventoryExportService(inventoryExportQueryRepository, JsonMapper.builder().build());
+    }
+
+    private String gunzip(Flux<DataBuffer> body) throws IOException {
+        ByteArrayOutputStream compressed = new ByteArrayOutputStream();
+        for (DataBuffer buffer : body.collectList().block()) {
+            byte[] bytes = new byte[buffer.readableByteCount()];
+            buffer.read(bytes);
+            DataBufferUtils.release(buffer);
+            compressed.write(bytes);
+        }
+        try (GZIPInputStream in = new GZIPInputStream(new ByteArrayInputStream(compressed.toByteArray()))) {
+            return new String(in.readAllBytes(), StandardCharsets.UTF_8);
+        }
+    }
+
+    // -------------------------
+    // validation
+    // -------------------------
+
+    @Test
+    void export_whenTableUnknown_shouldReturn400() {
+        StepVerifier.create(inventoryExportService.export("stock_alert", "ndjson", null, null))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+                    assertEquals("EXPORT_TABLE_INVALID", ex.getCode());
+                })
+                .verify();
+
+        verifyNoInteractions(inventoryExportQueryRepository);
+    }
+
+    @Test
+    void export_whenFormatUnknown_shouldReturn400() {
+        StepVerifier.create(inventoryExportService.export("branch", "xml", null, null))
+                .expectErrorSatisfies(err -> assertEquals("EXPORT_FORMAT_INVALID", ((ApiException) err).getCode()))
+                .verify();
+
+        verifyNoInteractions(inventoryExportQueryRepository);
+    }
+
+    @Test
+    void export_whenRangeInverted_shouldReturn400() {
+        StepVerifier.create(inventoryExportService.export("branch", "csv", 10L, 5L))
+                .expectErrorSatisfies(err -> assertEquals("EXPORT_RANGE_INVALID", ((ApiException) err).getCode()))
+                .verify();
+
+        verifyNoInteractions(inventoryExportQueryRepository);
+    }
+
+    // -------------------------
+    // streaming
+    // -------------------------
+
+    @Test
+    void export_whenNoUntilId_shouldPinRangeToCurrentMaxIdAndStreamNdjson() throws IOException {
+        when(inventoryExportQueryRepository.findMaxId(ExportTable.FRANCHISE)).thenReturn(Mono.just(2L));
+        when(inventoryExportQueryRepository.streamRows(eq(ExportTable.FRANCHISE), eq(0L), eq(2L), anyInt()))
+                .thenReturn(Flux.just(
+                        Arrays.asList(1L, "Fr1", TS, TS),
+                        Arrays.asList(2L, "Fr \"2\"", TS, null)));
+
+        InventoryExportResponseDTO export = inventoryExportService.export("FRANCHISE", null, null, null).block();
+
+        assertNotNull(export);
+        assertEquals("application/x-ndjson", export.contentType());
+        assertEquals("franchise-0-2.ndjson", export.fileName());
+        assertEquals(2L, export.untilId());
+        assertEquals("""
+                {"id":1,"name":"Fr1","created_at":"2025-01-02T03:04:05Z","updated_at":"2025-01-02T03:04:05Z"}
+                {"id":2,"name":"Fr \\"2\\"","created_at":"2025-01-02T03:04:05Z","updated_at":null}
+                """, gunzip(export.body()));
+    }
+
+    @Test
+    void export_whenCsv_shouldWriteHeaderAndEscapeFields() throws IOException {
+        when(inventoryExportQueryRepository.streamRows(eq(ExportTable.BRANCH), eq(5L), eq(9L), anyInt()))
+                .thenReturn(Flux.just(Arrays.asList(6L, 1L, "North, \"A\"", TS, TS)));
+
+        InventoryExportResponseDTO export = inventoryExportService.export("branch", "csv", 5L, 9L).block();
+
+        assertNotNull(export);
+        assertEquals("text/csv", export.contentType());
+        assertEquals("id,franchise_id,name,created_at,updated_at\n"
+                + "6,1,\"North, \"\"A\"\"\",2025-01-02T03:04:05Z,2025-01-02T03:04:05Z\n", gunzip(export.body()));
+        verify(inventoryExportQueryRepository, never()).findMaxId(any());
+    }
+
+    @Test
+    void export_whenManyRows_shouldEmitOneGzipChunkPerBatch() throws IOException {
+        List<List<Object>> rows = IntStream.rangeClosed(1, InventoryExportService.ROWS_PER_CHUNK * 2 + 1)
+                .mapToObj(i -> Arrays.<Object>asList((long) i, "P" + i, 0, TS, TS))
+                .toList();
+        when(inventoryExportQueryRepository.streamRows(eq(ExportTable.PRODUCT), eq(0L), eq(1000L), anyInt()))
+                .thenReturn(Flux.fromIterable(rows));
+
+        InventoryExportResponseDTO export = inventoryExportService.export("product", "ndjson", 0L, 1000L).block();
+
+        assertNotNull(export);
+        List<DataBuffer> chunks = export.body().collectList().block();
+        assertEquals(4, chunks.size());
+        assertEquals(rows.size(), gunzip(Flux.fromIterable(chunks)).lines().count());
+    }
+}
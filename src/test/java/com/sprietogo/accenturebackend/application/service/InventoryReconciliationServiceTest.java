@@ -0,0 +1,172 @@
+package com.sprietogo.accenturebackend.application.service;
+
+import com.sprietogo.accenturebackend.application.port.repository.TopStockReportCachePort;
+import com.sprietogo.accenturebackend.application.port.service.StockAlertServicePort;
+import com.sprietogo.accenturebackend.domain.exception.ApiException;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.InventoryReconciliationQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.InventoryReconciliationQueryRepository.ChangedRow;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.InventoryReconciliationQueryRepository.ReconcileResult;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.InventoryCountRequestDTO;
+import com.sprietogo.accenturebackend.infrastructure.config.InventoryReconciliationProperties;
+import com.sprietogo.accenturebackend.utils.SqlErrors;
+import io.r2dbc.spi.R2dbcDataIntegrityViolationException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryReconciliationServiceTest {
+
+    @Mock private InventoryReconciliationQueryRepository inventoryReconciliationQueryRepository;
+    @Mock private StockAlertServicePort stockAlertServicePort;
+    @Mock private TopStockReportCachePort topStockReportCachePort;
+
+    private InventoryReconciliationService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new InventoryReconciliationService(inventoryReconciliationQueryRepository, stockAlertServicePort,
+                topStockReportCachePort, new InventoryReconciliationProperties(4));
+    }
+
+    private static Flux<InventoryCountRequestDTO> counts(long... productIds) {
+        return Flux.fromStream(Arrays.stream(productIds).boxed())
+                .map(id -> new InventoryCountRequestDTO(id, 5));
+    }
+
+    private void reconcileReturns(ReconcileResult result) {
+        when(inventoryReconciliationQueryRepository.reconcile(eq(1L), anyList())).thenReturn(Mono.just(result));
+    }
+
+    private static DataIntegrityViolationException integrityViolation(String sqlState) {
+        return new DataIntegrityViolationException("rejected", new R2dbcDataIntegrityViolationException("rejected", sqlState));
+    }
+
+    @Test
+    void reconcile_shouldSummarizeChangesAndNotifyOnlyForKeptRows() {
+        reconcileReturns(new ReconcileResult(9L, 4, null, List.of(
+                new ChangedRow("U", 11L, 1L, 5),
+                new ChangedRow("I", 12L, 2L, 5),
+                new ChangedRow("D", 13L, 3L, 8))));
+        when(stockAlertServicePort.evaluate(any())).thenReturn(Mono.empty());
+        when(topStockReportCachePort.evictFranchise(9L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.reconcileBranchInventory(1L, counts(1, 2, 4, 5)))
+                .assertNext(dto -> {
+                    assertEquals(1, dto.inserted());
+                    assertEquals(1, dto.updated());
+                    assertEquals(1, dto.deleted());
+                    assertEquals(2, dto.unchanged());
+                })
+                .verifyComplete();
+
+        verify(stockAlertServicePort, times(2)).evaluate(any());
+        verify(topStockReportCachePort).evictFranchise(9L);
+    }
+
+    @Test
+    void reconcile_whenNothingChanged_shouldSkipSideEffects() {
+        reconcileReturns(new ReconcileResult(9L, 2, null, List.of()));
+
+        StepVerifier.create(service.reconcileBranchInventory(1L, counts(1, 2)))
+                .assertNext(dto -> assertEquals(2, dto.unchanged()))
+                .verifyComplete();
+
+        verifyNoInteractions(stockAlertServicePort, topStockReportCachePort);
+    }
+
+    @Test
+    void reconcile_whenProductListedTwice_shouldReturn400BeforeTouchingTheDatabase() {
+        StepVerifier.create(service.reconcileBranchInventory(1L, counts(1, 2, 1)))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+                    assertEquals("INVENTORY_DUPLICATE_PRODUCT", ex.getCode());
+                })
+                .verify();
+
+        verifyNoInteractions(inventoryReconciliationQueryRepository);
+    }
+
+    @Test
+    void reconcile_whenUploadExceedsMaxItems_shouldReturn413AndStopReading() {
+        AtomicInteger read = new AtomicInteger();
+        Flux<InventoryCountRequestDTO> upload = Flux.range(1, 1_000)
+                .map(id -> new InventoryCountRequestDTO((long) id, 5))
+                .doOnNext(count -> read.incrementAndGet());
+
+        StepVerifier.create(service.reconcileBranchInventory(1L, upload))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.CONTENT_TOO_LARGE, ex.getStatus());
+                    assertEquals("INVENTORY_TOO_LARGE", ex.getCode());
+                })
+                .verify();
+
+        assertEquals(5, read.get());
+        verifyNoInteractions(inventoryReconciliationQueryRepository);
+    }
+
+    @Test
+    void reconcile_shouldHandTheWholeUploadToOneReconcile() {
+        reconcileReturns(new ReconcileResult(9L, 3, null, List.of()));
+
+        StepVerifier.create(service.reconcileBranchInventory(1L, counts(1, 2, 3)))
+                .expectNextCount(1)
+                .verifyComplete();
+
+        verify(inventoryReconciliationQueryRepository).reconcile(eq(1L), argThat(list -> list.size() == 3));
+    }
+
+    @Test
+    void reconcile_whenBranchOrProductMissing_shouldReturn404() {
+        reconcileReturns(new ReconcileResult(null, 1, null, List.of()));
+        StepVerifier.create(service.reconcileBranchInventory(1L, counts(1)))
+                .expectErrorSatisfies(err -> assertEquals("BRANCH_NOT_FOUND", ((ApiException) err).getCode()))
+                .verify();
+
+        reconcileReturns(new ReconcileResult(9L, 1, 77L, List.of()));
+        StepVerifier.create(service.reconcileBranchInventory(1L, counts(77)))
+                .expectErrorSatisfies(err -> assertEquals("PRODUCT_NOT_FOUND", ((ApiException) err).getCode()))
+                .verify();
+    }
+
+    @Test
+    void reconcile_whenReservationCounterRejectsWrite_shouldReturn409() {
+        when(inventoryReconciliationQueryRepository.reconcile(eq(1L), anyList()))
+                .thenReturn(Mono.error(integrityViolation(SqlErrors.STOCK_MANAGED_BY_RESERVATIONS_STATE)));
+
+        StepVerifier.create(service.reconcileBranchInventory(1L, counts(1)))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+                    assertEquals("STOCK_MANAGED_BY_RESERVATIONS", ex.getCode());
+                })
+                .verify();
+    }
+
+    @Test
+    void reconcile_whenOtherIntegrityViolation_shouldNotBlameReservations() {
+        when(inventoryReconciliationQueryRepository.reconcile(eq(1L), anyList()))
+                .thenReturn(Mono.error(integrityViolation("23503")));
+
+        StepVerifier.create(service.reconcileBranchInventory(1L, counts(1)))
+                .expectError(DataIntegrityViolationException.class)
+                .verify();
+    }
+}
@@ -0,0 +1,143 @@
+package com.sprietogo.accenturebackend.application.service;
+
+import com.sprietogo.accenturebackend.application.port.repository.BranchRepositoryPort;
+import com.sprietogo.accenturebackend.application.port.repository.FranchiseRepositoryPort;
+import com.sprietogo.accenturebackend.domain.exception.ApiException;
+import com.sprietogo.accenturebackend.domain.model.BranchEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.InventorySyncQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.InventorySyncQueryRepository.SyncChangeRow;
+import com.sprietogo.accenturebackend.infrastructure.config.SyncProperties;
+import com.sprietogo.accenturebackend.utils.SyncWatermark;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventorySyncServiceTest {
+
+    private static final OffsetDateTime UPPER = OffsetDateTime.now(ZoneOffset.UTC).withNano(123_456_000);
+
+    @Mock private InventorySyncQueryRepository inventorySyncQueryRepository;
+    @Mock private BranchRepositoryPort branchRepositoryPort;
+    @Mock private FranchiseRepositoryPort franchiseRepositoryPort;
+
+    private InventorySyncService service;
+
+    @BeforeEach
+    void setUp() {
+        service = new InventorySyncService(inventorySyncQueryRepository, branchRepositoryPort, franchiseRepositoryPort,
+                new SyncProperties(Duration.ofSeconds(2), Duration.ofDays(30), true, Duration.ofHours(1)));
+    }
+
+    private static SyncChangeRow upsert(long id, OffsetDateTime changedAt) {
+        return new SyncChangeRow(UPPER, changedAt, SyncWatermark.UPSERT, id, id, 1L, id, 10, 1L);
+    }
+
+    private static SyncChangeRow tombstone(long id, long branchProductId, OffsetDateTime changedAt) {
+        return new SyncChangeRow(UPPER, changedAt, SyncWatermark.TOMBSTONE, id, branchProductId, 1L, 7L, null, null);
+    }
+
+    private void branchExists() {
+        when(branchRepositoryPort.getBranchById(1L)).thenReturn(Mono.just(new BranchEntity()));
+    }
+
+    @Test
+    void getBranchChanges_initialFullPage_shouldSkipTombstonesAndResumeAfterLastRow() {
+        branchExists();
+        OffsetDateTime at = UPPER.minusMinutes(1);
+        when(inventorySyncQueryRepository.findBranchChanges(eq(1L), eq(SyncWatermark.INITIAL), eq(false), any(), eq(3)))
+                .thenReturn(Flux.just(upsert(1, at), upsert(2, at), upsert(3, at)));
+
+        StepVerifier.create(service.getBranchChanges(1L, null, 2))
+                .assertNext(dto -> {
+                    assertTrue(dto.hasMore());
+                    assertEquals(2, dto.upserts().size());
+                    assertEquals(new SyncWatermark(at, SyncWatermark.UPSERT, 2), SyncWatermark.parse(dto.watermark()));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getBranchChanges_lastPage_shouldSplitTombstonesAndResumeAfterUpperBound() {
+        branchExists();
+        SyncWatermark since = new SyncWatermark(UPPER.minusMinutes(5), SyncWatermark.UPSERT, 9);
+        when(inventorySyncQueryRepository.findBranchChanges(eq(1L), eq(since), eq(true), any(), eq(501)))
+                .thenReturn(Flux.just(upsert(1, UPPER.minusMinutes(2)), tombstone(4, 3, UPPER.minusMinutes(1))));
+
+        StepVerifier.create(service.getBranchChanges(1L, since.token(), null))
+                .assertNext(dto -> {
+                    assertFalse(dto.hasMore());
+                    assertEquals(1, dto.upserts().size());
+                    assertEquals(3L, dto.deletes().getFirst().branchProductId());
+                    assertEquals(SyncWatermark.after(UPPER), SyncWatermark.parse(dto.watermark()));
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getBranchChanges_whenNothingChangedAndDeviceIsAhead_shouldKeepItsWatermark() {
+        branchExists();
+        SyncWatermark since = new SyncWatermark(UPPER.plusSeconds(1), SyncWatermark.UPSERT, 9);
+        when(inventorySyncQueryRepository.findBranchChanges(eq(1L), eq(since), eq(true), any(), anyInt()))
+                .thenReturn(Flux.just(new SyncChangeRow(UPPER, null, null, null, null, null, null, null, null)));
+
+        StepVerifier.create(service.getBranchChanges(1L, since.token(), null))
+                .assertNext(dto -> {
+                    assertTrue(dto.upserts().isEmpty());
+                    assertEquals(since.token(), dto.watermark());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void getBranchChanges_whenWatermarkPastRetention_shouldReturn410() {
+        String since = new SyncWatermark(UPPER.minusDays(31), SyncWatermark.UPSERT, 1).token();
+
+        StepVerifier.create(service.getBranchChanges(1L, since, null))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.GONE, ex.getStatus());
+                    assertEquals("WATERMARK_EXPIRED", ex.getCode());
+                })
+                .verify();
+
+        verifyNoInteractions(inventorySyncQueryRepository);
+    }
+
+    @Test
+    void getFranchiseChanges_whenFranchiseMissing_shouldReturn404() {
+        when(franchiseRepositoryPort.getFranchiseById(5L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(service.getFranchiseChanges(5L, null, null))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
+                    assertEquals("FRANCHISE_NOT_FOUND", ex.getCode());
+                })
+                .verify();
+    }
+
+    @Test
+    void getBranchChanges_whenWatermarkOrLimitMalformed_shouldReturn400() {
+        StepVerifier.create(service.getBranchChanges(1L, "12.x.3", null))
+                .expectErrorSatisfies(err -> assertEquals("WATERMARK_INVALID", ((ApiException) err).getCode()))
+                .verify();
+        StepVerifier.create(service.getBranchChanges(1L, null, 0))
+                .expectErrorSatisfies(err -> assertEquals("LIMIT_INVALID", ((ApiException) err).getCode()))
+                .verify();
+    }
+}
@@ -1,8 +1,13 @@
 package com.sprietogo.accenturebackend.application.service;
 
 import com.sprietogo.accenturebackend.application.port.repository.ProductRepositoryPort;
+import com.sprietogo.accenturebackend.application.port.repository.TopStockReportCachePort;
 import com.sprietogo.accenturebackend.domain.exception.ApiException;
 import com.sprietogo.accenturebackend.domain.model.ProductEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.CatalogBatchQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.CatalogBatchQueryRepository.BatchInsertRow;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.ProductViewQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.ProductViewQueryRepository.ProductViewRow;
 import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.RequestDTO;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -12,10 +17,12 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
 
 import java.time.OffsetDateTime;
+import java.util.List;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
@@ -27,6 +34,15 @@ class ProductServiceTest {
     @Mock
     private ProductRepositoryPort productRepositoryPort;
 
+    @Mock
+    private TopStockReportCachePort topStockReportCachePort;
+
+    @Mock
+    private CatalogBatchQueryRepository catalogBatchQueryRepository;
+
+    @Mock
+    private ProductViewQueryRepository productViewQueryRepository;
+
     @InjectMocks
     private ProductService productService;
 
@@ -216,6 +232,7 @@ class ProductServiceTest {
 
         ProductEntity saved = new ProductEntity(10L, "New", created, updated);
         when(productRepositoryPort.saveProduct(any())).thenReturn(Mono.just(saved));
+        when(topStockReportCachePort.evictAll()).thenReturn(Mono.empty());
 
         StepVerifier.create(productService.updateProduct("  New  ", 10L))
                 .assertNext(resp -> {
@@ -232,6 +249,7 @@ class ProductServiceTest {
         assertEquals("New", toSave.getName());
         assertEquals(created, toSave.getCreatedAt());
         assertEquals(updated, toSave.getUpdatedAt());
+        verify(topStockReportCachePort).evictAll();
     }
 
     @Test
@@ -266,7 +284,7 @@ class ProductServiceTest {
                 })
                 .verify();
 
-        verifyNoInteractions(productRepositoryPort);
+        verifyNoInteractions(productRepositoryPort, productViewQueryRepository);
     }
 
     @Test
@@ -279,12 +297,12 @@ class ProductServiceTest {
                 })
                 .verify();
 
-        verifyNoInteractions(productRepositoryPort);
+        verifyNoInteractions(productRepositoryPort, productViewQueryRepository);
     }
 
     @Test
     void getProductByName_whenNotFound_shouldReturn404() {
-        when(productRepositoryPort.getProductByName("CocaCola")).thenReturn(Mono.empty());
+        when(productViewQueryRepository.findByName("CocaCola")).thenReturn(Mono.empty());
 
         StepVerifier.create(productService.getProductByName("CocaCola"))
                 .expectErrorSatisfies(err -> {
@@ -294,13 +312,12 @@ class ProductServiceTest {
                 })
                 .verify();
 
-        verify(productRepositoryPort).getProductByName("CocaCola");
+        verify(productViewQueryRepository).findByName("CocaCola");
     }
 
     @Test
     void getProductByName_whenOk_shouldReturnResponse() {
-        ProductEntity entity = new ProductEntity(1L, "CocaCola", null, null);
-        when(productRepositoryPort.getProductByName("CocaCola")).thenReturn(Mono.just(entity));
+        when(productViewQueryRepository.findByName("CocaCola")).thenReturn(Mono.just(new ProductViewRow(1L, "CocaCola")));
 
         StepVerifier.create(productService.getProductByName("  CocaCola  "))
                 .assertNext(resp -> {
@@ -309,6 +326,53 @@ class ProductServiceTest {
                 })
                 .verifyComplete();
 
-        verify(productRepositoryPort).getProductByName("CocaCola");
+        verify(productViewQueryRepository).findByName("CocaCola");
+    }
+
+    // -------------------------
+    // createProducts
+    // -------------------------
+
+    @Test
+    void createProducts_shouldInsertValidItemsAndKeepInputOrder() {
+        when(catalogBatchQueryRepository.insertProducts(List.of("Coca", "Pepsi", "Coca")))
+                .thenReturn(Flux.just(
+                        new BatchInsertRow(1, 1L, CatalogBatchQueryRepository.CREATED),
+                        new BatchInsertRow(2, 2L, CatalogBatchQueryRepository.ALREADY_EXISTS),
+                        new BatchInsertRow(3, 1L, CatalogBatchQueryRepository.ALREADY_EXISTS)));
+
+        StepVerifier.create(productService.createProducts(Flux.just(req(" Coca "), req("  "), req("Pepsi"), req("Coca"))))
+                .assertNext(item -> {
+                    assertEquals(0, item.index());
+                    assertEquals(1L, item.id());
+                    assertEquals("Coca", item.name());
+                    assertEquals(CatalogBatchQueryRepository.CREATED, item.status());
+                })
+                .assertNext(item -> {
+                    assertEquals(1, item.index());
+                    assertNull(item.id());
+                    assertEquals("PRODUCT_NAME_REQUIRED", item.status());
+                })
+                .assertNext(item -> {
+                    assertEquals(2, item.index());
+                    assertEquals(2L, item.id());
+                    assertEquals(CatalogBatchQueryRepository.ALREADY_EXISTS, item.status());
+                })
+                .assertNext(item -> {
+                    assertEquals(3, item.index());
+                    assertEquals(1L, item.id());
+                    assertEquals(CatalogBatchQueryRepository.ALREADY_EXISTS, item.status());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void createProducts_whenEveryItemInvalid_shouldNotTouchDatabase() {
+        StepVerifier.create(productService.createProducts(Flux.just(req(null), req("x".repeat(121)))))
+                .assertNext(item -> assertEquals("PRODUCT_NAME_REQUIRED", item.status()))
+                .assertNext(item -> assertEquals("PRODUCT_NAME_TOO_LONG", item.status()))
+                .verifyComplete();
+
+        verifyNoInteractions(catalogBatchQueryRepository);
     }
 }
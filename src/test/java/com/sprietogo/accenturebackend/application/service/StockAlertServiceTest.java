@@ -0,0 +1,210 @@
+package com.sprietogo.accenturebackend.application.service;
+
+import com.sprietogo.accenturebackend.application.port.repository.StockAlertRepositoryPort;
+import com.sprietogo.accenturebackend.domain.exception.ApiException;
+import com.sprietogo.accenturebackend.domain.model.BranchProductEntity;
+import com.sprietogo.accenturebackend.domain.model.StockAlertEntity;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.OffsetDateTime;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockAlertServiceTest {
+
+    @Mock
+    private StockAlertRepositoryPort stockAlertRepositoryPort;
+
+    @InjectMocks
+    private StockAlertService stockAlertService;
+
+    private BranchProductEntity bp(Long id) {
+        BranchProductEntity e = new BranchProductEntity();
+        e.setId(id);
+        e.setBranchId(1L);
+        e.setProductId(2L);
+        e.setStock(3);
+        return e;
+    }
+
+    private StockAlertEntity alert(Long id, Integer stock, Integer threshold, OffsetDateTime resolvedAt) {
+        return new StockAlertEntity(id, 10L, 1L, 2L, stock, threshold, OffsetDateTime.now(), resolvedAt);
+    }
+
+    // -------------------------
+    // evaluate
+    // -------------------------
+
+    @Test
+    void evaluate_whenNotPersisted_shouldSkip() {
+        StepVerifier.create(stockAlertService.evaluate(new BranchProductEntity()))
+                .verifyComplete();
+
+        verifyNoInteractions(stockAlertRepositoryPort);
+    }
+
+    @Test
+    void evaluate_whenCrossingBelow_shouldPublishOpenAlert() {
+        when(stockAlertRepositoryPort.evaluateBranchProduct(10L)).thenReturn(Flux.just(alert(1L, 3, 5, null)));
+
+        StepVerifier.create(stockAlertService.streamAlerts().take(1))
+                .then(() -> stockAlertService.evaluate(bp(10L)).block())
+                .assertNext(dto -> {
+                    assertEquals(1L, dto.id());
+                    assertEquals("OPEN", dto.status());
+                    assertEquals(3, dto.stock());
+                    assertEquals(5, dto.threshold());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void evaluate_whenCrossingAbove_shouldPublishResolvedAlert() {
+        when(stockAlertRepositoryPort.evaluateBranchProduct(10L))
+                .thenReturn(Flux.just(alert(1L, 8, 5, OffsetDateTime.now())));
+
+        StepVerifier.create(stockAlertService.streamAlerts().take(1))
+                .then(() -> stockAlertService.evaluate(bp(10L)).block())
+                .assertNext(dto -> assertEquals("RESOLVED", dto.status()))
+                .verifyComplete();
+    }
+
+    @Test
+    void evaluate_whenNoCrossing_shouldCompleteWithoutPublishing() {
+        when(stockAlertRepositoryPort.evaluateBranchProduct(10L)).thenReturn(Flux.empty());
+
+        StepVerifier.create(stockAlertService.evaluate(bp(10L)))
+                .verifyComplete();
+
+        verify(stockAlertRepositoryPort).evaluateBranchProduct(10L);
+    }
+
+    @Test
+    void evaluate_whenRepositoryFails_shouldNotPropagateError() {
+        when(stockAlertRepositoryPort.evaluateBranchProduct(10L)).thenReturn(Flux.error(new IllegalStateException("db down")));
+
+        StepVerifier.create(stockAlertService.evaluate(bp(10L)))
+                .verifyComplete();
+    }
+
+    // -------------------------
+    // getAlertsByBranchId
+    // -------------------------
+
+    @Test
+    void getAlertsByBranchId_whenBranchInvalid_shouldReturn400() {
+        StepVerifier.create(stockAlertService.getAlertsByBranchId(0L, true))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+                    assertEquals("BRANCH_ID_REQUIRED", ex.getCode());
+                })
+                .verify();
+
+        verifyNoInteractions(stockAlertRepositoryPort);
+    }
+
+    @Test
+    void getAlertsByBranchId_whenOk_shouldMapAlerts() {
+        when(stockAlertRepositoryPort.getAlertsByBranchId(1L, true)).thenReturn(Flux.just(alert(1L, 3, 5, null)));
+
+        StepVerifier.create(stockAlertService.getAlertsByBranchId(1L, true))
+                .assertNext(dto -> {
+                    assertEquals(1L, dto.branchId());
+                    assertEquals(2L, dto.productId());
+                    assertEquals("OPEN", dto.status());
+                })
+                .verifyComplete();
+    }
+
+    // -------------------------
+    // updateProductThreshold
+    // -------------------------
+
+    @Test
+    void updateProductThreshold_whenThresholdNegative_shouldReturn400() {
+        StepVerifier.create(stockAlertService.updateProductThreshold(2L, -1))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+                    assertEquals("THRESHOLD_INVALID", ex.getCode());
+                })
+                .verify();
+
+        verifyNoInteractions(stockAlertRepositoryPort);
+    }
+
+    @Test
+    void updateProductThreshold_whenProductNotFound_shouldReturn404() {
+        when(stockAlertRepositoryPort.updateProductThreshold(2L, 5)).thenReturn(Mono.just(false));
+
+        StepVerifier.create(stockAlertService.updateProductThreshold(2L, 5))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
+                    assertEquals("PRODUCT_NOT_FOUND", ex.getCode());
+                })
+                .verify();
+
+        verify(stockAlertRepositoryPort, never()).evaluateProduct(any());
+    }
+
+    @Test
+    void updateProductThreshold_whenOk_shouldReevaluateProduct() {
+        when(stockAlertRepositoryPort.updateProductThreshold(2L, 5)).thenReturn(Mono.just(true));
+        when(stockAlertRepositoryPort.evaluateProduct(2L)).thenReturn(Flux.just(alert(1L, 3, 5, null)));
+
+        StepVerifier.create(stockAlertService.updateProductThreshold(2L, 5))
+                .assertNext(dto -> {
+                    assertNull(dto.branchId());
+                    assertEquals(2L, dto.productId());
+                    assertEquals(5, dto.threshold());
+                })
+                .verifyComplete();
+
+        verify(stockAlertRepositoryPort).evaluateProduct(2L);
+    }
+
+    // -------------------------
+    // updateBranchProductThreshold
+    // -------------------------
+
+    @Test
+    void updateBranchProductThreshold_whenNotFound_shouldReturn404() {
+        when(stockAlertRepositoryPort.updateBranchProductThreshold(1L, 2L, 5)).thenReturn(Mono.empty());
+
+        StepVerifier.create(stockAlertService.updateBranchProductThreshold(1L, 2L, 5))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
+                    assertEquals("BRANCH_PRODUCT_NOT_FOUND", ex.getCode());
+                })
+                .verify();
+    }
+
+    @Test
+    void updateBranchProductThreshold_whenCleared_shouldReevaluateBranchProduct() {
+        when(stockAlertRepositoryPort.updateBranchProductThreshold(1L, 2L, null)).thenReturn(Mono.just(10L));
+        when(stockAlertRepositoryPort.evaluateBranchProduct(10L)).thenReturn(Flux.empty());
+
+        StepVerifier.create(stockAlertService.updateBranchProductThreshold(1L, 2L, null))
+                .assertNext(dto -> {
+                    assertEquals(1L, dto.branchId());
+                    assertEquals(2L, dto.productId());
+                    assertNull(dto.threshold());
+                })
+                .verifyComplete();
+
+        verify(stockAlertRepositoryPort).evaluateBranchProduct(10L);
+    }
+}
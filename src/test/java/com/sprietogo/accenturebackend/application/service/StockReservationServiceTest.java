@@ -0,0 +1,323 @@
+package com.sprietogo.accenturebackend.application.service;
+
+import com.sprietogo.accenturebackend.application.port.repository.BranchProductRepositoryPort;
+import com.sprietogo.accenturebackend.application.port.repository.BranchRepositoryPort;
+import com.sprietogo.accenturebackend.application.port.repository.StockReservationStorePort;
+import com.sprietogo.accenturebackend.application.port.repository.StockReservationStorePort.CounterState;
+import com.sprietogo.accenturebackend.application.port.repository.StockReservationStorePort.JournalEntry;
+import com.sprietogo.accenturebackend.application.port.repository.StockReservationStorePort.ReserveResult;
+import com.sprietogo.accenturebackend.application.port.repository.StockReservationStorePort.ReserveStatus;
+import com.sprietogo.accenturebackend.application.port.repository.TopStockReportCachePort;
+import com.sprietogo.accenturebackend.application.port.service.StockAlertServicePort;
+import com.sprietogo.accenturebackend.domain.exception.ApiException;
+import com.sprietogo.accenturebackend.domain.model.BranchEntity;
+import com.sprietogo.accenturebackend.domain.model.BranchProductEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.StockReservationQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.StockReservationQueryRepository.CounterSeed;
+import com.sprietogo.accenturebackend.infrastructure.config.ReservationProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.http.HttpStatus;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockReservationServiceTest {
+
+    private static final String JOURNAL = "stock:rsv:journal";
+
+    @Mock private StockReservationStorePort stockReservationStorePort;
+    @Mock private StockReservationQueryRepository stockReservationQueryRepository;
+    @Mock private BranchProductRepositoryPort branchProductRepositoryPort;
+    @Mock private BranchRepositoryPort branchRepositoryPort;
+    @Mock private StockAlertServicePort stockAlertServicePort;
+    @Mock private TopStockReportCachePort topStockReportCachePort;
+
+    private StockReservationService stockReservationService;
+
+    @BeforeEach
+    void setUp() {
+        ReservationProperties properties = new ReservationProperties(true, "stock:rsv:", JOURNAL,
+                Duration.ofMinutes(10), Duration.ofHours(1), Duration.ofSeconds(1), Duration.ofSeconds(30), 2,
+                Duration.ofMillis(250));
+        stockReservationService = new StockReservationService(stockReservationStorePort, stockReservationQueryRepository,
+                branchProductRepositoryPort, branchRepositoryPort, stockAlertServicePort, topStockReportCachePort, properties);
+    }
+
+    private BranchProductEntity bp(Long id) {
+        BranchProductEntity e = new BranchProductEntity();
+        e.setId(id);
+        e.setBranchId(1L);
+        e.setProductId(2L);
+        e.setStock(10);
+        return e;
+    }
+
+    private BranchEntity branch(Long id, Long franchiseId) {
+        BranchEntity b = new BranchEntity();
+        b.setId(id);
+        b.setFranchiseId(franchiseId);
+        return b;
+    }
+
+    private void emptyJournal() {
+        when(stockReservationQueryRepository.findCheckpoint(JOURNAL)).thenReturn(Mono.just("0-0"));
+        when(stockReservationStorePort.readJournal("0-0", 2)).thenReturn(Flux.empty());
+    }
+
+    // -------------------------
+    // reserve / confirm / release
+    // -------------------------
+
+    @Test
+    void reserve_whenQuantityInvalid_shouldReturn400() {
+        StepVerifier.create(stockReservationService.reserve(5L, 0, null))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.BAD_REQUEST, ex.getStatus());
+                    assertEquals("QUANTITY_INVALID", ex.getCode());
+                })
+                .verify();
+
+        verifyNoInteractions(stockReservationStorePort);
+    }
+
+    @Test
+    void reserve_whenTtlAboveMax_shouldReturn400() {
+        StepVerifier.create(stockReservationService.reserve(5L, 1, 7200L))
+                .expectErrorSatisfies(err -> assertEquals("RESERVATION_TTL_INVALID", ((ApiException) err).getCode()))
+                .verify();
+
+        verifyNoInteractions(stockReservationStorePort);
+    }
+
+    @Test
+    void reserve_whenReserved_shouldReturnRemainingAvailable() {
+        when(stockReservationStorePort.reserve(eq(5L), anyString(), eq(3), eq(Duration.ofSeconds(60))))
+                .thenReturn(Mono.just(new ReserveResult(ReserveStatus.RESERVED, 7)));
+
+        StepVerifier.create(stockReservationService.reserve(5L, 3, 60L))
+                .assertNext(dto -> {
+                    assertNotNull(dto.reservationId());
+                    assertEquals("RESERVED", dto.status());
+                    assertEquals(7L, dto.available());
+                    assertEquals(3, dto.quantity());
+                    assertNotNull(dto.expiresAt());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void reserve_whenNotEnoughStock_shouldReturn409() {
+        when(stockReservationStorePort.reserve(eq(5L), anyString(), eq(3), eq(Duration.ofMinutes(10))))
+                .thenReturn(Mono.just(new ReserveResult(ReserveStatus.INSUFFICIENT_STOCK, 0)));
+
+        StepVerifier.create(stockReservationService.reserve(5L, 3, null))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.CONFLICT, ex.getStatus());
+                    assertEquals("INSUFFICIENT_STOCK", ex.getCode());
+                })
+                .verify();
+    }
+
+    @Test
+    void reserve_whenCounterDisabled_shouldReturn409() {
+        when(stockReservationStorePort.reserve(eq(5L), anyString(), eq(3), any()))
+                .thenReturn(Mono.just(new ReserveResult(ReserveStatus.COUNTER_DISABLED, 0)));
+
+        StepVerifier.create(stockReservationService.reserve(5L, 3, null))
+                .expectErrorSatisfies(err -> assertEquals("RESERVATION_COUNTER_NOT_FOUND", ((ApiException) err).getCode()))
+                .verify();
+    }
+
+    @Test
+    void reserve_whenStoreUnavailable_shouldReturn503() {
+        when(stockReservationStorePort.reserve(eq(5L), anyString(), eq(3), any()))
+                .thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+
+        StepVerifier.create(stockReservationService.reserve(5L, 3, null))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ex.getStatus());
+                    assertEquals("RESERVATION_STORE_UNAVAILABLE", ex.getCode());
+                })
+                .verify();
+    }
+
+    @Test
+    void confirm_whenUnknownOrExpired_shouldReturn404() {
+        when(stockReservationStorePort.confirm(5L, "r-1")).thenReturn(Mono.empty());
+
+        StepVerifier.create(stockReservationService.confirm(5L, "r-1"))
+                .expectErrorSatisfies(err -> {
+                    ApiException ex = (ApiException) err;
+                    assertEquals(HttpStatus.NOT_FOUND, ex.getStatus());
+                    assertEquals("RESERVATION_NOT_FOUND", ex.getCode());
+                })
+                .verify();
+    }
+
+    @Test
+    void release_whenHeld_shouldReturnReleasedQuantity() {
+        when(stockReservationStorePort.release(5L, "r-1")).thenReturn(Mono.just(4));
+
+        StepVerifier.create(stockReservationService.release(5L, "r-1"))
+                .assertNext(dto -> {
+                    assertEquals("RELEASED", dto.status());
+                    assertEquals(4, dto.quantity());
+                })
+                .verifyComplete();
+    }
+
+    // -------------------------
+    // counter lifecycle
+    // -------------------------
+
+    @Test
+    void enableCounter_shouldSeedCounterFromPostgresStock() {
+        emptyJournal();
+        when(stockReservationQueryRepository.enableCounter(5L)).thenReturn(Mono.just(new CounterSeed(10, false)));
+        when(stockReservationStorePort.initCounter(5L, 10, true)).thenReturn(Mono.just(10L));
+        when(stockReservationStorePort.getCounter(5L)).thenReturn(Mono.just(new CounterState(10, 0)));
+
+        StepVerifier.create(stockReservationService.enableCounter(5L))
+                .assertNext(dto -> {
+                    assertEquals(10L, dto.available());
+                    assertEquals(0L, dto.outstandingReservations());
+                })
+                .verifyComplete();
+    }
+
+    @Test
+    void enableCounter_whenSlotted_shouldReturn409() {
+        emptyJournal();
+        when(stockReservationQueryRepository.enableCounter(5L)).thenReturn(Mono.empty());
+        when(branchProductRepositoryPort.getBranchProductById(5L)).thenReturn(Mono.just(bp(5L)));
+
+        StepVerifier.create(stockReservationService.enableCounter(5L))
+                .expectErrorSatisfies(err -> assertEquals("RESERVATION_COUNTER_SLOTTED", ((ApiException) err).getCode()))
+                .verify();
+
+        verify(stockReservationStorePort, never()).initCounter(anyLong(), anyLong(), anyBoolean());
+    }
+
+    @Test
+    void enableCounter_whenAlreadyEnabled_shouldKeepLiveCounter() {
+        emptyJournal();
+        when(stockReservationQueryRepository.enableCounter(5L)).thenReturn(Mono.just(new CounterSeed(10, true)));
+        when(stockReservationStorePort.initCounter(5L, 10, false)).thenReturn(Mono.just(7L));
+        when(stockReservationStorePort.getCounter(5L)).thenReturn(Mono.just(new CounterState(7, 1)));
+
+        StepVerifier.create(stockReservationService.enableCounter(5L))
+                .assertNext(dto -> assertEquals(7L, dto.available()))
+                .verifyComplete();
+
+        verify(stockReservationStorePort, never()).initCounter(5L, 10, true);
+    }
+
+    @Test
+    void enableCounter_whenStoreFails_shouldClearPostgresFlag() {
+        emptyJournal();
+        when(stockReservationQueryRepository.enableCounter(5L)).thenReturn(Mono.just(new CounterSeed(10, false)));
+        when(stockReservationStorePort.initCounter(5L, 10, true)).thenReturn(Mono.error(new RedisConnectionFailureException("down")));
+        when(stockReservationQueryRepository.disableCounter(5L)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(stockReservationService.enableCounter(5L))
+                .expectErrorSatisfies(err -> assertEquals(HttpStatus.SERVICE_UNAVAILABLE, ((ApiException) err).getStatus()))
+                .verify();
+
+        verify(stockReservationQueryRepository).disableCounter(5L);
+    }
+
+    @Test
+    void disableCounter_whenReservationsOutstanding_shouldReturn409() {
+        when(stockReservationStorePort.dropCounter(5L)).thenReturn(Mono.just(2L));
+
+        StepVerifier.create(stockReservationService.disableCounter(5L))
+                .expectErrorSatisfies(err -> assertEquals("RESERVATIONS_OUTSTANDING", ((ApiException) err).getCode()))
+                .verify();
+
+        verifyNoInteractions(stockReservationQueryRepository);
+    }
+
+    @Test
+    void disableCounter_shouldDrainJournalBeforeClearingFlag() {
+        when(stockReservationStorePort.dropCounter(5L)).thenReturn(Mono.just(0L));
+        emptyJournal();
+        when(stockReservationQueryRepository.disableCounter(5L)).thenReturn(Mono.just(true));
+
+        StepVerifier.create(stockReservationService.disableCounter(5L))
+                .verifyComplete();
+
+        var order = inOrder(stockReservationStorePort, stockReservationQueryRepository);
+        order.verify(stockReservationStorePort).readJournal("0-0", 2);
+        order.verify(stockReservationQueryRepository).disableCounter(5L);
+    }
+
+    // -------------------------
+    // reconcile
+    // -------------------------
+
+    @Test
+    void reconcile_shouldApplyBatchesUntilJournalIsShort() {
+        JournalEntry e1 = new JournalEntry("1-0", 5L, 2);
+        JournalEntry e2 = new JournalEntry("2-0", 6L, 1);
+        JournalEntry e3 = new JournalEntry("3-0", 5L, 4);
+
+        when(stockReservationQueryRepository.findCheckpoint(JOURNAL)).thenReturn(Mono.just("0-0")).thenReturn(Mono.just("2-0"));
+        when(stockReservationStorePort.readJournal("0-0", 2)).thenReturn(Flux.just(e1, e2));
+        when(stockReservationStorePort.readJournal("2-0", 2)).thenReturn(Flux.just(e3));
+        when(stockReservationQueryRepository.applyJournal(eq(JOURNAL), eq("0-0"), eq("2-0"), any(), any())).thenReturn(Mono.just(2));
+        when(stockReservationQueryRepository.applyJournal(eq(JOURNAL), eq("2-0"), eq("3-0"), any(), any())).thenReturn(Mono.just(1));
+        when(stockReservationStorePort.trimJournal(anyString())).thenReturn(Mono.empty());
+        BranchProductEntity other = bp(6L);
+        other.setBranchId(3L);
+        when(branchProductRepositoryPort.getBranchProductById(5L)).thenReturn(Mono.just(bp(5L)));
+        when(branchProductRepositoryPort.getBranchProductById(6L)).thenReturn(Mono.just(other));
+        when(branchRepositoryPort.getBranchById(1L)).thenReturn(Mono.just(branch(1L, 100L)));
+        when(branchRepositoryPort.getBranchById(3L)).thenReturn(Mono.just(branch(3L, 200L)));
+        when(stockAlertServicePort.evaluate(any())).thenReturn(Mono.empty());
+        when(topStockReportCachePort.evictFranchise(anyLong())).thenReturn(Mono.empty());
+
+        StepVerifier.create(stockReservationService.reconcile())
+                .expectNext(3)
+                .verifyComplete();
+
+        verify(stockReservationQueryRepository).applyJournal(JOURNAL, "0-0", "2-0",
+                new Long[]{5L, 6L}, new Integer[]{2, 1});
+        verify(stockReservationStorePort).trimJournal("3-0");
+        // Only the franchises whose rows moved lose their report: both in the first batch, one in the second.
+        verify(topStockReportCachePort, times(2)).evictFranchise(100L);
+        verify(topStockReportCachePort).evictFranchise(200L);
+        verify(topStockReportCachePort, never()).evictAll();
+    }
+
+    @Test
+    void reconcile_whenCheckpointMovedConcurrently_shouldRereadWithoutSideEffects() {
+        JournalEntry e1 = new JournalEntry("1-0", 5L, 2);
+
+        when(stockReservationQueryRepository.findCheckpoint(JOURNAL)).thenReturn(Mono.just("0-0")).thenReturn(Mono.just("1-0"));
+        when(stockReservationStorePort.readJournal("0-0", 2)).thenReturn(Flux.just(e1));
+        when(stockReservationStorePort.readJournal("1-0", 2)).thenReturn(Flux.empty());
+        when(stockReservationQueryRepository.applyJournal(eq(JOURNAL), eq("0-0"), eq("1-0"), any(), any())).thenReturn(Mono.just(-1));
+
+        StepVerifier.create(stockReservationService.reconcile())
+                .expectNext(0)
+                .verifyComplete();
+
+        verify(stockReservationStorePort, never()).trimJournal(anyString());
+        verifyNoInteractions(stockAlertServicePort, topStockReportCachePort);
+    }
+}
@@ -0,0 +1,219 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.analytics;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.analytics.InventoryMatrix.CellChange;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.InventoryMatrixQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.InventoryMatrixQueryRepository.InventoryCellRow;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchStockResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.FranchiseStockDistributionResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.config.InventoryMatrixProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class InventoryMatrixTest {
+
+    @Mock
+    private InventoryMatrixQueryRepository queryRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    // parallelScanMinBranches = 1 so every scan goes through the parallel path.
+    private InventoryMatrix loadedMatrix(InventoryCellRow... rows) {
+        InventoryMatrix matrix = new InventoryMatrix(queryRepository, null,
+                new InventoryMatrixProperties(true, 1024, Duration.ofMillis(100), Duration.ofSeconds(30), 1),
+                meterRegistry);
+        when(queryRepository.findAllCells()).thenReturn(Flux.just(rows));
+        assertEquals(rows.length, matrix.reloadAll().block());
+        return matrix;
+    }
+
+    private InventoryCellRow cell(long branchId, long franchiseId, long productId, int stock) {
+        return new InventoryCellRow(branchId, franchiseId, productId, stock);
+    }
+
+    private CellChange update(long branchId, long productId, int stock) {
+        return new CellChange(branchId, productId, stock, false);
+    }
+
+    private CellChange delete(long branchId, long productId) {
+        return new CellChange(branchId, productId, 0, true);
+    }
+
+    @Test
+    void reloadAll_shouldBuildOneSortedColumnPerBranch() {
+        InventoryMatrix matrix = loadedMatrix(cell(1, 10, 1, 5), cell(1, 10, 3, 7), cell(2, 20, 2, 9));
+
+        assertTrue(matrix.isLoaded());
+        assertArrayEquals(new long[]{1, 3}, matrix.getBranchProductIds(1).block());
+        assertArrayEquals(new long[]{2}, matrix.getBranchProductIds(2).block());
+        assertNull(matrix.getBranchProductIds(3).block());
+        assertEquals(3.0, meterRegistry.get("inventory.matrix.cells").gauge().value());
+        assertEquals(2.0, meterRegistry.get("inventory.matrix.branches").gauge().value());
+    }
+
+    @Test
+    void findBranchesBelow_shouldScanEveryBranchHoldingTheProduct() {
+        InventoryMatrix matrix = loadedMatrix(
+                cell(1, 10, 1, 5), cell(2, 10, 1, 50), cell(3, 20, 1, 2), cell(4, 20, 2, 0));
+
+        assertEquals(List.of(new BranchStockResponseDTO(1L, 10L, 5), new BranchStockResponseDTO(3L, 20L, 2)),
+                matrix.findBranchesBelow(1, 10, null).block());
+        assertEquals(List.of(new BranchStockResponseDTO(3L, 20L, 2)),
+                matrix.findBranchesBelow(1, 10, 20L).block());
+    }
+
+    @Test
+    void getStockDistribution_shouldSummarizePerFranchise() {
+        InventoryMatrix matrix = loadedMatrix(
+                cell(1, 10, 1, 4), cell(2, 10, 1, 8), cell(3, 20, 1, 3), cell(3, 20, 2, 100));
+
+        List<FranchiseStockDistributionResponseDTO> distribution = matrix.getStockDistribution(1).block();
+
+        assertEquals(List.of(
+                new FranchiseStockDistributionResponseDTO(10L, 2L, 12L, 4, 8, 6.0),
+                new FranchiseStockDistributionResponseDTO(20L, 1L, 3L, 3, 3, 3.0)), distribution);
+    }
+
+    @Test
+    void apply_whenOnlyStockChanges_shouldShareProductIds() {
+        InventoryMatrix matrix = loadedMatrix(cell(1, 10, 1, 5), cell(1, 10, 2, 7));
+        long[] before = matrix.getBranchProductIds(1).block();
+
+        assertEquals(2, matrix.apply(List.of(update(1, 2, 3), update(1, 2, 1))).block());
+
+        assertEquals(List.of(new BranchStockResponseDTO(1L, 10L, 1)), matrix.findBranchesBelow(2, 2, null).block());
+        assertArrayEquals(before, matrix.getBranchProductIds(1).block());
+        verify(queryRepository, never()).findFranchiseIdsByBranchIds(any());
+        assertEquals(2.0, meterRegistry.get("inventory.matrix.changes").counter().count());
+    }
+
+    @Test
+    void apply_shouldInsertAndRemoveProductsKeepingOrder() {
+        InventoryMatrix matrix = loadedMatrix(cell(1, 10, 2, 5), cell(1, 10, 4, 7));
+
+        matrix.apply(List.of(update(1, 3, 1), delete(1, 4), update(1, 1, 9), delete(1, 1), update(1, 1, 8))).block();
+
+        assertArrayEquals(new long[]{1, 2, 3}, matrix.getBranchProductIds(1).block());
+        assertEquals(List.of(new BranchStockResponseDTO(1L, 10L, 8)), matrix.findBranchesBelow(1, 100, null).block());
+    }
+
+    @Test
+    void apply_shouldResolveFranchiseForNewBranchesAndDropEmptyOnes() {
+        InventoryMatrix matrix = loadedMatrix(cell(1, 10, 1, 5));
+        when(queryRepository.findFranchiseIdsByBranchIds(Set.of(2L, 3L))).thenReturn(Mono.just(Map.of(2L, 20L)));
+
+        matrix.apply(List.of(update(2, 1, 3), update(3, 1, 3), delete(1, 1))).block();
+
+        assertNull(matrix.getBranchProductIds(1).block());
+        assertNull(matrix.getBranchProductIds(3).block());
+        assertEquals(List.of(new BranchStockResponseDTO(2L, 20L, 3)), matrix.findBranchesBelow(1, 10, null).block());
+    }
+
+    @Test
+    void apply_shouldCopyOnlyThePagesOfChangedBranches() {
+        InventoryMatrix matrix = loadedMatrix(LongStream.rangeClosed(1, 1_000)
+                .mapToObj(branchId -> cell(branchId * 2, 10, 1, 5))
+                .toArray(InventoryCellRow[]::new));
+        InventoryMatrix.Matrix before = matrix.snapshot();
+        when(queryRepository.findFranchiseIdsByBranchIds(Set.of(3L))).thenReturn(Mono.just(Map.of(3L, 10L)));
+
+        matrix.apply(List.of(update(2, 1, 4), update(3, 1, 1), delete(2_000, 1))).block();
+
+        InventoryMatrix.Matrix after = matrix.snapshot();
+        assertEquals(before.pages().length, after.pages().length);
+        assertNotSame(before.pages()[0], after.pages()[0]);
+        for (int page = 1; page < before.pages().length - 1; page++) {
+            assertSame(before.pages()[page], after.pages()[page]);
+        }
+        assertEquals(1_000, after.branchCount());
+        assertEquals(1_000L, after.cellCount());
+        assertEquals(List.of(new BranchStockResponseDTO(3L, 10L, 1), new BranchStockResponseDTO(2L, 10L, 4)),
+                matrix.findBranchesBelow(1, 5, null).block().stream()
+                        .sorted(Comparator.comparingInt(BranchStockResponseDTO::stock)).toList());
+        assertNull(matrix.getBranchProductIds(2_000).block());
+    }
+
+    @Test
+    void apply_whenBranchesComeAndGo_shouldMatchAFullReload() {
+        InventoryMatrix matrix = loadedMatrix(cell(1, 10, 1, 5));
+        when(queryRepository.findFranchiseIdsByBranchIds(any())).thenAnswer(invocation -> Mono.just(
+                invocation.<Set<Long>>getArgument(0).stream().collect(Collectors.toMap(id -> id, id -> 10L))));
+        TreeMap<Long, Integer> expected = new TreeMap<>(Map.of(1L, 5));
+        Random random = new Random(7);
+
+        for (int round = 0; round < 50; round++) {
+            List<CellChange> changes = new ArrayList<>();
+            for (int i = 0; i < 100; i++) {
+                long branchId = 1 + random.nextInt(2_000);
+                if (random.nextInt(4) == 0) {
+                    changes.add(delete(branchId, 1));
+                    expected.remove(branchId);
+                } else {
+                    int stock = random.nextInt(100);
+                    changes.add(update(branchId, 1, stock));
+                    expected.put(branchId, stock);
+                }
+            }
+            matrix.apply(changes).block();
+        }
+
+        assertEquals(expected.size(), matrix.snapshot().branchCount());
+        assertEquals(expected.size(), matrix.snapshot().cellCount());
+        assertEquals(List.copyOf(expected.keySet()), matrix.snapshot().columns().map(InventoryMatrix.BranchColumn::branchId).toList());
+        assertTrue(Arrays.stream(matrix.snapshot().pages()).allMatch(page -> page.length > 0 && page.length <= 512));
+        expected.forEach((branchId, stock) -> assertEquals(stock, matrix.snapshot().find(branchId).stocks()[0]));
+    }
+
+    @Test
+    void onNotifications_whenChangesArriveDuringSlowReload_shouldQueueThemInsteadOfFailing() {
+        InventoryMatrix matrix = new InventoryMatrix(queryRepository, null,
+                new InventoryMatrixProperties(true, 16, Duration.ofMillis(10), Duration.ofSeconds(30), 1),
+                meterRegistry);
+        when(queryRepository.findAllCells())
+                .thenReturn(Flux.just(cell(1, 10, 1, 5)).delaySubscription(Duration.ofMillis(200)));
+
+        StepVerifier.create(matrix.onNotifications(Flux.interval(Duration.ofMillis(5)).take(60)
+                        .map(i -> "U:1:1:" + i + ":1")))
+                .thenConsumeWhile(applied -> true)
+                .verifyComplete();
+
+        assertEquals(60.0, meterRegistry.get("inventory.matrix.changes").counter().count());
+        assertArrayEquals(new int[]{59}, matrix.snapshot().find(1).stocks());
+    }
+
+    @Test
+    void parseChange_shouldReadPayloadAndIgnoreGarbage() {
+        assertEquals(new CellChange(1, 2, 30, false), InventoryMatrix.parseChange("U:1:2:30:4"));
+        assertEquals(new CellChange(1, 2, 30, true), InventoryMatrix.parseChange("D:1:2:30:4"));
+        assertNull(InventoryMatrix.parseChange("X:1:2:30:4"));
+        assertNull(InventoryMatrix.parseChange("U:a:2:30:4"));
+    }
+
+    @Test
+    void parseChanges_shouldSplitStatementPayloadAndSkipGarbageRecords() {
+        assertEquals(List.of(new CellChange(1, 2, 0, true), new CellChange(1, 3, 30, false), new CellChange(4, 2, 7, false)),
+                InventoryMatrix.parseChanges("D:1:2:0:9;U:1:3:30:4;X:1;U:4:2:7:1"));
+        assertEquals(List.of(new CellChange(1, 2, 30, false)), InventoryMatrix.parseChanges("U:1:2:30:4"));
+    }
+}
@@ -0,0 +1,148 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.cache;
+
+import com.sprietogo.accenturebackend.application.port.repository.ProductRepositoryPort;
+import com.sprietogo.accenturebackend.domain.model.ProductEntity;
+import com.sprietogo.accenturebackend.infrastructure.config.ProductCatalogProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ProductCatalogTest {
+
+    @Mock
+    private ProductRepositoryPort productRepositoryPort;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private ProductCatalog catalog(Duration maxStaleness) {
+        return new ProductCatalog(productRepositoryPort, null,
+                new ProductCatalogProperties(true, maxStaleness, 256, Duration.ofMillis(50), Duration.ofSeconds(30)),
+                meterRegistry);
+    }
+
+    private ProductEntity product(Long id, String name) {
+        return new ProductEntity(id, name, null, null);
+    }
+
+    private ProductCatalog loadedCatalog(ProductEntity... products) {
+        ProductCatalog catalog = catalog(Duration.ofSeconds(30));
+        when(productRepositoryPort.getAllProducts()).thenReturn(Flux.just(products));
+        StepVerifier.create(catalog.reloadAll()).expectNext(products.length).verifyComplete();
+        catalog.markListening();
+        return catalog;
+    }
+
+    @Test
+    void getProductById_beforeLoad_shouldUseDatabase() {
+        ProductCatalog catalog = catalog(Duration.ofSeconds(30));
+        when(productRepositoryPort.getProductById(1L)).thenReturn(Mono.just(product(1L, "P1")));
+
+        StepVerifier.create(catalog.getProductById(1L))
+                .assertNext(p -> assertEquals("P1", p.getName()))
+                .verifyComplete();
+
+        assertEquals(1.0, meterRegistry.get("product.catalog.misses").counter().count());
+    }
+
+    @Test
+    void getProductById_whenLoaded_shouldNotTouchDatabase() {
+        ProductCatalog catalog = loadedCatalog(product(1L, "P1"), product(2L, "P2"));
+
+        StepVerifier.create(catalog.getProductById(2L))
+                .assertNext(p -> assertEquals("P2", p.getName()))
+                .verifyComplete();
+
+        verify(productRepositoryPort, never()).getProductById(any());
+        assertEquals(2.0, meterRegistry.get("product.catalog.size").gauge().value());
+        assertEquals(0.0, meterRegistry.get("product.catalog.staleness").timeGauge().value());
+    }
+
+    @Test
+    void getProductById_shouldReturnCopiesOfTheSnapshot() {
+        ProductCatalog catalog = loadedCatalog(product(1L, "P1"));
+
+        catalog.getProductById(1L).block().setName("changed");
+
+        assertEquals("P1", catalog.getProductById(1L).block().getName());
+    }
+
+    @Test
+    void getProductById_whenUnknownId_shouldFallBackToDatabase() {
+        ProductCatalog catalog = loadedCatalog(product(1L, "P1"));
+        when(productRepositoryPort.getProductById(9L)).thenReturn(Mono.empty());
+
+        StepVerifier.create(catalog.getProductById(9L)).verifyComplete();
+
+        verify(productRepositoryPort).getProductById(9L);
+    }
+
+    @Test
+    void refresh_shouldApplyUpdatesInsertsAndDeletes() {
+        ProductCatalog catalog = loadedCatalog(product(1L, "P1"), product(2L, "P2"));
+        when(productRepositoryPort.getProductsByIds(Set.of(1L, 2L, 3L)))
+                .thenReturn(Flux.just(product(1L, "P1-renamed"), product(3L, "P3")));
+
+        StepVerifier.create(catalog.refresh(List.of(1L, 2L, 3L, 1L))).expectNext(3).verifyComplete();
+
+        assertEquals("P1-renamed", catalog.getProductById(1L).block().getName());
+        assertEquals("P3", catalog.getProductById(3L).block().getName());
+
+        when(productRepositoryPort.getProductById(2L)).thenReturn(Mono.empty());
+        StepVerifier.create(catalog.getProductById(2L)).verifyComplete();
+        verify(productRepositoryPort).getProductById(2L);
+    }
+
+    @Test
+    void onNotifications_whenChangesArriveDuringSlowReload_shouldQueueThemInsteadOfFailing() {
+        ProductCatalog catalog = catalog(Duration.ofSeconds(30));
+        when(productRepositoryPort.getAllProducts())
+                .thenReturn(Flux.just(product(1L, "P1")).delaySubscription(Duration.ofMillis(200)));
+        when(productRepositoryPort.getProductsByIds(anySet())).thenReturn(Flux.empty());
+
+        StepVerifier.create(catalog.onNotifications(Flux.interval(Duration.ofMillis(5)).take(60).map(String::valueOf)))
+                .thenConsumeWhile(applied -> true)
+                .verifyComplete();
+
+        assertEquals(60.0, meterRegistry.get("product.catalog.refreshes").counter().count());
+    }
+
+    @Test
+    void getProductById_whenListenerDownPastMaxStaleness_shouldUseDatabase() {
+        ProductCatalog catalog = catalog(Duration.ZERO);
+        when(productRepositoryPort.getAllProducts()).thenReturn(Flux.just(product(1L, "P1")));
+        catalog.reloadAll().block();
+        catalog.markListening();
+        catalog.markStale();
+        when(productRepositoryPort.getProductById(1L)).thenReturn(Mono.just(product(1L, "P1-db")));
+
+        StepVerifier.create(catalog.getProductById(1L))
+                .assertNext(p -> assertEquals("P1-db", p.getName()))
+                .verifyComplete();
+        assertTrue(catalog.stalenessNanos() > 0);
+    }
+
+    @Test
+    void getAllProducts_whenLoaded_shouldServeSnapshotInIdOrder() {
+        ProductCatalog catalog = loadedCatalog(product(3L, "P3"), product(1L, "P1"));
+
+        StepVerifier.create(catalog.getAllProducts().map(ProductEntity::getId))
+                .expectNext(1L, 3L)
+                .verifyComplete();
+
+        verify(productRepositoryPort, times(1)).getAllProducts();
+    }
+}
@@ -0,0 +1,160 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.cache;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.ResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.TopStockProductByBranchResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.config.TopStockCacheProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+import tools.jackson.databind.json.JsonMapper;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class TopStockReportCacheTest {
+
+    private final TopStockReportCache cache = new TopStockReportCache(null, null, null, JsonMapper.builder().build(),
+            new TopStockCacheProperties(true, false, Duration.ofMinutes(10), Duration.ofMinutes(1),
+                    Duration.ofSeconds(5), Duration.ofMillis(250)));
+
+    private final AtomicInteger loads = new AtomicInteger();
+
+    private Flux<TopStockProductByBranchResponseDTO> loader(int stock) {
+        loads.incrementAndGet();
+        return Flux.just(new TopStockProductByBranchResponseDTO(new ResponseDTO(1L, "B1"), new ResponseDTO(2L, "P1"), stock));
+    }
+
+    private String json(Mono<byte[]> mono) {
+        return new String(mono.block(), StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void getTopStockReport_whenCached_shouldNotReload() {
+        String first = json(cache.getTopStockReport(1L, () -> loader(5)));
+        String second = json(cache.getTopStockReport(1L, () -> loader(6)));
+
+        assertEquals(first, second);
+        assertTrue(first.contains("\"stock\":5"));
+        assertEquals(1, loads.get());
+    }
+
+    @Test
+    void evictFranchise_shouldReloadOnlyThatFranchise() {
+        json(cache.getTopStockReport(1L, () -> loader(5)));
+        json(cache.getTopStockReport(2L, () -> loader(5)));
+
+        StepVerifier.create(cache.evictFranchise(1L)).verifyComplete();
+
+        assertTrue(json(cache.getTopStockReport(1L, () -> loader(7))).contains("\"stock\":7"));
+        assertTrue(json(cache.getTopStockReport(2L, () -> loader(7))).contains("\"stock\":5"));
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void evictAll_shouldReloadEveryFranchise() {
+        json(cache.getTopStockReport(1L, () -> loader(5)));
+
+        StepVerifier.create(cache.evictAll()).verifyComplete();
+
+        assertTrue(json(cache.getTopStockReport(1L, () -> loader(8))).contains("\"stock\":8"));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void onInvalidation_whenNewerGenerationPublished_shouldDropLocalEntry() {
+        json(cache.getTopStockReport(1L, () -> loader(5)));
+
+        cache.onInvalidation("1:3");
+
+        assertTrue(json(cache.getTopStockReport(1L, () -> loader(9))).contains("\"stock\":9"));
+        assertEquals(2, loads.get());
+    }
+
+    @Test
+    void getTopStockReport_whenConcurrentMisses_shouldComputeOnce() {
+        Sinks.One<TopStockProductByBranchResponseDTO> row = Sinks.one();
+        AtomicInteger subscriptions = new AtomicInteger();
+
+        Mono<byte[]> first = cache.getTopStockReport(1L, () -> row.asMono().flux().doOnSubscribe(s -> subscriptions.incrementAndGet()));
+        Mono<byte[]> second = cache.getTopStockReport(1L, () -> row.asMono().flux().doOnSubscribe(s -> subscriptions.incrementAndGet()));
+
+        StepVerifier.create(Mono.zip(first, second))
+                .then(() -> row.tryEmitValue(new TopStockProductByBranchResponseDTO(
+                        new ResponseDTO(1L, "B1"), new ResponseDTO(2L, "P1"), 4)))
+                .assertNext(tuple -> assertArrayEquals(tuple.getT1(), tuple.getT2()))
+                .verifyComplete();
+
+        assertEquals(1, subscriptions.get());
+    }
+
+    @Test
+    void getTopStockReport_whenEvictedLoadFinishesLate_shouldKeepNewerLoadInFlight() {
+        Sinks.One<TopStockProductByBranchResponseDTO> stale = Sinks.one();
+        Sinks.One<TopStockProductByBranchResponseDTO> fresh = Sinks.one();
+        AtomicInteger freshSubscriptions = new AtomicInteger();
+
+        Mono<byte[]> first = cache.getTopStockReport(1L, () -> stale.asMono().flux());
+        StepVerifier.create(first)
+                .then(() -> {
+                    cache.evictFranchise(1L).block();
+                    cache.getTopStockReport(1L, () -> fresh.asMono().flux()
+                            .doOnSubscribe(s -> freshSubscriptions.incrementAndGet())).subscribe();
+                    stale.tryEmitValue(new TopStockProductByBranchResponseDTO(
+                            new ResponseDTO(1L, "B1"), new ResponseDTO(2L, "P1"), 1));
+                })
+                .expectNextCount(1)
+                .verifyComplete();
+
+        Mono<byte[]> third = cache.getTopStockReport(1L, () -> loader(3));
+        fresh.tryEmitValue(new TopStockProductByBranchResponseDTO(new ResponseDTO(1L, "B1"), new ResponseDTO(2L, "P1"), 2));
+
+        assertTrue(json(third).contains("\"stock\":2"));
+        assertEquals(1, freshSubscriptions.get());
+        assertEquals(0, loads.get());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void evictFranchise_whenRedisDown_shouldNotCacheOverlappingLoad() {
+        ReactiveStringRedisTemplate redis = mock(ReactiveStringRedisTemplate.class);
+        ReactiveValueOperations<String, String> ops = mock(ReactiveValueOperations.class);
+        ReactiveRedisTemplate<String, byte[]> byteArrayRedis = mock(ReactiveRedisTemplate.class);
+        ReactiveValueOperations<String, byte[]> byteOps = mock(ReactiveValueOperations.class);
+        RedisConnectionFailureException down = new RedisConnectionFailureException("down");
+        when(redis.opsForValue()).thenReturn(ops);
+        when(byteArrayRedis.opsForValue()).thenReturn(byteOps);
+        when(ops.multiGet(anyList())).thenReturn(Mono.error(down));
+        when(ops.increment(anyString())).thenReturn(Mono.error(down));
+        when(ops.setIfAbsent(anyString(), anyString(), any(Duration.class))).thenReturn(Mono.error(down));
+        when(byteOps.get(anyString())).thenReturn(Mono.error(down));
+        when(redis.delete(anyString())).thenReturn(Mono.error(down));
+        when(byteOps.set(anyString(), any(byte[].class), any(Duration.class))).thenReturn(Mono.error(down));
+        TopStockReportCache redisCache = new TopStockReportCache(redis, byteArrayRedis, null, JsonMapper.builder().build(),
+                new TopStockCacheProperties(true, true, Duration.ofMinutes(10), Duration.ofMinutes(1),
+                        Duration.ofSeconds(5), Duration.ofMillis(250)));
+        Sinks.One<TopStockProductByBranchResponseDTO> row = Sinks.one();
+
+        StepVerifier.create(redisCache.getTopStockReport(1L, () -> row.asMono().flux()))
+                .then(() -> {
+                    redisCache.evictFranchise(1L).block();
+                    row.tryEmitValue(new TopStockProductByBranchResponseDTO(
+                            new ResponseDTO(1L, "B1"), new ResponseDTO(2L, "P1"), 1));
+                })
+                .expectNextCount(1)
+                .verifyComplete();
+
+        assertTrue(json(redisCache.getTopStockReport(1L, () -> loader(6))).contains("\"stock\":6"));
+        assertEquals(1, loads.get());
+    }
+}
@@ -0,0 +1,177 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.messaging;
+
+import com.sprietogo.accenturebackend.application.port.repository.StockEventSinkPort;
+import com.sprietogo.accenturebackend.application.port.repository.StockOutboxRepositoryPort;
+import com.sprietogo.accenturebackend.domain.model.StockOutboxEntity;
+import com.sprietogo.accenturebackend.infrastructure.config.OutboxProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.ReactiveTransaction;
+import org.springframework.transaction.ReactiveTransactionManager;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockOutboxRelayTest {
+
+    @Mock private StockOutboxRepositoryPort stockOutboxRepositoryPort;
+    @Mock private StockEventSinkPort stockEventSinkPort;
+    @Mock private ReactiveTransactionManager transactionManager;
+    @Mock private ReactiveTransaction transaction;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @BeforeEach
+    void setUp() {
+        when(transactionManager.getReactiveTransaction(any())).thenReturn(Mono.just(transaction));
+    }
+
+    private StockOutboxRelay relay(int batchSize, boolean deletePublished) {
+        OutboxProperties properties = new OutboxProperties(true, "test", Duration.ofMillis(100), Duration.ofSeconds(1),
+                batchSize, deletePublished, "stock-events", 1000);
+        return new StockOutboxRelay(stockOutboxRepositoryPort, stockEventSinkPort, transactionManager, properties, meterRegistry);
+    }
+
+    private StockOutboxEntity event(long id) {
+        return new StockOutboxEntity(id, "UPDATE", 10L, 1L, 2L, 5, 7, null, OffsetDateTime.now().minusSeconds(1), null);
+    }
+
+    private static boolean hasCause(Throwable ex, String message) {
+        for (Throwable t = ex; t != null; t = t.getCause()) {
+            if (message.equals(t.getMessage())) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // -------------------------
+    // publishBatch
+    // -------------------------
+
+    @Test
+    void publishBatch_whenSinkAccepts_shouldDeleteAndCommit() {
+        List<StockOutboxEntity> events = List.of(event(1), event(2));
+        when(stockOutboxRepositoryPort.claimPending(10)).thenReturn(Flux.fromIterable(events));
+        when(stockEventSinkPort.publish(events)).thenReturn(Mono.empty());
+        when(stockOutboxRepositoryPort.deleteByIds(List.of(1L, 2L))).thenReturn(Mono.just(2L));
+        when(transactionManager.commit(transaction)).thenReturn(Mono.empty());
+
+        StepVerifier.create(relay(10, true).publishBatch())
+                .expectNext(2)
+                .verifyComplete();
+
+        verify(transactionManager).commit(transaction);
+        verify(stockOutboxRepositoryPort, never()).markPublished(any());
+        assertEquals(2.0, meterRegistry.get("stock.outbox.published").counter().count());
+        assertEquals(2, meterRegistry.get("stock.outbox.event.lag").timer().count());
+    }
+
+    @Test
+    void publishBatch_whenMarkingConfigured_shouldMarkInsteadOfDelete() {
+        List<StockOutboxEntity> events = List.of(event(3));
+        when(stockOutboxRepositoryPort.claimPending(10)).thenReturn(Flux.fromIterable(events));
+        when(stockEventSinkPort.publish(events)).thenReturn(Mono.empty());
+        when(stockOutboxRepositoryPort.markPublished(List.of(3L))).thenReturn(Mono.just(1L));
+        when(transactionManager.commit(transaction)).thenReturn(Mono.empty());
+
+        StepVerifier.create(relay(10, false).publishBatch())
+                .expectNext(1)
+                .verifyComplete();
+
+        verify(stockOutboxRepositoryPort, never()).deleteByIds(any());
+    }
+
+    @Test
+    void publishBatch_whenSinkFails_shouldRollbackAndKeepRows() {
+        List<StockOutboxEntity> events = List.of(event(1));
+        when(stockOutboxRepositoryPort.claimPending(10)).thenReturn(Flux.fromIterable(events));
+        when(stockEventSinkPort.publish(events)).thenReturn(Mono.error(new IllegalStateException("down")));
+        when(transactionManager.rollback(transaction)).thenReturn(Mono.empty());
+
+        StepVerifier.create(relay(10, true).publishBatch())
+                .expectErrorSatisfies(ex -> assertTrue(hasCause(ex, "down")))
+                .verify();
+
+        verify(transactionManager).rollback(transaction);
+        verify(stockOutboxRepositoryPort, never()).deleteByIds(any());
+        assertEquals(0.0, meterRegistry.get("stock.outbox.published").counter().count());
+    }
+
+    @Test
+    void publishBatch_whenNothingPending_shouldNotCallSink() {
+        when(stockOutboxRepositoryPort.claimPending(10)).thenReturn(Flux.empty());
+        when(transactionManager.commit(transaction)).thenReturn(Mono.empty());
+
+        StepVerifier.create(relay(10, true).publishBatch())
+                .expectNext(0)
+                .verifyComplete();
+
+        verifyNoInteractions(stockEventSinkPort);
+    }
+
+    // -------------------------
+    // drain / lag / backoff
+    // -------------------------
+
+    @Test
+    void drain_whenBatchComesBackFull_shouldKeepPublishing() {
+        List<StockOutboxEntity> full = LongStream.rangeClosed(1, 2).mapToObj(this::event).toList();
+        List<StockOutboxEntity> rest = List.of(event(3));
+        when(stockOutboxRepositoryPort.claimPending(2))
+                .thenReturn(Flux.fromIterable(full))
+                .thenReturn(Flux.fromIterable(rest));
+        when(stockEventSinkPort.publish(any())).thenReturn(Mono.empty());
+        when(stockOutboxRepositoryPort.deleteByIds(any())).thenReturn(Mono.just(1L));
+        when(transactionManager.commit(transaction)).thenReturn(Mono.empty());
+
+        StepVerifier.create(relay(2, true).drain())
+                .expectNext(3)
+                .verifyComplete();
+
+        verify(stockOutboxRepositoryPort, times(2)).claimPending(2);
+    }
+
+    @Test
+    void refreshLag_shouldReportAgeOfOldestPendingEvent() {
+        reset(transactionManager);
+        when(stockOutboxRepositoryPort.getOldestPendingCreatedAt())
+                .thenReturn(Mono.just(OffsetDateTime.now().minusSeconds(30)));
+
+        StockOutboxRelay relay = relay(10, true);
+        StepVerifier.create(relay.refreshLag()).verifyComplete();
+
+        double lagSeconds = meterRegistry.get("stock.outbox.lag").timeGauge().value();
+        assertTrue(lagSeconds >= 29 && lagSeconds < 60, "lag was " + lagSeconds);
+    }
+
+    @Test
+    void nextDelay_whenFailing_shouldBackOffUpToMax() {
+        reset(transactionManager);
+        StockOutboxRelay relay = relay(10, true);
+
+        assertEquals(Duration.ofMillis(100), relay.nextDelay(-1));
+        assertEquals(Duration.ofMillis(200), relay.nextDelay(-1));
+        assertEquals(Duration.ofMillis(400), relay.nextDelay(-1));
+        assertEquals(Duration.ofMillis(800), relay.nextDelay(-1));
+        assertEquals(Duration.ofSeconds(1), relay.nextDelay(-1));
+        assertEquals(Duration.ofSeconds(1), relay.nextDelay(-1));
+
+        assertEquals(Duration.ofMillis(100), relay.nextDelay(0));
+        assertEquals(Duration.ofMillis(100), relay.nextDelay(-1));
+    }
+}
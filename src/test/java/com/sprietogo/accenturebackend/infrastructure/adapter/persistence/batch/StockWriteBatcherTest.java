@@ -0,0 +1,239 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.batch;
+
+import com.sprietogo.accenturebackend.domain.model.BranchProductEntity;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.deadline.RequestDeadline;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.instrumentation.QueryExecution;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.instrumentation.QueryStats;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.StockWriteQueryRepository;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.repository.query.StockWriteQueryRepository.StockWrite;
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing.RequestRoutingState;
+import com.sprietogo.accenturebackend.infrastructure.config.StockWriteBatchProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataIntegrityViolationException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.MonoSink;
+import reactor.test.StepVerifier;
+import reactor.util.context.Context;
+import reactor.util.context.ContextView;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockWriteBatcherTest {
+
+    @Mock
+    private StockWriteQueryRepository stockWriteQueryRepository;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private StockWriteBatcher batcher;
+
+    private StockWriteBatcher startedBatcher() {
+        return startedBatcher(Duration.ofMillis(50));
+    }
+
+    private StockWriteBatcher startedBatcher(Duration maxWait) {
+        batcher = new StockWriteBatcher(stockWriteQueryRepository,
+                new StockWriteBatchProperties(true, 10, maxWait, 4), meterRegistry);
+        batcher.start();
+        return batcher;
+    }
+
+    @AfterEach
+    void tearDown() {
+        if (batcher != null) {
+            batcher.stop();
+        }
+    }
+
+    private static BranchProductEntity row(Long branchId, Long productId, Integer stock) {
+        return new BranchProductEntity(branchId * 100 + productId, branchId, productId, stock, null, null, 1L, 0);
+    }
+
+    // Answers with a row for every key except branch 9.
+    private void echoExistingRows() {
+        when(stockWriteQueryRepository.updateStocks(anyList())).thenAnswer(invocation -> {
+            List<StockWrite> writes = invocation.getArgument(0);
+            return Flux.fromIterable(writes)
+                    .filter(write -> write.branchId() != 9L)
+                    .map(write -> row(write.branchId(), write.productId(), write.stock()));
+        });
+    }
+
+    @Test
+    void updateStock_concurrentWrites_shouldShareOneStatement() {
+        StockWriteBatcher batcher = startedBatcher();
+        echoExistingRows();
+
+        List<BranchProductEntity> rows = Flux.merge(
+                        batcher.updateStock(1L, 1L, 10),
+                        batcher.updateStock(2L, 1L, 20),
+                        batcher.updateStock(9L, 1L, 30))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(2, rows.size());
+        assertTrue(rows.stream().anyMatch(r -> r.getBranchId() == 1L && r.getStock() == 10));
+        assertTrue(rows.stream().anyMatch(r -> r.getBranchId() == 2L && r.getStock() == 20));
+        verify(stockWriteQueryRepository, times(1)).updateStocks(anyList());
+        assertEquals(3.0, meterRegistry.get("branch_product.stock_write.batch.size").summary().totalAmount());
+    }
+
+    @Test
+    void updateStock_whenRowMissing_shouldCompleteEmpty() {
+        StockWriteBatcher batcher = startedBatcher();
+        echoExistingRows();
+
+        StepVerifier.create(batcher.updateStock(9L, 1L, 5))
+                .expectComplete()
+                .verify(Duration.ofSeconds(5));
+    }
+
+    @Test
+    void updateStock_loneWrites_shouldEachBeFlushedByTheTimer() {
+        StockWriteBatcher batcher = startedBatcher(Duration.ofNanos(500_000));
+        echoExistingRows();
+
+        for (int i = 0; i < 500; i++) {
+            assertNotNull(batcher.updateStock(1L, 1L, i).block(Duration.ofSeconds(1)));
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    @Test
+    void updateStock_repeatedKey_shouldApplyWritesInArrivalOrder() {
+        StockWriteBatcher batcher = startedBatcher();
+        echoExistingRows();
+
+        Flux.merge(batcher.updateStock(1L, 1L, 10), batcher.updateStock(1L, 1L, 11), batcher.updateStock(2L, 1L, 20))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        ArgumentCaptor<List<StockWrite>> statements = ArgumentCaptor.forClass(List.class);
+        verify(stockWriteQueryRepository, times(2)).updateStocks(statements.capture());
+        assertEquals(List.of(10, 20), statements.getAllValues().get(0).stream().map(StockWrite::stock).toList());
+        assertEquals(List.of(11), statements.getAllValues().get(1).stream().map(StockWrite::stock).toList());
+    }
+
+    @Test
+    void updateStock_whenTriggerRejectsBatch_shouldFailOnlyOffendingWrite() {
+        StockWriteBatcher batcher = startedBatcher();
+        when(stockWriteQueryRepository.updateStocks(anyList())).thenAnswer(invocation -> {
+            List<StockWrite> writes = invocation.getArgument(0);
+            if (writes.stream().anyMatch(write -> write.branchId() == 3L)) {
+                return Flux.error(new DataIntegrityViolationException("stock is managed by reservations"));
+            }
+            return Flux.fromIterable(writes).map(write -> row(write.branchId(), write.productId(), write.stock()));
+        });
+
+        Mono<BranchProductEntity> rejected = batcher.updateStock(3L, 1L, 5);
+        Mono<BranchProductEntity> accepted = batcher.updateStock(1L, 1L, 7);
+
+        StepVerifier.create(Flux.merge(accepted, rejected.onErrorResume(DataIntegrityViolationException.class,
+                        ex -> Mono.just(row(0L, 0L, -1)))).collectList())
+                .assertNext(rows -> {
+                    assertTrue(rows.stream().anyMatch(r -> r.getBranchId() == 1L && r.getStock() == 7));
+                    assertTrue(rows.stream().anyMatch(r -> r.getStock() == -1));
+                })
+                .verifyComplete();
+        verify(stockWriteQueryRepository, times(3)).updateStocks(anyList());
+    }
+
+    @Test
+    void updateStock_shouldCarryCallersContextIntoSharedStatement() {
+        StockWriteBatcher batcher = startedBatcher();
+        AtomicReference<ContextView> statementContext = new AtomicReference<>();
+        when(stockWriteQueryRepository.updateStocks(anyList())).thenAnswer(invocation -> {
+            List<StockWrite> writes = invocation.getArgument(0);
+            return Flux.deferContextual(ctx -> {
+                statementContext.set(ctx);
+                return Flux.fromIterable(writes).map(write -> row(write.branchId(), write.productId(), write.stock()));
+            });
+        });
+        QueryStats firstStats = new QueryStats();
+        QueryStats secondStats = new QueryStats();
+        RequestRoutingState firstRouting = new RequestRoutingState(false);
+
+        Flux.merge(
+                        batcher.updateStock(1L, 1L, 10).contextWrite(Context.of(
+                                QueryStats.class, firstStats,
+                                RequestDeadline.class, new RequestDeadline(Duration.ofSeconds(2)),
+                                RequestRoutingState.class, firstRouting)),
+                        batcher.updateStock(2L, 1L, 20).contextWrite(Context.of(
+                                QueryStats.class, secondStats,
+                                RequestDeadline.class, new RequestDeadline(Duration.ofSeconds(30)))))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        verify(stockWriteQueryRepository, times(1)).updateStocks(anyList());
+        assertTrue(firstRouting.isPrimaryPinned());
+        Duration remaining = RequestDeadline.from(statementContext.get()).orElseThrow().remaining();
+        assertTrue(remaining.compareTo(Duration.ofSeconds(20)) > 0, () -> "deadline " + remaining);
+
+        QueryStats.from(statementContext.get()).orElseThrow()
+                .afterQuery(new QueryExecution("UPDATE branch_product", "", 1L, 2L, null, statementContext.get()));
+        assertEquals(1, firstStats.statements());
+        assertEquals(1, secondStats.statements());
+    }
+
+    @Test
+    void withCallers_whenAnyCallerHasNoDeadline_shouldNotBoundStatement() {
+        MonoSink<BranchProductEntity> bounded = sinkWith(Context.of(RequestDeadline.class, new RequestDeadline(Duration.ofSeconds(1))));
+        MonoSink<BranchProductEntity> unbounded = sinkWith(Context.empty());
+
+        Context ctx = StockWriteBatcher.withCallers(Context.empty(), List.of(
+                new StockWriteBatcher.PendingWrite(new StockWrite(1L, 1L, 1), bounded, 0L),
+                new StockWriteBatcher.PendingWrite(new StockWrite(2L, 1L, 1), unbounded, 0L)));
+
+        assertTrue(RequestDeadline.from(ctx).isEmpty());
+        assertTrue(QueryStats.from(ctx).isEmpty());
+    }
+
+    @Test
+    void withCallers_whenAnyCallerDeadlineIsUnbounded_shouldNotBoundStatement() {
+        MonoSink<BranchProductEntity> bounded = sinkWith(Context.of(RequestDeadline.class, new RequestDeadline(Duration.ofSeconds(1))));
+        MonoSink<BranchProductEntity> unbounded = sinkWith(Context.of(RequestDeadline.class, RequestDeadline.unbounded()));
+
+        Context ctx = StockWriteBatcher.withCallers(Context.empty(), List.of(
+                new StockWriteBatcher.PendingWrite(new StockWrite(1L, 1L, 1), bounded, 0L),
+                new StockWriteBatcher.PendingWrite(new StockWrite(2L, 1L, 1), unbounded, 0L)));
+
+        assertTrue(RequestDeadline.from(ctx).isEmpty());
+    }
+
+    @SuppressWarnings("unchecked")
+    private static MonoSink<BranchProductEntity> sinkWith(ContextView context) {
+        MonoSink<BranchProductEntity> sink = mock(MonoSink.class);
+        when(sink.contextView()).thenReturn(context);
+        return sink;
+    }
+
+    @Test
+    void rounds_shouldSplitRepeatedKeysIntoLaterStatements() {
+        List<StockWriteBatcher.PendingWrite> batch = List.of(
+                pending(1L, 1L, 1), pending(1L, 1L, 2), pending(2L, 1L, 3), pending(1L, 1L, 4));
+
+        List<List<StockWriteBatcher.PendingWrite>> rounds = StockWriteBatcher.rounds(batch);
+
+        assertEquals(3, rounds.size());
+        assertEquals(List.of(1, 3), rounds.get(0).stream().map(p -> p.write().stock()).toList());
+        assertEquals(List.of(2), rounds.get(1).stream().map(p -> p.write().stock()).toList());
+        assertEquals(List.of(4), rounds.get(2).stream().map(p -> p.write().stock()).toList());
+    }
+
+    private static StockWriteBatcher.PendingWrite pending(Long branchId, Long productId, Integer stock) {
+        return new StockWriteBatcher.PendingWrite(new StockWrite(branchId, productId, stock), null, 0L);
+    }
+}
@@ -0,0 +1,142 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.deadline;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.postgresql.api.PostgresqlResult;
+import io.r2dbc.postgresql.api.PostgresqlStatement;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.R2dbcTimeoutException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.function.BiFunction;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class DeadlineConnectionFactoryTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private PostgresqlConnection postgres;
+    private PostgresqlResult result;
+    private DeadlineConnectionFactory connectionFactory;
+
+    @BeforeEach
+    void setUp() {
+        postgres = mock(PostgresqlConnection.class);
+        when(postgres.setStatementTimeout(any(Duration.class))).thenReturn(Mono.empty());
+        when(postgres.close()).thenReturn(Mono.empty());
+        when(postgres.cancelRequest()).thenReturn(Mono.empty());
+
+        result = mock(PostgresqlResult.class);
+        PostgresqlStatement statement = mock(PostgresqlStatement.class);
+        doReturn(Flux.just(result)).when(statement).execute();
+        when(postgres.createStatement(anyString())).thenReturn(statement);
+
+        ConnectionFactory delegate = mock(ConnectionFactory.class);
+        doReturn(Mono.just(postgres)).when(delegate).create();
+
+        connectionFactory = new DeadlineConnectionFactory(delegate, Duration.ofSeconds(1), meterRegistry);
+    }
+
+    private Connection acquire(RequestDeadline deadline) {
+        Mono<Connection> connection = Mono.from(connectionFactory.create());
+        return (deadline == null ? connection : connection.contextWrite(ctx -> ctx.put(RequestDeadline.class, deadline))).block();
+    }
+
+    private Flux<Object> rows(Connection connection) {
+        return Flux.from(connection.createStatement("SELECT 1").execute())
+                .flatMap(r -> r.map((row, meta) -> (Object) row));
+    }
+
+    private double cancelled(String reason) {
+        return meterRegistry.counter("db.statements.cancelled", "reason", reason).count();
+    }
+
+    @Test
+    void statementTimeout_shouldRoundRemainingBudgetUp() {
+        assertEquals(Duration.ofSeconds(1), connectionFactory.statementTimeout(Duration.ZERO));
+        assertEquals(Duration.ofSeconds(3), connectionFactory.statementTimeout(Duration.ofMillis(2_001)));
+        assertEquals(Duration.ofSeconds(10), connectionFactory.statementTimeout(Duration.ofMillis(9_400)));
+    }
+
+    @Test
+    void create_shouldOnlySetStatementTimeoutWhenItChanges() {
+        acquire(new RequestDeadline(Duration.ofMillis(9_500)));
+        acquire(new RequestDeadline(Duration.ofMillis(9_600)));
+        verify(postgres, times(1)).setStatementTimeout(Duration.ofSeconds(10));
+
+        acquire(null);
+        acquire(null);
+        verify(postgres, times(1)).setStatementTimeout(Duration.ZERO);
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void close_whenRequestCancelledWhileRowsPending_shouldCancelStatement() {
+        doReturn(Flux.never()).when(result).map(any(BiFunction.class));
+        RequestDeadline deadline = new RequestDeadline(Duration.ofSeconds(5));
+        Connection connection = acquire(deadline);
+
+        Disposable subscription = rows(connection).subscribe();
+        deadline.cancel();
+        subscription.dispose();
+        Mono.from(connection.close()).block();
+
+        verify(postgres).cancelRequest();
+        assertEquals(1.0, cancelled("disconnect"));
+        assertEquals(0.0, cancelled("deadline"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void close_whenUnboundedRequestCancelledWhileRowsPending_shouldCancelWithoutStatementTimeout() {
+        doReturn(Flux.never()).when(result).map(any(BiFunction.class));
+        RequestDeadline deadline = RequestDeadline.unbounded();
+        Connection connection = acquire(deadline);
+
+        Disposable subscription = rows(connection).subscribe();
+        deadline.cancel();
+        subscription.dispose();
+        Mono.from(connection.close()).block();
+
+        verify(postgres, never()).setStatementTimeout(any());
+        verify(postgres).cancelRequest();
+        assertEquals(1.0, cancelled("disconnect"));
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void close_whenStatementAlreadyRead_shouldNotCancel() {
+        doReturn(Flux.just("row")).when(result).map(any(BiFunction.class));
+        RequestDeadline deadline = new RequestDeadline(Duration.ofSeconds(5));
+        Connection connection = acquire(deadline);
+
+        rows(connection).blockLast();
+        deadline.cancel();
+        Mono.from(connection.close()).block();
+
+        verify(postgres, never()).cancelRequest();
+        verify(postgres).close();
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    void execute_whenStatementTimesOut_shouldCountIt() {
+        doReturn(Flux.error(new R2dbcTimeoutException("canceling statement due to statement timeout", "57014")))
+                .when(result).map(any(BiFunction.class));
+        Connection connection = acquire(new RequestDeadline(Duration.ofSeconds(5)));
+
+        assertThrows(R2dbcTimeoutException.class, () -> rows(connection).blockLast());
+        Mono.from(connection.close()).block();
+
+        assertEquals(1.0, cancelled("statement_timeout"));
+        verify(postgres, never()).cancelRequest();
+    }
+}
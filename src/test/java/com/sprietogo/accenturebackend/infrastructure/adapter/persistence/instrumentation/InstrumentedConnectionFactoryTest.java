@@ -0,0 +1,143 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.instrumentation;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+class InstrumentedConnectionFactoryTest {
+
+    private static final String LIST_SQL = "SELECT product_id FROM branch_product WHERE branch_id = $1";
+    private static final String PRODUCT_SQL = "SELECT name FROM product WHERE id = $1";
+    private static final String JOIN_SQL = "SELECT p.name FROM branch_product bp JOIN product p ON p.id = bp.product_id WHERE bp.branch_id = $1";
+
+    private final List<QueryExecution> executions = new ArrayList<>();
+    private InstrumentedConnectionFactory connectionFactory;
+    private int rowsPerBranch;
+
+    @BeforeEach
+    void setUp() {
+        Connection connection = mock(Connection.class);
+        when(connection.createStatement(anyString())).thenAnswer(inv -> statement(inv.getArgument(0)));
+        when(connection.close()).thenReturn(Mono.empty());
+
+        ConnectionFactory delegate = mock(ConnectionFactory.class);
+        doReturn(Mono.just(connection)).when(delegate).create();
+
+        connectionFactory = new InstrumentedConnectionFactory(delegate, List.of(executions::add));
+    }
+
+    private Statement statement(String sql) {
+        Statement statement = mock(Statement.class);
+        when(statement.bind(anyInt(), any())).thenReturn(statement);
+        int rows = PRODUCT_SQL.equals(sql) ? 1 : rowsPerBranch;
+        doReturn(Mono.just(new FixedResult(rows))).when(statement).execute();
+        return statement;
+    }
+
+    private Flux<Object> query(String sql, Object id) {
+        return Flux.usingWhen(connectionFactory.create(),
+                connection -> Flux.from(connection.createStatement(sql).bind(0, id).execute())
+                        .flatMap(result -> result.map((row, meta) -> id)),
+                Connection::close);
+    }
+
+    private Flux<Object> productsPerRow(int size) {
+        rowsPerBranch = size;
+        return query(LIST_SQL, 1L).concatMap(productId -> query(PRODUCT_SQL, productId));
+    }
+
+    private Flux<Object> productsJoined(int size) {
+        rowsPerBranch = size;
+        return query(JOIN_SQL, 1L);
+    }
+
+    @Test
+    void execute_shouldRecordStatementsRowsAndTimeInContextStats() {
+        QueryStats stats = QueryBudget.measure(productsPerRow(3));
+
+        assertEquals(4, stats.statements());
+        assertTrue(stats.elapsedNanos() > 0);
+        assertEquals(PRODUCT_SQL, stats.mostRepeated().orElseThrow().getKey());
+        assertEquals(3, stats.mostRepeated().orElseThrow().getValue());
+
+        QueryExecution list = executions.stream().filter(e -> LIST_SQL.equals(e.sql())).findFirst().orElseThrow();
+        assertEquals(4, executions.size());
+        assertEquals(3, list.rows());
+        assertEquals("$1 Long", list.bindings());
+        assertTrue(QueryStats.from(list.context()).isPresent());
+    }
+
+    @Test
+    void execute_withoutStatsInContext_shouldStillNotifyListeners() {
+        rowsPerBranch = 2;
+
+        StepVerifier.create(query(LIST_SQL, 1L))
+                .expectNextCount(2)
+                .verifyComplete();
+
+        assertEquals(1, executions.size());
+        assertFalse(QueryStats.from(executions.getFirst().context()).isPresent());
+    }
+
+    @Test
+    void assertAtMost_shouldPassWhenStatementCountIsIndependentOfDataSize() {
+        QueryBudget.assertAtMost(1, this::productsJoined, 1, 10, 100);
+    }
+
+    @Test
+    void assertAtMost_shouldFailOnPerRowLookups() {
+        AssertionError error = assertThrows(AssertionError.class,
+                () -> QueryBudget.assertAtMost(2, this::productsPerRow, 1, 10));
+
+        assertTrue(error.getMessage().contains("With data size 10"));
+        assertTrue(error.getMessage().contains(PRODUCT_SQL));
+    }
+
+    private record FixedResult(int rows) implements Result {
+
+        @Override
+        public Publisher<Long> getRowsUpdated() {
+            return Mono.just((long) rows);
+        }
+
+        @Override
+        public <T> Publisher<T> map(BiFunction<Row, RowMetadata, ? extends T> mappingFunction) {
+            return Flux.range(0, rows).map(i -> mappingFunction.apply(null, null));
+        }
+
+        @Override
+        public <T> Publisher<T> map(Function<? super Readable, ? extends T> mappingFunction) {
+            return Flux.range(0, rows).map(i -> mappingFunction.apply(null));
+        }
+
+        @Override
+        public Result filter(Predicate<Segment> filter) {
+            return this;
+        }
+
+        @Override
+        public <T> Publisher<T> flatMap(Function<Segment, ? extends Publisher<? extends T>> mappingFunction) {
+            return Flux.empty();
+        }
+    }
+}
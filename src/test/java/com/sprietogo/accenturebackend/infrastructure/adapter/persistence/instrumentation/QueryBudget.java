@@ -0,0 +1,49 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.instrumentation;
+
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.fail;
+
+/**
+ * Asserts how many statements a reactive call issues through an {@link InstrumentedConnectionFactory}.
+ * Run the call against several data sizes to prove the count does not grow with the data:
+ * <pre>
+ * QueryBudget.assertAtMost(2, size -> service.getAllByBranchId(branchWith(size)), 1, 10, 100);
+ * </pre>
+ */
+public final class QueryBudget {
+
+    private QueryBudget() {}
+
+    public static QueryStats measure(Publisher<?> call) {
+        QueryStats stats = new QueryStats();
+        Flux.from(call)
+                .contextWrite(ctx -> ctx.put(QueryStats.class, stats))
+                .blockLast();
+        return stats;
+    }
+
+    public static QueryStats assertAtMost(int maxStatements, Publisher<?> call) {
+        QueryStats stats = measure(call);
+        if (stats.statements() > maxStatements) {
+            fail("Expected at most " + maxStatements + " statements but " + stats.statements() + " ran"
+                    + stats.mostRepeated()
+                    .map(entry -> "; most repeated (" + entry.getValue() + "x): " + entry.getKey())
+                    .orElse(""));
+        }
+        return stats;
+    }
+
+    public static void assertAtMost(int maxStatements, IntFunction<? extends Publisher<?>> callForSize, int... sizes) {
+        for (int size : sizes) {
+            try {
+                assertAtMost(maxStatements, callForSize.apply(size));
+            } catch (AssertionError ex) {
+                fail("With data size " + size + ": " + ex.getMessage(), ex);
+            }
+        }
+    }
+}
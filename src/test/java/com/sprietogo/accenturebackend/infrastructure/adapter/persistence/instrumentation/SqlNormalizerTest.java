@@ -0,0 +1,29 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.instrumentation;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlNormalizerTest {
+
+    @Test
+    void normalize_shouldReplaceLiteralsAndKeepPlaceholders() {
+        String sql = """
+                SELECT *   FROM branch_product -- hot path
+                WHERE branch_id = $1 AND stock > 10 AND name = 'O''Brien' /* note */ AND id IN (1, 2, 3)
+                """;
+
+        assertEquals("SELECT * FROM branch_product WHERE branch_id = $1 AND stock > ? AND name = ? AND id IN (?, ...)",
+                SqlNormalizer.normalize(sql, 500));
+    }
+
+    @Test
+    void normalize_shouldLeaveIdentifiersWithDigitsAlone() {
+        assertEquals("SELECT bp2.stock FROM t1 WHERE x = ?", SqlNormalizer.normalize("SELECT bp2.stock FROM t1 WHERE x = 42", 500));
+    }
+
+    @Test
+    void normalize_shouldTruncateLongStatements() {
+        assertEquals("SELECT...", SqlNormalizer.normalize("SELECT a, b, c FROM t", 6));
+    }
+}
@@ -0,0 +1,73 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.instrumentation;
+
+import com.sprietogo.accenturebackend.infrastructure.config.SqlStatsProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import reactor.util.context.Context;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SqlStatementStatsTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final SqlStatementStats stats = new SqlStatementStats(
+            new SqlStatsProperties(true, Duration.ofMillis(200), 2, 500), meterRegistry);
+
+    private QueryExecution execution(String sql, long millis, long rows, Throwable error) {
+        return new QueryExecution(sql, "$1 Long", TimeUnit.MILLISECONDS.toNanos(millis), rows, error, Context.empty());
+    }
+
+    @Test
+    void afterQuery_shouldGroupByNormalizedStatement() {
+        stats.afterQuery(execution("SELECT * FROM product WHERE id = 1", 5, 1, null));
+        stats.afterQuery(execution("SELECT *  FROM product WHERE id = 2", 15, 1, null));
+
+        List<SqlStatementStats.StatementSnapshot> top = stats.top(10, SqlStatementStats.Order.TOTAL);
+
+        assertEquals(1, top.size());
+        assertEquals("SELECT * FROM product WHERE id = ?", top.getFirst().statement());
+        assertEquals(2, top.getFirst().count());
+        assertEquals(20.0, top.getFirst().totalMillis(), 0.5);
+        assertEquals(15.0, top.getFirst().maxMillis(), 0.5);
+        assertEquals(2, meterRegistry.get("db.statement").timer().count());
+    }
+
+    @Test
+    void top_shouldOrderByRequestedMeasure() {
+        stats.afterQuery(execution("SELECT a FROM t", 50, 10, null));
+        stats.afterQuery(execution("UPDATE t SET a = $1", 5, 1, new IllegalStateException("boom")));
+        stats.afterQuery(execution("UPDATE t SET a = $1", 5, 1, null));
+
+        assertEquals("SELECT a FROM t", stats.top(1, SqlStatementStats.Order.MAX).getFirst().statement());
+        assertEquals("UPDATE t SET a = $1", stats.top(1, SqlStatementStats.Order.COUNT).getFirst().statement());
+        assertEquals(1, stats.top(1, SqlStatementStats.Order.ERRORS).getFirst().errors());
+    }
+
+    @Test
+    void afterQuery_beyondTrackedLimit_shouldShareOtherSeries() {
+        stats.afterQuery(execution("SELECT a FROM t", 1, 1, null));
+        stats.afterQuery(execution("SELECT b FROM t", 1, 1, null));
+        stats.afterQuery(execution("SELECT c FROM t", 1, 1, null));
+        stats.afterQuery(execution("SELECT d FROM t", 1, 1, null));
+
+        List<SqlStatementStats.StatementSnapshot> top = stats.top(10, SqlStatementStats.Order.COUNT);
+
+        assertEquals(3, top.size());
+        assertEquals(SqlStatementStats.OTHER_STATEMENTS, top.getFirst().statement());
+        assertEquals(2, top.getFirst().count());
+    }
+
+    @Test
+    void reset_shouldDropStatementsAndMeters() {
+        stats.afterQuery(execution("SELECT a FROM t", 1, 1, null));
+
+        stats.reset();
+
+        assertTrue(stats.top(10, SqlStatementStats.Order.TOTAL).isEmpty());
+        assertNull(meterRegistry.find("db.statement").timer());
+    }
+}
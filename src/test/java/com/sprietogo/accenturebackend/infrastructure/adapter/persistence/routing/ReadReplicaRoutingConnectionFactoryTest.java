@@ -0,0 +1,98 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.routing;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaRoutingConnectionFactoryTest {
+
+    @Mock private ConnectionFactory primary;
+    @Mock private ConnectionFactory replica;
+    @Mock private Connection primaryConnection;
+    @Mock private Connection replicaConnection;
+    @Mock private ReplicaLagMonitor lagMonitor;
+
+    private ReadReplicaRoutingConnectionFactory routing;
+
+    @BeforeEach
+    void setUp() {
+        routing = new ReadReplicaRoutingConnectionFactory(primary, replica, lagMonitor);
+        routing.afterPropertiesSet();
+    }
+
+    private Mono<Connection> connection() {
+        return routing.create();
+    }
+
+    @Test
+    void create_whenNotReadOnly_shouldUsePrimary() {
+        doReturn(Mono.just(primaryConnection)).when(primary).create();
+
+        StepVerifier.create(connection())
+                .expectNext(primaryConnection)
+                .verifyComplete();
+
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    void create_whenReadOnlyAndReplicaUsable_shouldUseReplica() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(true);
+        doReturn(Mono.just(replicaConnection)).when(replica).create();
+
+        StepVerifier.create(DataSourceRouting.readOnly(connection()))
+                .expectNext(replicaConnection)
+                .verifyComplete();
+
+        verifyNoInteractions(primary);
+    }
+
+    @Test
+    void create_whenReplicaLagging_shouldFallBackToPrimary() {
+        when(lagMonitor.isReplicaUsable()).thenReturn(false);
+        doReturn(Mono.just(primaryConnection)).when(primary).create();
+
+        StepVerifier.create(DataSourceRouting.readOnly(connection()))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    void create_whenRequestPinnedToPrimary_shouldUsePrimary() {
+        doReturn(Mono.just(primaryConnection)).when(primary).create();
+
+        StepVerifier.create(DataSourceRouting.readOnly(connection())
+                        .contextWrite(ctx -> ctx.put(RequestRoutingState.class, new RequestRoutingState(true))))
+                .expectNext(primaryConnection)
+                .verifyComplete();
+
+        verifyNoInteractions(replica);
+    }
+
+    @Test
+    void create_whenReadFollowsWriteInSameRequest_shouldUsePrimary() {
+        doReturn(Mono.just(primaryConnection)).when(primary).create();
+        RequestRoutingState state = new RequestRoutingState(false);
+
+        Mono<Connection> readAfterWrite = DataSourceRouting.write(Mono.just("saved"))
+                .then(DataSourceRouting.readOnly(connection()))
+                .contextWrite(ctx -> ctx.put(RequestRoutingState.class, state));
+
+        StepVerifier.create(readAfterWrite)
+                .expectNext(primaryConnection)
+                .verifyComplete();
+
+        verifyNoInteractions(replica);
+    }
+}
@@ -0,0 +1,133 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.scale;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Readable;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Row;
+import io.r2dbc.spi.RowMetadata;
+import io.r2dbc.spi.Statement;
+import org.reactivestreams.Publisher;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Runs statements under EXPLAIN when the subscriber's context holds a {@link Plans}: the caller's own SQL and
+ * bindings are explained, the plan lines are collected into the {@link Plans}, and the caller sees no rows.
+ * Without one in the context statements pass through untouched. Meant for read-only queries: ANALYZE executes
+ * the statement.
+ */
+public class ExplainingConnectionFactory implements ConnectionFactory {
+
+    private static final String EXPLAIN = "EXPLAIN (ANALYZE, BUFFERS) ";
+
+    private final ConnectionFactory delegate;
+
+    public ExplainingConnectionFactory(ConnectionFactory delegate) {
+        this.delegate = delegate;
+    }
+
+    /**
+     * Subscribes {@code call} in explain mode and returns the plans of the statements it ran.
+     */
+    public static List<Plans.Plan> explain(Publisher<?> call) {
+        Plans plans = new Plans();
+        Flux.from(call).contextWrite(ctx -> ctx.put(Plans.class, plans)).blockLast();
+        return List.copyOf(plans.plans);
+    }
+
+    @Override
+    public Publisher<? extends Connection> create() {
+        return Mono.deferContextual(ctx -> Mono.from(delegate.create())
+                .map(connection -> ctx.<Plans>getOrEmpty(Plans.class)
+                        .map(plans -> proxy(Connection.class, connection, (method, args) ->
+                                method.getName().equals("createStatement")
+                                        ? explainStatement(connection, (String) args[0], plans)
+                                        : null))
+                        .orElse(connection)));
+    }
+
+    @Override
+    public ConnectionFactoryMetadata getMetadata() {
+        return delegate.getMetadata();
+    }
+
+    private static Statement explainStatement(Connection connection, String sql, Plans plans) {
+        Statement statement = connection.createStatement(EXPLAIN + sql);
+        return proxy(Statement.class, statement, (method, args) -> method.getName().equals("execute")
+                ? Flux.from(statement.execute())
+                        .concatMap(result -> Flux.from(result.map((row, meta) -> row.get(0, String.class))))
+                        .collectList()
+                        .doOnNext(lines -> plans.plans.add(new Plans.Plan(sql, String.join("\n", lines))))
+                        .thenMany(Flux.just(EMPTY))
+                : null);
+    }
+
+    /**
+     * Lets {@code override} answer a call (non-null return) or falls through to the target. Fluent calls that
+     * return the target (bind, add) return the proxy instead, so callers stay on it.
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(Class<T> type, T target, BiFunction<Method, Object[], Object> override) {
+        return (T) Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, (proxy, method, args) -> {
+            Object answer = override.apply(method, args);
+            if (answer != null) {
+                return answer;
+            }
+            Object result = invoke(method, target, args);
+            return result == target ? proxy : result;
+        });
+    }
+
+    private static Object invoke(Method method, Object target, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static final Result EMPTY = new Result() {
+        @Override
+        public Publisher<Long> getRowsUpdated() {
+            return Mono.empty();
+        }
+
+        @Override
+        public <T> Publisher<T> map(BiFunction<Row, RowMetadata, ? extends T> mappingFunction) {
+            return Flux.empty();
+        }
+
+        @Override
+        public <T> Publisher<T> map(Function<? super Readable, ? extends T> mappingFunction) {
+            return Flux.empty();
+        }
+
+        @Override
+        public Result filter(Predicate<Segment> filter) {
+            return this;
+        }
+
+        @Override
+        public <T> Publisher<T> flatMap(Function<Segment, ? extends Publisher<? extends T>> mappingFunction) {
+            return Flux.empty();
+        }
+    };
+
+    public static final class Plans {
+
+        private final List<Plan> plans = new CopyOnWriteArrayList<>();
+
+        public record Plan(String sql, String plan) {}
+    }
+}
@@ -0,0 +1,156 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.scale;
+
+import reactor.core.publisher.Flux;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.SplittableRandom;
+import java.util.function.IntFunction;
+
+/**
+ * A synthetic inventory of the shape described by its parameters, generated as COPY text (tab separated,
+ * {@code \N} for null) so {@link ScaleDatasetLoader} can stream it into Postgres.
+ * <p>
+ * Everything is derived from {@code seed}: the same parameters always give the same rows (timestamps are
+ * relative to {@code asOf}), and because the loader restarts the id sequences, the same ids. Ids follow
+ * popularity: franchise 1 owns the most branches (Zipf over franchises) and product 1 is carried by the most
+ * branches (Zipf over products). Assortment sizes vary around {@code productsPerBranch}, stock is log-normal
+ * with {@code stockoutRate} of rows at zero, and updated_at is spread over the {@code history} days before
+ * {@code asOf}.
+ */
+public record ScaleDataset(
+        long seed,
+        int franchises,
+        int branches,
+        int products,
+        int productsPerBranch,
+        double franchiseSkew,
+        double productSkew,
+        double stockoutRate,
+        int history,
+        OffsetDateTime asOf
+) {
+
+    private static final double THRESHOLD_SHARE = 0.3;
+    private static final int MAX_STOCK = 100_000;
+
+    public static ScaleDataset of(long seed, int franchises, int branches, int products, int productsPerBranch) {
+        return new ScaleDataset(seed, franchises, branches, products, Math.min(productsPerBranch, products),
+                1.1, 0.9, 0.05, 30, OffsetDateTime.now(ZoneOffset.UTC).withNano(0));
+    }
+
+    public String label() {
+        return branches + " branches x " + products + " products";
+    }
+
+    /**
+     * Franchise id (1-based) of every branch, indexed by branch id.
+     */
+    public long[] franchiseOfBranch() {
+        ZipfSampler zipf = new ZipfSampler(franchises, franchiseSkew);
+        SplittableRandom random = random(-1);
+        long[] franchiseOf = new long[branches + 1];
+        for (int branch = 1; branch <= branches; branch++) {
+            franchiseOf[branch] = zipf.sample(random);
+        }
+        return franchiseOf;
+    }
+
+    public Flux<String> franchiseRows() {
+        return chunks(franchises, i -> "franchise-" + i + "\n");
+    }
+
+    public Flux<String> branchRows() {
+        long[] franchiseOf = franchiseOfBranch();
+        return chunks(branches, i -> franchiseOf[i] + "\tbranch-" + i + "\n");
+    }
+
+    public Flux<String> productRows() {
+        return Flux.defer(() -> {
+            SplittableRandom random = random(-2);
+            return chunks(products, i -> "product-" + i + "\t"
+                    + (random.nextDouble() < THRESHOLD_SHARE ? String.valueOf(5 + random.nextInt(46)) : "\\N") + "\n");
+        });
+    }
+
+    /**
+     * branch_id, product_id, stock, updated_at; one chunk per branch.
+     */
+    public Flux<String> branchProductRows() {
+        ZipfSampler zipf = new ZipfSampler(products, productSkew);
+        return Flux.range(1, branches).map(branch -> branchProducts(branch, zipf));
+    }
+
+    String branchProducts(int branch, ZipfSampler zipf) {
+        SplittableRandom random = random(branch);
+        int assortment = (int) Math.round(productsPerBranch * Math.exp(0.5 * gaussian(random) - 0.125));
+        assortment = Math.max(1, Math.min(products, assortment));
+
+        BitSet carried = new BitSet(products + 1);
+        for (int i = 0; i < assortment; i++) {
+            int product = zipf.sample(random);
+            // Taken already: move to the next free id, which keeps the draw cheap once popular ids run out.
+            while (carried.get(product)) {
+                product = product == products ? 1 : product + 1;
+            }
+            carried.set(product);
+        }
+
+        StringBuilder rows = new StringBuilder(assortment * 40);
+        for (int product = carried.nextSetBit(1); product >= 0; product = carried.nextSetBit(product + 1)) {
+            int stock = random.nextDouble() < stockoutRate
+                    ? 0
+                    : (int) Math.min(MAX_STOCK, Math.round(Math.exp(Math.log(40) + 1.2 * gaussian(random))));
+            OffsetDateTime updatedAt = asOf.minusSeconds(random.nextLong(history * 86_400L));
+            rows.append(branch).append('\t').append(product).append('\t').append(stock).append('\t')
+                    .append(updatedAt).append('\n');
+        }
+        return rows.toString();
+    }
+
+    private SplittableRandom random(long stream) {
+        return new SplittableRandom(seed * 0x9E3779B97F4A7C15L + stream);
+    }
+
+    private static double gaussian(SplittableRandom random) {
+        return Math.sqrt(-2 * Math.log(1 - random.nextDouble())) * Math.cos(2 * Math.PI * random.nextDouble());
+    }
+
+    private static Flux<String> chunks(int count, IntFunction<String> row) {
+        int chunk = 1_000;
+        return Flux.range(0, (count + chunk - 1) / chunk).map(c -> {
+            StringBuilder rows = new StringBuilder();
+            for (int i = c * chunk + 1; i <= Math.min(count, (c + 1) * chunk); i++) {
+                rows.append(row.apply(i));
+            }
+            return rows.toString();
+        });
+    }
+
+    /**
+     * Draws 1..n with probability proportional to 1 / k^skew.
+     */
+    public static final class ZipfSampler {
+
+        private final double[] cumulative;
+
+        public ZipfSampler(int n, double skew) {
+            cumulative = new double[n];
+            double total = 0;
+            for (int k = 1; k <= n; k++) {
+                total += 1 / Math.pow(k, skew);
+                cumulative[k - 1] = total;
+            }
+            for (int i = 0; i < n; i++) {
+                cumulative[i] /= total;
+            }
+        }
+
+        public int sample(SplittableRandom random) {
+            int index = Arrays.binarySearch(cumulative, random.nextDouble());
+            return Math.min(cumulative.length, (index >= 0 ? index : -index - 1) + 1);
+        }
+    }
+}
@@ -0,0 +1,83 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.scale;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import io.r2dbc.postgresql.api.PostgresqlConnection;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import io.r2dbc.spi.Result;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Replaces the contents of a database created from db/init.sql with a {@link ScaleDataset}. Every table is
+ * truncated first, so point it at a scratch database only.
+ * <p>
+ * The rows go in with COPY while triggers are off (session_replication_role = replica, which needs a
+ * superuser): per-row outbox, notify and aggregate triggers would otherwise dominate the load. The trigger
+ * maintained tables are then rebuilt in one statement each: franchise_product_stock from branch_product and
+ * stock_alert from rows below their product threshold.
+ */
+public final class ScaleDatasetLoader {
+
+    private static final String TRUNCATE = """
+            TRUNCATE franchise, branch, product, branch_product, branch_product_stock_slot, franchise_product_stock,
+                     stock_alert, stock_outbox, branch_product_tombstone, stock_reconcile_checkpoint
+            RESTART IDENTITY CASCADE
+            """;
+
+    private static final String REBUILD_FRANCHISE_STOCK = """
+            INSERT INTO franchise_product_stock (franchise_id, product_id, total_stock, branch_count)
+            SELECT b.franchise_id, bp.product_id, SUM(bp.stock), COUNT(*)
+            FROM branch_product bp
+            JOIN branch b ON b.id = bp.branch_id
+            GROUP BY b.franchise_id, bp.product_id
+            """;
+
+    private static final String REBUILD_ALERTS = """
+            INSERT INTO stock_alert (branch_product_id, branch_id, product_id, stock, threshold, triggered_at)
+            SELECT bp.id, bp.branch_id, bp.product_id, bp.stock, p.reorder_threshold, bp.updated_at
+            FROM branch_product bp
+            JOIN product p ON p.id = bp.product_id
+            WHERE bp.stock < p.reorder_threshold
+            """;
+
+    private ScaleDatasetLoader() {}
+
+    /**
+     * Loads the dataset and returns the number of branch_product rows.
+     */
+    public static long load(String url, ScaleDataset dataset) {
+        return Mono.usingWhen(Mono.from(ConnectionFactories.get(url).create()),
+                        connection -> load((PostgresqlConnection) connection, dataset),
+                        Connection::close)
+                .block();
+    }
+
+    private static Mono<Long> load(PostgresqlConnection connection, ScaleDataset dataset) {
+        return execute(connection, TRUNCATE)
+                .then(execute(connection, "SET session_replication_role = replica"))
+                .then(connection.copyIn("COPY franchise (name) FROM STDIN", bytes(dataset.franchiseRows())))
+                .then(connection.copyIn("COPY branch (franchise_id, name) FROM STDIN", bytes(dataset.branchRows())))
+                .then(connection.copyIn("COPY product (name, reorder_threshold) FROM STDIN", bytes(dataset.productRows())))
+                .then(connection.copyIn("COPY branch_product (branch_id, product_id, stock, updated_at) FROM STDIN",
+                        bytes(dataset.branchProductRows())))
+                .flatMap(rows -> execute(connection, "SET session_replication_role = origin")
+                        .then(execute(connection, REBUILD_FRANCHISE_STOCK))
+                        .then(execute(connection, REBUILD_ALERTS))
+                        .then(execute(connection, "VACUUM ANALYZE"))
+                        .thenReturn(rows));
+    }
+
+    private static Mono<Void> execute(Connection connection, String sql) {
+        return Flux.from(connection.createStatement(sql).execute())
+                .flatMap(Result::getRowsUpdated)
+                .then();
+    }
+
+    private static Flux<ByteBuf> bytes(Flux<String> chunks) {
+        return chunks.map(chunk -> Unpooled.wrappedBuffer(chunk.getBytes(StandardCharsets.UTF_8)));
+    }
+}
@@ -0,0 +1,54 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.persistence.scale;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScaleDatasetTest {
+
+    private static final OffsetDateTime AS_OF = OffsetDateTime.of(2026, 1, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private static ScaleDataset dataset(long seed) {
+        return new ScaleDataset(seed, 10, 200, 2_000, 100, 1.1, 0.9, 0.05, 30, AS_OF);
+    }
+
+    private static List<String[]> rows(ScaleDataset dataset) {
+        return dataset.branchProductRows()
+                .flatMapIterable(chunk -> Arrays.asList(chunk.split("\n")))
+                .map(line -> line.split("\t"))
+                .collectList()
+                .block();
+    }
+
+    @Test
+    void rows_shouldBeReproducibleFromSeed() {
+        assertEquals(String.join("", dataset(7).branchProductRows().collectList().block()),
+                String.join("", dataset(7).branchProductRows().collectList().block()));
+        assertEquals(dataset(7).productRows().collectList().block(), dataset(7).productRows().collectList().block());
+        assertNotEquals(dataset(7).branchProductRows().blockFirst(), dataset(8).branchProductRows().blockFirst());
+    }
+
+    @Test
+    void rows_shouldBeUniquePerBranchAndSkewedTowardsPopularIds() {
+        ScaleDataset dataset = dataset(7);
+        List<String[]> rows = rows(dataset);
+
+        assertEquals(rows.size(), rows.stream().map(row -> row[0] + ":" + row[1]).distinct().count());
+        long carryingProduct1 = rows.stream().filter(row -> row[1].equals("1")).count();
+        long carryingProduct1000 = rows.stream().filter(row -> row[1].equals("1000")).count();
+        assertTrue(carryingProduct1 > 5 * carryingProduct1000, carryingProduct1 + " vs " + carryingProduct1000);
+
+        long stockouts = rows.stream().filter(row -> row[2].equals("0")).count();
+        assertTrue(stockouts > 0 && stockouts < rows.size() / 10);
+
+        long[] franchiseOf = dataset.franchiseOfBranch();
+        long inFranchise1 = Arrays.stream(franchiseOf, 1, franchiseOf.length).filter(f -> f == 1).count();
+        long inFranchise10 = Arrays.stream(franchiseOf, 1, franchiseOf.length).filter(f -> f == 10).count();
+        assertTrue(inFranchise1 > 3 * inFranchise10, inFranchise1 + " vs " + inFranchise10);
+    }
+}
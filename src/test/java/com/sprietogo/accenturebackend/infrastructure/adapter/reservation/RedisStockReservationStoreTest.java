@@ -0,0 +1,123 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.reservation;
+
+import com.sprietogo.accenturebackend.application.port.repository.StockReservationStorePort.JournalEntry;
+import com.sprietogo.accenturebackend.application.port.repository.StockReservationStorePort.ReserveStatus;
+import com.sprietogo.accenturebackend.infrastructure.config.ReservationProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.data.redis.connection.lettuce.LettuceConnectionFactory;
+import org.springframework.data.redis.core.ReactiveStringRedisTemplate;
+import reactor.core.publisher.Flux;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Runs the Lua scripts against a real server: mvn test -Dredis.test.host=localhost
+ */
+@EnabledIfSystemProperty(named = "redis.test.host", matches = ".+")
+class RedisStockReservationStoreTest {
+
+    private LettuceConnectionFactory connectionFactory;
+    private ReactiveStringRedisTemplate redis;
+    private RedisStockReservationStore store;
+    private String prefix;
+
+    @BeforeEach
+    void setUp() {
+        connectionFactory = new LettuceConnectionFactory(System.getProperty("redis.test.host"),
+                Integer.getInteger("redis.test.port", 6379));
+        connectionFactory.afterPropertiesSet();
+        connectionFactory.start();
+        redis = new ReactiveStringRedisTemplate(connectionFactory);
+
+        prefix = "test:rsv:" + UUID.randomUUID() + ":";
+        store = new RedisStockReservationStore(redis, new ReservationProperties(true, prefix, prefix + "journal",
+                Duration.ofMinutes(10), Duration.ofHours(1), Duration.ofSeconds(1), Duration.ofSeconds(30), 500,
+                Duration.ofSeconds(2)));
+    }
+
+    @AfterEach
+    void tearDown() {
+        redis.keys(prefix + "*").flatMap(redis::delete).blockLast();
+        connectionFactory.destroy();
+    }
+
+    @Test
+    void reserve_shouldNeverOversellUnderConcurrency() {
+        store.initCounter(1L, 50L, true).block();
+
+        List<ReserveStatus> results = Flux.range(0, 200)
+                .flatMap(i -> store.reserve(1L, "r-" + i, 1, Duration.ofMinutes(1)), 64)
+                .map(result -> result.status())
+                .collectList()
+                .block();
+
+        assertEquals(50, results.stream().filter(ReserveStatus.RESERVED::equals).count());
+        assertEquals(150, results.stream().filter(ReserveStatus.INSUFFICIENT_STOCK::equals).count());
+        assertEquals(0L, store.getCounter(1L).block().available());
+    }
+
+    @Test
+    void reserve_whenHoldExpires_shouldReturnStockAndRejectConfirm() throws InterruptedException {
+        store.initCounter(1L, 5L, true).block();
+        assertEquals(2L, store.reserve(1L, "r-1", 3, Duration.ofMillis(50)).block().available());
+
+        Thread.sleep(120);
+
+        assertNull(store.confirm(1L, "r-1").block());
+        assertEquals(5L, store.getCounter(1L).block().available());
+        assertEquals(0L, store.getCounter(1L).block().outstandingReservations());
+    }
+
+    @Test
+    void confirm_shouldJournalOnceAndReadPastCheckpoint() {
+        store.initCounter(1L, 5L, true).block();
+        store.reserve(1L, "r-1", 2, Duration.ofMinutes(1)).block();
+        store.reserve(1L, "r-2", 1, Duration.ofMinutes(1)).block();
+
+        assertEquals(2, store.confirm(1L, "r-1").block());
+        assertNull(store.confirm(1L, "r-1").block());
+        assertEquals(1, store.release(1L, "r-2").block());
+
+        List<JournalEntry> journal = store.readJournal("0-0", 10).collectList().block();
+        assertEquals(1, journal.size());
+        assertEquals(2, journal.getFirst().quantity());
+
+        store.trimJournal(journal.getFirst().id()).block();
+        assertTrue(store.readJournal(journal.getFirst().id(), 10).collectList().block().isEmpty());
+        assertEquals(3L, store.getCounter(1L).block().available());
+    }
+
+    @Test
+    void dropCounter_whenHoldsOutstanding_shouldKeepCounter() {
+        store.initCounter(1L, 5L, true).block();
+        store.reserve(1L, "r-1", 2, Duration.ofMinutes(1)).block();
+
+        assertEquals(1L, store.dropCounter(1L).block());
+        assertNotNull(store.getCounter(1L).block());
+
+        store.release(1L, "r-1").block();
+        assertEquals(0L, store.dropCounter(1L).block());
+        assertNull(store.getCounter(1L).block());
+        assertEquals(ReserveStatus.COUNTER_DISABLED, store.reserve(1L, "r-2", 1, Duration.ofMinutes(1)).block().status());
+    }
+
+    @Test
+    void initCounter_shouldReplaceStaleCounterOnlyWhenAsked() {
+        store.initCounter(1L, 5L, true).block();
+        store.reserve(1L, "r-1", 2, Duration.ofMinutes(1)).block();
+
+        assertEquals(3L, store.initCounter(1L, 9L, false).block());
+        assertEquals(1L, store.getCounter(1L).block().outstandingReservations());
+
+        assertEquals(9L, store.initCounter(1L, 9L, true).block());
+        assertEquals(0L, store.getCounter(1L).block().outstandingReservations());
+        assertNull(store.confirm(1L, "r-1").block());
+    }
+}
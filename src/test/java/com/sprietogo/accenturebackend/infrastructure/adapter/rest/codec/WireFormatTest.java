@@ -0,0 +1,144 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.codec;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchProductResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.ResponseDTO;
+import com.sprietogo.accenturebackend.utils.SmileTranscoder;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.Decoder;
+import org.springframework.core.codec.Encoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.MediaType;
+import org.springframework.http.codec.json.JacksonJsonDecoder;
+import org.springframework.http.codec.json.JacksonJsonEncoder;
+import org.springframework.http.codec.smile.JacksonSmileDecoder;
+import org.springframework.util.MimeType;
+import reactor.core.publisher.Flux;
+import tools.jackson.databind.json.JsonMapper;
+import tools.jackson.dataformat.smile.SmileMapper;
+
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.IntStream;
+
+import static com.sprietogo.accenturebackend.utils.Constants.APPLICATION_SMILE_VALUE;
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Checks the Smile codec against JSON on a branch-sized payload. The CPU and size comparison is opt-in:
+ * mvn test -Dtest=WireFormatTest -Dwire.benchmark=true
+ */
+class WireFormatTest {
+
+    private static final int ROWS = 10_000;
+    private static final ResolvableType ROW_TYPE = ResolvableType.forClass(BranchProductResponseDTO.class);
+    private static final MimeType SMILE = MimeType.valueOf(APPLICATION_SMILE_VALUE);
+
+    private final DefaultDataBufferFactory bufferFactory = DefaultDataBufferFactory.sharedInstance;
+    private final List<BranchProductResponseDTO> branch = branch(ROWS);
+
+    @Test
+    void smile_shouldRoundTripBranchAndBeSmallerThanJson() {
+        byte[] json = encode(new JacksonJsonEncoder(), MediaType.APPLICATION_JSON);
+        byte[] smile = encode(new SmileArrayEncoder(), SMILE);
+
+        List<BranchProductResponseDTO> decoded = decode(new JacksonSmileDecoder(), SMILE, smile);
+        assertEquals(ROWS, decoded.size());
+        assertEquals(branch.getLast().getId(), decoded.getLast().getId());
+        assertEquals(branch.getLast().getProduct().getName(), decoded.getLast().getProduct().getName());
+        assertEquals(branch.getLast().getStock(), decoded.getLast().getStock());
+        assertTrue(smile.length < json.length, () -> "smile " + smile.length + " bytes, json " + json.length + " bytes");
+    }
+
+    @Test
+    void smileArrayEncoder_shouldWriteArrayIncrementally() {
+        List<DataBuffer> chunks = new SmileArrayEncoder()
+                .encode(Flux.fromIterable(branch), bufferFactory, ROW_TYPE, SMILE, Map.of())
+                .collectList()
+                .block();
+
+        assertTrue(chunks.size() > 1, () -> "expected several chunks, got " + chunks.size());
+        assertTrue(chunks.stream().allMatch(chunk -> chunk.readableByteCount() < 2 * SmileArrayEncoder.CHUNK_BYTES));
+    }
+
+    @Test
+    void smileArrayEncoder_whenEmpty_shouldWriteEmptyArray() {
+        DataBuffer joined = DataBufferUtils.join(new SmileArrayEncoder()
+                        .encode(Flux.empty(), bufferFactory, ROW_TYPE, SMILE, Map.of()))
+                .block();
+        byte[] bytes = new byte[joined.readableByteCount()];
+        joined.read(bytes);
+
+        assertEquals(List.of(), SmileMapper.builder().build().readValue(bytes, List.class));
+    }
+
+    @Test
+    void transcoder_shouldProduceSameDocumentAsSmileMapper() {
+        byte[] json = encode(new JacksonJsonEncoder(), MediaType.APPLICATION_JSON);
+
+        Object expected = JsonMapper.builder().build().readValue(json, Object.class);
+        Object actual = SmileMapper.builder().build().readValue(SmileTranscoder.fromJson(json), Object.class);
+        assertEquals(expected, actual);
+    }
+
+    @Test
+    @EnabledIfSystemProperty(named = "wire.benchmark", matches = "true")
+    void encodeDecodeCost_smileVersusJson() {
+        int rounds = Integer.getInteger("wire.benchmark.rounds", 50);
+
+        measure("json", new JacksonJsonEncoder(), new JacksonJsonDecoder(), MediaType.APPLICATION_JSON, rounds);
+        measure("smile", new SmileArrayEncoder(), new JacksonSmileDecoder(), SMILE, rounds);
+    }
+
+    private void measure(String label, Encoder<Object> encoder, Decoder<Object> decoder, MimeType mimeType, int rounds) {
+        ThreadMXBean threads = ManagementFactory.getThreadMXBean();
+        // Warm up the codec before timing.
+        for (int i = 0; i < 10; i++) {
+            decode(decoder, mimeType, encode(encoder, mimeType));
+        }
+
+        byte[] payload = null;
+        long started = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < rounds; i++) {
+            payload = encode(encoder, mimeType);
+        }
+        long encodeNanos = threads.getCurrentThreadCpuTime() - started;
+
+        started = threads.getCurrentThreadCpuTime();
+        for (int i = 0; i < rounds; i++) {
+            assertEquals(ROWS, decode(decoder, mimeType, payload).size());
+        }
+        long decodeNanos = threads.getCurrentThreadCpuTime() - started;
+
+        System.out.printf("%-6s %d rows: %,d bytes, encode %.2f ms cpu, decode %.2f ms cpu%n", label, ROWS, payload.length,
+                encodeNanos / 1e6 / rounds, decodeNanos / 1e6 / rounds);
+    }
+
+    private byte[] encode(Encoder<Object> encoder, MimeType mimeType) {
+        DataBuffer joined = DataBufferUtils.join(encoder.encode(Flux.fromIterable(branch), bufferFactory, ROW_TYPE, mimeType, Map.of()))
+                .block();
+        byte[] bytes = new byte[joined.readableByteCount()];
+        joined.read(bytes);
+        return bytes;
+    }
+
+    private List<BranchProductResponseDTO> decode(Decoder<Object> decoder, MimeType mimeType, byte[] payload) {
+        return decoder.decode(Flux.just(bufferFactory.wrap(payload)), ROW_TYPE, mimeType, Map.of())
+                .map(BranchProductResponseDTO.class::cast)
+                .collectList()
+                .block();
+    }
+
+    private static List<BranchProductResponseDTO> branch(int rows) {
+        ResponseDTO branch = new ResponseDTO(1L, "Sucursal Centro");
+        return IntStream.range(0, rows)
+                .mapToObj(i -> new BranchProductResponseDTO((long) i + 1, branch,
+                        new ResponseDTO((long) i + 1, "Producto " + i), i % 500, (long) i % 7))
+                .toList();
+    }
+}
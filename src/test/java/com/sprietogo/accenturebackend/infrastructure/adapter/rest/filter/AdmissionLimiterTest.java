@@ -0,0 +1,246 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.filter;
+
+import com.sprietogo.accenturebackend.infrastructure.config.AdmissionProperties;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+
+import java.net.InetSocketAddress;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AdmissionLimiterTest {
+
+    private final AtomicLong clock = new AtomicLong(TimeUnit.HOURS.toNanos(1));
+
+    private AdmissionLimiter limiter(double rate, int burst, int initialLimit, int minLimit, double share) {
+        return limiter(rate, burst, initialLimit, minLimit, share, 1000);
+    }
+
+    private AdmissionLimiter limiter(double rate, int burst, int initialLimit, int minLimit, double share, int maxTrackedKeys) {
+        AdmissionProperties properties = new AdmissionProperties(true, rate, burst, initialLimit, minLimit, 100,
+                share, Duration.ofMillis(100), maxTrackedKeys, List.of(), List.of(), 2);
+        return new AdmissionLimiter(properties, clock::get);
+    }
+
+    private void advance(Duration duration) {
+        clock.addAndGet(duration.toNanos());
+    }
+
+    // -------------------------
+    // token bucket
+    // -------------------------
+
+    @Test
+    void tryAcquire_whenBucketEmpty_shouldReturn429WithRetryAfter() {
+        AdmissionLimiter limiter = limiter(0.5, 2, 10, 10, 1.0);
+
+        limiter.release(limiter.tryAcquire("franchise:1"));
+        limiter.release(limiter.tryAcquire("franchise:1"));
+        AdmissionLimiter.Decision rejected = limiter.tryAcquire("franchise:1");
+
+        assertFalse(rejected.admitted());
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.status());
+        assertEquals(2, rejected.retryAfterSeconds());
+        assertTrue(limiter.tryAcquire("franchise:2").admitted());
+    }
+
+    @Test
+    void tryAcquire_whenBucketRefilled_shouldAdmitAgain() {
+        AdmissionLimiter limiter = limiter(1, 1, 10, 10, 1.0);
+
+        limiter.release(limiter.tryAcquire("branch:7"));
+        assertFalse(limiter.tryAcquire("branch:7").admitted());
+
+        advance(Duration.ofSeconds(1));
+
+        assertTrue(limiter.tryAcquire("branch:7").admitted());
+    }
+
+    // -------------------------
+    // concurrency
+    // -------------------------
+
+    @Test
+    void tryAcquire_whenKeyAtItsShare_shouldReturn429ForThatKeyOnly() {
+        AdmissionLimiter limiter = limiter(1000, 1000, 10, 2, 0.3);
+
+        assertTrue(limiter.tryAcquire("franchise:1").admitted());
+        assertTrue(limiter.tryAcquire("franchise:1").admitted());
+        assertTrue(limiter.tryAcquire("franchise:1").admitted());
+        AdmissionLimiter.Decision rejected = limiter.tryAcquire("franchise:1");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.status());
+        assertEquals(1, rejected.retryAfterSeconds());
+        assertTrue(limiter.tryAcquire("franchise:2").admitted());
+        assertEquals(4, limiter.inFlight());
+    }
+
+    @Test
+    void tryAcquire_whenGlobalLimitReached_shouldReturn503AndReleaseKeySlot() {
+        AdmissionLimiter limiter = limiter(1000, 1000, 2, 2, 1.0);
+
+        assertTrue(limiter.tryAcquire("franchise:1").admitted());
+        AdmissionLimiter.Decision held = limiter.tryAcquire("franchise:2");
+        AdmissionLimiter.Decision rejected = limiter.tryAcquire("franchise:3");
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, rejected.status());
+        assertEquals(2, limiter.inFlight());
+
+        limiter.release(held);
+        assertTrue(limiter.tryAcquire("franchise:3").admitted());
+    }
+
+    // -------------------------
+    // bulk requests
+    // -------------------------
+
+    @Test
+    void tryAcquireBulk_whenKeyAtBulkLimit_shouldReturn429ForThatKeyOnly() {
+        AdmissionLimiter limiter = limiter(1000, 1000, 10, 2, 1.0);
+
+        AdmissionLimiter.Decision first = limiter.tryAcquireBulk("branch:1");
+        assertTrue(first.admitted());
+        assertTrue(limiter.tryAcquireBulk("branch:1").admitted());
+        AdmissionLimiter.Decision rejected = limiter.tryAcquireBulk("branch:1");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.status());
+        assertTrue(limiter.tryAcquireBulk("branch:2").admitted());
+
+        limiter.release(first);
+        assertTrue(limiter.tryAcquireBulk("branch:1").admitted());
+    }
+
+    @Test
+    void tryAcquireBulk_whenBucketEmpty_shouldReturn429() {
+        AdmissionLimiter limiter = limiter(0.5, 1, 10, 10, 1.0);
+
+        limiter.release(limiter.tryAcquire("branch:1"));
+        AdmissionLimiter.Decision rejected = limiter.tryAcquireBulk("branch:1");
+
+        assertEquals(HttpStatus.TOO_MANY_REQUESTS, rejected.status());
+        assertEquals(2, rejected.retryAfterSeconds());
+    }
+
+    @Test
+    void release_whenBulk_shouldNotTakeGlobalSlotsOrSampleLatency() {
+        AdmissionLimiter limiter = limiter(1000, 1000, 10, 4, 1.0);
+
+        for (int i = 0; i < 10; i++) {
+            AdmissionLimiter.Decision decision = limiter.tryAcquireBulk("branch:" + i);
+            assertEquals(0, limiter.inFlight());
+            advance(Duration.ofSeconds(30));
+            limiter.release(decision);
+        }
+
+        assertEquals(10, limiter.currentLimit());
+    }
+
+    // -------------------------
+    // idle key eviction
+    // -------------------------
+
+    @Test
+    void tryAcquire_whenOverMaxTrackedKeys_shouldSweepAtMostOncePerIdleInterval() {
+        AdmissionLimiter limiter = limiter(1000, 1000, 10, 2, 1.0, 1);
+
+        limiter.release(limiter.tryAcquire("franchise:1"));
+        advance(Duration.ofSeconds(30));
+        // Over the cap: sweeps, but franchise:1 has only been idle for 30s.
+        limiter.release(limiter.tryAcquire("franchise:2"));
+        advance(Duration.ofSeconds(45));
+        // franchise:1 is idle now, yet the next sweep is not due until a minute after the last one.
+        limiter.release(limiter.tryAcquire("franchise:3"));
+        assertEquals(3, limiter.trackedKeys());
+
+        advance(Duration.ofSeconds(16));
+        limiter.release(limiter.tryAcquire("franchise:4"));
+        assertEquals(2, limiter.trackedKeys());
+    }
+
+    // -------------------------
+    // adaptive limit
+    // -------------------------
+
+    @Test
+    void release_whenLatencyAboveTarget_shouldDecreaseLimitOncePerWindow() {
+        AdmissionLimiter limiter = limiter(1000, 1000, 50, 4, 1.0);
+
+        AdmissionLimiter.Decision first = limiter.tryAcquire("franchise:1");
+        AdmissionLimiter.Decision second = limiter.tryAcquire("franchise:1");
+        advance(Duration.ofMillis(500));
+        limiter.release(first);
+        limiter.release(second);
+
+        assertEquals(45, limiter.currentLimit());
+    }
+
+    @Test
+    void release_whenLimitKeepsShrinking_shouldStopAtMinLimit() {
+        AdmissionLimiter limiter = limiter(1000, 1000, 5, 4, 1.0);
+
+        for (int i = 0; i < 10; i++) {
+            AdmissionLimiter.Decision decision = limiter.tryAcquire("franchise:1");
+            advance(Duration.ofMillis(200));
+            limiter.release(decision);
+        }
+
+        assertEquals(4, limiter.currentLimit());
+    }
+
+    @Test
+    void release_whenFirstByteWasFast_shouldNotCountLongBodyAsLatency() {
+        AdmissionLimiter limiter = limiter(1000, 1000, 10, 4, 1.0);
+
+        for (int i = 0; i < 10; i++) {
+            AdmissionLimiter.Decision decision = limiter.tryAcquire("franchise:1");
+            advance(Duration.ofMillis(20));
+            long respondedAt = limiter.now();
+            advance(Duration.ofSeconds(5));
+            limiter.release(decision, respondedAt);
+        }
+
+        assertEquals(10, limiter.currentLimit());
+    }
+
+    @Test
+    void release_whenFastAndSaturated_shouldIncreaseLimit() {
+        AdmissionLimiter limiter = limiter(1000, 1000, 4, 2, 1.0);
+
+        for (int round = 0; round < 5; round++) {
+            AdmissionLimiter.Decision[] held = new AdmissionLimiter.Decision[4];
+            for (int i = 0; i < held.length; i++) {
+                held[i] = limiter.tryAcquire("franchise:" + i);
+            }
+            advance(Duration.ofMillis(10));
+            for (AdmissionLimiter.Decision decision : held) {
+                limiter.release(decision);
+            }
+        }
+
+        assertTrue(limiter.currentLimit() > 4);
+    }
+
+    // -------------------------
+    // resolveKey
+    // -------------------------
+
+    @Test
+    void resolveKey_shouldPreferFranchiseThenBranchThenPath() {
+        assertEquals("franchise:3", AdmissionControlWebFilter.resolveKey(
+                MockServerHttpRequest.get("/api/v1/branch-products/report/top-stock?franchiseId=3&branchId=9").build()));
+        assertEquals("branch:9", AdmissionControlWebFilter.resolveKey(
+                MockServerHttpRequest.get("/api/v1/branch-products?branchId=9").build()));
+        assertEquals("franchise:5", AdmissionControlWebFilter.resolveKey(
+                MockServerHttpRequest.put("/api/v1/franchises/id/5/name/New").build()));
+        assertEquals("client:10.0.0.7", AdmissionControlWebFilter.resolveKey(
+                MockServerHttpRequest.get("/api/v1/branch-products?branchId=abc")
+                        .remoteAddress(new InetSocketAddress("10.0.0.7", 51000)).build()));
+        assertEquals("shared", AdmissionControlWebFilter.resolveKey(
+                MockServerHttpRequest.get("/api/v1/branch-products?branchId=abc").build()));
+    }
+}
@@ -0,0 +1,105 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rest.filter;
+
+import com.sprietogo.accenturebackend.infrastructure.adapter.persistence.deadline.RequestDeadline;
+import com.sprietogo.accenturebackend.infrastructure.config.DeadlineProperties;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.HttpStatus;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class DeadlineWebFilterTest {
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+    private final DeadlineWebFilter filter = new DeadlineWebFilter(new DeadlineProperties(true, "X-Request-Timeout",
+            Duration.ofSeconds(10), Duration.ofSeconds(30), Map.of("/api/v1/branch-products/report/", Duration.ofSeconds(5)),
+            List.of("/api/v1/exports/"), Duration.ofSeconds(1)), meterRegistry);
+
+    @Test
+    void resolveTimeout_shouldPreferHeaderAndCapAtMax() {
+        assertEquals(Duration.ofSeconds(10), filter.resolveTimeout(
+                MockServerHttpRequest.get("/api/v1/branch-products?branchId=1").build()));
+        assertEquals(Duration.ofSeconds(5), filter.resolveTimeout(
+                MockServerHttpRequest.get("/api/v1/branch-products/report/top-stock").build()));
+        assertEquals(Duration.ofMillis(1_500), filter.resolveTimeout(
+                MockServerHttpRequest.get("/api/v1/branch-products/report/top-stock").header("X-Request-Timeout", "1500").build()));
+        assertEquals(Duration.ofSeconds(30), filter.resolveTimeout(
+                MockServerHttpRequest.get("/api/v1/branch-products/1").header("X-Request-Timeout", "600000").build()));
+        assertEquals(Duration.ofSeconds(10), filter.resolveTimeout(
+                MockServerHttpRequest.get("/api/v1/branch-products/1").header("X-Request-Timeout", "soon").build()));
+    }
+
+    @Test
+    void filter_whenDeadlinePasses_shouldCancelHandlerAndReturn504() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/v1/branch-products/1").header("X-Request-Timeout", "50").build());
+        AtomicReference<RequestDeadline> seen = new AtomicReference<>();
+
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.deferContextual(ctx -> {
+                    seen.set(RequestDeadline.from(ctx).orElseThrow());
+                    return Mono.never();
+                })))
+                .verifyComplete();
+
+        assertEquals(HttpStatus.GATEWAY_TIMEOUT, exchange.getResponse().getStatusCode());
+        assertEquals(RequestDeadline.Cancellation.DEADLINE, seen.get().cancellation());
+        assertEquals(1.0, meterRegistry.counter("http.server.requests.deadline.exceeded").count());
+    }
+
+    @Test
+    void filter_whenResponseStartedBeforeDeadline_shouldLetItFinish() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+                MockServerHttpRequest.get("/api/v1/branch-products?branchId=1").header("X-Request-Timeout", "50").build());
+        DataBuffer first = exchange.getResponse().bufferFactory().wrap("[".getBytes(StandardCharsets.UTF_8));
+
+        StepVerifier.create(filter.filter(exchange, ex -> ex.getResponse().writeWith(
+                        Flux.just(first).concatWith(Mono.delay(Duration.ofMillis(150)).then(Mono.empty())))))
+                .verifyComplete();
+
+        assertNotEquals(HttpStatus.GATEWAY_TIMEOUT, exchange.getResponse().getStatusCode());
+        assertEquals(0.0, meterRegistry.counter("http.server.requests.deadline.exceeded").count());
+    }
+
+    @Test
+    void filter_whenExempt_shouldSetUnboundedDeadline() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/exports/x").build());
+
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.deferContextual(ctx -> {
+                    RequestDeadline deadline = RequestDeadline.from(ctx).orElseThrow();
+                    assertFalse(deadline.isBounded());
+                    assertFalse(deadline.isExpired());
+                    return Mono.empty();
+                })))
+                .verifyComplete();
+    }
+
+    @Test
+    void filter_whenExemptAndClientGoesAway_shouldMarkDeadlineDisconnected() {
+        MockServerWebExchange exchange = MockServerWebExchange.from(MockServerHttpRequest.get("/api/v1/exports/x").build());
+        AtomicReference<RequestDeadline> seen = new AtomicReference<>();
+
+        StepVerifier.create(filter.filter(exchange, ex -> Mono.deferContextual(ctx -> {
+                    seen.set(RequestDeadline.from(ctx).orElseThrow());
+                    return Mono.never();
+                })))
+                .expectSubscription()
+                .thenAwait(Duration.ofMillis(50))
+                .thenCancel()
+                .verify();
+
+        assertEquals(RequestDeadline.Cancellation.DISCONNECT, seen.get().cancellation());
+        assertNull(exchange.getResponse().getStatusCode());
+    }
+}
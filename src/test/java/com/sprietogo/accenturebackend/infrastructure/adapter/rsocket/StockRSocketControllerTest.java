@@ -0,0 +1,106 @@
+package com.sprietogo.accenturebackend.infrastructure.adapter.rsocket;
+
+import com.sprietogo.accenturebackend.application.port.service.BranchProductServicePort;
+import com.sprietogo.accenturebackend.domain.exception.ApiException;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.request.StockUpdateRequestDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.BranchProductResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.adapter.rest.dto.response.ResponseDTO;
+import com.sprietogo.accenturebackend.infrastructure.config.StockChannelProperties;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+class StockRSocketControllerTest {
+
+    @Mock private BranchProductServicePort branchProductServicePort;
+
+    private StockRSocketController controller(int maxInFlight) {
+        return new StockRSocketController(branchProductServicePort, new StockChannelProperties(maxInFlight));
+    }
+
+    private static BranchProductResponseDTO row(Long productId, Integer stock) {
+        return new BranchProductResponseDTO(productId * 10, new ResponseDTO(1L, "B1"), new ResponseDTO(productId, "P"), stock, 2L);
+    }
+
+    @Test
+    void updates_shouldAnswerInInputOrderWithPerItemErrors() {
+        when(branchProductServicePort.updateBranchProductStock(1L, 1L, 5, null))
+                .thenReturn(Mono.delay(Duration.ofMillis(30)).thenReturn(row(1L, 5)));
+        when(branchProductServicePort.updateBranchProductStock(1L, 2L, 7, null))
+                .thenReturn(Mono.error(ApiException.notFound("BRANCH_PRODUCT_NOT_FOUND", "missing")));
+        when(branchProductServicePort.updateBranchProductStock(1L, 3L, 9, null)).thenReturn(Mono.just(row(3L, 9)));
+
+        StepVerifier.create(controller(8).updates(Flux.just(
+                        new StockUpdateRequestDTO(1L, 1L, 5, null),
+                        new StockUpdateRequestDTO(1L, 2L, 7, null),
+                        new StockUpdateRequestDTO(1L, 3L, 9, null))))
+                .assertNext(item -> {
+                    assertEquals(0, item.index());
+                    assertEquals(StockRSocketController.UPDATED, item.status());
+                    assertEquals(2L, item.version());
+                })
+                .assertNext(item -> {
+                    assertEquals(1, item.index());
+                    assertEquals("BRANCH_PRODUCT_NOT_FOUND", item.status());
+                    assertNull(item.version());
+                })
+                .assertNext(item -> assertEquals(2, item.index()))
+                .verifyComplete();
+    }
+
+    @Test
+    void updates_toSameRow_shouldApplyOneAfterAnother() {
+        List<Integer> applied = new CopyOnWriteArrayList<>();
+        when(branchProductServicePort.updateBranchProductStock(eq(1L), eq(1L), anyInt(), isNull())).thenAnswer(invocation -> {
+            Integer stock = invocation.getArgument(2);
+            Duration delay = Duration.ofMillis(stock == 1 ? 60 : stock == 2 ? 20 : 0);
+            return Mono.delay(delay)
+                    .doOnSubscribe(subscription -> applied.add(stock))
+                    .doOnNext(tick -> applied.add(-stock))
+                    .thenReturn(row(1L, stock));
+        });
+
+        StepVerifier.create(controller(8).updates(Flux.just(
+                        new StockUpdateRequestDTO(1L, 1L, 1, null),
+                        new StockUpdateRequestDTO(1L, 1L, 2, null),
+                        new StockUpdateRequestDTO(1L, 1L, 3, null),
+                        new StockUpdateRequestDTO(1L, 1L, 4, null))))
+                .expectNextCount(4)
+                .verifyComplete();
+
+        // Positive on start, negative on finish: each write starts only after the previous one finished.
+        assertEquals(List.of(1, -1, 2, -2, 3, -3, 4, -4), applied);
+    }
+
+    @Test
+    void updates_shouldRequestNoMoreThanMaxInFlightFromClient() {
+        AtomicLong requested = new AtomicLong();
+        Sinks.One<BranchProductResponseDTO> pending = Sinks.one();
+        when(branchProductServicePort.updateBranchProductStock(eq(1L), anyLong(), anyInt(), isNull())).thenReturn(pending.asMono());
+
+        Flux<StockUpdateRequestDTO> client = Flux.range(1, 100)
+                .map(i -> new StockUpdateRequestDTO(1L, (long) i, i, null))
+                .doOnRequest(requested::addAndGet);
+
+        StepVerifier.create(controller(4).updates(client))
+                .then(() -> assertEquals(4, requested.get()))
+                .then(() -> pending.tryEmitValue(row(1L, 1)))
+                .expectNextCount(100)
+                .verifyComplete();
+    }
+}